@@ -0,0 +1,80 @@
+package com.kraken.api.benchmarks;
+
+import com.kraken.api.benchmarks.client.StandInClient;
+import com.kraken.api.benchmarks.client.StandInPacketBuffer;
+import com.kraken.api.core.packet.BufferUtils;
+import com.kraken.api.core.packet.mapping.PacketId;
+import com.kraken.api.core.packet.mapping.WriteOp;
+import com.kraken.api.core.packet.model.PacketDefFactory;
+import com.kraken.api.core.packet.model.PacketDefinition;
+import com.kraken.api.core.packet.model.PacketType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the individual steps of encoding a packet: looking up its definition and writing single values and strings
+ * into a buffer with the client's obfuscated field layout.
+ */
+@State(Scope.Thread)
+public class BufferWriteBenchmark {
+
+    private PacketDefFactory factory;
+    private StandInPacketBuffer buffer;
+    private WriteOp addOp;
+    private int value;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        GoldenPackets.verify(StandInClient.get());
+        factory = new PacketDefFactory();
+        buffer = new StandInPacketBuffer(260);
+        addOp = WriteOp.parse("a128");
+        value = 0x1F3A5C7B;
+    }
+
+    @Benchmark
+    public PacketDefinition factoryGetter() {
+        return factory.getOpNpc1();
+    }
+
+    @Benchmark
+    public PacketDefinition factoryById() {
+        return factory.get(PacketId.OPLOC3);
+    }
+
+    @Benchmark
+    public PacketDefinition factoryByTypeAndAction() {
+        return factory.getDefinitionForType(PacketType.OPPLAYER, 7);
+    }
+
+    @Benchmark
+    public StandInPacketBuffer writeValue() {
+        buffer.ai = 0;
+        BufferUtils.writeValue(addOp, value, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public StandInPacketBuffer writeValueDescription() {
+        buffer.ai = 0;
+        BufferUtils.writeValue("a128", value, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public StandInPacketBuffer writeStringNullTerminated() {
+        buffer.ai = 0;
+        BufferUtils.writeStringCp1252NullTerminated(GoldenPackets.STRING_ARGUMENT, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public StandInPacketBuffer writeStringNullCircumfixed() {
+        buffer.ai = 0;
+        BufferUtils.writeStringCp1252NullCircumfixed(GoldenPackets.STRING_ARGUMENT, buffer);
+        return buffer;
+    }
+}
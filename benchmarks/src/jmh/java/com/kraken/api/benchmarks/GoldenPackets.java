@@ -0,0 +1,154 @@
+package com.kraken.api.benchmarks;
+
+import com.kraken.api.benchmarks.client.StandInClient;
+import com.kraken.api.benchmarks.client.StandInPacketBuffer;
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.PacketId;
+import com.kraken.api.core.packet.mapping.WriteOp;
+import com.kraken.api.core.packet.model.PacketDefinition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The expected payload bytes for every packet the API sends, recorded against the stand-in client for
+ * {@link StandInClient#REVISION}. Each packet is sent with the fixed arguments from {@link #arguments(PacketId, PacketDefinition)}
+ * so any change to the encoder which alters the output on the wire fails verification.
+ * <p>
+ * Run with no arguments to verify every packet, or with {@code --write [file]} to print or record new golden bytes
+ * after an intentional change to the mappings.
+ */
+public final class GoldenPackets {
+
+    private static final String RESOURCE = "/golden-packets.properties";
+
+    // Includes characters from the CP1252 mapping table as well as plain ASCII
+    static final String STRING_ARGUMENT = "Kraken €™ ÿ";
+
+    private GoldenPackets() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        StandInClient standIn = StandInClient.get();
+        if (args.length > 0 && args[0].equals("--write")) {
+            if (args.length > 1) {
+                try (PrintStream out = new PrintStream(Files.newOutputStream(Paths.get(args[1])), false, StandardCharsets.UTF_8)) {
+                    write(encodeAll(standIn), out);
+                }
+                System.out.println("Wrote golden bytes to " + args[1]);
+            } else {
+                write(encodeAll(standIn), System.out);
+            }
+            return;
+        }
+
+        verify(standIn);
+        System.out.println("All " + PacketId.count() + " packets match their golden bytes");
+    }
+
+    /**
+     * The fixed arguments each packet is encoded with. Integer arguments use every byte so shifted writes are covered
+     * and string arguments use {@link #STRING_ARGUMENT}.
+     * @param id The packet id
+     * @param definition The packet definition
+     * @return The arguments in packet type parameter order
+     */
+    public static Object[] arguments(PacketId id, PacketDefinition definition) {
+        List<String> params = definition.getType().getParams();
+        Object[] args = new Object[params.size()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = (i + 1) * 0x1F3A5C7B + id.ordinal();
+        }
+
+        int[] paramIndices = definition.getParamIndices();
+        WriteOp[][] ops = definition.getOps();
+        for (int i = 0; i < paramIndices.length; i++) {
+            for (WriteOp op : ops[i]) {
+                if (op.isString()) {
+                    args[paramIndices[i]] = STRING_ARGUMENT;
+                }
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Returns the bytes written to a buffer so far.
+     * @param buffer The stand-in buffer
+     * @param mappings The mappings the buffer was written with
+     * @return A copy of the written bytes
+     */
+    public static byte[] payload(StandInPacketBuffer buffer, ClientMappings mappings) {
+        return Arrays.copyOf(buffer.av, buffer.ai * mappings.getIndexMultiplier());
+    }
+
+    /**
+     * Sends every packet through {@code PacketClient.sendPacket} and collects the payload which was queued.
+     * @param standIn The stand-in client
+     * @return The payload of each packet
+     */
+    public static Map<PacketId, byte[]> encodeAll(StandInClient standIn) {
+        Map<PacketId, byte[]> payloads = new EnumMap<>(PacketId.class);
+        for (PacketId id : PacketId.values()) {
+            PacketDefinition definition = standIn.getMappings().getDefinition(id);
+            long queued = standIn.getWriter().getQueued();
+            standIn.getPacketClient().sendPacket(definition, arguments(id, definition));
+            if (standIn.getWriter().getQueued() != queued + 1) {
+                throw new IllegalStateException("Packet " + id + " was not queued");
+            }
+            payloads.put(id, payload(standIn.getWriter().getLast().getBuffer(), standIn.getMappings()));
+        }
+        return payloads;
+    }
+
+    /**
+     * Encodes every packet and compares it to the golden bytes.
+     * @param standIn The stand-in client
+     * @throws IllegalStateException If any packet does not match
+     */
+    public static void verify(StandInClient standIn) throws IOException {
+        Properties golden = new Properties();
+        try (InputStream stream = GoldenPackets.class.getResourceAsStream(RESOURCE)) {
+            if (stream == null) {
+                throw new IllegalStateException("Golden packet bytes are missing: " + RESOURCE);
+            }
+            golden.load(stream);
+        }
+
+        List<String> mismatches = new ArrayList<>();
+        for (Map.Entry<PacketId, byte[]> entry : encodeAll(standIn).entrySet()) {
+            String expected = golden.getProperty(entry.getKey().name());
+            String actual = toHex(entry.getValue());
+            if (!actual.equals(expected)) {
+                mismatches.add(entry.getKey() + " expected [" + expected + "] but was [" + actual + "]");
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Encoded packets do not match their golden bytes:\n" + String.join("\n", mismatches));
+        }
+    }
+
+    private static void write(Map<PacketId, byte[]> payloads, PrintStream out) {
+        out.println("# Payload bytes for each packet sent with GoldenPackets.arguments against revision " + StandInClient.REVISION);
+        payloads.forEach((id, bytes) -> out.println(id.name() + "=" + toHex(bytes)));
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
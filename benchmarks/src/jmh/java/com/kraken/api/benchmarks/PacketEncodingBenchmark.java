@@ -0,0 +1,57 @@
+package com.kraken.api.benchmarks;
+
+import com.kraken.api.benchmarks.client.StandInClient;
+import com.kraken.api.benchmarks.client.StandInPacketBufferNode;
+import com.kraken.api.core.packet.PacketClient;
+import com.kraken.api.core.packet.mapping.PacketId;
+import com.kraken.api.core.packet.model.PacketDefFactory;
+import com.kraken.api.core.packet.model.PacketDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures constructing complete packets. {@link #encode()} covers only writing the payload into a new node while
+ * {@link #sendPacket()} runs the full {@link PacketClient#sendPacket(PacketDefinition, Object...)} path, including the
+ * reflection used to create the node and queue it on the packet writer.
+ * <p>
+ * The golden bytes for every packet are verified before measuring so encoder changes are only benchmarked when they
+ * produce byte-exact output.
+ */
+@State(Scope.Thread)
+public class PacketEncodingBenchmark {
+
+    @Param({"OPNPC1", "OPLOC1", "OPOBJ3", "OPPLAYERT", "IF_BUTTONX", "OPHELDD", "MOVE_GAMECLICK", "EVENT_MOUSE_CLICK", "RESUME_STRINGDIALOG"})
+    public String packet;
+
+    private StandInClient standIn;
+    private PacketDefFactory factory;
+    private PacketId id;
+    private Object[] arguments;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        standIn = StandInClient.get();
+        GoldenPackets.verify(standIn);
+        factory = new PacketDefFactory();
+        id = PacketId.valueOf(packet);
+        arguments = GoldenPackets.arguments(id, factory.get(id));
+    }
+
+    @Benchmark
+    public StandInPacketBufferNode encode() throws ReflectiveOperationException {
+        PacketDefinition definition = factory.get(id);
+        StandInPacketBufferNode node = standIn.createNode(definition.getName());
+        PacketClient.encode(definition, node.getBuffer(), arguments);
+        return node;
+    }
+
+    @Benchmark
+    public StandInPacketBufferNode sendPacket() {
+        standIn.getPacketClient().sendPacket(factory.get(id), arguments);
+        return standIn.getWriter().getLast();
+    }
+}
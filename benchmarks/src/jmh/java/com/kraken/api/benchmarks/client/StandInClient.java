@@ -0,0 +1,168 @@
+package com.kraken.api.benchmarks.client;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.kraken.api.core.packet.PacketClient;
+import com.kraken.api.core.packet.PacketMethodLocator;
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.MappingStore;
+import com.kraken.api.core.packet.mapping.PacketId;
+import com.kraken.api.core.packet.model.PacketMethods;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Ownership;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.runelite.api.Client;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * A local stand-in for the obfuscated game client which lets {@link PacketClient} run its full reflective send path
+ * outside of RuneLite.
+ * <p>
+ * The packet layouts and multipliers come from the bundled mappings for {@link #REVISION}, while the class names point
+ * at the stand-in classes in this package. The {@code Client} implementation and the {@code ClientPacket} class are
+ * generated because the client's packet writer field and packet fields are named after the obfuscated names in the
+ * mappings. Packets are queued on a {@link StandInPacketWriter} rather than sent.
+ */
+public final class StandInClient {
+
+    /**
+     * The mapping revision the golden bytes were recorded against.
+     */
+    public static final int REVISION = 236;
+
+    private static final String CLIENT_CLASS = "com.kraken.api.benchmarks.client.GeneratedClient";
+    private static final String CLIENT_PACKET_CLASS = "com.kraken.api.benchmarks.client.GeneratedClientPacket";
+    private static final String PACKET_WRITER_FIELD = "ca";
+
+    private static StandInClient instance;
+
+    private final Client client;
+    private final ClientMappings mappings;
+    private final StandInPacketWriter writer;
+    private final PacketClient packetClient;
+    private final Class<?> clientPacketClass;
+
+    private StandInClient(Client client, ClientMappings mappings, StandInPacketWriter writer, Class<?> clientPacketClass) {
+        this.client = client;
+        this.mappings = mappings;
+        this.writer = writer;
+        this.clientPacketClass = clientPacketClass;
+        this.packetClient = new PacketClient(client);
+    }
+
+    /**
+     * Installs the stand-in mappings and creates the stand-in client. The client is created once per JVM.
+     * @return The stand-in client
+     * @throws Exception If the mappings cannot be read or the client classes cannot be generated
+     */
+    public static synchronized StandInClient get() throws Exception {
+        if (instance != null) {
+            return instance;
+        }
+
+        ClientMappings mappings = readMappings();
+        MappingStore.install(mappings);
+
+        DynamicType.Builder<Object> clientPacket = new ByteBuddy()
+                .subclass(Object.class)
+                .name(CLIENT_PACKET_CLASS);
+
+        Set<String> packetNames = new TreeSet<>();
+        for (PacketId id : PacketId.values()) {
+            packetNames.add(mappings.getDefinition(id).getName());
+        }
+        for (String name : packetNames) {
+            clientPacket = clientPacket.defineField(name, Object.class, Visibility.PUBLIC, Ownership.STATIC);
+        }
+
+        // Interface methods are left unimplemented; PacketClient only uses the client's class and class loader
+        Class<?> clientClass = new ByteBuddy()
+                .subclass(Object.class)
+                .implement(Client.class)
+                .name(CLIENT_CLASS)
+                .defineField(PACKET_WRITER_FIELD, Object.class, Visibility.PUBLIC, Ownership.STATIC)
+                .make()
+                .include(clientPacket.make())
+                .load(StandInClient.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+
+        Class<?> clientPacketClass = clientClass.getClassLoader().loadClass(CLIENT_PACKET_CLASS);
+        for (String name : packetNames) {
+            clientPacketClass.getField(name).set(null, new Object());
+        }
+
+        StandInPacketWriter writer = new StandInPacketWriter();
+        clientClass.getField(PACKET_WRITER_FIELD).set(null, writer);
+
+        // The stand-in writer declares addNode itself, the same as clients which use the "client" addNode path
+        PacketMethodLocator.packetMethods = new PacketMethods(null, true);
+
+        Client client = (Client) clientClass.getDeclaredConstructor().newInstance();
+        instance = new StandInClient(client, mappings, writer, clientPacketClass);
+        return instance;
+    }
+
+    /**
+     * Reads the bundled mappings for {@link #REVISION} and points every class, field, and method name at the
+     * stand-in classes.
+     */
+    private static ClientMappings readMappings() throws Exception {
+        JsonObject json;
+        try (InputStream stream = MappingStore.class.getResourceAsStream("/mappings/" + REVISION + ".json")) {
+            if (stream == null) {
+                throw new IllegalStateException("Bundled mappings for revision " + REVISION + " are missing");
+            }
+
+            try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+                json = JsonParser.parseReader(reader).getAsJsonObject();
+            }
+        }
+
+        json.addProperty("packetWriterClassName", StandInPacketWriter.class.getName());
+        json.addProperty("packetWriterFieldName", PACKET_WRITER_FIELD);
+        json.addProperty("addNodeMethodName", StandInPacketWriter.ADD_NODE_METHOD);
+        json.addProperty("isaacCipherFieldName", StandInPacketWriter.ISAAC_FIELD);
+        json.addProperty("clientPacketClassName", CLIENT_PACKET_CLASS);
+        json.addProperty("classContainingGetPacketBufferNodeName", StandInPacketBufferNodes.class.getName());
+        json.addProperty("packetBufferNodeClassName", StandInPacketBufferNode.class.getName());
+        json.addProperty("packetBufferFieldName", StandInPacketBufferNode.BUFFER_FIELD);
+        json.addProperty("bufferOffsetField", StandInPacketBuffer.OFFSET_FIELD);
+        json.addProperty("bufferArrayField", StandInPacketBuffer.ARRAY_FIELD);
+        return MappingStore.read(new StringReader(json.toString()));
+    }
+
+    /**
+     * Creates a packet buffer node the same way the client's {@code getPacketBufferNode} method does.
+     * @param packetName The obfuscated name of the packet
+     * @return A new node with an empty buffer
+     * @throws ReflectiveOperationException If the packet is not declared by the stand-in {@code ClientPacket} class
+     */
+    public StandInPacketBufferNode createNode(String packetName) throws ReflectiveOperationException {
+        return StandInPacketBufferNodes.getPacketBufferNode(clientPacketClass.getField(packetName).get(null), null, mappings.getGetPacketBufferNodeGarbageValue());
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public ClientMappings getMappings() {
+        return mappings;
+    }
+
+    public StandInPacketWriter getWriter() {
+        return writer;
+    }
+
+    public PacketClient getPacketClient() {
+        return packetClient;
+    }
+}
@@ -0,0 +1,18 @@
+package com.kraken.api.benchmarks.client;
+
+/**
+ * Stand-in for the client's {@code PacketBuffer}. Field names and visibility match the obfuscated client so
+ * {@code BufferUtils} reads and writes it exactly as it does the real buffer: {@code av} is the backing array and
+ * {@code ai} is the write offset multiplied by the obfuscated offset multiplier.
+ */
+public class StandInPacketBuffer {
+    public static final String ARRAY_FIELD = "av";
+    public static final String OFFSET_FIELD = "ai";
+
+    public byte[] av;
+    public int ai;
+
+    public StandInPacketBuffer(int size) {
+        this.av = new byte[size];
+    }
+}
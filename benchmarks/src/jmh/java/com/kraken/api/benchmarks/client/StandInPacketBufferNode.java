@@ -0,0 +1,23 @@
+package com.kraken.api.benchmarks.client;
+
+/**
+ * Stand-in for the client's {@code PacketBufferNode}, holding the buffer a packet payload is written into.
+ */
+public class StandInPacketBufferNode {
+    public static final String BUFFER_FIELD = "al";
+
+    // Packets sent by the API are small and fixed size, which the client allocates a 260 byte buffer for
+    private static final int BUFFER_SIZE = 260;
+
+    final Object clientPacket;
+    StandInPacketBuffer al;
+
+    StandInPacketBufferNode(Object clientPacket) {
+        this.clientPacket = clientPacket;
+        this.al = new StandInPacketBuffer(BUFFER_SIZE);
+    }
+
+    public StandInPacketBuffer getBuffer() {
+        return al;
+    }
+}
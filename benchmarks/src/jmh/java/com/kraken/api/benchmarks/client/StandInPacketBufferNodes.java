@@ -0,0 +1,12 @@
+package com.kraken.api.benchmarks.client;
+
+/**
+ * Stand-in for the client class holding the static {@code getPacketBufferNode} method. {@code PacketClient} finds the
+ * method by its return type, so this class must declare exactly one method returning a {@link StandInPacketBufferNode}.
+ */
+public class StandInPacketBufferNodes {
+
+    public static StandInPacketBufferNode getPacketBufferNode(Object clientPacket, Object isaac, int garbage) {
+        return new StandInPacketBufferNode(clientPacket);
+    }
+}
@@ -0,0 +1,27 @@
+package com.kraken.api.benchmarks.client;
+
+/**
+ * Stand-in for the client's {@code PacketWriter}. Queued nodes are not sent anywhere; the last node is kept so its
+ * payload can be compared to the golden bytes.
+ */
+public class StandInPacketWriter {
+    public static final String ISAAC_FIELD = "af";
+    public static final String ADD_NODE_METHOD = "ah";
+
+    private final Object af = new Object();
+    private StandInPacketBufferNode last;
+    private long queued;
+
+    void ah(StandInPacketBufferNode node, byte garbage) {
+        last = node;
+        queued++;
+    }
+
+    public StandInPacketBufferNode getLast() {
+        return last;
+    }
+
+    public long getQueued() {
+        return queued;
+    }
+}
@@ -18,6 +18,8 @@ import com.kraken.api.query.player.PlayerQuery;
 import com.kraken.api.query.widget.WidgetQuery;
 import com.kraken.api.query.world.WorldQuery;
 import com.kraken.api.service.bank.BankService;
+import com.kraken.api.service.pathfinding.CollisionSnapshotService;
+import com.kraken.api.service.pathfinding.CollisionStore;
 import com.kraken.api.service.tile.TileService;
 import lombok.Getter;
 import lombok.Setter;
@@ -67,7 +69,8 @@ public class Context {
     @Inject
     public Context(final Client client, final ClientThread clientThread, final VirtualMouse mouse, final EventBus eventBus,
                    final Injector injector, final InteractionManager interactionManager, final TileService tileService,
-                   final ItemManager itemManager, final BankService bankService) {
+                   final ItemManager itemManager, final BankService bankService, final CollisionStore collisionStore,
+                   final CollisionSnapshotService collisionSnapshotService) {
         this.client = client;
         this.clientThread = clientThread;
         this.mouse = mouse;
@@ -78,6 +81,9 @@ public class Context {
         this.localPlayer = new LocalPlayerEntity(this);
         eventBus.register(this.localPlayer);
         eventBus.register(bankService);
+        eventBus.register(collisionStore);
+        eventBus.register(collisionSnapshotService);
+        eventBus.register(tileService);
     }
 
     /**
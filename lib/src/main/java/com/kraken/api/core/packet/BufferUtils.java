@@ -1,5 +1,9 @@
 package com.kraken.api.core.packet;
 
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.MappingStore;
+import com.kraken.api.core.packet.mapping.WriteOp;
+
 import java.lang.reflect.Field;
 
 /**
@@ -13,6 +17,9 @@ import java.lang.reflect.Field;
  */
 public class BufferUtils {
 
+    // Reflection handles for the last buffer class seen, rebuilt when the buffer class or the mappings change
+    private static volatile Accessors accessors;
+
     /**
      * Reflectively sets the 'offset' (current write position) on a buffer instance.
      *
@@ -21,10 +28,7 @@ public class BufferUtils {
      */
     public static void setOffset(Object bufferInstance, int offset) {
         try {
-            Field offsetField = bufferInstance.getClass().getField(ObfuscatedNames.bufferOffsetField);
-            offsetField.setAccessible(true);
-            offsetField.setInt(bufferInstance, offset);
-            offsetField.setAccessible(false);
+            accessors(bufferInstance).offsetField.setInt(bufferInstance, offset);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             e.printStackTrace();
         }
@@ -38,11 +42,7 @@ public class BufferUtils {
      */
     public static int getOffset(Object bufferInstance) {
         try {
-            Field offsetField = bufferInstance.getClass().getField(ObfuscatedNames.bufferOffsetField);
-            offsetField.setAccessible(true);
-            int offset = offsetField.getInt(bufferInstance); // Get the current value
-            offsetField.setAccessible(false);
-            return offset;
+            return accessors(bufferInstance).offsetField.getInt(bufferInstance);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             e.printStackTrace();
         }
@@ -57,10 +57,7 @@ public class BufferUtils {
      */
     public static void setArray(Object bufferInstance, byte[] array) {
         try {
-            Field arrayField = bufferInstance.getClass().getField(ObfuscatedNames.bufferArrayField);
-            arrayField.setAccessible(true);
-            arrayField.set(bufferInstance, array);
-            arrayField.setAccessible(false);
+            accessors(bufferInstance).arrayField.set(bufferInstance, array);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             e.printStackTrace();
         }
@@ -74,11 +71,7 @@ public class BufferUtils {
      */
     public static byte[] getArray(Object bufferInstance) {
         try {
-            Field arrayField = bufferInstance.getClass().getField(ObfuscatedNames.bufferArrayField);
-            arrayField.setAccessible(true);
-            byte[] array = (byte[]) arrayField.get(bufferInstance);
-            arrayField.setAccessible(false);
-            return array;
+            return (byte[]) accessors(bufferInstance).arrayField.get(bufferInstance);
         } catch (NoSuchFieldException | IllegalAccessException e) {
             e.printStackTrace();
         }
@@ -95,9 +88,17 @@ public class BufferUtils {
      * @param bufferInstance   The obfuscated buffer object.
      */
     public static void writeValue(String writeDescription, int value, Object bufferInstance) {
-        // Parse magnitude from description (e.g., "s128" -> 128). Default to 0 if 'v' (variable).
-        int writeTypeMagnitude = writeDescription.contains("v") ? 0 : Integer.parseInt(writeDescription.substring(1).trim());
+        writeValue(WriteOp.parse(writeDescription), value, bufferInstance);
+    }
 
+    /**
+     * Writes a single integer value to the buffer using a pre-parsed write operation.
+     *
+     * @param op             The write operation.
+     * @param value          The integer value to write.
+     * @param bufferInstance The obfuscated buffer object.
+     */
+    public static void writeValue(WriteOp op, int value, Object bufferInstance) {
         // Get the buffer's current data
         byte[] arr = getArray(bufferInstance);
 
@@ -106,23 +107,11 @@ public class BufferUtils {
         setOffset(bufferInstance, index);
 
         // Calculate the *actual* byte array index using the obfuscated multiplier.
-        index = index * Integer.parseInt(ObfuscatedNames.indexMultiplier) - 1;
-
-        // Perform the write operation based on the first character of the description
-        switch (writeDescription.charAt(0)) {
-            case 's': // Subtract
-                setArray(bufferInstance, writeSub(writeTypeMagnitude, value, arr, index));
-                break;
-            case 'a': // Add
-                setArray(bufferInstance, writeAdd(writeTypeMagnitude, value, arr, index));
-                break;
-            case 'r': // Right-shift
-                setArray(bufferInstance, writeRightShifted(writeTypeMagnitude, value, arr, index));
-                break;
-            case 'v': // Variable / Raw
-                setArray(bufferInstance, writeVar(value, arr, index));
-                break;
-        }
+        index = index * currentAccessors().indexMultiplier - 1;
+
+        // Perform the write operation (add, subtract, right-shift, or raw)
+        arr[index] = op.apply(value);
+        setArray(bufferInstance, arr);
     }
 
     /**
@@ -136,9 +125,9 @@ public class BufferUtils {
         byte[] arr = getArray(bufferInstance);
 
         int offset = getOffset(bufferInstance);
-        int indexMultiplier = Integer.parseInt(ObfuscatedNames.indexMultiplier);
+        int indexMultiplier = currentAccessors().indexMultiplier;
         // The offset multiplier is also an obfuscated value, often a large negative number.
-        int offsetMultiplier = (int) Long.parseLong(ObfuscatedNames.offsetMultiplier);
+        int offsetMultiplier = currentAccessors().offsetMultiplier;
 
         // Calculate the real starting index in the byte array
         int realIndex = offset * indexMultiplier;
@@ -174,8 +163,8 @@ public class BufferUtils {
         byte[] arr = getArray(bufferInstance);
 
         int offset = getOffset(bufferInstance);
-        int indexMultiplier = Integer.parseInt(ObfuscatedNames.indexMultiplier);
-        int offsetMultiplier = (int) Long.parseLong(ObfuscatedNames.offsetMultiplier);
+        int indexMultiplier = currentAccessors().indexMultiplier;
+        int offsetMultiplier = currentAccessors().offsetMultiplier;
 
         // Advance offset and write the leading null byte
         offset += offsetMultiplier;
@@ -201,46 +190,74 @@ public class BufferUtils {
     }
 
     /**
-     * Writes a byte by subtracting the value from a base (subValue).
+     * Calculates the *next logical offset* by adding the obfuscated offset multiplier.
+     *
+     * @param offset The current logical offset.
+     * @return The next logical offset.
      */
-    static byte[] writeSub(int subValue, int value, byte[] arr, int index) {
-        arr[index] = (byte) (subValue - value);
-        return arr;
+    static public int nextIndex(int offset) {
+        offset += currentAccessors().offsetMultiplier;
+        return offset;
     }
 
     /**
-     * Writes a byte by adding the value to a base (addValue).
+     * Returns the cached reflection handles for a buffer, resolving them again if the buffer's class differs from the
+     * cached one or new mappings have been installed in the {@link MappingStore} since they were resolved.
+     *
+     * @param bufferInstance The obfuscated buffer object.
+     * @return The handles for the buffer's class.
+     * @throws NoSuchFieldException If the mapped fields do not exist on the buffer.
      */
-    static byte[] writeAdd(int addValue, int value, byte[] arr, int index) {
-        arr[index] = (byte) (addValue + value);
-        return arr;
+    private static Accessors accessors(Object bufferInstance) throws NoSuchFieldException {
+        Accessors cached = accessors;
+        if (cached == null || cached.type != bufferInstance.getClass() || cached.version != MappingStore.getVersion()) {
+            cached = new Accessors(bufferInstance.getClass());
+            accessors = cached;
+        }
+        return cached;
     }
 
     /**
-     * Writes a byte by right-shifting the value. (e.g., to get the high byte of a short).
+     * Returns the cached handles when they are still current, otherwise just the multipliers of the current mappings
+     * (no buffer has been seen since they were installed).
      */
-    static byte[] writeRightShifted(int shiftAmount, int value, byte[] arr, int index) {
-        arr[index] = (byte) (value >> shiftAmount);
-        return arr;
+    private static Accessors currentAccessors() {
+        Accessors cached = accessors;
+        return cached != null && cached.version == MappingStore.getVersion() ? cached : new Accessors(MappingStore.get());
     }
 
     /**
-     * Writes the raw byte value directly.
+     * The reflection handles and multipliers resolved from one set of mappings.
      */
-    static byte[] writeVar(int value, byte[] arr, int index) {
-        arr[index] = (byte) (value);
-        return arr;
-    }
+    private static final class Accessors {
+        private final int version;
+        private final Class<?> type;
+        private final Field offsetField;
+        private final Field arrayField;
+        private final int indexMultiplier;
+        private final int offsetMultiplier;
+
+        private Accessors(Class<?> type) throws NoSuchFieldException {
+            // Read the version first so mappings installed while resolving are picked up on the next call
+            this.version = MappingStore.getVersion();
+            ClientMappings mappings = MappingStore.get();
+            this.type = type;
+            this.offsetField = type.getField(mappings.getBufferOffsetField());
+            this.offsetField.setAccessible(true);
+            this.arrayField = type.getField(mappings.getBufferArrayField());
+            this.arrayField.setAccessible(true);
+            this.indexMultiplier = mappings.getIndexMultiplier();
+            this.offsetMultiplier = mappings.getOffsetMultiplier();
+        }
 
-    /**
-     * Calculates the *next logical offset* by adding the obfuscated offset multiplier.
-     *
-     * @param offset The current logical offset.
-     * @return The next logical offset.
-     */
-    static public int nextIndex(int offset) {
-        offset += (int) Long.parseLong(ObfuscatedNames.offsetMultiplier);
-        return offset;
+        private Accessors(ClientMappings mappings) {
+            this.version = -1;
+            this.type = null;
+            this.offsetField = null;
+            this.arrayField = null;
+            this.indexMultiplier = mappings.getIndexMultiplier();
+            this.offsetMultiplier = mappings.getOffsetMultiplier();
+        }
     }
 
     /**
@@ -1,548 +0,0 @@
-package com.kraken.api.core.packet;
-
-
-/**
- * This class is a direct copy of the ObfuscatedNames class from the EthanVann PacketUtils class found here:
- * https://github.com/Ethan-Vann/PacketUtils/blob/master/src/main/java/com/example/PacketUtils/ObfuscatedNames.java
- * The copy was made so that this API could remain fundamentally compatible with the popular EthanVann PacketUtils plugin.
- * <p>
- * This class contains all the definitions which map arguments for sending specific packets and client level packet related classes
- * to their obfuscated names. By utilizing this class we can use reflection to send packets through the game client by invoking the
- * right obfuscated methods with arguments.
- */
-public final class ObfuscatedNames {
-
-    public static final String EVENT_MOUSE_CLICK_OBFUSCATEDNAME = "cx";
-    public static final String EVENT_MOUSE_CLICK_WRITE1 = "0";
-    public static final String EVENT_MOUSE_CLICK_METHOD_NAME1 = "dg";
-    public static final String EVENT_MOUSE_CLICK_WRITE2 = "mouseX";
-    public static final String EVENT_MOUSE_CLICK_METHOD_NAME2 = "en";
-    public static final String EVENT_MOUSE_CLICK_WRITE3 = "mouseY";
-    public static final String EVENT_MOUSE_CLICK_METHOD_NAME3 = "en";
-    public static final String EVENT_MOUSE_CLICK_WRITE4 = "mouseInfo";
-    public static final String EVENT_MOUSE_CLICK_METHOD_NAME4 = "ev";
-    public static final String[][] EVENT_MOUSE_CLICK_WRITES = new String[][]{
-            {"s 0"},
-            {"r 8", "a 128"},
-            {"r 8", "a 128"},
-            {"v", "r 8"},
-    };
-    public static final String IF_BUTTONT_OBFUSCATEDNAME = "ck";
-    public static final String IF_BUTTONT_WRITE1 = "destinationSlot";
-    public static final String IF_BUTTONT_METHOD_NAME1 = "be";
-    public static final String IF_BUTTONT_WRITE2 = "sourceItemId";
-    public static final String IF_BUTTONT_METHOD_NAME2 = "ev";
-    public static final String IF_BUTTONT_WRITE3 = "sourceSlot";
-    public static final String IF_BUTTONT_METHOD_NAME3 = "en";
-    public static final String IF_BUTTONT_WRITE4 = "sourceWidgetId";
-    public static final String IF_BUTTONT_METHOD_NAME4 = "eb";
-    public static final String IF_BUTTONT_WRITE5 = "destinationItemId";
-    public static final String IF_BUTTONT_METHOD_NAME5 = "kf";
-    public static final String IF_BUTTONT_WRITE6 = "destinationWidgetId";
-    public static final String IF_BUTTONT_METHOD_NAME6 = "eo";
-    public static final String[][] IF_BUTTONT_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"v", "r 8"},
-            {"r 8", "a 128"},
-            {"r 8", "v", "r 24", "r 16"},
-            {"a 128", "r 8"},
-            {"r 16", "r 24", "v", "r 8"},
-    };
-    public static final String IF_BUTTONX_OBFUSCATEDNAME = "dd";
-    public static final String IF_BUTTONX_WRITE1 = "widgetId";
-    public static final String IF_BUTTONX_METHOD_NAME1 = "br";
-    public static final String IF_BUTTONX_WRITE2 = "slot";
-    public static final String IF_BUTTONX_METHOD_NAME2 = "be";
-    public static final String IF_BUTTONX_WRITE3 = "itemId";
-    public static final String IF_BUTTONX_METHOD_NAME3 = "be";
-    public static final String IF_BUTTONX_WRITE4 = "opCode";
-    public static final String IF_BUTTONX_METHOD_NAME4 = "bf";
-    public static final String[][] IF_BUTTONX_WRITES = new String[][]{
-            {"r 24", "r 16", "r 8", "v"},
-            {"r 8", "v"},
-            {"r 8", "v"},
-            {"v"},
-    };
-    public static final String IF_SUBOP_OBFUSCATEDNAME = "dr";
-    public static final String IF_SUBOP_WRITE1 = "widgetId";
-    public static final String IF_SUBOP_METHOD_NAME1 = "br";
-    public static final String IF_SUBOP_WRITE2 = "slot";
-    public static final String IF_SUBOP_METHOD_NAME2 = "be";
-    public static final String IF_SUBOP_WRITE3 = "itemId";
-    public static final String IF_SUBOP_METHOD_NAME3 = "be";
-    public static final String IF_SUBOP_WRITE4 = "menuIndex";
-    public static final String IF_SUBOP_METHOD_NAME4 = "bf";
-    public static final String IF_SUBOP_WRITE5 = "subActionIndex";
-    public static final String IF_SUBOP_METHOD_NAME5 = "bf";
-    public static final String[][] IF_SUBOP_WRITES = new String[][]{
-            {"r 24", "r 16", "r 8", "v"},
-            {"r 8", "v"},
-            {"r 8", "v"},
-            {"v"},
-            {"v"},
-    };
-    public static final String MOVE_GAMECLICK_OBFUSCATEDNAME = "cn";
-    public static final String MOVE_GAMECLICK_WRITE1 = "5";
-    public static final String MOVE_GAMECLICK_METHOD_NAME1 = "bf";
-    public static final String MOVE_GAMECLICK_WRITE2 = "worldPointY";
-    public static final String MOVE_GAMECLICK_METHOD_NAME2 = "kf";
-    public static final String MOVE_GAMECLICK_WRITE3 = "worldPointX";
-    public static final String MOVE_GAMECLICK_METHOD_NAME3 = "be";
-    public static final String MOVE_GAMECLICK_WRITE4 = "ctrlDown";
-    public static final String MOVE_GAMECLICK_METHOD_NAME4 = "dy";
-    public static final String[][] MOVE_GAMECLICK_WRITES = new String[][]{
-            {"v"},
-            {"a 128", "r 8"},
-            {"r 8", "v"},
-            {"s 128"},
-    };
-
-    public static final String OPLOC1_OBFUSCATEDNAME = "am";
-    public static final String OPLOC1_WRITE1 = "ctrlDown";
-    public static final String OPLOC1_METHOD_NAME1 = "yd";
-    public static final String OPLOC1_WRITE2 = "worldPointY";
-    public static final String OPLOC1_METHOD_NAME2 = "kf";
-    public static final String OPLOC1_WRITE3 = "objectId";
-    public static final String OPLOC1_METHOD_NAME3 = "be";
-    public static final String OPLOC1_WRITE4 = "worldPointX";
-    public static final String OPLOC1_METHOD_NAME4 = "en";
-    public static final String[][] OPLOC1_WRITES = new String[][]{
-            {"a 128"},
-            {"a 128", "r 8"},
-            {"r 8", "v"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPLOC2_OBFUSCATEDNAME = "aj";
-    public static final String OPLOC2_WRITE1 = "worldPointX";
-    public static final String OPLOC2_METHOD_NAME1 = "be";
-    public static final String OPLOC2_WRITE2 = "objectId";
-    public static final String OPLOC2_METHOD_NAME2 = "kf";
-    public static final String OPLOC2_WRITE3 = "worldPointY";
-    public static final String OPLOC2_METHOD_NAME3 = "be";
-    public static final String OPLOC2_WRITE4 = "ctrlDown";
-    public static final String OPLOC2_METHOD_NAME4 = "bf";
-    public static final String[][] OPLOC2_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"a 128", "r 8"},
-            {"r 8", "v"},
-            {"v"},
-    };
-    public static final String OPLOC3_OBFUSCATEDNAME = "bq";
-    public static final String OPLOC3_WRITE1 = "objectId";
-    public static final String OPLOC3_METHOD_NAME1 = "en";
-    public static final String OPLOC3_WRITE2 = "worldPointY";
-    public static final String OPLOC3_METHOD_NAME2 = "ev";
-    public static final String OPLOC3_WRITE3 = "worldPointX";
-    public static final String OPLOC3_METHOD_NAME3 = "be";
-    public static final String OPLOC3_WRITE4 = "ctrlDown";
-    public static final String OPLOC3_METHOD_NAME4 = "dg";
-    public static final String[][] OPLOC3_WRITES = new String[][]{
-            {"r 8", "a 128"},
-            {"v", "r 8"},
-            {"r 8", "v"},
-            {"s 0"},
-    };
-    public static final String OPLOC4_OBFUSCATEDNAME = "bg";
-    public static final String OPLOC4_WRITE1 = "worldPointY";
-    public static final String OPLOC4_METHOD_NAME1 = "be";
-    public static final String OPLOC4_WRITE2 = "ctrlDown";
-    public static final String OPLOC4_METHOD_NAME2 = "bf";
-    public static final String OPLOC4_WRITE3 = "objectId";
-    public static final String OPLOC4_METHOD_NAME3 = "ev";
-    public static final String OPLOC4_WRITE4 = "worldPointX";
-    public static final String OPLOC4_METHOD_NAME4 = "en";
-    public static final String[][] OPLOC4_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"v"},
-            {"v", "r 8"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPLOC5_OBFUSCATEDNAME = "dj";
-    public static final String OPLOC5_WRITE1 = "objectId";
-    public static final String OPLOC5_METHOD_NAME1 = "kf";
-    public static final String OPLOC5_WRITE2 = "worldPointY";
-    public static final String OPLOC5_METHOD_NAME2 = "ev";
-    public static final String OPLOC5_WRITE3 = "ctrlDown";
-    public static final String OPLOC5_METHOD_NAME3 = "bf";
-    public static final String OPLOC5_WRITE4 = "worldPointX";
-    public static final String OPLOC5_METHOD_NAME4 = "en";
-    public static final String[][] OPLOC5_WRITES = new String[][]{
-            {"a 128", "r 8"},
-            {"v", "r 8"},
-            {"v"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPLOCT_OBFUSCATEDNAME = "bb";
-    public static final String OPLOCT_WRITE1 = "slot";
-    public static final String OPLOCT_METHOD_NAME1 = "kf";
-    public static final String OPLOCT_WRITE2 = "worldPointX";
-    public static final String OPLOCT_METHOD_NAME2 = "kf";
-    public static final String OPLOCT_WRITE3 = "widgetId";
-    public static final String OPLOCT_METHOD_NAME3 = "eb";
-    public static final String OPLOCT_WRITE4 = "ctrlDown";
-    public static final String OPLOCT_METHOD_NAME4 = "yd";
-    public static final String OPLOCT_WRITE5 = "objectId";
-    public static final String OPLOCT_METHOD_NAME5 = "be";
-    public static final String OPLOCT_WRITE6 = "worldPointY";
-    public static final String OPLOCT_METHOD_NAME6 = "be";
-    public static final String OPLOCT_WRITE7 = "itemId";
-    public static final String OPLOCT_METHOD_NAME7 = "en";
-    public static final String[][] OPLOCT_WRITES = new String[][]{
-            {"a 128", "r 8"},
-            {"a 128", "r 8"},
-            {"r 8", "v", "r 24", "r 16"},
-            {"a 128"},
-            {"r 8", "v"},
-            {"r 8", "v"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPNPC1_OBFUSCATEDNAME = "at";
-    public static final String OPNPC1_WRITE1 = "npcIndex";
-    public static final String OPNPC1_METHOD_NAME1 = "ev";
-    public static final String OPNPC1_WRITE2 = "ctrlDown";
-    public static final String OPNPC1_METHOD_NAME2 = "yd";
-    public static final String[][] OPNPC1_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"a 128"},
-    };
-    public static final String OPNPC2_OBFUSCATEDNAME = "ch";
-    public static final String OPNPC2_WRITE1 = "npcIndex";
-    public static final String OPNPC2_METHOD_NAME1 = "be";
-    public static final String OPNPC2_WRITE2 = "ctrlDown";
-    public static final String OPNPC2_METHOD_NAME2 = "dg";
-    public static final String[][] OPNPC2_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"s 0"},
-    };
-    public static final String OPNPC3_OBFUSCATEDNAME = "cm";
-    public static final String OPNPC3_WRITE1 = "npcIndex";
-    public static final String OPNPC3_METHOD_NAME1 = "ev";
-    public static final String OPNPC3_WRITE2 = "ctrlDown";
-    public static final String OPNPC3_METHOD_NAME2 = "yd";
-    public static final String[][] OPNPC3_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"a 128"},
-    };
-    public static final String OPNPC4_OBFUSCATEDNAME = "cz";
-    public static final String OPNPC4_WRITE1 = "npcIndex";
-    public static final String OPNPC4_METHOD_NAME1 = "ev";
-    public static final String OPNPC4_WRITE2 = "ctrlDown";
-    public static final String OPNPC4_METHOD_NAME2 = "dg";
-    public static final String[][] OPNPC4_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"s 0"},
-    };
-    public static final String OPNPC5_OBFUSCATEDNAME = "ce";
-    public static final String OPNPC5_WRITE1 = "npcIndex";
-    public static final String OPNPC5_METHOD_NAME1 = "ev";
-    public static final String OPNPC5_WRITE2 = "ctrlDown";
-    public static final String OPNPC5_METHOD_NAME2 = "dy";
-    public static final String[][] OPNPC5_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"s 128"},
-    };
-    public static final String OPNPCT_OBFUSCATEDNAME = "ci";
-    public static final String OPNPCT_WRITE1 = "npcIndex";
-    public static final String OPNPCT_METHOD_NAME1 = "en";
-    public static final String OPNPCT_WRITE2 = "slot";
-    public static final String OPNPCT_METHOD_NAME2 = "kf";
-    public static final String OPNPCT_WRITE3 = "widgetId";
-    public static final String OPNPCT_METHOD_NAME3 = "eo";
-    public static final String OPNPCT_WRITE4 = "ctrlDown";
-    public static final String OPNPCT_METHOD_NAME4 = "yd";
-    public static final String OPNPCT_WRITE5 = "itemId";
-    public static final String OPNPCT_METHOD_NAME5 = "en";
-    public static final String[][] OPNPCT_WRITES = new String[][]{
-            {"r 8", "a 128"},
-            {"a 128", "r 8"},
-            {"r 16", "r 24", "v", "r 8"},
-            {"a 128"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPOBJ1_OBFUSCATEDNAME = "bf";
-    public static final String OPOBJ1_WRITE1 = "objectId";
-    public static final String OPOBJ1_METHOD_NAME1 = "be";
-    public static final String OPOBJ1_WRITE2 = "worldPointX";
-    public static final String OPOBJ1_METHOD_NAME2 = "ev";
-    public static final String OPOBJ1_WRITE3 = "worldPointY";
-    public static final String OPOBJ1_METHOD_NAME3 = "be";
-    public static final String OPOBJ1_WRITE4 = "ctrlDown";
-    public static final String OPOBJ1_METHOD_NAME4 = "dy";
-    public static final String[][] OPOBJ1_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"v", "r 8"},
-            {"r 8", "v"},
-            {"s 128"},
-    };
-    public static final String OPOBJ2_OBFUSCATEDNAME = "cs";
-    public static final String OPOBJ2_WRITE1 = "worldPointX";
-    public static final String OPOBJ2_METHOD_NAME1 = "en";
-    public static final String OPOBJ2_WRITE2 = "ctrlDown";
-    public static final String OPOBJ2_METHOD_NAME2 = "yd";
-    public static final String OPOBJ2_WRITE3 = "worldPointY";
-    public static final String OPOBJ2_METHOD_NAME3 = "ev";
-    public static final String OPOBJ2_WRITE4 = "objectId";
-    public static final String OPOBJ2_METHOD_NAME4 = "ev";
-    public static final String[][] OPOBJ2_WRITES = new String[][]{
-            {"r 8", "a 128"},
-            {"a 128"},
-            {"v", "r 8"},
-            {"v", "r 8"},
-    };
-    public static final String OPOBJ3_OBFUSCATEDNAME = "by";
-    public static final String OPOBJ3_WRITE1 = "objectId";
-    public static final String OPOBJ3_METHOD_NAME1 = "ev";
-    public static final String OPOBJ3_WRITE2 = "worldPointY";
-    public static final String OPOBJ3_METHOD_NAME2 = "en";
-    public static final String OPOBJ3_WRITE3 = "ctrlDown";
-    public static final String OPOBJ3_METHOD_NAME3 = "dg";
-    public static final String OPOBJ3_WRITE4 = "worldPointX";
-    public static final String OPOBJ3_METHOD_NAME4 = "be";
-    public static final String[][] OPOBJ3_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"r 8", "a 128"},
-            {"s 0"},
-            {"r 8", "v"},
-    };
-    public static final String OPOBJ4_OBFUSCATEDNAME = "dw";
-    public static final String OPOBJ4_WRITE1 = "worldPointY";
-    public static final String OPOBJ4_METHOD_NAME1 = "ev";
-    public static final String OPOBJ4_WRITE2 = "ctrlDown";
-    public static final String OPOBJ4_METHOD_NAME2 = "dg";
-    public static final String OPOBJ4_WRITE3 = "objectId";
-    public static final String OPOBJ4_METHOD_NAME3 = "be";
-    public static final String OPOBJ4_WRITE4 = "worldPointX";
-    public static final String OPOBJ4_METHOD_NAME4 = "be";
-    public static final String[][] OPOBJ4_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"s 0"},
-            {"r 8", "v"},
-            {"r 8", "v"},
-    };
-    public static final String OPOBJ5_OBFUSCATEDNAME = "bw";
-    public static final String OPOBJ5_WRITE1 = "worldPointY";
-    public static final String OPOBJ5_METHOD_NAME1 = "kf";
-    public static final String OPOBJ5_WRITE2 = "ctrlDown";
-    public static final String OPOBJ5_METHOD_NAME2 = "dg";
-    public static final String OPOBJ5_WRITE3 = "worldPointX";
-    public static final String OPOBJ5_METHOD_NAME3 = "ev";
-    public static final String OPOBJ5_WRITE4 = "objectId";
-    public static final String OPOBJ5_METHOD_NAME4 = "en";
-    public static final String[][] OPOBJ5_WRITES = new String[][]{
-            {"a 128", "r 8"},
-            {"s 0"},
-            {"v", "r 8"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPOBJT_OBFUSCATEDNAME = "bm";
-    public static final String OPOBJT_WRITE1 = "widgetId";
-    public static final String OPOBJT_METHOD_NAME1 = "eb";
-    public static final String OPOBJT_WRITE2 = "worldPointY";
-    public static final String OPOBJT_METHOD_NAME2 = "en";
-    public static final String OPOBJT_WRITE3 = "objectId";
-    public static final String OPOBJT_METHOD_NAME3 = "kf";
-    public static final String OPOBJT_WRITE4 = "ctrlDown";
-    public static final String OPOBJT_METHOD_NAME4 = "dg";
-    public static final String OPOBJT_WRITE5 = "itemId";
-    public static final String OPOBJT_METHOD_NAME5 = "be";
-    public static final String OPOBJT_WRITE6 = "worldPointX";
-    public static final String OPOBJT_METHOD_NAME6 = "ev";
-    public static final String OPOBJT_WRITE7 = "slot";
-    public static final String OPOBJT_METHOD_NAME7 = "be";
-    public static final String[][] OPOBJT_WRITES = new String[][]{
-            {"r 8", "v", "r 24", "r 16"},
-            {"r 8", "a 128"},
-            {"a 128", "r 8"},
-            {"s 0"},
-            {"r 8", "v"},
-            {"v", "r 8"},
-            {"r 8", "v"},
-    };
-    public static final String OPPLAYER1_OBFUSCATEDNAME = "cw";
-    public static final String OPPLAYER1_WRITE1 = "playerIndex";
-    public static final String OPPLAYER1_METHOD_NAME1 = "ev";
-    public static final String OPPLAYER1_WRITE2 = "ctrlDown";
-    public static final String OPPLAYER1_METHOD_NAME2 = "bf";
-    public static final String[][] OPPLAYER1_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"v"},
-    };
-    public static final String OPPLAYER2_OBFUSCATEDNAME = "cp";
-    public static final String OPPLAYER2_WRITE1 = "playerIndex";
-    public static final String OPPLAYER2_METHOD_NAME1 = "be";
-    public static final String OPPLAYER2_WRITE2 = "ctrlDown";
-    public static final String OPPLAYER2_METHOD_NAME2 = "bf";
-    public static final String[][] OPPLAYER2_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"v"},
-    };
-    public static final String OPPLAYER3_OBFUSCATEDNAME = "cr";
-    public static final String OPPLAYER3_WRITE1 = "playerIndex";
-    public static final String OPPLAYER3_METHOD_NAME1 = "ev";
-    public static final String OPPLAYER3_WRITE2 = "ctrlDown";
-    public static final String OPPLAYER3_METHOD_NAME2 = "bf";
-    public static final String[][] OPPLAYER3_WRITES = new String[][]{
-            {"v", "r 8"},
-            {"v"},
-    };
-    public static final String OPPLAYER4_OBFUSCATEDNAME = "bk";
-    public static final String OPPLAYER4_WRITE1 = "ctrlDown";
-    public static final String OPPLAYER4_METHOD_NAME1 = "dg";
-    public static final String OPPLAYER4_WRITE2 = "playerIndex";
-    public static final String OPPLAYER4_METHOD_NAME2 = "en";
-    public static final String[][] OPPLAYER4_WRITES = new String[][]{
-            {"s 0"},
-            {"r 8", "a 128"},
-    };
-    public static final String OPPLAYER5_OBFUSCATEDNAME = "ca";
-    public static final String OPPLAYER5_WRITE1 = "playerIndex";
-    public static final String OPPLAYER5_METHOD_NAME1 = "be";
-    public static final String OPPLAYER5_WRITE2 = "ctrlDown";
-    public static final String OPPLAYER5_METHOD_NAME2 = "dg";
-    public static final String[][] OPPLAYER5_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"s 0"},
-    };
-    public static final String OPPLAYER6_OBFUSCATEDNAME = "bl";
-    public static final String OPPLAYER6_WRITE1 = "ctrlDown";
-    public static final String OPPLAYER6_METHOD_NAME1 = "dy";
-    public static final String OPPLAYER6_WRITE2 = "playerIndex";
-    public static final String OPPLAYER6_METHOD_NAME2 = "kf";
-    public static final String[][] OPPLAYER6_WRITES = new String[][]{
-            {"s 128"},
-            {"a 128", "r 8"},
-    };
-    public static final String OPPLAYER7_OBFUSCATEDNAME = "dp";
-    public static final String OPPLAYER7_WRITE1 = "ctrlDown";
-    public static final String OPPLAYER7_METHOD_NAME1 = "dy";
-    public static final String OPPLAYER7_WRITE2 = "playerIndex";
-    public static final String OPPLAYER7_METHOD_NAME2 = "kf";
-    public static final String[][] OPPLAYER7_WRITES = new String[][]{
-            {"s 128"},
-            {"a 128", "r 8"},
-    };
-    public static final String OPPLAYER8_OBFUSCATEDNAME = "av";
-    public static final String OPPLAYER8_WRITE1 = "playerIndex";
-    public static final String OPPLAYER8_METHOD_NAME1 = "be";
-    public static final String OPPLAYER8_WRITE2 = "ctrlDown";
-    public static final String OPPLAYER8_METHOD_NAME2 = "dg";
-    public static final String[][] OPPLAYER8_WRITES = new String[][]{
-            {"r 8", "v"},
-            {"s 0"},
-    };
-    public static final String OPPLAYERT_OBFUSCATEDNAME = "dt";
-    public static final String OPPLAYERT_WRITE1 = "ctrlDown";
-    public static final String OPPLAYERT_METHOD_NAME1 = "bf";
-    public static final String OPPLAYERT_WRITE2 = "slot";
-    public static final String OPPLAYERT_METHOD_NAME2 = "en";
-    public static final String OPPLAYERT_WRITE3 = "itemId";
-    public static final String OPPLAYERT_METHOD_NAME3 = "en";
-    public static final String OPPLAYERT_WRITE4 = "widgetId";
-    public static final String OPPLAYERT_METHOD_NAME4 = "eo";
-    public static final String OPPLAYERT_WRITE5 = "playerIndex";
-    public static final String OPPLAYERT_METHOD_NAME5 = "be";
-    public static final String[][] OPPLAYERT_WRITES = new String[][]{
-            {"v"},
-            {"r 8", "a 128"},
-            {"r 8", "a 128"},
-            {"r 16", "r 24", "v", "r 8"},
-            {"r 8", "v"},
-    };
-
-    public static final String OPHELDD_OBFUSCATEDNAME = "cf";
-    public static final String OPHELDD_WRITE1 = "destId";
-    public static final String OPHELDD_METHOD_NAME1 = "eo";
-    public static final String OPHELDD_WRITE2 = "selectedItemId";
-    public static final String OPHELDD_METHOD_NAME2 = "kf";
-    public static final String OPHELDD_WRITE3 = "destItemId";
-    public static final String OPHELDD_METHOD_NAME3 = "ev";
-    public static final String OPHELDD_WRITE4 = "destChildIndex";
-    public static final String OPHELDD_METHOD_NAME4 = "kf";
-    public static final String OPHELDD_WRITE5 = "selectedId";
-    public static final String OPHELDD_METHOD_NAME5 = "ep";
-    public static final String OPHELDD_WRITE6 = "selectedChildIndex";
-    public static final String OPHELDD_METHOD_NAME6 = "en";
-    public static final String[][] OPHELDD_WRITES = new String[][] {
-            {"r 16", "r 24", "v", "r 8"},
-            {"a 128", "r 8"},
-            {"v", "r 8"},
-            {"a 128", "r 8"},
-            {"v", "r 8", "r 16", "r 24"},
-            {"r 8", "a 128"},
-    };
-
-
-    public static final String SET_HEADING_OBFUSCATEDNAME = "da";
-    public static final String SET_HEADING_WRITE1 = "direction";
-    public static final String SET_HEADING_METHOD_NAME1 = "yd";
-    public static final String[][] SET_HEADING_WRITES = new String[][] {
-            {"a 128"}
-    };
-
-    public static final String RESUME_COUNTDIALOG_OBFUSCATEDNAME = "be";
-    public static final String RESUME_COUNTDIALOG_WRITE1 = "var0";
-    public static final String RESUME_COUNTDIALOG_METHOD_NAME1 = "br";
-    public static final String[][] RESUME_COUNTDIALOG_WRITES = new String[][]{
-            {"r 24", "r 16", "r 8", "v"},
-    };
-    public static final String RESUME_PAUSEBUTTON_OBFUSCATEDNAME = "bd";
-    public static final String RESUME_PAUSEBUTTON_WRITE1 = "var1";
-    public static final String RESUME_PAUSEBUTTON_METHOD_NAME1 = "en";
-    public static final String RESUME_PAUSEBUTTON_WRITE2 = "var0";
-    public static final String RESUME_PAUSEBUTTON_METHOD_NAME2 = "eo";
-    public static final String[][] RESUME_PAUSEBUTTON_WRITES = new String[][]{
-            {"r 8", "a 128"},
-            {"r 16", "r 24", "v", "r 8"},
-    };
-
-    public static final String RESUME_OBJDIALOG_OBFUSCATEDNAME = "az";
-    public static final String RESUME_OBJDIALOG_WRITE1 = "var0";
-    public static final String RESUME_OBJDIALOG_METHOD_NAME1 = "ca";
-    public static final String[][] RESUME_OBJDIALOG_WRITES = new String[][]{
-            {"r 8", "v"},
-    };
-
-    public static final String RESUME_NAMEDIALOG_OBFUSCATED_NAME = "bu";
-    public static final String RESUME_NAMEDIALOG_WRITE1 = "length";
-    public static final String RESUME_NAMEDIALOG_METHOD_NAME1 = "writeByte";
-    public static final String RESUME_NAMEDIALOG_WRITE2 = "string";
-    public static final String RESUME_NAMEDIALOG_METHOD_NAME2 = "writeStringCp1252NullTerminated";
-    public static final String[][] RESUME_NAMEDIALOG_WRITES = new String[][] {
-            {"v"},
-            {"strn"},
-    };
-
-    public static final String RESUME_STRINGDIALOG_OBFUSCATED_NAME = "bz";
-    public static final String RESUME_STRINGDIALOG_WRITE1 = "length";
-    public static final String RESUME_STRINGDIALOG_METHOD_NAME1 = "writeByte";
-    public static final String RESUME_STRINGDIALOG_WRITE2 = "string";
-    public static final String RESUME_STRINGDIALOG_METHOD_NAME2 = "writeStringCp1252NullTerminated";
-    public static final String[][] RESUME_STRINGDIALOG_WRITES = new String[][] {
-            {"v"},
-            {"strn"},
-    };
-
-
-    public static final String offsetMultiplier = "-962389735";
-    public static final String indexMultiplier = "1342780201";
-    public static final String addNodeGarbageValue = "2";
-
-    public static final String getPacketBufferNodeGarbageValue = "-1779200100";
-    public static final String packetWriterFieldName = "ca";
-    public static final String packetWriterClassName = "dh";
-    public static final String addNodeMethodName = "ah";
-    public static final String isaacCipherFieldName = "af";
-    public static final String clientPacketClassName = "mu";
-    public static final String classContainingGetPacketBufferNodeName = "hi";
-    public static final String packetBufferNodeClassName = "mw"; // mw.al (class.field) PacketBufferNode.packetBuffer
-    public static final String packetBufferFieldName = "al";
-    public static final String bufferOffsetField = "ai";
-    public static final String bufferArrayField = "av";
-    public static final String MouseHandler_lastPressedTimeMillisClass = "bu";
-    public static final String MouseHandler_lastPressedTimeMillisField = "ab";
-    public static final String clientMillisField = "jb";
-    public static final String mouseHandlerMillisMultiplier = "1507165324631712439";
-    public static final String clientMillisMultiplier = "-3895020773792481799";
-    public static final String doActionClassName = "cp";
-    public static final String doActionMethodName = "kf";
-}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.kraken.api.core.packet;
 
+import com.kraken.api.core.packet.mapping.MappingStore;
 import com.kraken.api.core.packet.model.PacketData;
 import lombok.extern.slf4j.Slf4j;
 
@@ -20,24 +21,24 @@ public class PacketBufferReader {
 
         try {
             // 1. Get the PacketBuffer instance
-            Field bufferField = packetBufferNode.getClass().getDeclaredField(ObfuscatedNames.packetBufferFieldName);
+            Field bufferField = packetBufferNode.getClass().getDeclaredField(MappingStore.get().getPacketBufferFieldName());
             bufferField.setAccessible(true);
             Object packetBuffer = bufferField.get(packetBufferNode);
 
             if (packetBuffer == null) return empty;
 
             // 2. Get the payload array
-            Field arrayField = findField(packetBuffer.getClass(), ObfuscatedNames.bufferArrayField);
+            Field arrayField = findField(packetBuffer.getClass(), MappingStore.get().getBufferArrayField());
             arrayField.setAccessible(true);
             byte[] payload = (byte[]) arrayField.get(packetBuffer);
 
             // 3. Get the obfuscated offset (current cursor position)
-            Field offsetField = findField(packetBuffer.getClass(), ObfuscatedNames.bufferOffsetField);
+            Field offsetField = findField(packetBuffer.getClass(), MappingStore.get().getBufferOffsetField());
             offsetField.setAccessible(true);
             int obfuscatedOffset = offsetField.getInt(packetBuffer);
 
             // 4. Calculate real length
-            int length = obfuscatedOffset * Integer.parseInt(ObfuscatedNames.indexMultiplier);
+            int length = obfuscatedOffset * MappingStore.get().getIndexMultiplier();
 
             // 5. Return only the written portion of the buffer
             if (length > payload.length) {
@@ -61,7 +62,7 @@ public class PacketBufferReader {
      * @return The {@link Field} object if found.
      * @throws NoSuchFieldException If the field is not found in the class or any of its superclasses.
      */
-    private static Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+    static Field findField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
         Class<?> current = clazz;
         while (current != null) {
             try {
@@ -0,0 +1,141 @@
+package com.kraken.api.core.packet;
+
+import com.kraken.api.core.packet.model.PacketData;
+import com.kraken.api.core.packet.model.PacketSent;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A preallocated, bounded ring buffer used to hand captured outbound packets from the game thread to
+ * a single consumer thread.
+ * <p>
+ * Every slot owns a fixed region of one large payload array so capturing a packet is a claim on the
+ * head sequence followed by a bounded {@link System#arraycopy}. Nothing is allocated on the producer side.
+ * Packets are written almost exclusively by the client thread, however {@link PacketClient} can invoke
+ * {@code addNode} from script threads so slots are claimed with a CAS on the head sequence and published
+ * through a per-slot sequence number, which keeps the buffer lock-free for any number of producers.
+ * When the buffer is full the packet is dropped and the drop counter is incremented rather than blocking the game.
+ */
+public class PacketCaptureBuffer {
+
+    @Getter
+    private final int capacity;
+
+    @Getter
+    private final int slotSize;
+
+    private final int mask;
+    private final byte[] payloads;
+    private final int[] lengths;
+    private final int[] opcodes;
+    private final int[] ticks;
+    private final long[] timestamps;
+    private final Object[] nodes;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+    private long tail = 0;
+
+    @Getter
+    private final AtomicLong dropped = new AtomicLong();
+
+    @Getter
+    private final AtomicLong truncated = new AtomicLong();
+
+    /**
+     * Creates a new capture buffer.
+     * @param capacity The number of slots, rounded up to the next power of two.
+     * @param slotSize The maximum number of payload bytes stored per packet. Larger packets are truncated.
+     */
+    public PacketCaptureBuffer(int capacity, int slotSize) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slotSize = slotSize;
+        this.payloads = new byte[size * slotSize];
+        this.lengths = new int[size];
+        this.opcodes = new int[size];
+        this.ticks = new int[size];
+        this.timestamps = new long[size];
+        this.nodes = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Copies a packet into the next free slot. This is called on the game thread and never blocks.
+     * @param node The packet buffer node being written (kept as a reference, not copied)
+     * @param source The buffer's backing array
+     * @param length The number of bytes written to the backing array
+     * @param opcode The capture opcode of the packet or -1 if it is unknown
+     * @param tick The client tick the packet was written on
+     * @param timestamp The time in millis the packet was written
+     * @return True if the packet was captured and false if the buffer was full and the packet was dropped
+     */
+    public boolean offer(Object node, byte[] source, int length, int opcode, int tick, long timestamp) {
+        long position;
+        int index;
+
+        while (true) {
+            position = head.get();
+            index = (int) (position & mask);
+            long sequence = sequences.get(index);
+
+            if (sequence == position) {
+                if (head.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        }
+
+        int copy = Math.min(Math.min(length, slotSize), source.length);
+        if (copy < length) {
+            truncated.incrementAndGet();
+        }
+
+        System.arraycopy(source, 0, payloads, index * slotSize, copy);
+        lengths[index] = copy;
+        opcodes[index] = opcode;
+        ticks[index] = tick;
+        timestamps[index] = timestamp;
+        nodes[index] = node;
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest captured packet from the buffer. Must only be called from the single consumer thread.
+     * @return The captured packet or null if the buffer is empty.
+     */
+    public PacketSent poll() {
+        int index = (int) (tail & mask);
+        if (sequences.get(index) != tail + 1) {
+            return null;
+        }
+
+        int base = index * slotSize;
+        PacketData data = new PacketData(Arrays.copyOfRange(payloads, base, base + lengths[index]), lengths[index], timestamps[index]);
+        data.setOpcode(opcodes[index]);
+        data.setTick(ticks[index]);
+        Object node = nodes[index];
+
+        nodes[index] = null;
+        sequences.lazySet(index, tail + capacity);
+        tail++;
+        return new PacketSent(node, data);
+    }
+
+    /**
+     * @return The approximate number of packets waiting to be consumed.
+     */
+    public int size() {
+        return (int) Math.max(0, head.get() - tail);
+    }
+}
@@ -1,5 +1,8 @@
 package com.kraken.api.core.packet;
 
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.MappingStore;
+import com.kraken.api.core.packet.mapping.WriteOp;
 import com.kraken.api.core.packet.model.PacketDefinition;
 import com.kraken.api.core.packet.model.PacketMethods;
 import lombok.Getter;
@@ -61,6 +64,8 @@ public class PacketClient {
      * @param objects The data (payload) for the packet, in the order defined by the PacketDefinition.
      */
     public void sendPacket(PacketDefinition def, Object... objects) {
+        ClientMappings mappings = MappingStore.get();
+
         // 1. Get all necessary reflection components to build and send the packet.
         Object packetBufferNode = null;
         Method getPacketBufferNode = getGetPacketBufferNode();
@@ -75,7 +80,8 @@ public class PacketClient {
         // Invoke the getPacketBufferNode method to create a new packet node instance.
         // This method is obfuscated and may require a "garbage value" of a specific type.
         getPacketBufferNode.setAccessible(true);
-        long garbageValue = Math.abs(Long.parseLong(ObfuscatedNames.getPacketBufferNodeGarbageValue));
+        int garbage = mappings.getGetPacketBufferNodeGarbageValue();
+        long garbageValue = Math.abs((long) garbage);
 
         try {
             Field packetField = fetchPacketField(def.getName());
@@ -88,11 +94,11 @@ public class PacketClient {
 
             // The method signature for getPacketBufferNode changes based on the obfuscated garbage value.
             if (garbageValue < 256) {
-                packetBufferNode = getPacketBufferNode.invoke(null, packetDefInstance, isaac, Byte.parseByte(ObfuscatedNames.getPacketBufferNodeGarbageValue));
+                packetBufferNode = getPacketBufferNode.invoke(null, packetDefInstance, isaac, (byte) garbage);
             } else if (garbageValue < 32768) {
-                packetBufferNode = getPacketBufferNode.invoke(null, packetDefInstance, isaac, Short.parseShort(ObfuscatedNames.getPacketBufferNodeGarbageValue));
+                packetBufferNode = getPacketBufferNode.invoke(null, packetDefInstance, isaac, (short) garbage);
             } else if (garbageValue < Integer.MAX_VALUE) {
-                packetBufferNode = getPacketBufferNode.invoke(null, packetDefInstance, isaac, Integer.parseInt(ObfuscatedNames.getPacketBufferNodeGarbageValue));
+                packetBufferNode = getPacketBufferNode.invoke(null, packetDefInstance, isaac, garbage);
             }
         } catch (IllegalAccessException | InvocationTargetException e) {
             log.error("Failed to invoke getPacketBufferNode: ", e);
@@ -109,7 +115,7 @@ public class PacketClient {
         // Get the raw 'buffer' object from the 'packetBufferNode' to write data into.
         Object buffer;
         try {
-            Field bufferField = packetBufferNode.getClass().getDeclaredField(ObfuscatedNames.packetBufferFieldName);
+            Field bufferField = packetBufferNode.getClass().getDeclaredField(mappings.getPacketBufferFieldName());
             bufferField.setAccessible(true);
             buffer = bufferField.get(packetBufferNode);
             bufferField.setAccessible(false);
@@ -119,58 +125,75 @@ public class PacketClient {
             return; // Can't proceed without the buffer
         }
 
+        if (!encode(def, buffer, objects)) {
+            log.warn("Unrecognized packet type, packet not sent: {}", def.getType());
+            return;
+        }
+
+        // 6. Get the PacketWriter field and queue the fully constructed packet node.
+        Field packetWriterField = getPacketWriterField();
+        if (packetWriterField == null) {
+            log.error("Could not get PacketWriter field to queue packet.");
+            return;
+        }
+
+        packetWriterField.setAccessible(true);
+        try {
+            Object packetWriter = packetWriterField.get(null);
+            if (packetWriter != null) {
+                addNode(packetWriter, packetBufferNode);
+            } else {
+                log.error("PacketWriter object was null.");
+            }
+        } catch (Exception e) {
+            log.error("Failed to add packet node to queue: ", e);
+            e.printStackTrace();
+        } finally {
+            packetWriterField.setAccessible(false);
+        }
+    }
+
+    /**
+     * Writes the payload of a packet into a client buffer. This is the encoding step of {@link #sendPacket(PacketDefinition, Object...)}
+     * without any of the reflection needed to create or queue the packet node, so it can be used against any object with
+     * the client's buffer field layout.
+     *
+     * @param def     The {@link PacketDefinition} defining the packet structure.
+     * @param buffer  The obfuscated buffer object to write into.
+     * @param objects The data (payload) for the packet, in the order defined by the packet type parameters.
+     * @return True if the payload was written, or false if the packet type has no known parameters.
+     */
+    public static boolean encode(PacketDefinition def, Object buffer, Object... objects) {
         // Map the PacketType to the expected parameter order.
         // This is necessary because the varargs 'objects' must be written in a specific
         // sequence defined by the packet structure, not just the order they are passed in.
+        // The index of each write in the parameter list is resolved once when the definition is built.
         List<String> params = def.getType().getParams();
+        if (params == null) {
+            return false;
+        }
 
-        // If the packet type is recognized, write the data into the buffer.
-        if (params != null) {
-            for (int i = 0; i < def.getWriteData().length; i++) {
-                // Find the index of the data element (e.g., "widgetId") in the params list
-                int index = params.indexOf(def.getWriteData()[i]);
-                // Get the corresponding value from the varargs
-                Object writeValue = objects[index];
-
-                // Write the value to the buffer using the specified method(s) (e.g., "strn", "writeInt")
-                for (String s : def.getWriteMethods()[i]) {
-                    if (s.equalsIgnoreCase("strn")) {
-                        BufferUtils.writeStringCp1252NullTerminated((String) writeValue, buffer);
-                        continue;
-                    }
-                    if (s.equalsIgnoreCase("strc")) {
-                        BufferUtils.writeStringCp1252NullCircumfixed((String) writeValue, buffer);
-                        continue;
-                    }
-                    // Assumes all other write methods take an Integer
-                    BufferUtils.writeValue(s, (Integer) writeValue, buffer);
+        int[] paramIndices = def.getParamIndices();
+        WriteOp[][] ops = def.getOps();
+        for (int i = 0; i < paramIndices.length; i++) {
+            // Get the corresponding value from the varargs
+            Object writeValue = objects[paramIndices[i]];
+
+            // Write the value to the buffer using the specified method(s) (e.g., "strn", "writeInt")
+            for (WriteOp op : ops[i]) {
+                if (op.getKind() == WriteOp.Kind.STRING_TERMINATED) {
+                    BufferUtils.writeStringCp1252NullTerminated((String) writeValue, buffer);
+                    continue;
                 }
-            }
-
-            // 6. Get the PacketWriter field and queue the fully constructed packet node.
-            Field packetWriterField = getPacketWriterField();
-            if (packetWriterField == null) {
-                log.error("Could not get PacketWriter field to queue packet.");
-                return;
-            }
-
-            packetWriterField.setAccessible(true);
-            try {
-                Object packetWriter = packetWriterField.get(null);
-                if (packetWriter != null) {
-                    addNode(packetWriter, packetBufferNode);
-                } else {
-                    log.error("PacketWriter object was null.");
+                if (op.getKind() == WriteOp.Kind.STRING_CIRCUMFIXED) {
+                    BufferUtils.writeStringCp1252NullCircumfixed((String) writeValue, buffer);
+                    continue;
                 }
-            } catch (Exception e) {
-                log.error("Failed to add packet node to queue: ", e);
-                e.printStackTrace();
-            } finally {
-                packetWriterField.setAccessible(false);
+                // Assumes all other write methods take an Integer
+                BufferUtils.writeValue(op, (Integer) writeValue, buffer);
             }
-        } else {
-            log.warn("Unrecognized packet type, packet not sent: {}", def.getType());
         }
+        return true;
     }
 
     /**
@@ -182,25 +205,29 @@ public class PacketClient {
      * @param packetBufferNode The fully constructed packet to be sent.
      */
     private void addNode(Object packetWriter, Object packetBufferNode) {
+        ClientMappings mappings = MappingStore.get();
+        String addNodeMethodName = mappings.getAddNodeMethodName();
+        int garbage = mappings.getAddNodeGarbageValue();
+
         try {
             if (methods.isUsingClientAddNode()) {
                 // Path 1: The 'addNode' method is a member of the PacketWriter class itself.
                 Method addNode = null;
-                long garbageValue = Math.abs(Long.parseLong(ObfuscatedNames.addNodeGarbageValue));
+                long garbageValue = Math.abs((long) garbage);
 
                 // Find the correct obfuscated method signature based on the garbage value type.
                 if (garbageValue < 256) {
-                    addNode = packetWriter.getClass().getDeclaredMethod(ObfuscatedNames.addNodeMethodName, packetBufferNode.getClass(), byte.class);
+                    addNode = packetWriter.getClass().getDeclaredMethod(addNodeMethodName, packetBufferNode.getClass(), byte.class);
                     addNode.setAccessible(true);
-                    addNode.invoke(packetWriter, packetBufferNode, Byte.parseByte(ObfuscatedNames.addNodeGarbageValue));
+                    addNode.invoke(packetWriter, packetBufferNode, (byte) garbage);
                 } else if (garbageValue < 32768) {
-                    addNode = packetWriter.getClass().getDeclaredMethod(ObfuscatedNames.addNodeMethodName, packetBufferNode.getClass(), short.class);
+                    addNode = packetWriter.getClass().getDeclaredMethod(addNodeMethodName, packetBufferNode.getClass(), short.class);
                     addNode.setAccessible(true);
-                    addNode.invoke(packetWriter, packetBufferNode, Short.parseShort(ObfuscatedNames.addNodeGarbageValue));
+                    addNode.invoke(packetWriter, packetBufferNode, (short) garbage);
                 } else if (garbageValue < Integer.MAX_VALUE) {
-                    addNode = packetWriter.getClass().getDeclaredMethod(ObfuscatedNames.addNodeMethodName, packetBufferNode.getClass(), int.class);
+                    addNode = packetWriter.getClass().getDeclaredMethod(addNodeMethodName, packetBufferNode.getClass(), int.class);
                     addNode.setAccessible(true);
-                    addNode.invoke(packetWriter, packetBufferNode, Integer.parseInt(ObfuscatedNames.addNodeGarbageValue));
+                    addNode.invoke(packetWriter, packetBufferNode, garbage);
                 }
 
                 if (addNode != null) {
@@ -216,13 +243,13 @@ public class PacketClient {
                     addNode.invoke(null, packetWriter, packetBufferNode);
                 } else {
                     // Method signature is: addNode(packetWriter, packetBufferNode, garbageValue)
-                    long garbageValue = Math.abs(Long.parseLong(ObfuscatedNames.addNodeGarbageValue));
+                    long garbageValue = Math.abs((long) garbage);
                     if (garbageValue < 256) {
-                        addNode.invoke(null, packetWriter, packetBufferNode, Byte.parseByte(ObfuscatedNames.addNodeGarbageValue));
+                        addNode.invoke(null, packetWriter, packetBufferNode, (byte) garbage);
                     } else if (garbageValue < 32768) {
-                        addNode.invoke(null, packetWriter, packetBufferNode, Short.parseShort(ObfuscatedNames.addNodeGarbageValue));
+                        addNode.invoke(null, packetWriter, packetBufferNode, (short) garbage);
                     } else if (garbageValue < Integer.MAX_VALUE) {
-                        addNode.invoke(null, packetWriter, packetBufferNode, Integer.parseInt(ObfuscatedNames.addNodeGarbageValue));
+                        addNode.invoke(null, packetWriter, packetBufferNode, garbage);
                     }
                 }
                 addNode.setAccessible(false);
@@ -256,12 +283,12 @@ public class PacketClient {
      */
     private Method getGetPacketBufferNode() {
         try {
-            Class<?> packetBufferNodeAccessorClass = loadGameClientClass(ObfuscatedNames.classContainingGetPacketBufferNodeName);
+            Class<?> packetBufferNodeAccessorClass = loadGameClientClass(MappingStore.get().getClassContainingGetPacketBufferNodeName());
             if (packetBufferNodeAccessorClass == null) {
                 return null;
             }
 
-            Class<?> packetBufferNodeClass = loadGameClientClass(ObfuscatedNames.packetBufferNodeClassName);
+            Class<?> packetBufferNodeClass = loadGameClientClass(MappingStore.get().getPacketBufferNodeClassName());
             if (packetBufferNodeClass == null) {
                 return null;
             }
@@ -284,7 +311,7 @@ public class PacketClient {
      * @return The {@code ClientPacket} class, or null if not found.
      */
     private Class<?> getClientPacketClass() {
-        return loadGameClientClass(ObfuscatedNames.clientPacketClassName);
+        return loadGameClientClass(MappingStore.get().getClientPacketClassName());
     }
 
     /**
@@ -294,9 +321,9 @@ public class PacketClient {
      */
     private Field getPacketWriterField() {
         try {
-            return client.getClass().getDeclaredField(ObfuscatedNames.packetWriterFieldName);
+            return client.getClass().getDeclaredField(MappingStore.get().getPacketWriterFieldName());
         } catch (NoSuchFieldException e) {
-            log.error("Failed to get field: {}", ObfuscatedNames.packetWriterFieldName, e);
+            log.error("Failed to get field: {}", MappingStore.get().getPacketWriterFieldName(), e);
         }
         return null;
     }
@@ -322,7 +349,7 @@ public class PacketClient {
             }
 
             Class<?> packetWriterClass = packetWriter.getClass();
-            Field isaacField = packetWriterClass.getDeclaredField(ObfuscatedNames.isaacCipherFieldName);
+            Field isaacField = packetWriterClass.getDeclaredField(MappingStore.get().getIsaacCipherFieldName());
             isaacField.setAccessible(true);
             Object isaacObject = isaacField.get(packetWriter); // Get instance field
             isaacField.setAccessible(false);
@@ -0,0 +1,140 @@
+package com.kraken.api.core.packet;
+
+import com.kraken.api.core.packet.mapping.WriteOp;
+import com.kraken.api.core.packet.model.DecodedPacket;
+import com.kraken.api.core.packet.model.PacketDefinition;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decodes the payload of a single packet type by inverting the write operations of its {@link PacketDefinition}.
+ * <p>
+ * {@link BufferUtils#writeValue} writes one byte per operation in order:
+ * <ul>
+ *     <li>{@code v} writes the low byte of the value</li>
+ *     <li>{@code r N} writes the value shifted right by N bits</li>
+ *     <li>{@code a N} writes the low byte of the value plus N</li>
+ *     <li>{@code s N} writes N minus the low byte of the value</li>
+ *     <li>{@code strn} writes a CP1252 string followed by a null byte and {@code strc} wraps it in null bytes</li>
+ * </ul>
+ * Each byte therefore contributes 8 known bits at a known position of the original value. The operations are
+ * tokenized when the definition is loaded so decoding a packet is a single pass over the payload.
+ */
+public class PacketDecoder {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final PacketDefinition definition;
+
+    /**
+     * The number of payload bytes written for this packet, or -1 if the packet contains a string.
+     */
+    @Getter
+    private final int bodyLength;
+
+    private final String[] fields;
+    private final WriteOp[][] ops;
+    private final Map<String, Integer> widths;
+
+    /**
+     * Builds a decoder from a packet definition.
+     * @param name The readable name of the packet, e.g. "OPNPC1"
+     * @param definition The packet definition
+     */
+    public PacketDecoder(String name, PacketDefinition definition) {
+        this.name = name;
+        this.definition = definition;
+        this.fields = definition.getWriteData().clone();
+        this.ops = definition.getOps();
+
+        Map<String, Integer> widths = new HashMap<>();
+        int length = 0;
+        boolean variable = false;
+
+        for (int i = 0; i < fields.length; i++) {
+            int bits = 0;
+            for (WriteOp op : ops[i]) {
+                if (op.isString()) {
+                    variable = true;
+                } else {
+                    int shift = op.getKind() == WriteOp.Kind.SHIFT ? op.getMagnitude() : 0;
+                    bits = Math.max(bits, Math.min(32, shift + 8));
+                    length++;
+                }
+            }
+
+            widths.put(fields[i], bits);
+        }
+
+        this.bodyLength = variable ? -1 : length;
+        this.widths = Collections.unmodifiableMap(widths);
+    }
+
+    /**
+     * Decodes a captured payload. The captured bytes start with the packet header written by the client
+     * (the encrypted opcode and, for variable length packets, a size byte) so the header is skipped first.
+     * Fixed length packets are read from the end of the payload. Variable length packets are assumed to use a
+     * single size byte.
+     *
+     * @param payload The captured payload including the packet header
+     * @param tick The tick the packet was captured on
+     * @param timestamp The time the packet was captured
+     * @return The decoded packet or null if the payload is too short for this packet type
+     */
+    public DecodedPacket decode(byte[] payload, int tick, long timestamp) {
+        int position = bodyLength >= 0 ? payload.length - bodyLength : 2;
+        if (position < 0) {
+            return null;
+        }
+
+        LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length; i++) {
+            int value = 0;
+            String string = null;
+
+            for (WriteOp op : ops[i]) {
+                if (op.isString()) {
+                    int start = op.getKind() == WriteOp.Kind.STRING_CIRCUMFIXED ? position + 1 : position;
+                    int end = start;
+                    while (end < payload.length && payload[end] != 0) {
+                        end++;
+                    }
+                    string = PacketBufferReader.decodeStringCp1252(payload, Math.min(start, end), end);
+                    position = end + 1;
+                    continue;
+                }
+
+                if (position >= payload.length) {
+                    return null;
+                }
+
+                int b = payload[position++] & 0xFF;
+                int magnitude = op.getMagnitude();
+                switch (op.getKind()) {
+                    case SUB:
+                        value |= (magnitude - b) & 0xFF;
+                        break;
+                    case ADD:
+                        value |= (b - magnitude) & 0xFF;
+                        break;
+                    case SHIFT:
+                        value |= b << magnitude;
+                        break;
+                    default:
+                        value |= b;
+                        break;
+                }
+            }
+
+            values.put(fields[i], string != null ? string : value);
+        }
+
+        return new DecodedPacket(name, definition.getName(), definition.getType(), tick, timestamp, values, widths);
+    }
+}
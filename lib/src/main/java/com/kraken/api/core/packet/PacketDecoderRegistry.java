@@ -0,0 +1,151 @@
+package com.kraken.api.core.packet;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.MappingStore;
+import com.kraken.api.core.packet.model.DecodedPacket;
+import com.kraken.api.core.packet.model.PacketData;
+import com.kraken.api.core.packet.model.PacketDefFactory;
+import com.kraken.api.core.packet.model.PacketDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lookup table of {@link PacketDecoder}s for every packet defined in the {@link PacketDefFactory}.
+ * <p>
+ * Decoders are built when the registry is constructed and rebuilt whenever new mappings are installed in the
+ * {@link MappingStore}. Captured packets carry a capture opcode
+ * (see {@link PacketData#getOpcode()}) which is resolved through a flat array to the packet's decoder, so
+ * decoding a captured packet never parses write operations or performs string lookups:
+ * <pre>{@code
+ * interceptor.addListener(sent -> {
+ *     DecodedPacket packet = registry.decode(sent.getPacket());
+ *     if (packet != null) log.info("{}", packet);
+ * });
+ * }</pre>
+ */
+@Slf4j
+@Singleton
+public class PacketDecoderRegistry {
+
+    private final PacketDefFactory factory;
+    private volatile Map<String, PacketDecoder> byObfuscatedName;
+    private volatile PacketDecoder[] byOpcode;
+    private volatile String[] boundNames;
+    private final Consumer<ClientMappings> mappingListener = mappings -> rebuild();
+
+    @Inject
+    public PacketDecoderRegistry(PacketDefFactory factory) {
+        this.factory = factory;
+        rebuild();
+        MappingStore.addListener(mappingListener);
+    }
+
+    /**
+     * Stops rebuilding the decoders when new mappings are installed. Registries created outside of the injector, for
+     * example by the offline journal reader, should call this once they are no longer used so the {@link MappingStore}
+     * does not keep them alive.
+     */
+    public void shutdown() {
+        MappingStore.removeListener(mappingListener);
+    }
+
+    /**
+     * Rebuilds every decoder from the factory's current definitions.
+     */
+    private synchronized void rebuild() {
+        Map<String, PacketDecoder> decoders = new HashMap<>();
+        for (Map.Entry<String, PacketDefinition> entry : factory.getAll().entrySet()) {
+            PacketDecoder decoder = new PacketDecoder(entry.getKey(), entry.getValue());
+            if (decoders.putIfAbsent(entry.getValue().getName(), decoder) != null) {
+                log.warn("Duplicate obfuscated packet name {} for {}", entry.getValue().getName(), entry.getKey());
+            }
+        }
+        this.byObfuscatedName = Collections.unmodifiableMap(decoders);
+        this.byOpcode = null;
+    }
+
+    /**
+     * Builds the opcode lookup table from the capture opcodes assigned by the {@link PacketInterceptor}.
+     * This is done automatically the first time a captured packet is decoded.
+     * @param packetNames The obfuscated packet field names indexed by capture opcode
+     */
+    public void bindOpcodes(String[] packetNames) {
+        PacketDecoder[] table = new PacketDecoder[packetNames.length];
+        for (int i = 0; i < packetNames.length; i++) {
+            table[i] = byObfuscatedName.get(packetNames[i]);
+        }
+        this.byOpcode = table;
+        this.boundNames = packetNames;
+    }
+
+    /**
+     * Decodes a captured packet using its capture opcode.
+     * @param data The captured packet data
+     * @return The decoded packet or null if the packet has no known definition
+     */
+    public DecodedPacket decode(PacketData data) {
+        PacketDecoder decoder = forOpcode(data.getOpcode());
+        return decoder == null ? null : decoder.decode(data.getData(), data.getTick(), data.getTimestamp());
+    }
+
+    /**
+     * Decodes a packet payload using the packet's obfuscated name. This does not require the packet
+     * interceptor to be injected so it can be used to decode packets offline.
+     * @param obfuscatedName The obfuscated {@code ClientPacket} field name
+     * @param payload The captured payload including the packet header
+     * @param tick The tick the packet was captured on
+     * @param timestamp The time the packet was captured
+     * @return The decoded packet or null if the packet has no known definition
+     */
+    public DecodedPacket decode(String obfuscatedName, byte[] payload, int tick, long timestamp) {
+        PacketDecoder decoder = byObfuscatedName.get(obfuscatedName);
+        return decoder == null ? null : decoder.decode(payload, tick, timestamp);
+    }
+
+    /**
+     * Returns the decoder for a capture opcode.
+     * @param opcode The capture opcode
+     * @return The decoder or null if the opcode is unknown or has no packet definition
+     */
+    public PacketDecoder forOpcode(int opcode) {
+        PacketDecoder[] table = byOpcode;
+        PacketInterceptor interceptor = PacketInterceptor.instance;
+        if (interceptor != null && interceptor.injected) {
+            // The interceptor replaces its names when it re-resolves against new mappings, which reassigns opcodes
+            String[] names = interceptor.currentPacketNames();
+            if (table == null || names != boundNames) {
+                bindOpcodes(names);
+                table = byOpcode;
+            }
+        }
+
+        if (table == null || opcode < 0 || opcode >= table.length) {
+            return null;
+        }
+
+        return table[opcode];
+    }
+
+    /**
+     * Returns the decoder for an obfuscated packet name.
+     * @param obfuscatedName The obfuscated {@code ClientPacket} field name
+     * @return The decoder or null if the packet is unknown
+     */
+    public PacketDecoder forName(String obfuscatedName) {
+        return byObfuscatedName.get(obfuscatedName);
+    }
+
+    /**
+     * @return Every decoder in the registry.
+     */
+    public Collection<PacketDecoder> getDecoders() {
+        return byObfuscatedName.values();
+    }
+}
@@ -1,7 +1,11 @@
 package com.kraken.api.core.packet;
 
-import com.kraken.api.core.packet.model.PacketData;
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.MappingStore;
 import com.kraken.api.core.packet.model.PacketSent;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.ByteBuddyAgent;
@@ -10,11 +14,22 @@ import net.bytebuddy.dynamic.loading.ClassReloadingStrategy;
 import net.bytebuddy.matcher.ElementMatchers;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.eventbus.EventBus;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 @Slf4j
 @Singleton
@@ -24,11 +39,54 @@ public class PacketInterceptor {
     public static PacketInterceptor instance;
     public boolean injected = false;
     public Client client;
+    private final ClientThread clientThread;
+
+    private static final int CAPTURE_CAPACITY = 4096;
+    private static final int CAPTURE_SLOT_SIZE = 512;
+    private static final String[] NO_PACKET_NAMES = new String[0];
+
+    /**
+     * Ring buffer the game thread writes captured packets into. Packets are decoded and published
+     * to subscribers on a separate consumer thread.
+     */
+    @Getter
+    private final PacketCaptureBuffer captureBuffer = new PacketCaptureBuffer(CAPTURE_CAPACITY, CAPTURE_SLOT_SIZE);
+
+    /**
+     * Captures 1 out of every {@code sampleRate} packets. A value of 1 (the default) captures every packet.
+     */
+    @Getter
+    @Setter
+    private volatile int sampleRate = 1;
+
+    /**
+     * When true captured packets are also posted to the RuneLite {@link EventBus} as {@link PacketSent} events.
+     * Events are posted from the client thread like every other RuneLite event, so {@code @Subscribe} handlers
+     * see them a short time after the packet was queued rather than synchronously.
+     */
+    @Getter
+    @Setter
+    private volatile boolean publishToEventBus = true;
+
+    private final List<Consumer<PacketSent>> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private volatile Thread consumer;
+
+    // Set by the consumer before it parks so producers only pay for an unpark when it is actually asleep
+    private volatile boolean consumerParked = false;
+
+    // Reflection handles are resolved when the hook is injected and again whenever new mappings are installed, so
+    // the game thread never looks them up. They are swapped as a whole so a capture never mixes two mapping sets.
+    private volatile CaptureAccessors accessors;
+    private ClassLoader clientLoader;
+    private String hookedMethodName;
+    private final Consumer<ClientMappings> mappingListener = this::onMappingsChanged;
 
     @Inject
-    public PacketInterceptor(Client client) {
+    public PacketInterceptor(Client client, ClientThread clientThread) {
         instance = this;
         this.client = client;
+        this.clientThread = clientThread;
     }
 
     /**
@@ -40,8 +98,7 @@ public class PacketInterceptor {
         public static void onEnter(@Advice.Argument(0) Object packetBufferNode) {
             if (instance != null) {
                 try {
-                    PacketData data = PacketBufferReader.readPacketBuffer(packetBufferNode);
-                    eventBus.post(new PacketSent(packetBufferNode, data));
+                    instance.capture(packetBufferNode);
                 } catch (Throwable e) {
                     e.printStackTrace();
                 }
@@ -49,6 +106,99 @@ public class PacketInterceptor {
         }
     }
 
+    /**
+     * Copies the written portion of a packet buffer node into the capture ring buffer. This runs inside the client's
+     * {@code addNode} method so it only reads cached fields and performs a single bounded copy. This must be public since
+     * the advice calling it is inlined into the client's packet writer class.
+     * @param packetBufferNode The packet buffer node being queued
+     * @throws IllegalAccessException If the cached fields can no longer be read
+     */
+    public void capture(Object packetBufferNode) throws IllegalAccessException {
+        CaptureAccessors accessors = this.accessors;
+        if (accessors == null || packetBufferNode == null) return;
+
+        int rate = sampleRate;
+        // Packets can be queued from script threads as well as the client thread, so the counter is shared
+        if (rate > 1 && (sampleCounter.getAndIncrement() % rate) != 0) return;
+
+        Object buffer = accessors.bufferField.get(packetBufferNode);
+        if (buffer == null) return;
+
+        byte[] payload = (byte[]) accessors.arrayField.get(buffer);
+        int length = accessors.offsetField.getInt(buffer) * accessors.indexMultiplier;
+        if (payload == null || length < 0) return;
+
+        Integer opcode = accessors.clientPacketField == null ? null : accessors.opcodes.get(accessors.clientPacketField.get(packetBufferNode));
+        if (captureBuffer.offer(packetBufferNode, payload, length, opcode == null ? -1 : opcode, client.getTickCount(), System.currentTimeMillis())
+                && consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Registers a listener which is invoked on the capture consumer thread (not the client thread) for every
+     * captured packet. Listeners are called in capture order and should return quickly.
+     * @param listener The listener to add
+     */
+    public void addListener(Consumer<PacketSent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a previously registered capture listener.
+     * @param listener The listener to remove
+     */
+    public void removeListener(Consumer<PacketSent> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return The number of packets which were dropped because the capture buffer was full.
+     */
+    public long getDroppedPackets() {
+        return captureBuffer.getDropped().get();
+    }
+
+    /**
+     * Returns the obfuscated {@code ClientPacket} field name for a capture opcode.
+     * @param opcode The capture opcode from {@link com.kraken.api.core.packet.model.PacketData#getOpcode()}
+     * @return The field name (e.g. the value of the {@code OPNPC1} packet name in the mappings) or null if unknown.
+     */
+    public String getPacketName(int opcode) {
+        String[] names = currentPacketNames();
+        return opcode < 0 || opcode >= names.length ? null : names[opcode];
+    }
+
+    /**
+     * @return The obfuscated {@code ClientPacket} field names indexed by capture opcode.
+     */
+    public String[] getPacketNames() {
+        return currentPacketNames().clone();
+    }
+
+    /**
+     * Returns the packet names without copying them. The array is replaced, never modified, when mappings change, so
+     * callers in this package can compare it by identity to know when capture opcodes have been reassigned.
+     * @return The obfuscated {@code ClientPacket} field names indexed by capture opcode
+     */
+    String[] currentPacketNames() {
+        CaptureAccessors accessors = this.accessors;
+        return accessors == null ? NO_PACKET_NAMES : accessors.packetNames;
+    }
+
+    /**
+     * Returns the capture opcode for an obfuscated {@code ClientPacket} field name.
+     * @param name The obfuscated field name
+     * @return The capture opcode or -1 if the packet is unknown
+     */
+    public int getOpcode(String name) {
+        String[] names = currentPacketNames();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) return i;
+        }
+        return -1;
+    }
+
     /**
      * Modifies the bytecode of the "addNode" method within the client at runtime to invoke
      * the {@link PacketHookAdvice} class whenever the method is called. This will publish
@@ -70,21 +220,165 @@ public class PacketInterceptor {
             log.warn("Agent already installed or failed: " + e.getMessage());
         }
 
-        Field packetWriterField = client.getClass().getDeclaredField(ObfuscatedNames.packetWriterFieldName);
+        Field packetWriterField = client.getClass().getDeclaredField(MappingStore.get().getPacketWriterFieldName());
         packetWriterField.setAccessible(true);
         Object writerInstance = packetWriterField.get(null);
 
         if (writerInstance == null) throw new IllegalStateException("PacketWriter is null");
         Class<?> packetWriterClass = writerInstance.getClass();
 
+        clientLoader = packetWriterClass.getClassLoader();
+        accessors = resolveAccessors(clientLoader);
+        startConsumer();
+
         // Redefine the class in memory by patch the bytecode of the existing class.
         new ByteBuddy()
                 .redefine(packetWriterClass)
-                .visit(Advice.to(PacketHookAdvice.class).on(ElementMatchers.named(ObfuscatedNames.addNodeMethodName)))
+                .visit(Advice.to(PacketHookAdvice.class).on(ElementMatchers.named(MappingStore.get().getAddNodeMethodName())))
                 .make()
                 .load(packetWriterClass.getClassLoader(), ClassReloadingStrategy.fromInstalledAgent());
 
+        hookedMethodName = MappingStore.get().getAddNodeMethodName();
+        MappingStore.addListener(mappingListener);
         injected = true;
         log.info("Packet interception hooked");
     }
-}
\ No newline at end of file
+
+    /**
+     * Re-resolves the capture accessors when new mappings are installed. The hook itself stays on the method it was
+     * injected into, so a change to the {@code addNode} name still requires restarting the client.
+     * @param mappings The newly installed mappings
+     */
+    private void onMappingsChanged(ClientMappings mappings) {
+        if (!mappings.getAddNodeMethodName().equals(hookedMethodName)) {
+            log.warn("addNode is now mapped to {} but the capture hook is on {}, restart the client to move it",
+                    mappings.getAddNodeMethodName(), hookedMethodName);
+        }
+
+        try {
+            accessors = resolveAccessors(clientLoader);
+            log.info("Packet capture accessors re-resolved for revision {}", mappings.getRevision());
+        } catch (Exception e) {
+            log.error("Failed to re-resolve packet capture accessors, keeping the previous ones: ", e);
+        }
+    }
+
+    /**
+     * Resolves every field the capture path needs from the current mappings and builds the identity lookup table from
+     * {@code ClientPacket} instances to capture opcodes.
+     * @param loader The client's class loader
+     * @return The resolved accessors
+     * @throws Exception If the obfuscated classes or fields cannot be found
+     */
+    private CaptureAccessors resolveAccessors(ClassLoader loader) throws Exception {
+        ClientMappings mappings = MappingStore.get();
+        Class<?> nodeClass = loader.loadClass(mappings.getPacketBufferNodeClassName());
+        Class<?> clientPacketClass = loader.loadClass(mappings.getClientPacketClassName());
+
+        Field buffer = PacketBufferReader.findField(nodeClass, mappings.getPacketBufferFieldName());
+        buffer.setAccessible(true);
+        Field array = PacketBufferReader.findField(buffer.getType(), mappings.getBufferArrayField());
+        array.setAccessible(true);
+        Field offset = PacketBufferReader.findField(buffer.getType(), mappings.getBufferOffsetField());
+        offset.setAccessible(true);
+
+        Field packetField = null;
+        for (Field field : nodeClass.getDeclaredFields()) {
+            if (field.getType() == clientPacketClass && !Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                packetField = field;
+                break;
+            }
+        }
+
+        if (packetField == null) {
+            log.warn("Could not find ClientPacket field on packet buffer node, captured packets will have no opcode");
+        }
+
+        List<Field> packets = new ArrayList<>();
+        for (Field field : clientPacketClass.getDeclaredFields()) {
+            if (field.getType() == clientPacketClass && Modifier.isStatic(field.getModifiers())) {
+                packets.add(field);
+            }
+        }
+
+        // Sort by name so opcodes are stable for a given client revision
+        packets.sort(Comparator.comparing(Field::getName));
+        String[] names = new String[packets.size()];
+        Map<Object, Integer> opcodes = new IdentityHashMap<>();
+        for (int i = 0; i < packets.size(); i++) {
+            Field field = packets.get(i);
+            field.setAccessible(true);
+            names[i] = field.getName();
+            opcodes.put(field.get(null), i);
+        }
+
+        return new CaptureAccessors(buffer, array, offset, packetField, mappings.getIndexMultiplier(), opcodes, names);
+    }
+
+    /**
+     * Starts the daemon thread which drains the capture buffer and publishes packets to subscribers. The thread
+     * parks while the buffer is empty and is unparked by {@link #capture(Object)} when a packet arrives.
+     */
+    private void startConsumer() {
+        if (consumer != null && consumer.isAlive()) return;
+
+        Thread thread = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                PacketSent packet = captureBuffer.poll();
+                if (packet == null) {
+                    consumerParked = true;
+
+                    // Check again after announcing the park, a packet offered in between would otherwise
+                    // not unpark this thread and wait for the next one
+                    packet = captureBuffer.poll();
+                    if (packet == null) {
+                        LockSupport.park(this);
+                        consumerParked = false;
+                        continue;
+                    }
+                    consumerParked = false;
+                }
+
+                publish(packet);
+            }
+        }, "kraken-packet-capture");
+        thread.setDaemon(true);
+        consumer = thread;
+        thread.start();
+    }
+
+    private void publish(PacketSent packet) {
+        if (publishToEventBus) {
+            clientThread.invokeLater(() -> {
+                try {
+                    eventBus.post(packet);
+                } catch (Exception e) {
+                    log.error("Failed to post captured packet to the event bus: ", e);
+                }
+            });
+        }
+
+        for (Consumer<PacketSent> listener : listeners) {
+            try {
+                listener.accept(packet);
+            } catch (Exception e) {
+                log.error("Packet capture listener failed: ", e);
+            }
+        }
+    }
+
+    /**
+     * An immutable set of the reflection handles and lookup tables resolved from one set of mappings.
+     */
+    @RequiredArgsConstructor
+    private static final class CaptureAccessors {
+        private final Field bufferField;
+        private final Field arrayField;
+        private final Field offsetField;
+        private final Field clientPacketField;
+        private final int indexMultiplier;
+        private final Map<Object, Integer> opcodes;
+        private final String[] packetNames;
+    }
+}
@@ -1,13 +1,22 @@
 package com.kraken.api.core.packet;
 
+import com.google.common.hash.Hashing;
 import com.google.gson.Gson;
 import com.google.inject.Singleton;
+import com.kraken.api.core.packet.mapping.MappingStore;
 import com.kraken.api.core.packet.model.PacketCache;
 import com.kraken.api.core.packet.model.PacketMethods;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.MethodVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+import net.bytebuddy.utility.OpenedClassReader;
 import net.runelite.api.Client;
 import net.runelite.client.RuneLite;
 import net.runelite.client.RuneLiteProperties;
@@ -29,6 +38,11 @@ import java.util.stream.Collectors;
  * A static utility class to find and cache the obfuscated packet-sending method
  * ("addNode") from the game client.
  * <p>
+ * The method is found by reading the bytecode of the already loaded {@code doAction} class and counting the
+ * invocations which take both the packet writer and a packet buffer node. Results are cached on disk keyed by a hash
+ * of the class bytes so the analysis only runs once per client build. Downloading and decompiling the injected client
+ * is only used as a fallback when the loaded class bytes cannot be read.
+ * <p>
  * This class is intended to be run once at startup within a RuneLite context and is not intended
  * to be run directly by plugins. It should be called and instantiated through the {@code Context} class.
  */
@@ -39,11 +53,10 @@ public class PacketMethodLocator {
 
     // This is the primary output of the locator and will be null until initialize() is successfully called.
     public static PacketMethods packetMethods;
-    private static final int REQUIRED_CLIENT_REV = 236;
     private static final Path WORKING_DIRECTORY = RuneLite.RUNELITE_DIR.toPath().resolve("kraken");
     private static String loadedCacheFileName = "";
+    private static String classHash;
     private static final Gson gson = new Gson();
-    private static final PacketInterceptor interceptor = RuneLite.getInjector().getInstance(PacketInterceptor.class);
 
     /**
      * Initializes the packet method locator. This is the main entry point.
@@ -63,13 +76,15 @@ public class PacketMethodLocator {
             return;
         }
 
-        if (client.getRevision() != REQUIRED_CLIENT_REV) {
-            log.warn("PacketMethodLocator was built for client revision {}, but is running on {}.", REQUIRED_CLIENT_REV, client.getRevision());
-            log.warn("This may cause instability or failure. Proceed with caution.");
-        }
-
         try {
-            interceptor.injectHook();
+            // Loads the mappings for this revision (or the newest bundled mappings) and checks they match the client
+            MappingStore.load(client.getRevision());
+            if (!MappingStore.validate(client).isEmpty()) {
+                log.warn("Client mappings do not match client revision {}. This may cause instability or failure. Proceed with caution.", client.getRevision());
+            }
+
+            // Resolved here rather than in a static initializer so PacketClient can be used outside a running client
+            RuneLite.getInjector().getInstance(PacketInterceptor.class).injectHook();
             findPacketMethods(client, RuneLiteProperties.getVersion());
             cleanupStaleFiles();
 
@@ -94,16 +109,24 @@ public class PacketMethodLocator {
     }
 
     /**
-     * Attempts to find packet methods, first by checking cache, then by
-     * performing a full client analysis.
+     * Attempts to find packet methods, first by checking cache, then by analyzing the loaded
+     * {@code doAction} bytecode and finally by performing a full client download and decompile.
      */
     @SneakyThrows
     private static void findPacketMethods(Client client, String runeliteVersion) {
+        Class<?> doActionClass = client.getClass().getClassLoader().loadClass(MappingStore.get().getDoActionClassName());
+        byte[] classBytes = readClassBytes(doActionClass);
+        classHash = classBytes != null ? Hashing.sha256().hashBytes(classBytes).toString() : null;
+
         if (loadFromCache(client)) {
             return;
         }
 
-        log.warn("No valid cache found. Starting full client analysis. This may take a moment...");
+        if (classBytes != null && analyzeBytecode(client, classBytes)) {
+            return;
+        }
+
+        log.warn("Bytecode analysis unavailable. Starting full client analysis. This may take a moment...");
         analyzeClient(client, runeliteVersion);
     }
 
@@ -135,24 +158,139 @@ public class PacketMethodLocator {
             return false;
         }
 
-        String className = parts[0];
-        String methodName = parts[1];
-        Class<?> addNodeClass = client.getClass().getClassLoader().loadClass(className);
+        Method method = resolveAddNode(client, parts[0], parts[1], cache.getDescriptor());
+        if (method != null) {
+            packetMethods = new PacketMethods(method, false);
+            log.info("Loaded addNode config from cache: Method={}", method);
+            return true;
+        }
+
+        log.warn("Cache file points to method {} but it was not found. Discarding cache.", cache.getMethodName());
+        return false;
+    }
+
+    /**
+     * Reads the bytes of a loaded class, first from its class loader and then from the instrumentation agent
+     * installed by the {@link PacketInterceptor}.
+     * @param clazz The loaded class
+     * @return The class file bytes or null if they could not be located
+     */
+    private static byte[] readClassBytes(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        try {
+            ClassFileLocator.Resolution resolution = ClassFileLocator.ForClassLoader.of(loader).locate(clazz.getName());
+            if (resolution.isResolved()) {
+                return resolution.resolve();
+            }
+        } catch (Exception e) {
+            log.debug("Class loader could not provide bytes for {}: {}", clazz.getName(), e.getMessage());
+        }
+
+        try {
+            ClassFileLocator.Resolution resolution = ClassFileLocator.AgentBased.fromInstalledAgent(loader).locate(clazz.getName());
+            if (resolution.isResolved()) {
+                return resolution.resolve();
+            }
+        } catch (Exception e) {
+            log.warn("Instrumentation agent could not provide bytes for {}: {}", clazz.getName(), e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Analyzes the bytecode of the {@code doAction} method. Every menu action in the game queues a packet so the
+     * invocation taking the packet writer and a packet buffer node which appears most often is the addNode method.
+     * @param client The RuneLite client
+     * @param classBytes The class file bytes of the class containing {@code doAction}
+     * @return True if the addNode method was found and cached
+     */
+    private static boolean analyzeBytecode(Client client, byte[] classBytes) {
+        long start = System.nanoTime();
+        String writer = "L" + MappingStore.get().getPacketWriterClassName() + ";";
+        String node = "L" + MappingStore.get().getPacketBufferNodeClassName() + ";";
+        Map<String, Integer> counts = new HashMap<>();
+
+        ClassReader reader = OpenedClassReader.of(classBytes);
+        reader.accept(new ClassVisitor(OpenedClassReader.ASM_API) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                if (!name.equals(MappingStore.get().getDoActionMethodName())) {
+                    return null;
+                }
+
+                return new MethodVisitor(OpenedClassReader.ASM_API) {
+                    @Override
+                    public void visitMethodInsn(int opcode, String owner, String methodName, String methodDescriptor, boolean isInterface) {
+                        Type[] args = Type.getArgumentTypes(methodDescriptor);
+                        if (opcode == Opcodes.INVOKESTATIC && args.length >= 2
+                                && args[0].getDescriptor().equals(writer) && args[1].getDescriptor().equals(node)) {
+                            counts.merge(owner + "." + methodName + methodDescriptor, 1, Integer::sum);
+                        } else if (opcode == Opcodes.INVOKEVIRTUAL && owner.equals(MappingStore.get().getPacketWriterClassName())
+                                && args.length >= 1 && args[0].getDescriptor().equals(node)) {
+                            counts.merge("client." + methodName + methodDescriptor, 1, Integer::sum);
+                        }
+                    }
+                };
+            }
+        }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+
+        Optional<Map.Entry<String, Integer>> mostUsed = counts.entrySet().stream().max(Map.Entry.comparingByValue());
+        if (mostUsed.isEmpty()) {
+            log.warn("No packet writer invocations found in {}.{}", MappingStore.get().getDoActionClassName(), MappingStore.get().getDoActionMethodName());
+            return false;
+        }
+
+        String target = mostUsed.get().getKey();
+        int descriptorStart = target.indexOf('(');
+        String methodName = target.substring(0, descriptorStart);
+        String descriptor = target.substring(descriptorStart);
+        log.info("Bytecode analysis complete in {}ms. Packet Queueing Method: {} ({} calls)",
+                (System.nanoTime() - start) / 1_000_000, methodName, mostUsed.get().getValue());
+
+        if (methodName.startsWith("client.")) {
+            packetMethods = new PacketMethods(null, true);
+            saveToCache(client, methodName, descriptor);
+            return true;
+        }
+
+        String[] parts = methodName.split("\\.");
+        Method addNodeMethod = resolveAddNode(client, parts[0], parts[1], descriptor);
+        if (addNodeMethod == null) {
+            log.warn("Bytecode analysis found method {} but it could not be located via reflection.", methodName);
+            return false;
+        }
+
+        packetMethods = new PacketMethods(addNodeMethod, false);
+        saveToCache(client, methodName, descriptor);
+        return true;
+    }
+
+    /**
+     * Finds a static addNode method by name. When a descriptor is known it must match exactly, otherwise the first
+     * method with the given name whose first parameter is the packet writer is returned.
+     * @return The method or null if it does not exist
+     */
+    @SneakyThrows
+    private static Method resolveAddNode(Client client, String className, String methodName, String descriptor) {
+        Class<?> addNodeClass = client.getClass().getClassLoader().loadClass(className.replace('/', '.'));
 
         // Find the method. We must check parameters to get the right one.
         for (Method method : addNodeClass.getDeclaredMethods()) {
-            if (method.getName().equals(methodName) &&
-                    method.getParameterCount() > 0 &&
-                    method.getParameterTypes()[0].getSimpleName().equals(ObfuscatedNames.packetWriterClassName)) {
+            if (!method.getName().equals(methodName) || method.getParameterCount() == 0) {
+                continue;
+            }
 
-                packetMethods = new PacketMethods(method, false);
-                log.info("Loaded addNode config from cache: Method={}", method);
-                return true;
+            if (descriptor != null) {
+                if (Type.getMethodDescriptor(method).equals(descriptor)) {
+                    return method;
+                }
+            } else if (method.getParameterTypes()[0].getSimpleName().equals(MappingStore.get().getPacketWriterClassName())) {
+                return method;
             }
         }
 
-        log.warn("Cache file points to method {} but it was not found. Discarding cache.", cache.getMethodName());
-        return false;
+        return null;
     }
 
     /**
@@ -161,8 +299,8 @@ public class PacketMethodLocator {
      */
     @SneakyThrows
     private static void analyzeClient(Client client, String runeliteVersion) {
-        String doActionClassName = ObfuscatedNames.doActionClassName;
-        String doActionMethodName = ObfuscatedNames.doActionMethodName;
+        String doActionClassName = MappingStore.get().getDoActionClassName();
+        String doActionMethodName = MappingStore.get().getDoActionMethodName();
 
         if (!Files.exists(WORKING_DIRECTORY)) {
             Files.createDirectories(WORKING_DIRECTORY);
@@ -189,16 +327,7 @@ public class PacketMethodLocator {
 
         if (!usingClient) {
             String[] parts = packetMethodName.split("\\.");
-            String className = parts[0];
-            String methodName = parts[1];
-            Class<?> addNodeClass = client.getClass().getClassLoader().loadClass(className);
-
-            for (Method method : addNodeClass.getDeclaredMethods()) {
-                if (method.getName().equals(methodName) && method.getParameterCount() > 0 && method.getParameterTypes().length != 0 && method.getParameterTypes()[0].getSimpleName().equals(ObfuscatedNames.packetWriterClassName)) {
-                    addNodeMethod = method;
-                    break;
-                }
-            }
+            addNodeMethod = resolveAddNode(client, parts[0], parts[1], null);
 
             if (addNodeMethod == null) {
                 cleanupStaleFiles();
@@ -207,7 +336,7 @@ public class PacketMethodLocator {
         }
 
         packetMethods = new PacketMethods(addNodeMethod, usingClient);
-        saveToCache(client, packetMethodName);
+        saveToCache(client, packetMethodName, null);
     }
 
     /**
@@ -336,12 +465,15 @@ public class PacketMethodLocator {
      * Saves the results of the analysis to the cache file.
      */
     @SneakyThrows
-    private static void saveToCache(Client client, String methodName) {
+    private static void saveToCache(Client client, String methodName, String descriptor) {
         String cacheFileName = getCacheFileName(client);
         Path cacheFilePath = WORKING_DIRECTORY.resolve(cacheFileName);
 
-        PacketCache cache = new PacketCache(packetMethods.isUsingClientAddNode(), methodName);
+        PacketCache cache = new PacketCache(packetMethods.isUsingClientAddNode(), methodName, descriptor);
         String output = gson.toJson(cache);
+
+        // The bytecode analysis path never creates the working directory, only the decompiler fallback does
+        Files.createDirectories(WORKING_DIRECTORY);
         Files.write(cacheFilePath, output.getBytes(StandardCharsets.UTF_8));
         loadedCacheFileName = cacheFileName;
         log.info("Client packet data cached successfully: {}", cacheFileName);
@@ -364,9 +496,13 @@ public class PacketMethodLocator {
     }
 
     /**
-     * Generates the cache file name for the current client version.
+     * Generates the cache file name for the current client. The name is keyed by a hash of the {@code doAction}
+     * class bytes when they are available so a cache is reused across RuneLite versions with the same client build.
      */
     private static String getCacheFileName(Client client) {
+        if (classHash != null) {
+            return client.getRevision() + "-" + classHash.substring(0, 16) + ".json";
+        }
         return RuneLiteProperties.getVersion() + "-" + client.getRevision() + ".json";
     }
 }
\ No newline at end of file
@@ -0,0 +1,239 @@
+package com.kraken.api.core.packet;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.kraken.api.core.packet.model.BatchResult;
+import com.kraken.api.core.packet.model.PacketBatch;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tick-aligned outbound packet scheduler.
+ * <p>
+ * Calling {@link PacketClient#sendPacket} appends to the client's packet writer immediately from whichever
+ * thread invoked it, which means a sequence of packets sent from a script thread can straddle a tick boundary.
+ * Actions like a one-tick prayer flick, widget-on-NPC, or multi-step inventory drops only work when all
+ * of their packets are written within the same game tick.
+ * <p>
+ * The scheduler groups packets into named {@link PacketBatch}es. On every {@link GameTick}, after a configurable
+ * offset, pending batches are flushed in submission order on the client thread in a single task so every
+ * packet in a batch lands in the same tick. A per-tick packet budget is enforced: a batch which does not fit in
+ * the remaining budget is deferred (whole) to the next tick and reported as having missed its tick.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * scheduler.batch("drop-ores")
+ *     .add(() -> widgetPackets.queueWidgetActionPacket(id, 0, itemId, 7))
+ *     .add(() -> widgetPackets.queueWidgetActionPacket(id, 1, itemId, 7))
+ *     .submit()
+ *     .thenAccept(result -> log.info("Dropped on tick {}", result.getFlushedTick()));
+ * }</pre>
+ */
+@Slf4j
+@Singleton
+public class PacketScheduler {
+
+    private final Client client;
+    private final ClientThread clientThread;
+    private final EventBus eventBus;
+
+    /**
+     * Delay in milliseconds after a {@link GameTick} before pending batches are flushed. A value of 0 or less
+     * flushes directly inside the game tick event.
+     */
+    @Getter
+    @Setter
+    private volatile int flushOffsetMillis = 20;
+
+    /**
+     * The maximum number of packets which will be written in a single tick. The server only processes a
+     * limited number of client packets per tick so anything over this is deferred. Lowering it fails any queued
+     * batch larger than the new budget on the next flush.
+     */
+    @Getter
+    @Setter
+    private volatile int tickBudget = 10;
+
+    @Getter
+    private final AtomicLong missedBatches = new AtomicLong();
+
+    @Getter
+    private final AtomicLong flushedBatches = new AtomicLong();
+
+    private final Deque<PacketBatch> pending = new ArrayDeque<>();
+    // Created by initialize() so a scheduler which is never used starts no thread
+    private ScheduledExecutorService scheduler;
+    private volatile int lastFlushedTick = -1;
+    private boolean initialized = false;
+
+    @Inject
+    public PacketScheduler(Client client, ClientThread clientThread, EventBus eventBus) {
+        this.client = client;
+        this.clientThread = clientThread;
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Registers the scheduler to the event bus so pending batches are flushed each game tick.
+     * Safe to call multiple times - will only initialize once. This is called automatically
+     * the first time a batch is submitted.
+     */
+    public synchronized void initialize() {
+        if (!initialized) {
+            if (scheduler == null || scheduler.isShutdown()) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "kraken-packet-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            eventBus.register(this);
+            initialized = true;
+            log.info("Packet scheduler initialized");
+        }
+    }
+
+    /**
+     * Unregisters the scheduler from the event bus and cancels any batches which have not yet been flushed.
+     */
+    public synchronized void shutdown() {
+        if (initialized) {
+            eventBus.unregister(this);
+            scheduler.shutdownNow();
+            initialized = false;
+            synchronized (pending) {
+                for (PacketBatch batch : pending) {
+                    batch.getResult().completeExceptionally(new CancellationException("Packet scheduler shut down"));
+                }
+                pending.clear();
+            }
+            log.info("Packet scheduler shut down");
+        }
+    }
+
+    /**
+     * Creates a new, empty batch bound to this scheduler.
+     * @param name A descriptive name for the batch used in logging and reporting.
+     * @return A new {@link PacketBatch}
+     */
+    public PacketBatch batch(String name) {
+        return new PacketBatch(name, this);
+    }
+
+    /**
+     * Submits a batch to be flushed on the next game tick. If the current tick has already been flushed the batch
+     * targets the following tick.
+     * @param batch The batch to submit
+     * @return A future which completes with the {@link BatchResult} once the batch is written.
+     */
+    public CompletableFuture<BatchResult> submit(PacketBatch batch) {
+        if (batch.isEmpty()) {
+            batch.getResult().complete(new BatchResult(batch.getName(), client.getTickCount(), client.getTickCount(), 0));
+            return batch.getResult();
+        }
+
+        if (batch.size() > tickBudget) {
+            log.error("Batch {} contains {} packets which exceeds the per-tick budget of {}", batch.getName(), batch.size(), tickBudget);
+            batch.getResult().completeExceptionally(new IllegalArgumentException("Batch exceeds per-tick packet budget"));
+            return batch.getResult();
+        }
+
+        initialize();
+        int tick = client.getTickCount();
+        batch.setTargetTick(lastFlushedTick >= tick ? tick + 1 : tick);
+
+        synchronized (pending) {
+            pending.addLast(batch);
+        }
+
+        return batch.getResult();
+    }
+
+    /**
+     * @return The number of batches waiting to be flushed.
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    @Subscribe
+    private void onGameTick(GameTick event) {
+        final int tick = client.getTickCount();
+        if (flushOffsetMillis <= 0) {
+            flush(tick);
+            return;
+        }
+
+        scheduler.schedule(() -> clientThread.invoke(() -> flush(tick)), flushOffsetMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes all pending batches which fit in the tick's budget. Must be called on the client thread so
+     * every packet in a batch is appended to the packet writer before the client flushes it to the server.
+     * Batches which no longer fit in a whole tick because the budget was lowered after they were submitted are
+     * failed rather than left blocking the batches behind them.
+     * @param tick The game tick being flushed
+     */
+    void flush(int tick) {
+        int sent = 0;
+        int budget = tickBudget;
+
+        synchronized (pending) {
+            Iterator<PacketBatch> it = pending.iterator();
+            while (it.hasNext()) {
+                PacketBatch batch = it.next();
+                if (batch.size() > budget) {
+                    it.remove();
+                    log.error("Batch {} contains {} packets which exceeds the lowered per-tick budget of {}", batch.getName(), batch.size(), budget);
+                    batch.getResult().completeExceptionally(new IllegalArgumentException("Batch exceeds per-tick packet budget"));
+                    continue;
+                }
+
+                // Preserve submission order, a batch which doesn't fit blocks the ones behind it
+                if (sent + batch.size() > budget) {
+                    break;
+                }
+
+                it.remove();
+                for (Runnable packet : batch.getPackets()) {
+                    try {
+                        packet.run();
+                    } catch (Exception e) {
+                        log.error("Failed to write packet in batch {}: ", batch.getName(), e);
+                    }
+                }
+                sent += batch.size();
+
+                BatchResult result = new BatchResult(batch.getName(), batch.getTargetTick(), tick, batch.size());
+                if (result.isMissed()) {
+                    missedBatches.incrementAndGet();
+                    log.warn("Batch {} missed its tick by {} tick(s) (target: {}, flushed: {})",
+                            batch.getName(), result.getMissedTicks(), batch.getTargetTick(), tick);
+                }
+
+                flushedBatches.incrementAndGet();
+                batch.getResult().complete(result);
+            }
+        }
+
+        lastFlushedTick = tick;
+    }
+}
@@ -0,0 +1,110 @@
+package com.kraken.api.core.packet.entity;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Singleton;
+import net.runelite.client.util.Text;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves menu action names (e.g. "Attack", "Withdraw-10") to the 1-based op index sent in interaction packets.
+ * <p>
+ * Action arrays from NPC compositions, object compositions, widgets, and the client's player options are owned by
+ * the client and reused between calls, so the resolved indices are cached against the array itself (by identity).
+ * The first lookup for an array strips color tags and lower-cases each action once. Repeat lookups with the same
+ * action name are a map lookup and never process a string. Each entry keeps a copy of the array's element references
+ * so an array the client has modified in place is detected with reference comparisons and re-indexed.
+ */
+@Singleton
+public class ActionIndexCache {
+
+    private final Cache<String[], ActionTable> tables = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(4096)
+            .build();
+
+    /**
+     * Returns the 1-based index of the first action in {@code actions} which matches any of the names. Matching is
+     * case-insensitive and ignores color tags.
+     *
+     * @param actions The action array, i.e. {@code NPCComposition.getActions()} or {@code Widget.getActions()}
+     * @param names The action names to search for
+     * @return The 1-based op index, or -1 if no action matches
+     */
+    public int indexOf(String[] actions, String... names) {
+        if (actions == null || names == null || names.length == 0) {
+            return -1;
+        }
+
+        ActionTable table = tables.getIfPresent(actions);
+        if (table == null || !table.matches(actions)) {
+            table = new ActionTable(actions);
+            tables.put(actions, table);
+        }
+
+        int index = -1;
+        for (String name : names) {
+            int i = table.resolve(name);
+            if (i != -1 && (index == -1 || i < index)) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Drops every cached action table.
+     */
+    public void clear() {
+        tables.invalidateAll();
+    }
+
+    private static String normalize(String action) {
+        return Text.removeTags(action).toLowerCase();
+    }
+
+    /**
+     * The indexed actions of a single action array.
+     */
+    private static final class ActionTable {
+        private final String[] snapshot;
+        private final Map<String, Integer> byAction;
+        private final Map<String, Integer> resolved = new ConcurrentHashMap<>();
+
+        ActionTable(String[] actions) {
+            this.snapshot = actions.clone();
+            this.byAction = new HashMap<>(actions.length * 2);
+            for (int i = 0; i < actions.length; i++) {
+                if (actions[i] != null) {
+                    byAction.putIfAbsent(normalize(actions[i]), i + 1);
+                }
+            }
+        }
+
+        /**
+         * @return True if every element of the array is still the same string this table was built from
+         */
+        boolean matches(String[] actions) {
+            if (actions.length != snapshot.length) {
+                return false;
+            }
+
+            for (int i = 0; i < actions.length; i++) {
+                if (actions[i] != snapshot[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int resolve(String name) {
+            if (name == null) {
+                return -1;
+            }
+            return resolved.computeIfAbsent(name, n -> byAction.getOrDefault(normalize(n), -1));
+        }
+    }
+}
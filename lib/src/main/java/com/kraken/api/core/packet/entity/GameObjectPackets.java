@@ -11,9 +11,6 @@ import net.runelite.api.widgets.Widget;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A high-level utility class for sending packets related to {@link TileObject} (Game Object)
@@ -37,6 +34,9 @@ public class GameObjectPackets {
     @Inject
     private Client client;
 
+    @Inject
+    private ActionIndexCache actionIndexCache;
+
     /**
      * Queues the low-level packet to perform a generic action click on a tile object.
      * <p>
@@ -71,18 +71,23 @@ public class GameObjectPackets {
         if (object == null) {
             return;
         }
-        ObjectComposition comp = tileService.getObjectComposition(object);
-        if (comp == null || comp.getActions() == null) {
+        int num = resolveAction(object, actionlist);
+        if (num < 1 || num > 10) {
             return;
         }
 
-        List<String> actions = Arrays.stream(comp.getActions()).collect(Collectors.toList());
-        for (int i = 0; i < actions.size(); i++) {
-            if (actions.get(i) == null)
-                continue;
-            actions.set(i, actions.get(i).toLowerCase());
-        }
+        queueObjectAction(object, num, ctrlDown);
+    }
 
+    /**
+     * Queues a tile object action for an action number which has already been resolved, for example with
+     * {@link #resolveAction(TileObject, String...)}, so the object's actions are not searched again.
+     *
+     * @param object The target {@link TileObject} (e.g., GameObject, WallObject).
+     * @param actionFieldNo The 1-based index of the action to execute (1-10).
+     * @param ctrlDown If true, indicates the control key was held down.
+     */
+    public void queueObjectAction(TileObject object, int actionFieldNo, boolean ctrlDown) {
         Point p;
         if (object instanceof GameObject) {
             GameObject gameObject = (GameObject) object;
@@ -93,21 +98,24 @@ public class GameObjectPackets {
 
         LocalPoint lp = new LocalPoint(p.getX(), p.getY(), client.getTopLevelWorldView());
         WorldPoint wp = WorldPoint.fromScene(client.getTopLevelWorldView(), lp.getX(), lp.getY(), object.getPlane());
+        queueObjectAction(actionFieldNo, object.getId(), wp.getX(), wp.getY(), ctrlDown);
+    }
 
-        int num = -1;
-        for (String action : actions) {
-            for (String action2 : actionlist) {
-                if (action != null && action.equalsIgnoreCase(action2.toLowerCase())) {
-                    num = actions.indexOf(action) + 1;
-                }
-            }
-        }
-
-        if (num < 1 || num > 10) {
-            return;
+    /**
+     * Resolves the 1-based action number of the first action on the object's composition (or its current impostor)
+     * which matches any of the action strings. Resolved action numbers are cached per composition by the
+     * {@link ActionIndexCache}.
+     *
+     * @param object The target {@link TileObject}.
+     * @param actionlist The action strings to search for (case-insensitive).
+     * @return The action number, or -1 if the object has no matching action.
+     */
+    public int resolveAction(TileObject object, String... actionlist) {
+        ObjectComposition comp = tileService.getObjectComposition(object);
+        if (comp == null) {
+            return -1;
         }
-
-        queueObjectAction(num, object.getId(), wp.getX(), wp.getY(), ctrlDown);
+        return actionIndexCache.indexOf(comp.getActions(), actionlist);
     }
 
     /**
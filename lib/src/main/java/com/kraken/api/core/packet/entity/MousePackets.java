@@ -3,8 +3,9 @@ package com.kraken.api.core.packet.entity;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
-import com.kraken.api.core.packet.ObfuscatedNames;
 import com.kraken.api.core.packet.PacketClient;
+import com.kraken.api.core.packet.mapping.ClientMappings;
+import com.kraken.api.core.packet.mapping.MappingStore;
 import com.kraken.api.core.packet.model.PacketDefFactory;
 import com.kraken.api.util.MathUtils;
 import com.kraken.api.util.RandomUtils;
@@ -14,6 +15,8 @@ import net.runelite.api.Client;
 import java.awt.event.KeyEvent;
 import java.lang.reflect.Field;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.awt.event.InputEvent.BUTTON1_DOWN_MASK;
 
@@ -31,6 +34,16 @@ public class MousePackets {
 
     private static long randomDelay = RandomUtils.randomDelay();
 
+    // A single daemon thread shared by every keep-alive so idle key events never create new threads.
+    private static final ScheduledExecutorService keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "kraken-mouse-keepalive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean keepAlivePending = new AtomicBoolean(false);
+    private volatile MouseTiming timing;
+
     /**
      * Queues a click packet to send to the game server. The click packet should be sent before
      * any game interaction (Widget, Movement, Npc, Object etc...) packets are sent. The click packet
@@ -40,11 +53,12 @@ public class MousePackets {
      */
     @SneakyThrows
     public void queueClickPacket(int x, int y) {
+        MouseTiming timing = getTiming();
         long mouseHandlerMS = System.currentTimeMillis();
-        setMouseHandlerLastMillis(mouseHandlerMS);
-        long clientMS = getClientLastMillis();
+        timing.setMouseHandlerLastMillis(mouseHandlerMS);
+        long clientMS = timing.getClientLastMillis(client);
         long deltaMs = mouseHandlerMS - clientMS;
-        setClientLastMillis(mouseHandlerMS);
+        timing.setClientLastMillis(client, mouseHandlerMS);
 
         if (deltaMs < 0) deltaMs = 0L;
         if (deltaMs > 32767) deltaMs = 32767L;
@@ -57,42 +71,73 @@ public class MousePackets {
             idleClientTicks = client.getMouseIdleTicks();
         }
 
-        if (idleClientTicks >= randomDelay) {
+        if (idleClientTicks >= randomDelay && keepAlivePending.compareAndSet(false, true)) {
             randomDelay = RandomUtils.randomDelay();
-            Executors.newSingleThreadExecutor().submit(() -> {
-                KeyEvent keyPress = new KeyEvent(client.getCanvas(), KeyEvent.KEY_PRESSED, System.currentTimeMillis(), BUTTON1_DOWN_MASK, KeyEvent.VK_BACK_SPACE, (char) KeyEvent.VK_BACK_SPACE);
-                client.getCanvas().dispatchEvent(keyPress);
-                KeyEvent keyRelease = new KeyEvent(client.getCanvas(), KeyEvent.KEY_RELEASED, System.currentTimeMillis(), 0, KeyEvent.VK_BACK_SPACE, (char) KeyEvent.VK_BACK_SPACE);
-                client.getCanvas().dispatchEvent(keyRelease);
-                KeyEvent keyTyped = new KeyEvent(client.getCanvas(), KeyEvent.KEY_TYPED, System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, (char) KeyEvent.VK_UNDEFINED);
-                client.getCanvas().dispatchEvent(keyTyped);
+            keepAliveScheduler.execute(() -> {
+                try {
+                    KeyEvent keyPress = new KeyEvent(client.getCanvas(), KeyEvent.KEY_PRESSED, System.currentTimeMillis(), BUTTON1_DOWN_MASK, KeyEvent.VK_BACK_SPACE, (char) KeyEvent.VK_BACK_SPACE);
+                    client.getCanvas().dispatchEvent(keyPress);
+                    KeyEvent keyRelease = new KeyEvent(client.getCanvas(), KeyEvent.KEY_RELEASED, System.currentTimeMillis(), 0, KeyEvent.VK_BACK_SPACE, (char) KeyEvent.VK_BACK_SPACE);
+                    client.getCanvas().dispatchEvent(keyRelease);
+                    KeyEvent keyTyped = new KeyEvent(client.getCanvas(), KeyEvent.KEY_TYPED, System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, (char) KeyEvent.VK_UNDEFINED);
+                    client.getCanvas().dispatchEvent(keyTyped);
+                } finally {
+                    keepAlivePending.set(false);
+                }
             });
         }
     }
 
-    @SneakyThrows
-    private long getClientLastMillis() {
-        Field clientLastPressedTimeMillis = client.getClass().getDeclaredField(ObfuscatedNames.clientMillisField);
-        clientLastPressedTimeMillis.setAccessible(true);
-        long retValue = clientLastPressedTimeMillis.getLong(client) * Long.parseLong(ObfuscatedNames.clientMillisMultiplier);
-        clientLastPressedTimeMillis.setAccessible(false);
-        return retValue;
+    /**
+     * Returns the resolved mouse timing handles, resolving them again if the mappings have been swapped.
+     */
+    private MouseTiming getTiming() throws ReflectiveOperationException {
+        ClientMappings mappings = MappingStore.get();
+        int version = MappingStore.getVersion();
+        MouseTiming current = timing;
+        if (current == null || current.mappingVersion != version) {
+            current = new MouseTiming(client, mappings, version);
+            timing = current;
+        }
+        return current;
     }
 
-    @SneakyThrows
-    private void setMouseHandlerLastMillis(long time) {
-        Class<?> mouseHandler = client.getClass().getClassLoader().loadClass(ObfuscatedNames.MouseHandler_lastPressedTimeMillisClass);
-        Field mouseHandlerLastPressedTime = mouseHandler.getDeclaredField(ObfuscatedNames.MouseHandler_lastPressedTimeMillisField);
-        mouseHandlerLastPressedTime.setAccessible(true);
-        mouseHandlerLastPressedTime.setLong(null, time * MathUtils.modInverse(Long.parseLong(ObfuscatedNames.mouseHandlerMillisMultiplier)));
-        mouseHandlerLastPressedTime.setAccessible(false);
-    }
+    /**
+     * The client's obfuscated last-pressed time fields and the modular inverses of their multipliers. Looking up
+     * the fields and computing the inverses is done once per mapping version rather than on every click.
+     */
+    private static final class MouseTiming {
+        private final int mappingVersion;
+        private final Field clientLastPressedTimeMillis;
+        private final Field mouseHandlerLastPressedTime;
+        private final long clientMultiplier;
+        private final long clientInverse;
+        private final long mouseHandlerInverse;
 
-    @SneakyThrows
-    private void setClientLastMillis(long time) {
-        Field clientLastPressedTimeMillis = client.getClass().getDeclaredField(ObfuscatedNames.clientMillisField);
-        clientLastPressedTimeMillis.setAccessible(true);
-        clientLastPressedTimeMillis.setLong(client, time * MathUtils.modInverse(Long.parseLong(ObfuscatedNames.clientMillisMultiplier)));
-        clientLastPressedTimeMillis.setAccessible(false);
+        MouseTiming(Client client, ClientMappings mappings, int mappingVersion) throws ReflectiveOperationException {
+            this.mappingVersion = mappingVersion;
+            this.clientLastPressedTimeMillis = client.getClass().getDeclaredField(mappings.getClientMillisField());
+            this.clientLastPressedTimeMillis.setAccessible(true);
+
+            Class<?> mouseHandler = client.getClass().getClassLoader().loadClass(mappings.getMouseHandlerClassName());
+            this.mouseHandlerLastPressedTime = mouseHandler.getDeclaredField(mappings.getMouseHandlerLastPressedFieldName());
+            this.mouseHandlerLastPressedTime.setAccessible(true);
+
+            this.clientMultiplier = mappings.getClientMillisMultiplier();
+            this.clientInverse = MathUtils.modInverse(clientMultiplier);
+            this.mouseHandlerInverse = MathUtils.modInverse(mappings.getMouseHandlerMillisMultiplier());
+        }
+
+        long getClientLastMillis(Client client) throws IllegalAccessException {
+            return clientLastPressedTimeMillis.getLong(client) * clientMultiplier;
+        }
+
+        void setClientLastMillis(Client client, long time) throws IllegalAccessException {
+            clientLastPressedTimeMillis.setLong(client, time * clientInverse);
+        }
+
+        void setMouseHandlerLastMillis(long time) throws IllegalAccessException {
+            mouseHandlerLastPressedTime.setLong(null, time * mouseHandlerInverse);
+        }
     }
 }
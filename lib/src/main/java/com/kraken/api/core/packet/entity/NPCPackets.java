@@ -11,9 +11,6 @@ import net.runelite.api.NPCComposition;
 import net.runelite.api.widgets.Widget;
 
 import javax.inject.Inject;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A static utility class for sending packets related to Non-Player Character (NPC) interactions
@@ -36,6 +33,9 @@ public class NPCPackets {
     @Inject
     private Provider<Context> ctxProvider;
 
+    @Inject
+    private ActionIndexCache actionIndexCache;
+
     /**
      * Queues the low-level packet to perform a generic action click on an NPC.
      * <p>
@@ -68,26 +68,7 @@ public class NPCPackets {
             return;
         }
 
-        NPCComposition comp = ctxProvider.get().runOnClientThread(npc::getComposition);
-        if (comp == null || comp.getActions() == null) {
-            return;
-        }
-
-        List<String> actions = Arrays.stream(comp.getActions()).collect(Collectors.toList());
-        for (int i = 0; i < actions.size(); i++) {
-            if (actions.get(i) == null)
-                continue;
-            actions.set(i, actions.get(i).toLowerCase());
-        }
-        int num = -1;
-        for (String action : actions) {
-            for (String action2 : actionList) {
-                if (action != null && action.equalsIgnoreCase(action2)) {
-                    num = actions.indexOf(action.toLowerCase()) + 1;
-                }
-            }
-        }
-
+        int num = ctxProvider.get().runOnClientThreadOptional(() -> resolveAction(npc, actionList)).orElse(-1);
         if (num < 1 || num > 10) {
             return;
         }
@@ -95,6 +76,23 @@ public class NPCPackets {
         queueNPCAction(num, npc.getIndex(), false);
     }
 
+    /**
+     * Resolves the 1-based action number of the first action on the NPC's composition which matches any of the
+     * action strings. Resolved action numbers are cached per composition by the {@link ActionIndexCache}. This
+     * must be called on the client thread.
+     *
+     * @param npc The target {@link NPC}.
+     * @param actionList The action strings to search for (case-insensitive).
+     * @return The action number, or -1 if the NPC has no matching action.
+     */
+    public int resolveAction(NPC npc, String... actionList) {
+        NPCComposition comp = npc.getComposition();
+        if (comp == null) {
+            return -1;
+        }
+        return actionIndexCache.indexOf(comp.getActions(), actionList);
+    }
+
     /**
      * Queues the raw packet for using a widget (typically an item) on an NPC.
      * <p>
@@ -9,9 +9,6 @@ import net.runelite.api.widgets.Widget;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * A high-level utility class for sending packets related to {@link Player} interactions
@@ -32,6 +29,9 @@ public class PlayerPackets {
     @Inject
     private Client client;
 
+    @Inject
+    private ActionIndexCache actionIndexCache;
+
     /**
      * Queues the low-level packet to perform a generic action click on another player.
      * <p>
@@ -60,26 +60,7 @@ public class PlayerPackets {
      */
     @SneakyThrows
     public void queuePlayerAction(Player player, String... actionlist) {
-        // Retrieve the current client player options (e.g., ["Attack", "Trade", "Follow", ...])
-        List<String> actions = Arrays.stream(client.getPlayerOptions()).collect(Collectors.toList());
-
-        for (int i = 0; i < actions.size(); i++) {
-            if (actions.get(i) == null)
-                continue;
-            actions.set(i, actions.get(i).toLowerCase());
-        }
-
-        int num = -1;
-
-        for (String action : actions) {
-            for (String action2 : actionlist) {
-                if (action != null && action.equalsIgnoreCase(action2)) {
-                    num = actions.indexOf(action.toLowerCase()) + 1;
-                    break;
-                }
-            }
-            if (num != -1) break;
-        }
+        int num = resolveAction(actionlist);
 
         if (num < 1 || num > 10) {
             return;
@@ -88,6 +69,18 @@ public class PlayerPackets {
         queuePlayerAction(num, player.getId(), false);
     }
 
+    /**
+     * Resolves the 1-based action number of the first of the client's current player options which matches
+     * any of the action strings. The player options array is updated in place by the client (e.g. "Attack" in the
+     * wilderness) which the {@link ActionIndexCache} detects and re-indexes.
+     *
+     * @param actionlist The action strings to search for (case-insensitive).
+     * @return The action number, or -1 if no player option matches.
+     */
+    public int resolveAction(String... actionlist) {
+        return actionIndexCache.indexOf(client.getPlayerOptions(), actionlist);
+    }
+
     /**
      * Queues the raw packet for using a widget (typically an item) on another player.
      * <p>
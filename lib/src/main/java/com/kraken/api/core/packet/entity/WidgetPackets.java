@@ -33,6 +33,9 @@ public class WidgetPackets {
     @Inject
     private PacketDefFactory packetDefFactory;
 
+    @Inject
+    private ActionIndexCache actionIndexCache;
+
     /**
      * Queues a low-level widget action packet (IF_BUTTONX).
      * <p>
@@ -68,31 +71,16 @@ public class WidgetPackets {
      */
     @SneakyThrows
     public void queueWidgetAction(Widget widget, String... actionlist) {
-        if (widget == null || widget.getActions() == null || widget.getActions().length == 0) {
+        String[] actions = widget == null ? null : widget.getActions();
+        if (actions == null || actions.length == 0) {
             return;
         }
 
-        List<String> actions = Arrays.stream(widget.getActions()).collect(Collectors.toList());
-        for (int i = 0; i < actions.size(); i++) {
-            if (actions.get(i) == null)
-                continue;
-            actions.set(i, actions.get(i).toLowerCase());
-        }
-
-        int num = -1;
-        for (String action : actions) {
-            for (String action2 : actionlist) {
-                if (action != null && Text.removeTags(action).equalsIgnoreCase(action2)) {
-                    num = actions.indexOf(action.toLowerCase()) + 1;
-                    break;
-                }
-            }
-            if (num != -1) break;
-        }
+        int num = actionIndexCache.indexOf(actions, actionlist);
 
         // If no valid action was found (1-10), do nothing.
         if (num < 1 || num > 10) {
-            String actionsString = actions.stream().filter(Objects::nonNull).map(Text::removeTags).collect(Collectors.joining(", "));
+            String actionsString = Arrays.stream(actions).filter(Objects::nonNull).map(Text::removeTags).collect(Collectors.joining(", "));
             log.error("No valid action found for: {}, Actions: [{}]", actionlist, actionsString);
             return;
         }
@@ -100,6 +88,22 @@ public class WidgetPackets {
         queueWidgetActionPacket(widget.getId(), widget.getIndex(), widget.getItemId(), num);
     }
 
+    /**
+     * Resolves the 1-based action number of the first widget action which matches any of the action strings.
+     * Matching is case-insensitive and ignores color tags. Resolved action numbers are cached per widget action
+     * array by the {@link ActionIndexCache}.
+     *
+     * @param widget     The {@link Widget} to resolve the action on.
+     * @param actionlist The action strings to search for.
+     * @return The action number, or -1 if the widget has no matching action.
+     */
+    public int resolveAction(Widget widget, String... actionlist) {
+        if (widget == null) {
+            return -1;
+        }
+        return actionIndexCache.indexOf(widget.getActions(), actionlist);
+    }
+
     /**
      * Queues a widget sub-action packet by identifying the specific sub-action
      * and menu options associated with a given widget.
@@ -0,0 +1,38 @@
+package com.kraken.api.core.packet.journal;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for a {@link PacketJournal}.
+ */
+@Data
+@Builder
+public class JournalConfig {
+
+    /**
+     * Directory segment files are written to. When null the journal writes to {@code .runelite/kraken/journal}.
+     */
+    private Path directory;
+
+    /**
+     * Size in bytes of each segment file. A new segment is started when the current one is full.
+     */
+    @Builder.Default
+    private int segmentSize = 16 * 1024 * 1024;
+
+    /**
+     * Maximum number of tick index entries stored in each segment header.
+     */
+    @Builder.Default
+    private int indexCapacity = 8192;
+
+    /**
+     * Segments older than this are deleted when the journal rotates.
+     */
+    @Builder.Default
+    private Duration retention = Duration.ofDays(3);
+}
@@ -0,0 +1,14 @@
+package com.kraken.api.core.packet.journal;
+
+import lombok.Value;
+
+/**
+ * A single packet read back from a journal segment.
+ */
+@Value
+public class JournalRecord {
+    int tick;
+    long timestamp;
+    String packetName;
+    byte[] payload;
+}
@@ -0,0 +1,270 @@
+package com.kraken.api.core.packet.journal;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * A single memory-mapped journal segment file.
+ * <p>
+ * Layout (all values big endian):
+ * <pre>
+ * Header (64 bytes)
+ *   0  int   magic ("KPJ1")
+ *   4  short version
+ *   6  short header size
+ *   8  long  created at (epoch millis)
+ *   16 int   first tick
+ *   20 int   last tick
+ *   24 int   record count
+ *   28 int   index capacity
+ *   32 int   index count
+ *   36 int   data start
+ *   40 int   write position
+ * Tick index (index capacity * 8 bytes)
+ *   int tick, int record offset  -- one entry per distinct tick, in write order
+ * Records (from data start to write position)
+ *   int length, int tick, long timestamp, byte name length, name (ASCII), payload
+ * </pre>
+ * The write position is updated after each record is fully written so a segment which was not closed cleanly
+ * can still be read up to its last complete record.
+ */
+public class JournalSegment implements AutoCloseable {
+
+    static final int MAGIC = 0x4B504A31;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final String EXTENSION = ".kpj";
+
+    private static final int OFFSET_CREATED = 8;
+    private static final int OFFSET_FIRST_TICK = 16;
+    private static final int OFFSET_LAST_TICK = 20;
+    private static final int OFFSET_RECORD_COUNT = 24;
+    private static final int OFFSET_INDEX_CAPACITY = 28;
+    private static final int OFFSET_INDEX_COUNT = 32;
+    private static final int OFFSET_DATA_START = 36;
+    private static final int OFFSET_WRITE_POSITION = 40;
+    private static final int RECORD_HEADER_SIZE = 4 + 4 + 8 + 1;
+
+    @Getter
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int indexCapacity;
+    private final int dataStart;
+    private int writePosition;
+    private int indexCount;
+    private int recordCount;
+    private int firstTick;
+    private int lastTick;
+
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.indexCapacity = buffer.getInt(OFFSET_INDEX_CAPACITY);
+        this.dataStart = buffer.getInt(OFFSET_DATA_START);
+        this.writePosition = buffer.getInt(OFFSET_WRITE_POSITION);
+        this.indexCount = buffer.getInt(OFFSET_INDEX_COUNT);
+        this.recordCount = buffer.getInt(OFFSET_RECORD_COUNT);
+        this.firstTick = buffer.getInt(OFFSET_FIRST_TICK);
+        this.lastTick = buffer.getInt(OFFSET_LAST_TICK);
+    }
+
+    /**
+     * Creates and maps a new segment file.
+     * @param path The file to create
+     * @param size The total size of the segment in bytes
+     * @param indexCapacity The number of tick index entries to reserve
+     * @return The new segment
+     * @throws IOException If the file cannot be created or mapped
+     */
+    public static JournalSegment create(Path path, int size, int indexCapacity) throws IOException {
+        int dataStart = HEADER_SIZE + indexCapacity * 8;
+        if (size <= dataStart + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size " + size + " is too small for an index of " + indexCapacity + " entries");
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) HEADER_SIZE);
+        buffer.putLong(OFFSET_CREATED, System.currentTimeMillis());
+        buffer.putInt(OFFSET_FIRST_TICK, -1);
+        buffer.putInt(OFFSET_LAST_TICK, -1);
+        buffer.putInt(OFFSET_RECORD_COUNT, 0);
+        buffer.putInt(OFFSET_INDEX_CAPACITY, indexCapacity);
+        buffer.putInt(OFFSET_INDEX_COUNT, 0);
+        buffer.putInt(OFFSET_DATA_START, dataStart);
+        buffer.putInt(OFFSET_WRITE_POSITION, dataStart);
+        return new JournalSegment(path, channel, buffer);
+    }
+
+    /**
+     * Maps an existing segment file read-only.
+     * @param path The segment file
+     * @return The segment
+     * @throws IOException If the file cannot be mapped or is not a journal segment
+     */
+    public static JournalSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Not a packet journal segment: " + path);
+        }
+
+        if (buffer.getShort(4) != VERSION) {
+            channel.close();
+            throw new IOException("Unsupported journal version " + buffer.getShort(4) + " in " + path);
+        }
+
+        return new JournalSegment(path, channel, buffer);
+    }
+
+    /**
+     * Appends a record to the segment.
+     * @param tick The tick the packet was written on
+     * @param timestamp The time the packet was written
+     * @param name The ASCII encoded obfuscated packet name
+     * @param payload The packet payload
+     * @param length The number of payload bytes to write
+     * @return False if the segment does not have room for the record
+     */
+    public boolean append(int tick, long timestamp, byte[] name, byte[] payload, int length) {
+        int nameLength = Math.min(name.length, 255);
+        int recordSize = RECORD_HEADER_SIZE + nameLength + length;
+        if (writePosition + recordSize > buffer.capacity()) {
+            return false;
+        }
+
+        int position = writePosition;
+        buffer.putInt(position, recordSize - 4);
+        buffer.putInt(position + 4, tick);
+        buffer.putLong(position + 8, timestamp);
+        buffer.put(position + 16, (byte) nameLength);
+        ByteBuffer view = buffer.duplicate();
+        view.position(position + RECORD_HEADER_SIZE);
+        view.put(name, 0, nameLength);
+        view.put(payload, 0, length);
+
+        if (recordCount == 0) {
+            firstTick = tick;
+            buffer.putInt(OFFSET_FIRST_TICK, tick);
+        }
+
+        if ((recordCount == 0 || tick != lastTick) && indexCount < indexCapacity) {
+            int entry = HEADER_SIZE + indexCount * 8;
+            buffer.putInt(entry, tick);
+            buffer.putInt(entry + 4, position);
+            indexCount++;
+            buffer.putInt(OFFSET_INDEX_COUNT, indexCount);
+        }
+
+        lastTick = tick;
+        recordCount++;
+        writePosition = position + recordSize;
+        buffer.putInt(OFFSET_LAST_TICK, tick);
+        buffer.putInt(OFFSET_RECORD_COUNT, recordCount);
+        buffer.putInt(OFFSET_WRITE_POSITION, writePosition);
+        return true;
+    }
+
+    /**
+     * Uses the tick index to find the offset of the first record which could have a tick greater than or equal to the given tick.
+     * @param tick The tick to seek to
+     * @return The record offset to start reading from
+     */
+    public int seek(int tick) {
+        int low = 0;
+        int high = indexCount - 1;
+        int result = dataStart;
+
+        // Index entries are in write order and ticks only increase so binary search for the last entry before the tick
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = HEADER_SIZE + mid * 8;
+            if (buffer.getInt(entry) < tick) {
+                result = buffer.getInt(entry + 4);
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads every record with a tick within the given range (inclusive).
+     * @param fromTick The first tick to include
+     * @param toTick The last tick to include
+     * @param consumer Receives each matching record
+     */
+    public void read(int fromTick, int toTick, Consumer<JournalRecord> consumer) {
+        if (recordCount == 0 || lastTick < fromTick || firstTick > toTick) {
+            return;
+        }
+
+        int position = seek(fromTick);
+        int end = buffer.getInt(OFFSET_WRITE_POSITION);
+        while (position + 4 <= end) {
+            int length = buffer.getInt(position);
+            if (length < RECORD_HEADER_SIZE - 4 || position + 4 + length > end) {
+                break;
+            }
+
+            int tick = buffer.getInt(position + 4);
+            if (tick > toTick) {
+                break;
+            }
+
+            if (tick >= fromTick) {
+                long timestamp = buffer.getLong(position + 8);
+                int nameLength = buffer.get(position + 16) & 0xFF;
+                byte[] name = new byte[nameLength];
+                byte[] payload = new byte[length + 4 - RECORD_HEADER_SIZE - nameLength];
+                ByteBuffer view = buffer.duplicate();
+                view.position(position + RECORD_HEADER_SIZE);
+                view.get(name);
+                view.get(payload);
+
+                consumer.accept(new JournalRecord(tick, timestamp, new String(name, StandardCharsets.US_ASCII), payload));
+            }
+
+            position += 4 + length;
+        }
+    }
+
+    public long getCreatedAt() {
+        return buffer.getLong(OFFSET_CREATED);
+    }
+
+    public int getFirstTick() {
+        return firstTick;
+    }
+
+    public int getLastTick() {
+        return lastTick;
+    }
+
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel.isOpen()) {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.kraken.api.core.packet.journal;
+
+import com.kraken.api.core.packet.PacketInterceptor;
+import com.kraken.api.core.packet.model.PacketData;
+import com.kraken.api.core.packet.model.PacketSent;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.RuneLite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An append-only, memory-mapped journal of every captured outbound packet.
+ * <p>
+ * The journal registers itself as a listener on the {@link PacketInterceptor} so records are written on the
+ * capture consumer thread and never block the game thread. Packets are appended to fixed size
+ * {@link JournalSegment} files. When a segment is full (or the client tick counter goes backwards after a relog)
+ * a new segment is started and segments older than the configured retention are deleted.
+ * <p>
+ * Journals can be inspected offline with {@link PacketJournalReader}.
+ */
+@Slf4j
+public class PacketJournal implements Consumer<PacketSent>, AutoCloseable {
+
+    private final JournalConfig config;
+    private final Path directory;
+    private final Map<String, byte[]> encodedNames = new HashMap<>();
+    private JournalSegment segment;
+    private PacketInterceptor interceptor;
+    private int sequence = 0;
+
+    @Getter
+    private final AtomicLong written = new AtomicLong();
+
+    @Getter
+    private final AtomicLong failed = new AtomicLong();
+
+    public PacketJournal(JournalConfig config) {
+        this.config = config;
+        this.directory = config.getDirectory() != null ? config.getDirectory()
+                : RuneLite.RUNELITE_DIR.toPath().resolve("kraken").resolve("journal");
+    }
+
+    /**
+     * Starts journaling every packet captured by the interceptor.
+     * @param interceptor The packet interceptor to listen to
+     */
+    public synchronized void attach(PacketInterceptor interceptor) {
+        detach();
+        this.interceptor = interceptor;
+        interceptor.addListener(this);
+        log.info("Packet journal writing to {}", directory);
+    }
+
+    /**
+     * Stops journaling packets. The current segment remains open until {@link #close()} is called.
+     */
+    public synchronized void detach() {
+        if (interceptor != null) {
+            interceptor.removeListener(this);
+            interceptor = null;
+        }
+    }
+
+    @Override
+    public synchronized void accept(PacketSent sent) {
+        PacketData data = sent.getPacket();
+        String name = interceptor != null ? interceptor.getPacketName(data.getOpcode()) : null;
+        append(name == null ? "?" : name, data.getTick(), data.getTimestamp(), data.getData(), data.getLength());
+    }
+
+    /**
+     * Appends a single packet to the journal, rotating segments as necessary.
+     * @param packetName The obfuscated packet name
+     * @param tick The tick the packet was written on
+     * @param timestamp The time the packet was written
+     * @param payload The packet payload
+     * @param length The number of payload bytes
+     */
+    public synchronized void append(String packetName, int tick, long timestamp, byte[] payload, int length) {
+        byte[] name = encodedNames.computeIfAbsent(packetName, n -> n.getBytes(StandardCharsets.US_ASCII));
+
+        try {
+            if (segment == null || (segment.getRecordCount() > 0 && tick < segment.getLastTick())) {
+                rotate();
+            }
+
+            if (!segment.append(tick, timestamp, name, payload, length)) {
+                rotate();
+                if (!segment.append(tick, timestamp, name, payload, length)) {
+                    log.warn("Packet {} of {} bytes does not fit in an empty journal segment", packetName, length);
+                    failed.incrementAndGet();
+                    return;
+                }
+            }
+
+            written.incrementAndGet();
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            log.error("Failed to write packet to journal: ", e);
+        }
+    }
+
+    /**
+     * Closes the current segment and opens a new one, deleting any segments past the retention period.
+     * @throws IOException If the new segment cannot be created
+     */
+    private void rotate() throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+
+        Files.createDirectories(directory);
+        Path path = directory.resolve(String.format("journal-%d-%04d%s", System.currentTimeMillis(), sequence++, JournalSegment.EXTENSION));
+        segment = JournalSegment.create(path, config.getSegmentSize(), config.getIndexCapacity());
+        applyRetention();
+    }
+
+    /**
+     * Deletes segments which were created longer ago than the configured retention. The creation time is
+     * encoded in the segment file name since the modification time of a mapped file is not reliably updated.
+     */
+    private void applyRetention() {
+        if (config.getRetention() == null) return;
+        long cutoff = System.currentTimeMillis() - config.getRetention().toMillis();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(JournalSegment.EXTENSION))
+                    .filter(p -> !p.equals(segment.getPath()))
+                    .forEach(p -> {
+                        try {
+                            if (createdAt(p) < cutoff) {
+                                Files.delete(p);
+                                log.debug("Deleted expired journal segment {}", p.getFileName());
+                            }
+                        } catch (IOException e) {
+                            log.warn("Failed to delete expired journal segment {}: {}", p.getFileName(), e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("Failed to apply journal retention: {}", e.getMessage());
+        }
+    }
+
+    private static long createdAt(Path segment) throws IOException {
+        String[] parts = segment.getFileName().toString().split("-");
+        try {
+            return parts.length >= 3 ? Long.parseLong(parts[1]) : Files.getLastModifiedTime(segment).toMillis();
+        } catch (NumberFormatException e) {
+            return Files.getLastModifiedTime(segment).toMillis();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        detach();
+        if (segment != null) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.error("Failed to close journal segment: ", e);
+            }
+            segment = null;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.kraken.api.core.packet.journal;
+
+import com.kraken.api.core.packet.PacketBufferReader;
+import com.kraken.api.core.packet.PacketDecoder;
+import com.kraken.api.core.packet.PacketDecoderRegistry;
+import com.kraken.api.core.packet.model.DecodedPacket;
+import com.kraken.api.core.packet.model.PacketDefFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Command line tool for inspecting packet journals written by {@link PacketJournal}.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp kraken-api.jar:runelite-client.jar com.kraken.api.core.packet.journal.PacketJournalReader \
+ *     &lt;journal directory or segment&gt; [--type OPNPC1|OPNPC|obfuscated name] [--from tick] [--to tick] [--hex]
+ * </pre>
+ * Each matching packet is printed with its tick, timestamp, and decoded fields. Packets without a known
+ * definition are printed as hex.
+ */
+public class PacketJournalReader {
+
+    private final PacketDecoderRegistry registry;
+    private final PrintStream out;
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+
+    public PacketJournalReader(PacketDecoderRegistry registry, PrintStream out) {
+        this.registry = registry;
+        this.out = out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: PacketJournalReader <journal directory|segment file> [--type name] [--from tick] [--to tick] [--hex]");
+            System.exit(1);
+        }
+
+        String type = null;
+        int from = Integer.MIN_VALUE;
+        int to = Integer.MAX_VALUE;
+        boolean hex = false;
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--type":
+                    type = args[++i];
+                    break;
+                case "--from":
+                    from = Integer.parseInt(args[++i]);
+                    break;
+                case "--to":
+                    to = Integer.parseInt(args[++i]);
+                    break;
+                case "--hex":
+                    hex = true;
+                    break;
+                default:
+                    System.err.println("Unknown argument: " + args[i]);
+                    System.exit(1);
+            }
+        }
+
+        PacketDecoderRegistry registry = new PacketDecoderRegistry(new PacketDefFactory());
+        PacketJournalReader reader = new PacketJournalReader(registry, System.out);
+        int printed = reader.print(Paths.get(args[0]), type, from, to, hex);
+        registry.shutdown();
+        System.err.println(printed + " packet(s)");
+    }
+
+    /**
+     * Prints every packet in a journal directory or segment which matches the filters.
+     * @param path A journal directory or a single segment file
+     * @param type A readable packet name (OPNPC1), packet type (OPNPC), or obfuscated name to filter by, or null for all packets
+     * @param fromTick The first tick to include
+     * @param toTick The last tick to include
+     * @param hex True to also print the raw payload of decoded packets
+     * @return The number of packets printed
+     * @throws IOException If the journal cannot be read
+     */
+    public int print(Path path, String type, int fromTick, int toTick, boolean hex) throws IOException {
+        int[] printed = {0};
+        for (Path file : segments(path)) {
+            try (JournalSegment segment = JournalSegment.open(file)) {
+                segment.read(fromTick, toTick, record -> {
+                    if (!matches(record, type)) return;
+                    out.println(format(record, hex));
+                    printed[0]++;
+                });
+            } catch (IOException e) {
+                System.err.println("Skipping " + file.getFileName() + ": " + e.getMessage());
+            }
+        }
+        return printed[0];
+    }
+
+    /**
+     * Lists the segment files for a path in the order they were written.
+     * @param path A journal directory or a single segment file
+     * @return The segment files
+     * @throws IOException If the directory cannot be listed
+     */
+    public static List<Path> segments(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            List<Path> single = new ArrayList<>();
+            single.add(path);
+            return single;
+        }
+
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(JournalSegment.EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private boolean matches(JournalRecord record, String type) {
+        if (type == null) return true;
+        if (type.equals(record.getPacketName())) return true;
+        PacketDecoder decoder = registry.forName(record.getPacketName());
+        return decoder != null && (type.equalsIgnoreCase(decoder.getName()) || type.equalsIgnoreCase(decoder.getDefinition().getType().name()));
+    }
+
+    private String format(JournalRecord record, boolean hex) {
+        StringBuilder sb = new StringBuilder();
+        sb.append('[').append(record.getTick()).append("] ")
+                .append(timeFormat.format(new Date(record.getTimestamp()))).append(' ');
+
+        DecodedPacket packet = registry.decode(record.getPacketName(), record.getPayload(), record.getTick(), record.getTimestamp());
+        if (packet == null) {
+            sb.append(record.getPacketName()).append(' ').append(PacketBufferReader.toHexString(record.getPayload()).trim());
+            return sb.toString();
+        }
+
+        sb.append(packet.getName()).append(' ').append(packet.getFields());
+        if (hex) {
+            sb.append(' ').append(PacketBufferReader.toHexString(record.getPayload()).trim());
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,77 @@
+package com.kraken.api.core.packet.latency;
+
+import com.kraken.api.core.packet.model.PacketType;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Groups interaction packets by the kind of target they act on. Each category lists the {@link ActionResponse}s which
+ * acknowledge it, and for actions on NPCs and players, the packet field which identifies the target so an
+ * {@link ActionResponse#INTERACTING} response is only matched to an interaction with the same target.
+ */
+@Getter
+public enum ActionCategory {
+    NPC("npcIndex", EnumSet.of(ActionResponse.INTERACTING, ActionResponse.ANIMATION, ActionResponse.WIDGET_OPEN, ActionResponse.CONTAINER)),
+    PLAYER("playerIndex", EnumSet.of(ActionResponse.INTERACTING, ActionResponse.ANIMATION, ActionResponse.WIDGET_OPEN)),
+    OBJECT(null, EnumSet.of(ActionResponse.ANIMATION, ActionResponse.WIDGET_OPEN, ActionResponse.CONTAINER)),
+    GROUND_ITEM(null, EnumSet.of(ActionResponse.CONTAINER, ActionResponse.ANIMATION)),
+    WIDGET(null, EnumSet.of(ActionResponse.CONTAINER, ActionResponse.WIDGET_OPEN, ActionResponse.ANIMATION)),
+    DIALOG(null, EnumSet.of(ActionResponse.WIDGET_OPEN, ActionResponse.CONTAINER)),
+    WALK(null, EnumSet.of(ActionResponse.MOVEMENT));
+
+    private final String targetField;
+    private final Set<ActionResponse> responses;
+
+    ActionCategory(String targetField, Set<ActionResponse> responses) {
+        this.targetField = targetField;
+        this.responses = responses;
+    }
+
+    /**
+     * Returns the category of an interaction packet.
+     * @param type The packet type
+     * @return The category, or null for packets which are not tracked (mouse clicks, boat heading)
+     */
+    public static ActionCategory of(PacketType type) {
+        switch (type) {
+            case OPNPC:
+            case OPNPCT:
+                return NPC;
+            case OPPLAYER:
+            case OPPLAYERT:
+                return PLAYER;
+            case OPLOC:
+            case OPLOCT:
+                return OBJECT;
+            case OPOBJ:
+            case OPOBJT:
+                return GROUND_ITEM;
+            case IF_BUTTON:
+            case IF_BUTTONX:
+            case IF_BUTTONT:
+            case IF_SUBOP:
+            case OPHELDD:
+                return WIDGET;
+            case RESUME_PAUSEBUTTON:
+            case RESUME_COUNTDIALOG:
+            case RESUME_OBJDIALOG:
+            case RESUME_NAMEDIALOG:
+            case RESUME_STRINGDIALOG:
+                return DIALOG;
+            case MOVE_GAMECLICK:
+                return WALK;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param response A client response
+     * @return True if the response acknowledges actions in this category
+     */
+    public boolean accepts(ActionResponse response) {
+        return responses.contains(response);
+    }
+}
@@ -0,0 +1,43 @@
+package com.kraken.api.core.packet.latency;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Posted to the RuneLite event bus each time the {@link ActionLatencyTracker} matches an interaction packet to the
+ * game's response.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ActionLatency {
+    private final ActionCategory category;
+
+    /**
+     * The packet which was sent, e.g. "OPNPC1"
+     */
+    private final String packetName;
+
+    private final ActionResponse response;
+
+    /**
+     * The client tick the packet was sent on
+     */
+    private final int sentTick;
+
+    /**
+     * The number of game ticks between the packet being sent and the response
+     */
+    private final int ticks;
+
+    /**
+     * The number of milliseconds between the packet being sent and the response
+     */
+    private final long millis;
+
+    /**
+     * True if the latency was far above the recent average for the category, which usually indicates server lag
+     */
+    private final boolean spike;
+}
@@ -0,0 +1,294 @@
+package com.kraken.api.core.packet.latency;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.kraken.api.core.packet.PacketDecoderRegistry;
+import com.kraken.api.core.packet.PacketInterceptor;
+import com.kraken.api.core.packet.model.DecodedPacket;
+import com.kraken.api.core.packet.model.PacketSent;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.AnimationChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.ItemContainerChanged;
+import net.runelite.api.events.WidgetLoaded;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Measures the round trip latency of interactions: the time from an interaction packet being written by the client to
+ * the first client event showing the game acted on it (an animation starting, the player interacting with the target,
+ * an item container changing, an interface opening, or the player moving).
+ * <p>
+ * Outbound packets are read from the {@link PacketInterceptor} capture path and decoded with the
+ * {@link PacketDecoderRegistry}, so interactions are stamped with the tick and time they were actually queued
+ * regardless of which API sent them. Each response is matched to the oldest pending interaction whose
+ * {@link ActionCategory} accepts it, and a response on the same tick an interaction was sent is never matched since
+ * the server cannot have processed it yet. A newer interaction of the same category replaces an older pending one.
+ * Interactions with no response within {@link #TIMEOUT_TICKS} ticks are counted as timeouts.
+ * <p>
+ * Latencies are recorded into a {@link LatencyHistogram} per category and each match is posted to the event bus as an
+ * {@link ActionLatency}. A latency several times higher than the recent average for its category is flagged as a spike
+ * and logged, which usually indicates server lag.
+ * <p>
+ * The tracker requires packets to be loaded and must be started with {@link #initialize()}.
+ */
+@Slf4j
+@Singleton
+public class ActionLatencyTracker {
+
+    public static final int TIMEOUT_TICKS = 10;
+
+    private static final int SPIKE_MIN_SAMPLES = 10;
+    private static final double SPIKE_FACTOR = 3.0;
+    private static final long SPIKE_MIN_MILLIS = 600;
+    private static final double BASELINE_WEIGHT = 0.1;
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private EventBus eventBus;
+
+    @Inject
+    private PacketInterceptor interceptor;
+
+    @Inject
+    private PacketDecoderRegistry decoderRegistry;
+
+    private final Map<ActionCategory, LatencyHistogram> histograms = new EnumMap<>(ActionCategory.class);
+    private final Map<ActionCategory, AtomicLong> timeouts = new EnumMap<>(ActionCategory.class);
+    private final double[] baselines = new double[ActionCategory.values().length];
+    private final AtomicLong lagSpikes = new AtomicLong();
+
+    // Written by the capture consumer thread and drained on the client thread
+    private final Queue<PendingAction> incoming = new ConcurrentLinkedQueue<>();
+    private final List<PendingAction> pending = new ArrayList<>();
+    private final Consumer<PacketSent> listener = this::onPacketSent;
+
+    private WorldPoint lastLocation;
+    private boolean initialized = false;
+
+    public ActionLatencyTracker() {
+        for (ActionCategory category : ActionCategory.values()) {
+            histograms.put(category, new LatencyHistogram());
+            timeouts.put(category, new AtomicLong());
+        }
+    }
+
+    /**
+     * Starts tracking interactions. Safe to call multiple times - will only initialize once.
+     */
+    public synchronized void initialize() {
+        if (!initialized) {
+            interceptor.addListener(listener);
+            eventBus.register(this);
+            initialized = true;
+            log.info("Action latency tracker initialized");
+        }
+    }
+
+    /**
+     * Stops tracking interactions. Recorded histograms are kept until {@link #reset()} is called.
+     */
+    public synchronized void shutdown() {
+        if (initialized) {
+            interceptor.removeListener(listener);
+            eventBus.unregister(this);
+            incoming.clear();
+            synchronized (pending) {
+                pending.clear();
+            }
+            initialized = false;
+            log.info("Action latency tracker shut down");
+        }
+    }
+
+    /**
+     * @param category The action category
+     * @return The latency histogram for the category
+     */
+    public LatencyHistogram getHistogram(ActionCategory category) {
+        return histograms.get(category);
+    }
+
+    /**
+     * @param category The action category
+     * @return The number of interactions in the category which received no response within {@link #TIMEOUT_TICKS} ticks
+     */
+    public long getTimeouts(ActionCategory category) {
+        return timeouts.get(category).get();
+    }
+
+    /**
+     * @return The number of latency spikes detected across all categories
+     */
+    public long getLagSpikes() {
+        return lagSpikes.get();
+    }
+
+    /**
+     * Clears every histogram, timeout count, and latency baseline.
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        timeouts.values().forEach(t -> t.set(0));
+        lagSpikes.set(0);
+        synchronized (pending) {
+            Arrays.fill(baselines, 0);
+        }
+    }
+
+    /**
+     * Stamps an outbound interaction. Runs on the capture consumer thread.
+     */
+    private void onPacketSent(PacketSent sent) {
+        DecodedPacket packet = decoderRegistry.decode(sent.getPacket());
+        if (packet == null || packet.getType() == null) return;
+
+        ActionCategory category = ActionCategory.of(packet.getType());
+        if (category == null) return;
+
+        int target = category.getTargetField() == null ? -1 : packet.getInt(category.getTargetField());
+        incoming.add(new PendingAction(category, packet.getName(), target, packet.getTick(), packet.getTimestamp()));
+    }
+
+    @Subscribe
+    public void onAnimationChanged(AnimationChanged event) {
+        Actor actor = event.getActor();
+        if (actor != null && actor == client.getLocalPlayer() && actor.getAnimation() != -1) {
+            acknowledge(ActionResponse.ANIMATION, null, -1);
+        }
+    }
+
+    @Subscribe
+    public void onInteractingChanged(InteractingChanged event) {
+        Actor target = event.getTarget();
+        if (target == null || event.getSource() != client.getLocalPlayer()) return;
+
+        if (target instanceof net.runelite.api.NPC) {
+            acknowledge(ActionResponse.INTERACTING, ActionCategory.NPC, ((net.runelite.api.NPC) target).getIndex());
+        } else if (target instanceof Player) {
+            acknowledge(ActionResponse.INTERACTING, ActionCategory.PLAYER, ((Player) target).getId());
+        }
+    }
+
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        acknowledge(ActionResponse.CONTAINER, null, -1);
+    }
+
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event) {
+        acknowledge(ActionResponse.WIDGET_OPEN, null, -1);
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        Player local = client.getLocalPlayer();
+        WorldPoint location = local == null ? null : local.getWorldLocation();
+        if (location != null && lastLocation != null && !location.equals(lastLocation)) {
+            acknowledge(ActionResponse.MOVEMENT, ActionCategory.WALK, -1);
+        }
+        lastLocation = location;
+
+        int tick = client.getTickCount();
+        synchronized (pending) {
+            drainIncoming();
+            Iterator<PendingAction> it = pending.iterator();
+            while (it.hasNext()) {
+                PendingAction action = it.next();
+                if (tick - action.tick > TIMEOUT_TICKS) {
+                    timeouts.get(action.category).incrementAndGet();
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Matches a client response to the oldest pending interaction which accepts it.
+     * @param response The response
+     * @param only If not null, only interactions in this category are matched
+     * @param target The NPC index or player id the response targets, or -1 if the response has no target
+     */
+    private void acknowledge(ActionResponse response, ActionCategory only, int target) {
+        int tick = client.getTickCount();
+        long now = System.currentTimeMillis();
+        PendingAction matched = null;
+
+        synchronized (pending) {
+            drainIncoming();
+            Iterator<PendingAction> it = pending.iterator();
+            while (it.hasNext()) {
+                PendingAction action = it.next();
+                if (action.tick >= tick || !action.category.accepts(response)) continue;
+                if (only != null && action.category != only) continue;
+                if (target != -1 && action.target != target) continue;
+
+                it.remove();
+                matched = action;
+                break;
+            }
+        }
+
+        if (matched != null) {
+            record(matched, response, tick - matched.tick, now - matched.timestamp);
+        }
+    }
+
+    private void record(PendingAction action, ActionResponse response, int ticks, long millis) {
+        LatencyHistogram histogram = histograms.get(action.category);
+        histogram.record(ticks, millis);
+
+        int index = action.category.ordinal();
+        double baseline = baselines[index];
+        boolean spike = histogram.getCount() > SPIKE_MIN_SAMPLES && millis > SPIKE_MIN_MILLIS && millis > baseline * SPIKE_FACTOR;
+        baselines[index] = baseline == 0 ? millis : baseline + BASELINE_WEIGHT * (millis - baseline);
+
+        if (spike) {
+            lagSpikes.incrementAndGet();
+            log.warn("Latency spike for {} ({}): {}ms / {} ticks, average {}ms", action.category, action.packetName, millis, ticks, Math.round(baseline));
+        }
+
+        eventBus.post(new ActionLatency(action.category, action.packetName, response, action.tick, ticks, millis, spike));
+    }
+
+    /**
+     * Moves newly captured interactions into the pending list. A newer interaction replaces any pending
+     * interaction in the same category. Must be called while holding the pending lock.
+     */
+    private void drainIncoming() {
+        PendingAction action;
+        while ((action = incoming.poll()) != null) {
+            ActionCategory category = action.category;
+            pending.removeIf(p -> p.category == category);
+            pending.add(action);
+        }
+    }
+
+    @AllArgsConstructor
+    private static final class PendingAction {
+        private final ActionCategory category;
+        private final String packetName;
+        private final int target;
+        private final int tick;
+        private final long timestamp;
+    }
+}
@@ -0,0 +1,31 @@
+package com.kraken.api.core.packet.latency;
+
+/**
+ * The client events which show the game server has acted on an interaction packet.
+ */
+public enum ActionResponse {
+    /**
+     * The local player started an animation.
+     */
+    ANIMATION,
+
+    /**
+     * The local player started interacting with an NPC or player.
+     */
+    INTERACTING,
+
+    /**
+     * An item container (inventory, bank, equipment, etc...) changed.
+     */
+    CONTAINER,
+
+    /**
+     * An interface was opened.
+     */
+    WIDGET_OPEN,
+
+    /**
+     * The local player moved to a new tile.
+     */
+    MOVEMENT
+}
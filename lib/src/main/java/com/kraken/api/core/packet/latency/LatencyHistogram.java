@@ -0,0 +1,136 @@
+package com.kraken.api.core.packet.latency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed bucket histogram of action latencies in both game ticks and milliseconds. Samples are recorded on the
+ * client thread and can be read from any thread.
+ * <p>
+ * Tick latencies are counted exactly up to {@link #MAX_TICKS}. Millisecond latencies are counted in
+ * {@link #MILLIS_BUCKET_WIDTH}ms buckets up to {@code MILLIS_BUCKETS * MILLIS_BUCKET_WIDTH}ms. Larger samples are
+ * counted in a final overflow bucket.
+ */
+public class LatencyHistogram {
+
+    public static final int MAX_TICKS = 16;
+    public static final int MILLIS_BUCKET_WIDTH = 50;
+    public static final int MILLIS_BUCKETS = 120;
+
+    private final AtomicLongArray ticks = new AtomicLongArray(MAX_TICKS + 2);
+    private final AtomicLongArray millis = new AtomicLongArray(MILLIS_BUCKETS + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalTicks = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    /**
+     * Records a single latency sample.
+     * @param tickLatency The latency in game ticks
+     * @param millisLatency The latency in milliseconds
+     */
+    public void record(int tickLatency, long millisLatency) {
+        int t = Math.max(0, tickLatency);
+        long ms = Math.max(0, millisLatency);
+
+        ticks.incrementAndGet(Math.min(t, MAX_TICKS + 1));
+        millis.incrementAndGet((int) Math.min(ms / MILLIS_BUCKET_WIDTH, MILLIS_BUCKETS));
+        count.incrementAndGet();
+        totalTicks.addAndGet(t);
+        totalMillis.addAndGet(ms);
+        maxMillis.accumulateAndGet(ms, Math::max);
+    }
+
+    /**
+     * @return The number of samples recorded
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return The largest latency recorded in milliseconds
+     */
+    public long getMaxMillis() {
+        return maxMillis.get();
+    }
+
+    /**
+     * @return The mean latency in milliseconds or 0 if nothing has been recorded
+     */
+    public double getMeanMillis() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) totalMillis.get() / n;
+    }
+
+    /**
+     * @return The mean latency in game ticks or 0 if nothing has been recorded
+     */
+    public double getMeanTicks() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) totalTicks.get() / n;
+    }
+
+    /**
+     * Returns the number of samples with an exact tick latency.
+     * @param tickLatency The latency in ticks. Values above {@link #MAX_TICKS} return the overflow count
+     * @return The number of samples
+     */
+    public long getTickCount(int tickLatency) {
+        return ticks.get(Math.min(Math.max(0, tickLatency), MAX_TICKS + 1));
+    }
+
+    /**
+     * Returns the tick latency at a percentile.
+     * @param percentile The percentile between 0 and 100
+     * @return The tick latency, {@code MAX_TICKS + 1} if the percentile falls in the overflow bucket, or 0 if nothing
+     * has been recorded
+     */
+    public int getTickPercentile(double percentile) {
+        return percentileIndex(ticks, percentile);
+    }
+
+    /**
+     * Returns the millisecond latency at a percentile, rounded up to the end of its bucket.
+     * @param percentile The percentile between 0 and 100
+     * @return The latency in milliseconds, or 0 if nothing has been recorded
+     */
+    public long getMillisPercentile(double percentile) {
+        int index = percentileIndex(millis, percentile);
+        return index >= MILLIS_BUCKETS ? maxMillis.get() : (long) (index + 1) * MILLIS_BUCKET_WIDTH;
+    }
+
+    /**
+     * Clears every recorded sample.
+     */
+    public void reset() {
+        for (int i = 0; i < ticks.length(); i++) ticks.set(i, 0);
+        for (int i = 0; i < millis.length(); i++) millis.set(i, 0);
+        count.set(0);
+        totalTicks.set(0);
+        totalMillis.set(0);
+        maxMillis.set(0);
+    }
+
+    private int percentileIndex(AtomicLongArray buckets, double percentile) {
+        long n = count.get();
+        if (n == 0) return 0;
+
+        long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100.0 * n);
+        long seen = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            seen += buckets.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return i;
+            }
+        }
+        return buckets.length() - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d mean=%.0fms p50=%dms p90=%dms p99=%dms max=%dms ticks(mean=%.2f p50=%d p90=%d)",
+                getCount(), getMeanMillis(), getMillisPercentile(50), getMillisPercentile(90), getMillisPercentile(99),
+                getMaxMillis(), getMeanTicks(), getTickPercentile(50), getTickPercentile(90));
+    }
+}
@@ -0,0 +1,159 @@
+package com.kraken.api.core.packet.mapping;
+
+import com.kraken.api.core.packet.model.PacketDefinition;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The obfuscated names and values for a single client revision. Instances are read from a mapping file by the
+ * {@link MappingStore} and are immutable once built. Numeric values (multipliers and garbage values) are parsed
+ * when the file is read, and packet definitions are stored in an array indexed by {@link PacketId#ordinal()} with
+ * their write operations already tokenized.
+ * <p>
+ * Field names match the constants in the PacketUtils {@code ObfuscatedNames} class so mappings can be converted
+ * with {@link ObfuscatedNamesConverter}.
+ */
+@Getter
+public class ClientMappings {
+
+    private int revision;
+
+    // Packet writing
+    private String packetWriterClassName;
+    private String packetWriterFieldName;
+    private String addNodeMethodName;
+    private int addNodeGarbageValue;
+    private String isaacCipherFieldName;
+    private String clientPacketClassName;
+    private String classContainingGetPacketBufferNodeName;
+    private int getPacketBufferNodeGarbageValue;
+    private String packetBufferNodeClassName;
+    private String packetBufferFieldName;
+    private String bufferOffsetField;
+    private String bufferArrayField;
+    private int offsetMultiplier;
+    private int indexMultiplier;
+
+    // Mouse timing
+    private String mouseHandlerClassName;
+    private String mouseHandlerLastPressedFieldName;
+    private long mouseHandlerMillisMultiplier;
+    private String clientMillisField;
+    private long clientMillisMultiplier;
+
+    // Client analysis
+    private String doActionClassName;
+    private String doActionMethodName;
+
+    /**
+     * Packet layouts keyed by {@link PacketId} name as they appear in the mapping file.
+     */
+    @Getter(AccessLevel.NONE)
+    private Map<String, PacketEntry> packets;
+
+    @Getter(AccessLevel.NONE)
+    private transient PacketDefinition[] definitions;
+
+    @Getter(AccessLevel.NONE)
+    private transient Map<String, PacketDefinition> byObfuscatedName;
+
+    /**
+     * The layout of a single packet in a mapping file.
+     */
+    @Getter
+    public static class PacketEntry {
+        private String name;
+        private List<Write> writes;
+    }
+
+    /**
+     * A single argument written to a packet and the operations used to write it.
+     */
+    @Getter
+    public static class Write {
+        private String field;
+        private List<String> ops;
+    }
+
+    /**
+     * Returns the definition for a packet.
+     * @param id The packet id
+     * @return The packet definition
+     */
+    public PacketDefinition getDefinition(PacketId id) {
+        return definitions[id.ordinal()];
+    }
+
+    /**
+     * Returns the definition for a packet by its obfuscated {@code ClientPacket} field name.
+     * @param obfuscatedName The obfuscated field name
+     * @return The packet definition or null if no packet uses the name
+     */
+    public PacketDefinition getDefinition(String obfuscatedName) {
+        return byObfuscatedName.get(obfuscatedName);
+    }
+
+    /**
+     * Builds the packet definitions and checks the mapping is complete. Called once by the {@link MappingStore}
+     * after the file is read.
+     * @return This mapping
+     * @throws IllegalArgumentException If a packet is missing or contains an invalid write
+     */
+    ClientMappings build() {
+        List<String> problems = new ArrayList<>();
+        if (packetWriterClassName == null || clientPacketClassName == null || packetBufferNodeClassName == null
+                || packetBufferFieldName == null || bufferArrayField == null || bufferOffsetField == null) {
+            problems.add("missing packet writer or buffer names");
+        }
+
+        if (indexMultiplier == 0 || offsetMultiplier == 0) {
+            problems.add("missing buffer index or offset multiplier");
+        }
+
+        PacketDefinition[] defs = new PacketDefinition[PacketId.count()];
+        Map<String, PacketDefinition> names = new HashMap<>();
+
+        for (PacketId id : PacketId.values()) {
+            PacketEntry entry = packets == null ? null : packets.get(id.name());
+            if (entry == null || entry.name == null || entry.writes == null) {
+                problems.add(id + ": missing packet");
+                continue;
+            }
+
+            String[] fields = new String[entry.writes.size()];
+            String[][] ops = new String[entry.writes.size()][];
+            for (int i = 0; i < fields.length; i++) {
+                Write write = entry.writes.get(i);
+                fields[i] = write.field;
+                ops[i] = write.ops == null ? new String[0] : write.ops.toArray(new String[0]);
+            }
+
+            try {
+                PacketDefinition def = new PacketDefinition(entry.name, fields, ops, id.getType());
+                for (int i = 0; i < fields.length; i++) {
+                    if (def.getParamIndices()[i] < 0) {
+                        problems.add(id + ": field " + fields[i] + " is not a parameter of " + id.getType());
+                    }
+                }
+                defs[id.ordinal()] = def;
+                names.putIfAbsent(entry.name, def);
+            } catch (IllegalArgumentException e) {
+                problems.add(id + ": " + e.getMessage());
+            }
+        }
+
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid mappings for revision " + revision + ": " + String.join(", ", problems));
+        }
+
+        this.definitions = defs;
+        this.byObfuscatedName = Collections.unmodifiableMap(names);
+        return this;
+    }
+}
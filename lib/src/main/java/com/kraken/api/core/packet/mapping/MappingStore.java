@@ -0,0 +1,274 @@
+package com.kraken.api.core.packet.mapping;
+
+import com.google.gson.Gson;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.client.RuneLite;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Holds the {@link ClientMappings} for the running client revision.
+ * <p>
+ * Mappings are read from {@code <revision>.json}. A file in {@code .runelite/kraken/mappings} takes precedence over
+ * the file bundled in the API's {@code mappings} resource directory so new mappings can be dropped in and applied
+ * with {@link #reload()} without rebuilding the API. When no file exists for a revision the default bundled mappings
+ * are used.
+ * <p>
+ * Reading the current mappings is a single volatile read. Classes which derive state from the mappings (cached
+ * reflection handles, pre-computed values) should register a listener with {@link #addListener(Consumer)} or compare
+ * {@link #getVersion()} to know when the mappings have been swapped.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MappingStore {
+
+    public static final int DEFAULT_REVISION = 236;
+    public static final Path OVERRIDE_DIRECTORY = RuneLite.RUNELITE_DIR.toPath().resolve("kraken").resolve("mappings");
+    private static final String RESOURCE_DIRECTORY = "/mappings/";
+
+    private static final Gson gson = new Gson();
+    private static final AtomicInteger version = new AtomicInteger();
+    private static final List<Consumer<ClientMappings>> listeners = new CopyOnWriteArrayList<>();
+    private static volatile ClientMappings current;
+
+    /**
+     * Returns the current mappings, loading the bundled default revision if no mappings have been loaded yet.
+     * @return The current mappings
+     */
+    public static ClientMappings get() {
+        ClientMappings mappings = current;
+        if (mappings == null) {
+            synchronized (MappingStore.class) {
+                if (current == null) {
+                    install(read(DEFAULT_REVISION));
+                }
+                mappings = current;
+            }
+        }
+        return mappings;
+    }
+
+    /**
+     * Loads and installs the mappings for a client revision.
+     * @param revision The client revision
+     * @return The installed mappings
+     */
+    public static synchronized ClientMappings load(int revision) {
+        ClientMappings mappings = read(revision);
+        if (mappings.getRevision() != revision) {
+            log.warn("No mappings found for client revision {}, using revision {}. This may cause instability or failure.", revision, mappings.getRevision());
+        }
+        install(mappings);
+        return mappings;
+    }
+
+    /**
+     * Re-reads the mappings for the current revision, picking up any new override file.
+     * @return The installed mappings
+     */
+    public static synchronized ClientMappings reload() {
+        return load(current != null ? current.getRevision() : DEFAULT_REVISION);
+    }
+
+    /**
+     * Replaces the current mappings and notifies listeners.
+     * @param mappings The mappings to install
+     */
+    public static synchronized void install(ClientMappings mappings) {
+        current = mappings;
+        version.incrementAndGet();
+        log.info("Installed client mappings for revision {}", mappings.getRevision());
+        for (Consumer<ClientMappings> listener : listeners) {
+            try {
+                listener.accept(mappings);
+            } catch (Exception e) {
+                log.error("Mapping listener failed: ", e);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener called whenever new mappings are installed.
+     * @param listener The listener
+     */
+    public static void addListener(Consumer<ClientMappings> listener) {
+        listeners.add(listener);
+    }
+
+    public static void removeListener(Consumer<ClientMappings> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return A counter which is incremented every time mappings are installed
+     */
+    public static int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Reads and builds a mapping file.
+     * @param reader The mapping JSON
+     * @return The built mappings
+     * @throws IllegalArgumentException If the mappings are incomplete or invalid
+     */
+    public static ClientMappings read(Reader reader) {
+        ClientMappings mappings = gson.fromJson(reader, ClientMappings.class);
+        if (mappings == null) {
+            throw new IllegalArgumentException("Empty mapping file");
+        }
+        return mappings.build();
+    }
+
+    /**
+     * Reads the mappings for a revision from the override directory, falling back to the bundled mappings
+     * for the revision and then to the bundled default mappings.
+     */
+    private static ClientMappings read(int revision) {
+        Path override = OVERRIDE_DIRECTORY.resolve(revision + ".json");
+        if (Files.exists(override)) {
+            try (Reader reader = Files.newBufferedReader(override, StandardCharsets.UTF_8)) {
+                log.info("Loading client mappings from {}", override);
+                return read(reader);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to read mappings from {}, falling back to bundled mappings: ", override, e);
+            }
+        }
+
+        ClientMappings bundled = readResource(revision);
+        if (bundled != null) {
+            return bundled;
+        }
+
+        bundled = readResource(DEFAULT_REVISION);
+        if (bundled == null) {
+            throw new IllegalStateException("Bundled mappings for revision " + DEFAULT_REVISION + " are missing");
+        }
+        return bundled;
+    }
+
+    private static ClientMappings readResource(int revision) {
+        InputStream stream = MappingStore.class.getResourceAsStream(RESOURCE_DIRECTORY + revision + ".json");
+        if (stream == null) {
+            return null;
+        }
+
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return read(reader);
+        } catch (IOException e) {
+            log.error("Failed to read bundled mappings for revision {}: ", revision, e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks every class, field, and method named by the current mappings exists in the loaded client.
+     * @param client The RuneLite client
+     * @return A description of each missing name. Empty when the mappings match the client
+     */
+    public static List<String> validate(Client client) {
+        ClientMappings mappings = get();
+        ClassLoader loader = client.getClass().getClassLoader();
+        List<String> problems = new ArrayList<>();
+
+        Class<?> clientClass = client.getClass();
+        requireField(clientClass, mappings.getPacketWriterFieldName(), problems);
+        requireField(clientClass, mappings.getClientMillisField(), problems);
+
+        Class<?> writer = loadClass(loader, mappings.getPacketWriterClassName(), problems);
+        if (writer != null) {
+            requireMethod(writer, mappings.getAddNodeMethodName(), problems);
+            requireField(writer, mappings.getIsaacCipherFieldName(), problems);
+        }
+
+        Class<?> node = loadClass(loader, mappings.getPacketBufferNodeClassName(), problems);
+        if (node != null) {
+            Field buffer = requireField(node, mappings.getPacketBufferFieldName(), problems);
+            if (buffer != null) {
+                requireField(buffer.getType(), mappings.getBufferArrayField(), problems);
+                requireField(buffer.getType(), mappings.getBufferOffsetField(), problems);
+            }
+
+            Class<?> accessor = loadClass(loader, mappings.getClassContainingGetPacketBufferNodeName(), problems);
+            if (accessor != null) {
+                boolean found = false;
+                for (Method method : accessor.getDeclaredMethods()) {
+                    found |= method.getReturnType() == node;
+                }
+                if (!found) {
+                    problems.add(accessor.getName() + " has no method returning " + node.getName());
+                }
+            }
+        }
+
+        Class<?> clientPacket = loadClass(loader, mappings.getClientPacketClassName(), problems);
+        if (clientPacket != null) {
+            for (PacketId id : PacketId.values()) {
+                requireField(clientPacket, mappings.getDefinition(id).getName(), problems);
+            }
+        }
+
+        Class<?> mouseHandler = loadClass(loader, mappings.getMouseHandlerClassName(), problems);
+        if (mouseHandler != null) {
+            requireField(mouseHandler, mappings.getMouseHandlerLastPressedFieldName(), problems);
+        }
+
+        Class<?> doAction = loadClass(loader, mappings.getDoActionClassName(), problems);
+        if (doAction != null) {
+            requireMethod(doAction, mappings.getDoActionMethodName(), problems);
+        }
+
+        if (problems.isEmpty()) {
+            log.info("Client mappings for revision {} validated against revision {}", mappings.getRevision(), client.getRevision());
+        } else {
+            problems.forEach(p -> log.warn("Mapping validation failed: {}", p));
+        }
+        return problems;
+    }
+
+    private static Class<?> loadClass(ClassLoader loader, String name, List<String> problems) {
+        try {
+            return loader.loadClass(name);
+        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+            problems.add("missing class " + name);
+            return null;
+        }
+    }
+
+    private static Field requireField(Class<?> clazz, String name, List<String> problems) {
+        for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        problems.add("missing field " + clazz.getName() + "." + name);
+        return null;
+    }
+
+    private static void requireMethod(Class<?> clazz, String name, List<String> problems) {
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return;
+            }
+        }
+        problems.add("missing method " + clazz.getName() + "." + name);
+    }
+}
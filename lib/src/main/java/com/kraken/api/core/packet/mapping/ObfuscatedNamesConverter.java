@@ -0,0 +1,144 @@
+package com.kraken.api.core.packet.mapping;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Command line tool which converts a PacketUtils {@code ObfuscatedNames.java} source file into a mapping file
+ * readable by the {@link MappingStore}.
+ * <p>
+ * Usage:
+ * <pre>
+ * java -cp kraken-api.jar com.kraken.api.core.packet.mapping.ObfuscatedNamesConverter \
+ *     &lt;ObfuscatedNames.java&gt; &lt;revision&gt; [output.json]
+ * </pre>
+ * The output defaults to {@code <revision>.json} in the working directory. Copy it to
+ * {@code lib/src/main/resources/mappings} to bundle it, or to {@code .runelite/kraken/mappings} to use it without
+ * rebuilding the API.
+ */
+public class ObfuscatedNamesConverter {
+
+    private static final Pattern STRING_CONSTANT = Pattern.compile("public static final String (\\w+)\\s*=\\s*\"([^\"]*)\"\\s*;");
+    private static final Pattern WRITES_CONSTANT = Pattern.compile("public static final String\\[]\\[] (\\w+)_WRITES\\s*=\\s*new String\\[]\\[]\\s*\\{(.*?)}\\s*;", Pattern.DOTALL);
+    private static final Pattern WRITE_GROUP = Pattern.compile("\\{([^{}]*)}");
+    private static final Pattern QUOTED = Pattern.compile("\"([^\"]*)\"");
+
+    private static final String[] INT_KEYS = {"offsetMultiplier", "indexMultiplier", "addNodeGarbageValue", "getPacketBufferNodeGarbageValue"};
+    private static final String[] LONG_KEYS = {"mouseHandlerMillisMultiplier", "clientMillisMultiplier"};
+    private static final String[] STRING_KEYS = {"packetWriterClassName", "packetWriterFieldName", "addNodeMethodName",
+            "isaacCipherFieldName", "clientPacketClassName", "classContainingGetPacketBufferNodeName",
+            "packetBufferNodeClassName", "packetBufferFieldName", "bufferOffsetField", "bufferArrayField",
+            "clientMillisField", "doActionClassName", "doActionMethodName"};
+
+    // PacketUtils names which were renamed in the mapping file
+    private static final Map<String, String> RENAMED = Map.of(
+            "MouseHandler_lastPressedTimeMillisClass", "mouseHandlerClassName",
+            "MouseHandler_lastPressedTimeMillisField", "mouseHandlerLastPressedFieldName"
+    );
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ObfuscatedNamesConverter <ObfuscatedNames.java> <revision> [output.json]");
+            System.exit(1);
+        }
+
+        int revision = Integer.parseInt(args[1]);
+        Path output = args.length > 2 ? Paths.get(args[2]) : Paths.get(revision + ".json");
+        String source = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(convert(source, revision));
+        Files.write(output, json.getBytes(StandardCharsets.UTF_8));
+        System.err.println("Wrote " + output);
+    }
+
+    /**
+     * Converts the source of an {@code ObfuscatedNames} class into a mapping file.
+     * @param source The Java source
+     * @param revision The client revision the names belong to
+     * @return The mapping file as JSON
+     */
+    public static JsonObject convert(String source, int revision) {
+        Map<String, String> strings = new HashMap<>();
+        Matcher matcher = STRING_CONSTANT.matcher(source);
+        while (matcher.find()) {
+            strings.put(matcher.group(1), matcher.group(2));
+        }
+
+        JsonObject root = new JsonObject();
+        root.addProperty("revision", revision);
+        for (String key : STRING_KEYS) {
+            root.addProperty(key, require(strings, key));
+        }
+        RENAMED.forEach((from, to) -> root.addProperty(to, require(strings, from)));
+        for (String key : INT_KEYS) {
+            // Some multipliers are published as longs which overflow into the int the client uses
+            root.addProperty(key, (int) Long.parseLong(require(strings, key)));
+        }
+        for (String key : LONG_KEYS) {
+            root.addProperty(key, Long.parseLong(require(strings, key)));
+        }
+
+        Map<String, JsonObject> packets = new TreeMap<>();
+        Matcher writes = WRITES_CONSTANT.matcher(source);
+        while (writes.find()) {
+            String packet = writes.group(1);
+            String name = strings.containsKey(packet + "_OBFUSCATEDNAME") ? strings.get(packet + "_OBFUSCATEDNAME")
+                    : strings.get(packet + "_OBFUSCATED_NAME");
+            if (name == null) {
+                throw new IllegalArgumentException("Missing obfuscated name for " + packet);
+            }
+
+            List<List<String>> ops = new ArrayList<>();
+            Matcher group = WRITE_GROUP.matcher(writes.group(2));
+            while (group.find()) {
+                List<String> fieldOps = new ArrayList<>();
+                Matcher quoted = QUOTED.matcher(group.group(1));
+                while (quoted.find()) {
+                    fieldOps.add(quoted.group(1));
+                }
+                ops.add(fieldOps);
+            }
+
+            JsonArray fields = new JsonArray();
+            for (int i = 0; i < ops.size(); i++) {
+                JsonObject write = new JsonObject();
+                write.addProperty("field", require(strings, packet + "_WRITE" + (i + 1)));
+                JsonArray fieldOps = new JsonArray();
+                ops.get(i).forEach(fieldOps::add);
+                write.add("ops", fieldOps);
+                fields.add(write);
+            }
+
+            JsonObject entry = new JsonObject();
+            entry.addProperty("name", name);
+            entry.add("writes", fields);
+            packets.put(packet, entry);
+        }
+
+        JsonObject packetsJson = new JsonObject();
+        packets.forEach(packetsJson::add);
+        root.add("packets", packetsJson);
+        return root;
+    }
+
+    private static String require(Map<String, String> strings, String key) {
+        String value = strings.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("ObfuscatedNames is missing " + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,107 @@
+package com.kraken.api.core.packet.mapping;
+
+import com.kraken.api.core.packet.model.PacketType;
+import lombok.Getter;
+
+/**
+ * Every client packet the API knows how to send. The ordinal of each constant indexes the packet definitions
+ * held by {@link ClientMappings} and the constant name is the key used in mapping files.
+ */
+@Getter
+public enum PacketId {
+    OPOBJ1(PacketType.OPOBJ),
+    OPOBJ2(PacketType.OPOBJ),
+    OPOBJ3(PacketType.OPOBJ),
+    OPOBJ4(PacketType.OPOBJ),
+    OPOBJ5(PacketType.OPOBJ),
+    OPOBJT(PacketType.OPOBJT),
+    OPLOC1(PacketType.OPLOC),
+    OPLOC2(PacketType.OPLOC),
+    OPLOC3(PacketType.OPLOC),
+    OPLOC4(PacketType.OPLOC),
+    OPLOC5(PacketType.OPLOC),
+    OPLOCT(PacketType.OPLOCT),
+    OPNPC1(PacketType.OPNPC),
+    OPNPC2(PacketType.OPNPC),
+    OPNPC3(PacketType.OPNPC),
+    OPNPC4(PacketType.OPNPC),
+    OPNPC5(PacketType.OPNPC),
+    OPNPCT(PacketType.OPNPCT),
+    OPPLAYER1(PacketType.OPPLAYER),
+    OPPLAYER2(PacketType.OPPLAYER),
+    OPPLAYER3(PacketType.OPPLAYER),
+    OPPLAYER4(PacketType.OPPLAYER),
+    OPPLAYER5(PacketType.OPPLAYER),
+    OPPLAYER6(PacketType.OPPLAYER),
+    OPPLAYER7(PacketType.OPPLAYER),
+    OPPLAYER8(PacketType.OPPLAYER),
+    OPPLAYERT(PacketType.OPPLAYERT),
+    IF_BUTTONT(PacketType.IF_BUTTONT),
+    IF_BUTTONX(PacketType.IF_BUTTONX),
+    IF_SUBOP(PacketType.IF_SUBOP),
+    OPHELDD(PacketType.OPHELDD),
+    RESUME_PAUSEBUTTON(PacketType.RESUME_PAUSEBUTTON),
+    RESUME_COUNTDIALOG(PacketType.RESUME_COUNTDIALOG),
+    RESUME_OBJDIALOG(PacketType.RESUME_OBJDIALOG),
+    RESUME_NAMEDIALOG(PacketType.RESUME_NAMEDIALOG),
+    RESUME_STRINGDIALOG(PacketType.RESUME_STRINGDIALOG),
+    MOVE_GAMECLICK(PacketType.MOVE_GAMECLICK),
+    EVENT_MOUSE_CLICK(PacketType.EVENT_MOUSE_CLICK),
+    SET_HEADING(PacketType.SET_HEADING);
+
+    private static final PacketId[] VALUES = values();
+
+    private final PacketType type;
+
+    PacketId(PacketType type) {
+        this.type = type;
+    }
+
+    /**
+     * @return The number of packet ids, i.e. the length of an array indexed by ordinal
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    /**
+     * Returns the numbered variant of a packet type, e.g. {@code OPNPC} action 3 is {@link #OPNPC3}.
+     * @param type The packet type
+     * @param action The 1-based menu action. Ignored for packet types without numbered variants
+     * @return The packet id
+     * @throws IllegalArgumentException If the action is out of range for the packet type
+     */
+    public static PacketId of(PacketType type, int action) {
+        switch (type) {
+            case OPOBJ: return numbered(OPOBJ1, 5, action, type);
+            case OPLOC: return numbered(OPLOC1, 5, action, type);
+            case OPNPC: return numbered(OPNPC1, 5, action, type);
+            case OPPLAYER: return numbered(OPPLAYER1, 8, action, type);
+            case OPLOCT: return OPLOCT;
+            case OPNPCT: return OPNPCT;
+            case OPPLAYERT: return OPPLAYERT;
+            case OPOBJT: return OPOBJT;
+            case IF_BUTTON:
+            case IF_BUTTONX: return IF_BUTTONX;
+            case IF_BUTTONT: return IF_BUTTONT;
+            case IF_SUBOP: return IF_SUBOP;
+            case OPHELDD: return OPHELDD;
+            case RESUME_PAUSEBUTTON: return RESUME_PAUSEBUTTON;
+            case RESUME_COUNTDIALOG: return RESUME_COUNTDIALOG;
+            case RESUME_OBJDIALOG: return RESUME_OBJDIALOG;
+            case RESUME_NAMEDIALOG: return RESUME_NAMEDIALOG;
+            case RESUME_STRINGDIALOG: return RESUME_STRINGDIALOG;
+            case MOVE_GAMECLICK: return MOVE_GAMECLICK;
+            case EVENT_MOUSE_CLICK: return EVENT_MOUSE_CLICK;
+            case SET_HEADING: return SET_HEADING;
+            default: throw new IllegalArgumentException("Unknown packet type: " + type);
+        }
+    }
+
+    private static PacketId numbered(PacketId first, int variants, int action, PacketType type) {
+        if (action < 1 || action > variants) {
+            throw new IllegalArgumentException("Invalid " + type + " action (supports 1-" + variants + "): " + action);
+        }
+        return VALUES[first.ordinal() + action - 1];
+    }
+}
@@ -0,0 +1,126 @@
+package com.kraken.api.core.packet.mapping;
+
+import lombok.Getter;
+
+/**
+ * A single pre-parsed buffer write operation from a packet mapping. Mapping files describe writes with the same
+ * short strings used by PacketUtils ({@code "v"}, {@code "r 8"}, {@code "a 128"}, {@code "s 0"}, {@code "strn"},
+ * {@code "strc"}). They are tokenized once when the mapping is loaded so sending or decoding a packet never parses
+ * a string.
+ */
+@Getter
+public final class WriteOp {
+
+    public enum Kind {
+        /**
+         * Writes the low byte of the value.
+         */
+        VAR,
+
+        /**
+         * Writes the value shifted right by the magnitude.
+         */
+        SHIFT,
+
+        /**
+         * Writes the low byte of the value plus the magnitude.
+         */
+        ADD,
+
+        /**
+         * Writes the magnitude minus the low byte of the value.
+         */
+        SUB,
+
+        /**
+         * Writes a CP1252 string followed by a null byte.
+         */
+        STRING_TERMINATED,
+
+        /**
+         * Writes a CP1252 string with a null byte before and after it.
+         */
+        STRING_CIRCUMFIXED
+    }
+
+    private static final WriteOp VAR = new WriteOp(Kind.VAR, 0, "v");
+    private static final WriteOp STRING_TERMINATED = new WriteOp(Kind.STRING_TERMINATED, 0, "strn");
+    private static final WriteOp STRING_CIRCUMFIXED = new WriteOp(Kind.STRING_CIRCUMFIXED, 0, "strc");
+
+    private final Kind kind;
+    private final int magnitude;
+    private final String description;
+
+    private WriteOp(Kind kind, int magnitude, String description) {
+        this.kind = kind;
+        this.magnitude = magnitude;
+        this.description = description;
+    }
+
+    /**
+     * Parses a write description such as {@code "r 8"} or {@code "a128"}.
+     * @param description The write description
+     * @return The parsed operation
+     * @throws IllegalArgumentException If the description is not a known write operation
+     */
+    public static WriteOp parse(String description) {
+        String op = description.trim();
+        if (op.equalsIgnoreCase("strn")) return STRING_TERMINATED;
+        if (op.equalsIgnoreCase("strc")) return STRING_CIRCUMFIXED;
+        if (op.equalsIgnoreCase("v")) return VAR;
+        if (op.isEmpty()) {
+            throw new IllegalArgumentException("Empty write operation");
+        }
+
+        Kind kind;
+        switch (Character.toLowerCase(op.charAt(0))) {
+            case 'r':
+                kind = Kind.SHIFT;
+                break;
+            case 'a':
+                kind = Kind.ADD;
+                break;
+            case 's':
+                kind = Kind.SUB;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown write operation: " + description);
+        }
+
+        try {
+            return new WriteOp(kind, Integer.parseInt(op.substring(1).trim()), op);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid magnitude in write operation: " + description, e);
+        }
+    }
+
+    /**
+     * @return True if this operation writes a string rather than a single byte
+     */
+    public boolean isString() {
+        return kind == Kind.STRING_TERMINATED || kind == Kind.STRING_CIRCUMFIXED;
+    }
+
+    /**
+     * Computes the byte this operation writes for a value.
+     * @param value The value being written
+     * @return The byte written to the buffer
+     */
+    public byte apply(int value) {
+        switch (kind) {
+            case SHIFT:
+                return (byte) (value >> magnitude);
+            case ADD:
+                return (byte) (magnitude + value);
+            case SUB:
+                return (byte) (magnitude - value);
+            default:
+                return (byte) value;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
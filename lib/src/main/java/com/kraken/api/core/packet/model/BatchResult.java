@@ -0,0 +1,30 @@
+package com.kraken.api.core.packet.model;
+
+import lombok.Value;
+
+/**
+ * The outcome of flushing a {@link PacketBatch}. A batch which was written on a later tick than the one
+ * it was scheduled for (because the per-tick budget was exhausted or the flush was delayed) is reported as
+ * having missed its tick.
+ */
+@Value
+public class BatchResult {
+    String name;
+    int targetTick;
+    int flushedTick;
+    int packets;
+
+    /**
+     * @return The number of ticks between the tick the batch was scheduled for and the tick it was actually flushed on.
+     */
+    public int getMissedTicks() {
+        return Math.max(0, flushedTick - targetTick);
+    }
+
+    /**
+     * @return True if the batch was not flushed on the tick it was scheduled for.
+     */
+    public boolean isMissed() {
+        return flushedTick > targetTick;
+    }
+}
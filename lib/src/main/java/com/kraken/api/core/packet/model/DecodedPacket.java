@@ -0,0 +1,74 @@
+package com.kraken.api.core.packet.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A captured outbound packet decoded back into its named fields using the write operations of its
+ * {@link PacketDefinition}. Integer fields are stored as the unsigned value reassembled from the bytes
+ * written to the buffer; use {@link #getSigned(String)} to sign extend values such as a {@code -1} item id.
+ */
+@Getter
+public class DecodedPacket {
+    private final String name;
+    private final String obfuscatedName;
+    private final PacketType type;
+    private final int tick;
+    private final long timestamp;
+    private final Map<String, Object> fields;
+    private final Map<String, Integer> widths;
+
+    public DecodedPacket(String name, String obfuscatedName, PacketType type, int tick, long timestamp,
+                         LinkedHashMap<String, Object> fields, Map<String, Integer> widths) {
+        this.name = name;
+        this.obfuscatedName = obfuscatedName;
+        this.type = type;
+        this.tick = tick;
+        this.timestamp = timestamp;
+        this.fields = Collections.unmodifiableMap(fields);
+        this.widths = widths;
+    }
+
+    /**
+     * Returns an integer field as the unsigned value written to the buffer.
+     * @param field The field name, e.g. "npcIndex"
+     * @return The value or -1 if the field does not exist or is not an integer field
+     */
+    public int getInt(String field) {
+        Object value = fields.get(field);
+        return value instanceof Integer ? (Integer) value : -1;
+    }
+
+    /**
+     * Returns an integer field sign extended from the number of bits written to the buffer. A two byte item id
+     * written as {@code -1} decodes to {@code 65535} with {@link #getInt(String)} and {@code -1} with this method.
+     * @param field The field name
+     * @return The sign extended value or -1 if the field does not exist
+     */
+    public int getSigned(String field) {
+        Object value = fields.get(field);
+        if (!(value instanceof Integer)) return -1;
+        int bits = widths.getOrDefault(field, 32);
+        if (bits >= 32) return (Integer) value;
+        int shift = 32 - bits;
+        return ((Integer) value << shift) >> shift;
+    }
+
+    /**
+     * Returns a string field.
+     * @param field The field name, e.g. "string"
+     * @return The string value or null if the field does not exist or is not a string field
+     */
+    public String getString(String field) {
+        Object value = fields.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    @Override
+    public String toString() {
+        return name + fields;
+    }
+}
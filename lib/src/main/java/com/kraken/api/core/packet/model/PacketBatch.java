@@ -0,0 +1,85 @@
+package com.kraken.api.core.packet.model;
+
+import com.kraken.api.core.packet.PacketScheduler;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A named group of outbound packets which must be written to the server within the same game tick.
+ * <p>
+ * Each entry added to the batch should queue exactly one packet (e.g. a single call to
+ * {@code MousePackets#queueClickPacket} or {@code WidgetPackets#queueWidgetActionPacket}) since the
+ * {@link PacketScheduler} counts entries against its per-tick packet budget. Batches are never split: either
+ * every packet in the batch is written during a flush, or the whole batch is deferred to the next tick.
+ */
+@Getter
+public class PacketBatch {
+    private final String name;
+    private final List<Runnable> packets = new ArrayList<>();
+    private final CompletableFuture<BatchResult> result = new CompletableFuture<>();
+    private final PacketScheduler scheduler;
+
+    /**
+     * The game tick this batch was scheduled to be flushed on. This is assigned by the
+     * {@link PacketScheduler} when the batch is submitted.
+     */
+    private int targetTick = -1;
+
+    public PacketBatch(String name, PacketScheduler scheduler) {
+        this.name = name;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a packet to the batch. The runnable is invoked on the client thread when the batch is flushed.
+     * @param packet A runnable which queues a single packet.
+     * @return The batch for chaining
+     */
+    public PacketBatch add(Runnable packet) {
+        if (packet != null) {
+            packets.add(packet);
+        }
+        return this;
+    }
+
+    /**
+     * @return The number of packets in this batch.
+     */
+    public int size() {
+        return packets.size();
+    }
+
+    /**
+     * @return True if the batch contains no packets.
+     */
+    public boolean isEmpty() {
+        return packets.isEmpty();
+    }
+
+    /**
+     * @return An unmodifiable view of the packets in this batch.
+     */
+    public List<Runnable> getPackets() {
+        return Collections.unmodifiableList(packets);
+    }
+
+    /**
+     * Submits this batch to the scheduler to be flushed on the next available game tick.
+     * @return A future which completes once the batch has been written to the client's packet writer.
+     */
+    public CompletableFuture<BatchResult> submit() {
+        return scheduler.submit(this);
+    }
+
+    /**
+     * Assigns the tick this batch is expected to be flushed on. Called by the scheduler on submission.
+     * @param targetTick The target game tick
+     */
+    public void setTargetTick(int targetTick) {
+        this.targetTick = targetTick;
+    }
+}
@@ -13,4 +13,9 @@ import lombok.Data;
 public class PacketCache {
     private boolean usingClient;
     private String methodName;
+
+    /**
+     * The JVM descriptor of the addNode method, or null when the cache was produced by decompiling the client.
+     */
+    private String descriptor;
 }
@@ -9,7 +9,18 @@ public class PacketData {
     private final int length;
     private final long timestamp;
 
+    /**
+     * The capture opcode of the packet. This is the index of the packet's field within the obfuscated
+     * {@code ClientPacket} class as resolved by the {@code PacketInterceptor}, or -1 when unknown.
+     */
+    private int opcode = -1;
+
+    /**
+     * The client tick the packet was written on or -1 when unknown.
+     */
+    private int tick = -1;
+
     public String toHexString() {
         return PacketBufferReader.toHexString(data);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,46 @@
 package com.kraken.api.core.packet.model;
 
-import lombok.AllArgsConstructor;
+import com.kraken.api.core.packet.mapping.WriteOp;
 import lombok.Getter;
 
+import java.util.List;
+
 @Getter
-@AllArgsConstructor
 public class PacketDefinition {
     private final String name;
     private final String[] writeData;
     private final String[][] writeMethods;
     private final PacketType type;
+
+    /**
+     * The write methods tokenized once when the definition is created, indexed the same as {@code writeMethods}.
+     */
+    private final WriteOp[][] ops;
+
+    /**
+     * For each entry in {@code writeData} the index of the matching argument in {@link PacketType#getParams()},
+     * or -1 if the packet type does not declare the parameter.
+     */
+    private final int[] paramIndices;
+
+    public PacketDefinition(String name, String[] writeData, String[][] writeMethods, PacketType type) {
+        this.name = name;
+        this.writeData = writeData;
+        this.writeMethods = writeMethods;
+        this.type = type;
+        this.ops = new WriteOp[writeMethods.length][];
+        this.paramIndices = new int[writeData.length];
+
+        for (int i = 0; i < writeMethods.length; i++) {
+            ops[i] = new WriteOp[writeMethods[i].length];
+            for (int j = 0; j < writeMethods[i].length; j++) {
+                ops[i][j] = WriteOp.parse(writeMethods[i][j]);
+            }
+        }
+
+        List<String> params = type.getParams();
+        for (int i = 0; i < writeData.length; i++) {
+            paramIndices[i] = params == null ? -1 : params.indexOf(writeData[i]);
+        }
+    }
 }
@@ -16,6 +16,11 @@ import net.runelite.api.widgets.Widget;
 
 /**
  * Manages interactions across various game entities like NPC's, Players, Widgets, GameObjects, TileObjects and more.
+ * <p>
+ * Every interaction runs as a single task on the client thread: the target is validated, the click point is computed,
+ * and the menu action is resolved in the same hop, then the click packet and the action packet are queued back to back
+ * as one unit. Action names are resolved to op indices by the {@code ActionIndexCache} so repeated interactions with the
+ * same composition or widget do no string processing. When called from the client thread the interaction runs immediately.
  */
 @Slf4j
 @Getter
@@ -50,12 +55,18 @@ public class InteractionManager {
      * @param action The action to take, "Attack", "Talk-To", or "Examine".
      */
     public void interact(NPC npc, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point point = UIService.getClickbox(npc);
-        if (point != null) {
-            mousePackets.queueClickPacket(point.getX(), point.getY());
-            npcPackets.queueNPCAction(npc, action);
-        }
+        submit(() -> {
+            if (npc == null || npc.isDead()) return;
+
+            int op = npcPackets.resolveAction(npc, action);
+            if (!isValidOp(op, action)) return;
+
+            Point point = UIService.getClickbox(npc);
+            if (point != null) {
+                mousePackets.queueClickPacket(point.getX(), point.getY());
+                npcPackets.queueNPCAction(op, npc.getIndex(), false);
+            }
+        });
     }
 
     /**
@@ -65,12 +76,18 @@ public class InteractionManager {
      * @param action The action to take, "Attack", "Trade", or "Follow"
      */
     public void interact(Player player, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point point = UIService.getClickbox(player);
-        if (point != null) {
-            mousePackets.queueClickPacket(point.getX(), point.getY());
-            playerPackets.queuePlayerAction(player, action);
-        }
+        submit(() -> {
+            if (player == null || player.getName() == null) return;
+
+            int op = playerPackets.resolveAction(action);
+            if (!isValidOp(op, action)) return;
+
+            Point point = UIService.getClickbox(player);
+            if (point != null) {
+                mousePackets.queueClickPacket(point.getX(), point.getY());
+                playerPackets.queuePlayerAction(op, player.getId(), false);
+            }
+        });
     }
 
     /**
@@ -82,20 +99,7 @@ public class InteractionManager {
      * @param action The action to take. i.e. "Eat", "Remove", "Wield", "Wear", or "Use"
      */
     public void interact(ContainerItem item, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        ctxProvider.get().runOnClientThread(() -> {
-            if(item == null) return;
-
-            Widget w = item.getWidget();
-            if (w == null) {
-                log.error("Failed to resolve widget for item interaction: {}", item.getName());
-                return;
-            }
-
-            Point pt = UIService.getClickbox(item);
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            widgetPackets.queueWidgetAction(w, action);
-        });
+        interact(item, new String[]{action});
     }
 
     /**
@@ -110,8 +114,7 @@ public class InteractionManager {
      *                the list of actions on the container item will be used.
      */
     public void interact(ContainerItem item, String... actions) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        ctxProvider.get().runOnClientThread(() -> {
+        submit(() -> {
             if(item == null) return;
 
             Widget w = item.getWidget();
@@ -120,9 +123,7 @@ public class InteractionManager {
                 return;
             }
 
-            Point pt = UIService.getClickbox(item);
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            widgetPackets.queueWidgetAction(w, actions);
+            queueWidgetAction(w, UIService.getClickbox(item), actions);
         });
     }
 
@@ -132,13 +133,10 @@ public class InteractionManager {
      * @param action The action to take i.e. Withdraw-1, Withdraw-X, Examine
      */
     public void interact(BankItemWidget item, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point pt = UIService.getClickbox(item);
-
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            widgetPackets.queueWidgetAction(item, action);
-        }
+        submit(() -> {
+            if (item == null) return;
+            queueWidgetAction(item, UIService.getClickbox(item), action);
+        });
     }
 
     /**
@@ -147,13 +145,10 @@ public class InteractionManager {
      * @param action The action to take i.e. Wield, Use or Examine
      */
     public void interact(Widget item, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point pt = UIService.getClickbox(item);
-
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            widgetPackets.queueWidgetAction(item, action);
-        }
+        submit(() -> {
+            if (item == null) return;
+            queueWidgetAction(item, UIService.getClickbox(item), action);
+        });
     }
 
     /**
@@ -163,13 +158,15 @@ public class InteractionManager {
      * @param action The action to take i.e. Wield, Use or Examine
      */
     public void interact(Widget item, String menu, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point pt = UIService.getClickbox(item);
+        submit(() -> {
+            if (item == null) return;
 
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            widgetPackets.queueWidgetSubAction(item, menu, action);
-        }
+            Point pt = UIService.getClickbox(item);
+            if(pt != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                widgetPackets.queueWidgetSubAction(item, menu, action);
+            }
+        });
     }
 
     /**
@@ -178,16 +175,18 @@ public class InteractionManager {
      * @param dest The destination widget
      */
     public void interact(Widget src, Widget dest) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
+        submit(() -> {
+            if (src == null || dest == null) return;
 
-        Point pt = UIService.getClickbox(src);
-        Point destPoint = UIService.getClickbox(dest);
+            Point pt = UIService.getClickbox(src);
+            Point destPoint = UIService.getClickbox(dest);
 
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            mousePackets.queueClickPacket(destPoint.getX(), destPoint.getY());
-            widgetPackets.queueWidgetOnWidget(src, dest);
-        }
+            if(pt != null && destPoint != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                mousePackets.queueClickPacket(destPoint.getX(), destPoint.getY());
+                widgetPackets.queueWidgetOnWidget(src, dest);
+            }
+        });
     }
 
     /**
@@ -198,10 +197,19 @@ public class InteractionManager {
      * @param itemId The item id of the widget to interact with
      */
     public void interact(int action, int packedWidgetId, int childId, int itemId) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point pt = UIService.getClickbox(ctxProvider.get().widgets().get(packedWidgetId).raw());
-        mousePackets.queueClickPacket(pt.getX(), pt.getY());
-        widgetPackets.queueWidgetActionPacket(packedWidgetId, childId, itemId, action);
+        submit(() -> {
+            Widget widget = ctxProvider.get().getClient().getWidget(packedWidgetId);
+            if (widget == null) {
+                log.error("Failed to resolve widget {} for interaction", packedWidgetId);
+                return;
+            }
+
+            Point pt = UIService.getClickbox(widget);
+            if (pt != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                widgetPackets.queueWidgetActionPacket(packedWidgetId, childId, itemId, action);
+            }
+        });
     }
 
     /**
@@ -210,16 +218,18 @@ public class InteractionManager {
      * @param npc The NPC to use the widget on
      */
     public void interact(Widget src, NPC npc) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
+        submit(() -> {
+            if (src == null || npc == null || npc.isDead()) return;
 
-        Point pt = UIService.getClickbox(src);
-        Point npcPoint = UIService.getClickbox(npc);
+            Point pt = UIService.getClickbox(src);
+            Point npcPoint = UIService.getClickbox(npc);
 
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            mousePackets.queueClickPacket(npcPoint.getX(), npcPoint.getY());
-            npcPackets.queueWidgetOnNPC(npc, src);
-        }
+            if(pt != null && npcPoint != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                mousePackets.queueClickPacket(npcPoint.getX(), npcPoint.getY());
+                npcPackets.queueWidgetOnNPC(npc, src);
+            }
+        });
     }
 
     /**
@@ -228,16 +238,18 @@ public class InteractionManager {
      * @param gameObject The Game Object to use the widget on
      */
     public void interact(Widget src, GameObject gameObject) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
+        submit(() -> {
+            if (src == null || gameObject == null) return;
 
-        Point pt = UIService.getClickbox(src);
-        Point gameObjectPoint = UIService.getClickbox(gameObject);
+            Point pt = UIService.getClickbox(src);
+            Point gameObjectPoint = UIService.getClickbox(gameObject);
 
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            mousePackets.queueClickPacket(gameObjectPoint.getX(), gameObjectPoint.getY());
-            gameObjectPackets.queueWidgetOnTileObject(src, gameObject);
-        }
+            if(pt != null && gameObjectPoint != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                mousePackets.queueClickPacket(gameObjectPoint.getX(), gameObjectPoint.getY());
+                gameObjectPackets.queueWidgetOnTileObject(src, gameObject);
+            }
+        });
     }
 
     /**
@@ -248,13 +260,18 @@ public class InteractionManager {
      * @param action The action to take on the game object, i.e. "Chop", "Mine", or "Examine".
      */
     public void interact(TileObject object, String action) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point pt = UIService.getClickbox(object);
+        submit(() -> {
+            if (object == null) return;
 
-        if(pt != null) {
-            mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            gameObjectPackets.queueObjectAction(object, false, action);
-        }
+            int op = gameObjectPackets.resolveAction(object, action);
+            if (!isValidOp(op, action)) return;
+
+            Point pt = UIService.getClickbox(object);
+            if(pt != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                gameObjectPackets.queueObjectAction(object, op, false);
+            }
+        });
     }
 
     /**
@@ -266,12 +283,45 @@ public class InteractionManager {
      * @param item the {@code GroundItem} to interact with
      */
     public void interact(GroundItem item) {
-        if(!ctxProvider.get().isPacketsLoaded()) return;
-        Point pt = UIService.getClickbox(item.getTileObject());
+        submit(() -> {
+            if (item == null) return;
+
+            Point pt = UIService.getClickbox(item.getTileObject());
+            if(pt != null) {
+                mousePackets.queueClickPacket(pt.getX(), pt.getY());
+                groundItemPackets.queueGroundItemAction(item.getTileItem(), item.getLocation(), false);
+            }
+        });
+    }
+
+    /**
+     * Queues the click and widget action packets for a widget once the first matching action has been resolved.
+     * Must be called on the client thread.
+     */
+    private void queueWidgetAction(Widget widget, Point pt, String... actions) {
+        int op = widgetPackets.resolveAction(widget, actions);
+        if (!isValidOp(op, actions)) return;
 
-        if(pt != null) {
+        if (pt != null) {
             mousePackets.queueClickPacket(pt.getX(), pt.getY());
-            groundItemPackets.queueGroundItemAction(item.getTileItem(), item.getLocation(), false);
+            widgetPackets.queueWidgetActionPacket(widget.getId(), widget.getIndex(), widget.getItemId(), op);
+        }
+    }
+
+    private boolean isValidOp(int op, String... actions) {
+        if (op < 1 || op > 10) {
+            log.error("No valid action found for: {}", (Object) actions);
+            return false;
         }
+        return true;
+    }
+
+    /**
+     * Runs an interaction on the client thread in a single hop. Nothing is queued until packets have been loaded.
+     */
+    private void submit(Runnable interaction) {
+        Context ctx = ctxProvider.get();
+        if(!ctx.isPacketsLoaded()) return;
+        ctx.runOnClientThread(interaction);
     }
-}
\ No newline at end of file
+}
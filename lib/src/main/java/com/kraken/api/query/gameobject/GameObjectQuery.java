@@ -177,6 +177,18 @@ public class GameObjectQuery extends AbstractQuery<GameObjectEntity, GameObjectQ
         return sorted(Comparator.comparingInt(obj -> obj.raw().getWorldLocation().distanceTo(playerLoc))).first();
     }
 
+    /**
+     * Returns the game object closest to a world point rather than to the player, for example the staircase next to a
+     * particular tile when there are several staircases in the scene.
+     * @param point The world point to measure from
+     * @return The closest game object on the point's plane, or null if there is none
+     */
+    public GameObjectEntity nearestTo(WorldPoint point) {
+        return filter(obj -> obj.raw().getPlane() == point.getPlane())
+                .sorted(Comparator.comparingInt(obj -> obj.raw().getWorldLocation().distanceTo(point)))
+                .first();
+    }
+
     /**
      * Sorts the game object stream by distance from the local players current location.
      * @return GameObjectQuery
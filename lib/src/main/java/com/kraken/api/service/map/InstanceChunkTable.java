@@ -0,0 +1,242 @@
+package com.kraken.api.service.map;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import static net.runelite.api.Constants.CHUNK_SIZE;
+import static net.runelite.api.Constants.MAX_Z;
+import static net.runelite.api.Perspective.SCENE_SIZE;
+
+/**
+ * Forward and reverse translation between the scene chunks of an instance and the template (real world) chunks they
+ * show, built once per scene load from {@code WorldView#getInstanceTemplateChunks()}.
+ * <p>
+ * The forward table holds the packed template chunk of each of the 13x13x4 scene chunks. The reverse table is an open
+ * addressed hash from template chunk to the scene chunks showing it, chained in scene order (plane, then x, then y),
+ * so converting a tile either way is a couple of array lookups rather than a scan of every chunk. Tables are immutable
+ * and can be shared between threads.
+ */
+public final class InstanceChunkTable {
+
+    /**
+     * The number of chunks along each side of the scene.
+     */
+    public static final int CHUNKS = SCENE_SIZE / CHUNK_SIZE;
+
+    private static final int SLOTS = MAX_Z * CHUNKS * CHUNKS;
+    private static final int HASH_BITS = 11;
+    private static final int HASH_MASK = (1 << HASH_BITS) - 1;
+    private static final int NONE = -1;
+
+    /**
+     * The world x coordinate of scene tile 0.
+     */
+    @Getter
+    private final int baseX;
+
+    /**
+     * The world y coordinate of scene tile 0.
+     */
+    @Getter
+    private final int baseY;
+
+    // Packed template chunk of each scene chunk slot, NONE if the slot shows nothing
+    private final int[] forward = new int[SLOTS];
+
+    // Template chunk key -> first slot showing it, then next[slot] -> the following slot showing the same chunk
+    private final int[] keys = new int[1 << HASH_BITS];
+    private final int[] heads = new int[1 << HASH_BITS];
+    private final int[] next = new int[SLOTS];
+
+    /**
+     * Builds the tables. The template chunks are copied so the client's array can change afterwards.
+     * @param baseX The world x coordinate of scene tile 0
+     * @param baseY The world y coordinate of scene tile 0
+     * @param templateChunks The instance template chunks indexed {@code [plane][chunkX][chunkY]}
+     */
+    public InstanceChunkTable(int baseX, int baseY, int[][][] templateChunks) {
+        this.baseX = baseX;
+        this.baseY = baseY;
+        Arrays.fill(forward, NONE);
+        Arrays.fill(keys, NONE);
+        Arrays.fill(next, NONE);
+
+        for (int plane = 0; plane < MAX_Z && plane < templateChunks.length; plane++) {
+            if (templateChunks[plane] == null) continue;
+            for (int chunkX = 0; chunkX < CHUNKS && chunkX < templateChunks[plane].length; chunkX++) {
+                for (int chunkY = 0; chunkY < CHUNKS && chunkY < templateChunks[plane][chunkX].length; chunkY++) {
+                    forward[slot(plane, chunkX, chunkY)] = templateChunks[plane][chunkX][chunkY];
+                }
+            }
+        }
+
+        // Prepend in reverse scene order so every chain ends up in scene order
+        for (int slot = SLOTS - 1; slot >= 0; slot--) {
+            if (forward[slot] == NONE) continue;
+            int bucket = bucket(forward[slot] >>> 3 & 0x7FFFFF, true);
+            next[slot] = heads[bucket];
+            heads[bucket] = slot;
+        }
+    }
+
+    /**
+     * @param plane The scene plane
+     * @param chunkX The scene chunk x coordinate (scene x / 8)
+     * @param chunkY The scene chunk y coordinate (scene y / 8)
+     * @return The packed template chunk shown by the scene chunk, or -1 if there is none
+     */
+    public int getTemplateChunk(int plane, int chunkX, int chunkY) {
+        if (plane < 0 || plane >= MAX_Z || chunkX < 0 || chunkX >= CHUNKS || chunkY < 0 || chunkY >= CHUNKS) {
+            return NONE;
+        }
+        return forward[slot(plane, chunkX, chunkY)];
+    }
+
+    /**
+     * Finds the template (real world) tile shown at a scene tile.
+     * @param sceneX The scene x coordinate
+     * @param sceneY The scene y coordinate
+     * @param plane The scene plane
+     * @return The template tile packed with {@link WorldPointService#pack(int, int, int)}, or -1 if the scene tile
+     * has no template chunk
+     */
+    public int sceneToTemplate(int sceneX, int sceneY, int plane) {
+        int chunk = sceneX < 0 || sceneY < 0 ? NONE : getTemplateChunk(plane, sceneX / CHUNK_SIZE, sceneY / CHUNK_SIZE);
+        if (chunk == NONE) {
+            return NONE;
+        }
+
+        int rotation = chunk >> 1 & 0x3;
+        int templateY = (chunk >> 3 & 0x7FF) * CHUNK_SIZE;
+        int templateX = (chunk >> 14 & 0x3FF) * CHUNK_SIZE;
+        int templatePlane = chunk >> 24 & 0x3;
+        int rotatedX = sceneX & (CHUNK_SIZE - 1);
+        int rotatedY = sceneY & (CHUNK_SIZE - 1);
+        int localX;
+        int localY;
+        switch (rotation) {
+            case 1:
+                localX = CHUNK_SIZE - 1 - rotatedY;
+                localY = rotatedX;
+                break;
+            case 2:
+                localX = CHUNK_SIZE - 1 - rotatedX;
+                localY = CHUNK_SIZE - 1 - rotatedY;
+                break;
+            case 3:
+                localX = rotatedY;
+                localY = CHUNK_SIZE - 1 - rotatedX;
+                break;
+            default:
+                localX = rotatedX;
+                localY = rotatedY;
+        }
+        return WorldPointService.pack(templateX + localX, templateY + localY, templatePlane);
+    }
+
+    /**
+     * Finds the first scene tile, in scene order, which shows a template (real world) tile.
+     * @param x The template world x coordinate
+     * @param y The template world y coordinate
+     * @param templatePlane The template plane, or -1 to match the tile on any template plane
+     * @param scenePlane The scene plane to search, or -1 to search every plane
+     * @return The scene tile packed with {@link WorldPointService#pack(int, int, int)} (scene x, scene y and scene
+     * plane), or -1 if no scene chunk shows the tile
+     */
+    public int templateToScene(int x, int y, int templatePlane, int scenePlane) {
+        int best = NONE;
+        int fromPlane = templatePlane == NONE ? 0 : templatePlane;
+        int toPlane = templatePlane == NONE ? MAX_Z - 1 : templatePlane;
+        for (int plane = fromPlane; plane <= toPlane; plane++) {
+            for (int slot = firstSlot(x, y, plane); slot != NONE; slot = next[slot]) {
+                if (scenePlane == NONE || slot / (CHUNKS * CHUNKS) == scenePlane) {
+                    if (best == NONE || slot < best) {
+                        best = slot;
+                    }
+                    break;
+                }
+            }
+        }
+        return best == NONE ? NONE : toScene(best, x, y);
+    }
+
+    /**
+     * Visits every scene tile which shows a template (real world) tile, in scene order.
+     * @param x The template world x coordinate
+     * @param y The template world y coordinate
+     * @param templatePlane The template plane
+     * @param consumer Receives each scene tile packed with {@link WorldPointService#pack(int, int, int)} (scene x,
+     *                 scene y and scene plane)
+     */
+    public void forEachScene(int x, int y, int templatePlane, IntConsumer consumer) {
+        for (int slot = firstSlot(x, y, templatePlane); slot != NONE; slot = next[slot]) {
+            consumer.accept(toScene(slot, x, y));
+        }
+    }
+
+    private int firstSlot(int x, int y, int templatePlane) {
+        if (x < 0 || y < 0 || templatePlane < 0 || templatePlane >= MAX_Z) {
+            return NONE;
+        }
+
+        int key = templatePlane << 21 | (x / CHUNK_SIZE & 0x3FF) << 11 | (y / CHUNK_SIZE & 0x7FF);
+        int bucket = bucket(key, false);
+        return bucket == NONE ? NONE : heads[bucket];
+    }
+
+    /**
+     * Finds the hash bucket of a template chunk key ({@code plane << 21 | chunkX << 11 | chunkY}) by linear probing.
+     */
+    private int bucket(int key, boolean insert) {
+        int bucket = key * 0x9E3779B9 >>> (Integer.SIZE - HASH_BITS);
+        while (keys[bucket] != key) {
+            if (keys[bucket] == NONE) {
+                if (!insert) {
+                    return NONE;
+                }
+                keys[bucket] = key;
+                heads[bucket] = NONE;
+                return bucket;
+            }
+            bucket = bucket + 1 & HASH_MASK;
+        }
+        return bucket;
+    }
+
+    /**
+     * Rotates a template tile into the scene chunk at a slot, which must show the tile's template chunk.
+     */
+    private int toScene(int slot, int x, int y) {
+        int plane = slot / (CHUNKS * CHUNKS);
+        int chunkX = slot / CHUNKS % CHUNKS;
+        int chunkY = slot % CHUNKS;
+        int localX = x & (CHUNK_SIZE - 1);
+        int localY = y & (CHUNK_SIZE - 1);
+        int rotatedX;
+        int rotatedY;
+        switch (forward[slot] >> 1 & 0x3) {
+            case 1:
+                rotatedX = localY;
+                rotatedY = CHUNK_SIZE - 1 - localX;
+                break;
+            case 2:
+                rotatedX = CHUNK_SIZE - 1 - localX;
+                rotatedY = CHUNK_SIZE - 1 - localY;
+                break;
+            case 3:
+                rotatedX = CHUNK_SIZE - 1 - localY;
+                rotatedY = localX;
+                break;
+            default:
+                rotatedX = localX;
+                rotatedY = localY;
+        }
+        return WorldPointService.pack(chunkX * CHUNK_SIZE + rotatedX, chunkY * CHUNK_SIZE + rotatedY, plane);
+    }
+
+    private static int slot(int plane, int chunkX, int chunkY) {
+        return (plane * CHUNKS + chunkX) * CHUNKS + chunkY;
+    }
+}
@@ -5,6 +5,10 @@ import com.google.inject.Singleton;
 import com.kraken.api.Context;
 import com.kraken.api.core.packet.entity.MousePackets;
 import com.kraken.api.core.packet.entity.MovementPackets;
+import com.kraken.api.service.pathfinding.CollisionSnapshotService;
+import com.kraken.api.service.map.WorldPointService;
+import com.kraken.api.service.pathfinding.IncrementalPathfinder;
+import com.kraken.api.service.pathfinding.PackedPath;
 import com.kraken.api.service.tile.TileService;
 import com.kraken.api.service.ui.UIService;
 import com.kraken.api.service.util.SleepService;
@@ -15,10 +19,11 @@ import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Slf4j
 @Singleton
@@ -36,6 +41,9 @@ public class MovementService {
     @Inject
     private MovementPackets movementPackets;
 
+    @Inject
+    private CollisionSnapshotService snapshots;
+
     /**
      * Moves the player to the specified {@literal WorldPoint}, handling instanced areas conversion when necessary.
      * This method ensures accurate movement by checking if the player is within an instance and applying the
@@ -116,56 +124,93 @@ public class MovementService {
      * @return A list of {@literal WorldPoint} representing the strided path.
      */
     public List<WorldPoint> applyVariableStride(List<WorldPoint> densePath, VariableStrideConfig config) {
-        if (densePath.size() <= 5) {
-            return Collections.singletonList(densePath.get(densePath.size() - 1));
+        return new ArrayList<>(applyVariableStride(PackedPath.fromList(densePath), config).toList());
+    }
+
+    /**
+     * Converts a dense packed path into a strided path of "waypoint" tiles, see
+     * {@link #applyVariableStride(List, VariableStrideConfig)}. Tiles stay packed throughout, only a deviated
+     * waypoint is unpacked to check that it is reachable.
+     * @param densePath The dense path with which to apply variable strides.
+     * @return A packed path of the waypoints.
+     */
+    public PackedPath applyVariableStride(PackedPath densePath) {
+        return applyVariableStride(densePath, VariableStrideConfig.builder().build());
+    }
+
+    /**
+     * Converts a dense packed path into a strided path of "waypoint" tiles, see
+     * {@link #applyVariableStride(List, VariableStrideConfig)}.
+     * @param densePath The dense path with which to apply variable strides.
+     * @param config A variable stride configuration where the mean, min, max, and std dev can be configured
+     *               to produce unique strides when traversing paths.
+     * @return A packed path of the waypoints.
+     */
+    public PackedPath applyVariableStride(PackedPath densePath, VariableStrideConfig config) {
+        int size = densePath.size();
+        if (size <= 5) {
+            return densePath.slice(size - 1, size);
         }
 
-        List<WorldPoint> waypoints = new ArrayList<>();
+        // Every stride moves at least one tile, so there are fewer waypoints than tiles
+        int[] waypoints = new int[size];
+        int count = 0;
 
         // Randomize the starting point slightly (0-2 tiles) to shift the whole chain
         // This ensures we don't always "base" our stride from the exact same first pixel.
         int currentIndex = ThreadLocalRandom.current().nextInt(0, 3);
 
-        if (currentIndex >= densePath.size()) currentIndex = 0;
-
-        while (currentIndex < densePath.size() - 1) {
+        while (currentIndex < size - 1) {
             int stride = config.computeStride();
             int nextIndex = currentIndex + stride;
 
-            if (nextIndex >= densePath.size() - 1) {
-                waypoints.add(densePath.get(densePath.size() - 1));
+            if (nextIndex >= size - 1) {
+                waypoints[count++] = densePath.get(size - 1);
                 break;
             }
 
-            WorldPoint targetPoint = densePath.get(nextIndex);
-
-            if (config.isTileDeviation()) {
-            int dx = 0;
-            int dy = 0;
-
-            // Loop until we get a non-zero deviation (ensures we actually move the point)
-            // This covers -1, 0, 1 for both axes.
-            // Example results: (-1, 1) = Diagonal, (0, 1) = Cardinal, (-1, -1) = Diagonal
-            while (dx == 0 && dy == 0) {
-                dx = ThreadLocalRandom.current().nextInt(-1, 2); // returns -1, 0, or 1
-                dy = ThreadLocalRandom.current().nextInt(-1, 2);
-            }
+            int targetPoint = densePath.get(nextIndex);
+            waypoints[count++] = config.isTileDeviation() ? deviate(targetPoint) : targetPoint;
+            currentIndex = nextIndex;
+        }
 
-            WorldPoint deviatedTile = targetPoint.dx(dx).dy(dy);
+        return PackedPath.of(waypoints, count);
+    }
 
-            if (tileService.isTileReachable(deviatedTile)) {
-                waypoints.add(deviatedTile);
-            } else {
-                waypoints.add(targetPoint);
-            }
-        } else {
-            waypoints.add(targetPoint);
+    /**
+     * Moves a packed tile to a random neighbouring tile, keeping the original tile if the neighbour is not reachable.
+     * @param tile The packed tile
+     * @return The packed deviated tile
+     */
+    private int deviate(int tile) {
+        int dx = 0;
+        int dy = 0;
+
+        // Loop until we get a non-zero deviation (ensures we actually move the point)
+        // This covers -1, 0, 1 for both axes.
+        // Example results: (-1, 1) = Diagonal, (0, 1) = Cardinal, (-1, -1) = Diagonal
+        while (dx == 0 && dy == 0) {
+            dx = ThreadLocalRandom.current().nextInt(-1, 2); // returns -1, 0, or 1
+            dy = ThreadLocalRandom.current().nextInt(-1, 2);
         }
 
-        currentIndex = nextIndex;
+        int deviatedTile = WorldPointService.dxy(tile, dx, dy);
+        return tileService.isTileReachable(WorldPointService.unpack(deviatedTile)) ? deviatedTile : tile;
     }
 
-    return waypoints;
+    /**
+     * Picks the index of the first waypoint {@link #applyVariableStride(PackedPath, VariableStrideConfig)} would
+     * produce for a path, without striding the rest of the path.
+     * @param densePath The dense path
+     * @param config The stride configuration
+     * @return The index of the first waypoint's route tile
+     */
+    private static int firstWaypointIndex(PackedPath densePath, VariableStrideConfig config) {
+        int last = densePath.size() - 1;
+        if (densePath.size() <= 5) {
+            return last;
+        }
+        return Math.min(last, ThreadLocalRandom.current().nextInt(0, 3) + config.computeStride());
     }
 
     /**
@@ -269,4 +314,103 @@ public class MovementService {
         onDestinationReached.accept("Reached destination: " + path.get(path.size() - 1));
         return true;
     }
+
+    /**
+     * Traverses a packed path of waypoints, see {@link #traversePath(Client, List)}.
+     *
+     * @param client The client instance used to interact with the game world and manage player movement.
+     * @param path The packed waypoints to traverse in sequence.
+     * @return {@code true} if the path was successfully traversed to the end, or {@code false} if any waypoint
+     *         could not be reached after retries.
+     */
+    public boolean traversePath(Client client, PackedPath path) {
+        return traversePath(client, path.toList());
+    }
+
+    /**
+     * Traverses a packed path of waypoints, see {@link #traversePath(Client, List, Consumer, Consumer)}. Each waypoint
+     * is only unpacked when the player is sent to it.
+     *
+     * @param client The client instance used to interact with the game world and retrieve the player's location.
+     * @param path The packed waypoints to traverse in sequence.
+     * @param onWaypointReached A functional interface invoked when a waypoint is reached
+     * @param onDestinationReached A functional interface invoked when the paths final destination is reached
+     * @return {@code true} if the path was successfully traversed to the end, {@code false} if any waypoint
+     *         could not be reached after retries.
+     */
+    public boolean traversePath(Client client, PackedPath path, Consumer<String> onWaypointReached, Consumer<String> onDestinationReached) {
+        return traversePath(client, path.toList(), onWaypointReached, onDestinationReached);
+    }
+
+    /**
+     * Walks to the target of an {@link IncrementalPathfinder}, keeping the route up to date while walking instead of
+     * following a fixed list of waypoints. Once per game tick the planner is updated with the latest collision
+     * snapshot and the tiles to avoid, and only the part of the route affected by the change is repaired. The
+     * player is only sent to a new waypoint when the current one is reached, has fallen off the repaired route or
+     * was not reached in time.
+     *
+     * @param client The client instance used to retrieve the player's location.
+     * @param planner The planner for the destination, which can be reused across calls for the same destination.
+     * @param blockers Supplies the tiles to route around, typically the tiles occupied by NPCs to avoid. Called once
+     *                 per game tick and must not return null.
+     * @return {@code true} if the destination was reached, {@code false} if it became unreachable or a waypoint
+     *         could not be reached after retries.
+     */
+    public boolean traversePath(Client client, IncrementalPathfinder planner, Supplier<Collection<WorldPoint>> blockers) {
+        VariableStrideConfig config = VariableStrideConfig.builder().build();
+        WorldPoint target = planner.getTarget();
+
+        // The waypoint is the route tile the player is heading for, used to check the repaired route still passes
+        // through it. The tile actually clicked may be deviated from it by a tile.
+        WorldPoint waypoint = null;
+        long timeout = 0;
+        int attempts = 0;
+        int lastTick = -1;
+
+        while (true) {
+            WorldPoint playerLoc = client.getLocalPlayer().getWorldLocation();
+            if (playerLoc.distanceTo(target) <= 2) {
+                return true;
+            }
+
+            boolean changed = false;
+            int tick = client.getTickCount();
+            if (tick != lastTick) {
+                lastTick = tick;
+                changed = planner.update(snapshots.getSnapshot(), blockers.get());
+            }
+
+            boolean reached = waypoint != null && playerLoc.distanceTo(waypoint) <= 2;
+            boolean timedOut = waypoint != null && !reached && System.currentTimeMillis() > timeout;
+            if (waypoint == null || changed || reached || timedOut) {
+                if (timedOut && ++attempts >= 2) {
+                    log.error("TaskChain: Failed to reach waypoint {} after retries. Aborting.", waypoint);
+                    return false;
+                }
+
+                if (reached) {
+                    attempts = 0;
+                }
+
+                PackedPath path = planner.findPackedPath(playerLoc);
+                if (path == null) {
+                    log.warn("TaskChain: Target unreachable while walking to {}", target);
+                    return false;
+                }
+
+                // Keep walking towards the current waypoint if the repaired route still passes through it
+                if (waypoint == null || reached || timedOut || !path.contains(WorldPointService.pack(waypoint))) {
+                    int index = firstWaypointIndex(path, config);
+                    int routeTile = path.get(index);
+                    int clickTile = config.isTileDeviation() && index < path.size() - 1 ? deviate(routeTile) : routeTile;
+                    WorldPoint click = WorldPointService.unpack(clickTile);
+                    ctx.runOnClientThread(() -> moveTo(click));
+                    timeout = System.currentTimeMillis() + (long) ((playerLoc.distanceTo(click) * 600 * 1.3) + 2000);
+                    waypoint = WorldPointService.unpack(routeTile);
+                }
+            }
+
+            SleepService.sleep(50);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.runelite.api.CollisionDataFlag;
+
+/**
+ * Attack range checks for entities of any size over a scene's collision flags, indexed {@code flags[sceneX][sceneY]}.
+ * An attacker is identified by its south west tile and its size, like the positions searched by
+ * {@link PathSearch#findPath(int[][], int, int, int, int, int, PathfinderWorkspace)}.
+ * <p>
+ * An attacker can attack a tile when the tile is outside its footprint and within range of the closest tile of the
+ * footprint. Melee (a range of one) additionally requires the tile to be cardinally adjacent with no wall between,
+ * longer ranges require a clear {@link LineOfSight} from the closest footprint tile, where tiles with
+ * {@link CollisionDataFlag#BLOCK_LINE_OF_SIGHT_FULL} or outside the scene block the line.
+ * <p>
+ * The field of every position an attacker could attack a tile from is computed once with
+ * {@link #compute(int[][], int, int, int, int, int[])}, which is what makes finding safespots against large bosses a
+ * single pass rather than one check per position.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class AttackField {
+
+    /**
+     * Checks whether a single attacker position can attack a tile.
+     *
+     * @param flags The scene collision flags
+     * @param attackerX The scene x coordinate of the attacker's south west tile
+     * @param attackerY The scene y coordinate of the attacker's south west tile
+     * @param size The attacker's size in tiles
+     * @param range The attacker's attack range in tiles, 1 for melee
+     * @param targetX The scene x coordinate of the tile being attacked
+     * @param targetY The scene y coordinate of the tile being attacked
+     * @return True if the tile can be attacked from the position
+     */
+    public static boolean canAttack(int[][] flags, int attackerX, int attackerY, int size, int range, int targetX, int targetY) {
+        return canAttack(flags, attackerX, attackerY, size, range, targetX, targetY, blocker(flags));
+    }
+
+    /**
+     * Computes every position an attacker of the given size and range could stand on (its footprint is in the scene
+     * and not blocked) and attack a tile from.
+     *
+     * @param flags The scene collision flags
+     * @param targetX The scene x coordinate of the tile being attacked
+     * @param targetY The scene y coordinate of the tile being attacked
+     * @param size The attacker's size in tiles
+     * @param range The attacker's attack range in tiles, 1 for melee
+     * @param out Receives the attacker's south west tiles as workspace indices, see
+     *            {@link PathfinderWorkspace#index(int, int)}. Must hold at least {@link #capacity(int, int)} entries
+     * @return The number of positions written to {@code out}
+     */
+    public static int compute(int[][] flags, int targetX, int targetY, int size, int range, int[] out) {
+        LineOfSight.TileBlocker blocker = blocker(flags);
+        int count = 0;
+        for (int x = targetX - range - size + 1; x <= targetX + range; x++) {
+            for (int y = targetY - range - size + 1; y <= targetY + range; y++) {
+                if (canStand(flags, x, y, size) && canAttack(flags, x, y, size, range, targetX, targetY, blocker)) {
+                    out[count++] = PathfinderWorkspace.index(x, y);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param size The attacker's size in tiles
+     * @param range The attacker's attack range in tiles
+     * @return The largest number of positions {@link #compute(int[][], int, int, int, int, int[])} can return
+     */
+    public static int capacity(int size, int range) {
+        int side = 2 * range + size;
+        return side * side;
+    }
+
+    private static boolean canAttack(int[][] flags, int attackerX, int attackerY, int size, int range, int targetX, int targetY,
+                                     LineOfSight.TileBlocker blocker) {
+        // The footprint tile closest to the target
+        int closestX = Math.max(attackerX, Math.min(targetX, attackerX + size - 1));
+        int closestY = Math.max(attackerY, Math.min(targetY, attackerY + size - 1));
+        int dx = targetX - closestX;
+        int dy = targetY - closestY;
+        if (dx == 0 && dy == 0 || Math.abs(dx) > range || Math.abs(dy) > range) {
+            return false;
+        }
+
+        if (range == 1) {
+            return (dx == 0 || dy == 0) && inScene(flags, targetX, targetY)
+                    && (flags[targetX][targetY] & CollisionRules.targetMask(dx, dy)) == 0;
+        }
+        return LineOfSight.isClear(closestX, closestY, targetX, targetY, blocker);
+    }
+
+    private static boolean canStand(int[][] flags, int x, int y, int size) {
+        for (int i = x; i < x + size; i++) {
+            for (int j = y; j < y + size; j++) {
+                if (!inScene(flags, i, j) || (flags[i][j] & CollisionRules.BLOCKED) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static LineOfSight.TileBlocker blocker(int[][] flags) {
+        return (x, y) -> !inScene(flags, x, y) || (flags[x][y] & CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL) != 0;
+    }
+
+    private static boolean inScene(int[][] flags, int x, int y) {
+        return x >= 0 && y >= 0 && x < flags.length && x < PathfinderWorkspace.SIZE
+                && y < flags[x].length && y < PathfinderWorkspace.SIZE;
+    }
+}
@@ -0,0 +1,235 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * A single file archive of compressed {@link CollisionRegion}s. A fully explored world is a few megabytes.
+ * <p>
+ * The file is an 8 byte header (magic, version) followed by region records. Each record has a 20 byte header
+ * (magic, region id, encoded length, decoded length, CRC32 of the decoded flags) and the region's packed flags run
+ * length encoded as (run length - 1, value) byte pairs. Collision maps are dominated by long runs of open or blocked
+ * tiles so most regions encode to a few hundred bytes.
+ * <p>
+ * The archive is append only: {@link #append(Path, CollisionRegion)} writes a new record and a later record for a
+ * region replaces earlier ones when the archive is opened. A record cut short by a crash is ignored.
+ * {@link #compact(Path)} rewrites an archive keeping only the latest record for each region.
+ * <p>
+ * {@link #open(Path)} reads the file into memory and indexes the record headers without decoding anything. Regions
+ * are decoded, and their CRC checked, the first time they are requested. The file is not kept open or mapped, so it
+ * can be appended to, compacted, or replaced while an archive opened from it is in use (Windows refuses to replace a
+ * file which is still mapped).
+ */
+@Slf4j
+public class CollisionArchive {
+
+    private static final int FILE_MAGIC = 0x4B434D41; // "KCMA"
+    private static final int RECORD_MAGIC = 0x4B435252; // "KCRR"
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 20;
+
+    @Getter
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final Map<Integer, Integer> offsets;
+    private final Map<Integer, CollisionRegion> decoded = new ConcurrentHashMap<>();
+
+    private CollisionArchive(Path path, ByteBuffer buffer, Map<Integer, Integer> offsets) {
+        this.path = path;
+        this.buffer = buffer;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Reads an archive into memory and indexes its records.
+     * @param path The archive file
+     * @return The archive
+     * @throws IOException If the file cannot be read or is not a collision archive
+     */
+    public static CollisionArchive open(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+
+        if (buffer.capacity() < FILE_HEADER_SIZE || buffer.getInt(0) != FILE_MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a collision archive: " + path);
+        }
+
+        Map<Integer, Integer> offsets = new HashMap<>();
+        int offset = FILE_HEADER_SIZE;
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int encodedLength = buffer.getInt(offset + 8);
+            if (buffer.getInt(offset) != RECORD_MAGIC || encodedLength < 0 || offset + RECORD_HEADER_SIZE + encodedLength > buffer.capacity()) {
+                log.warn("Ignoring truncated or corrupt collision archive record at offset {} in {}", offset, path);
+                break;
+            }
+
+            offsets.put(buffer.getInt(offset + 4), offset);
+            offset += RECORD_HEADER_SIZE + encodedLength;
+        }
+
+        log.info("Opened collision archive {} with {} regions", path, offsets.size());
+        return new CollisionArchive(path, buffer, offsets);
+    }
+
+    /**
+     * @return The ids of every region in the archive
+     */
+    public Set<Integer> getRegionIds() {
+        return Collections.unmodifiableSet(offsets.keySet());
+    }
+
+    /**
+     * @param regionId The region id
+     * @return True if the archive contains the region
+     */
+    public boolean hasRegion(int regionId) {
+        return offsets.containsKey(regionId);
+    }
+
+    /**
+     * Returns a region, decoding it the first time it is requested.
+     * @param regionId The region id
+     * @return The in memory region, or null if the archive does not contain the region or its record is corrupt
+     */
+    public CollisionRegion getRegion(int regionId) {
+        CollisionRegion region = decoded.get(regionId);
+        if (region != null) {
+            return region;
+        }
+
+        Integer offset = offsets.get(regionId);
+        if (offset == null) {
+            return null;
+        }
+
+        byte[] flags = decodeRecord(offset);
+        if (flags == null) {
+            log.error("Collision archive record for region {} in {} failed its CRC check", regionId, path);
+            return null;
+        }
+
+        region = CollisionRegion.fromArray(regionId, flags);
+        decoded.put(regionId, region);
+        return region;
+    }
+
+    private byte[] decodeRecord(int offset) {
+        int encodedLength = buffer.getInt(offset + 8);
+        int decodedLength = buffer.getInt(offset + 12);
+        int crc = buffer.getInt(offset + 16);
+        if (decodedLength != CollisionRegion.TILES) {
+            return null;
+        }
+
+        byte[] flags = new byte[decodedLength];
+        int out = 0;
+        int end = offset + RECORD_HEADER_SIZE + encodedLength;
+        for (int i = offset + RECORD_HEADER_SIZE; i + 1 < end; i += 2) {
+            int run = (buffer.get(i) & 0xFF) + 1;
+            byte value = buffer.get(i + 1);
+            if (out + run > decodedLength) {
+                return null;
+            }
+            for (int j = 0; j < run; j++) {
+                flags[out++] = value;
+            }
+        }
+
+        return out == decodedLength && crc(flags) == crc ? flags : null;
+    }
+
+    /**
+     * Appends a region record to an archive, creating the archive if it does not exist.
+     * @param path The archive file
+     * @param region The region
+     * @throws IOException If the record cannot be written
+     */
+    public static void append(Path path, CollisionRegion region) throws IOException {
+        byte[] flags = region.toArray();
+        byte[] encoded = encode(flags);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + encoded.length);
+        record.putInt(RECORD_MAGIC)
+                .putInt(region.getRegionId())
+                .putInt(encoded.length)
+                .putInt(flags.length)
+                .putInt(crc(flags))
+                .put(encoded)
+                .flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(FILE_MAGIC).putInt(VERSION);
+                header.flip();
+                channel.write(header);
+            }
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        }
+    }
+
+    /**
+     * Rewrites an archive keeping only the latest record of each region.
+     * @param path The archive file
+     * @throws IOException If the archive cannot be read or written
+     */
+    public static void compact(Path path) throws IOException {
+        CollisionArchive archive = open(path);
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        for (int regionId : archive.getRegionIds()) {
+            CollisionRegion region = archive.getRegion(regionId);
+            if (region != null) {
+                append(temp, region);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Computes the CRC32 stored with a region record, which is also used to detect unchanged regions.
+     * @param region The region
+     * @return The CRC32 of the region's packed flags
+     */
+    public static int crc(CollisionRegion region) {
+        return crc(region.toArray());
+    }
+
+    private static int crc(byte[] flags) {
+        CRC32 crc = new CRC32();
+        crc.update(flags, 0, flags.length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] encode(byte[] flags) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+        int i = 0;
+        while (i < flags.length) {
+            byte value = flags[i];
+            int run = 1;
+            while (run < 256 && i + run < flags.length && flags[i + run] == value) {
+                run++;
+            }
+            out.write(run - 1);
+            out.write(value);
+            i += run;
+        }
+        return out.toByteArray();
+    }
+}
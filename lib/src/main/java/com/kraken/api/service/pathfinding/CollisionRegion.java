@@ -0,0 +1,165 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * The packed collision flags of a single 64x64 map region across all four planes, one byte per tile (see
+ * {@link CollisionRules#pack(int)}). Tiles which have never been observed are stored as
+ * {@link CollisionRules#PACKED_BLOCKED}.
+ * <p>
+ * A region is backed by a memory mapped file so regions are only paged in when a search touches them and updates
+ * are persisted by the operating system without an explicit save. The file layout is a 16 byte header (magic,
+ * version, region id, reserved) followed by the flags indexed by {@code plane << 12 | localX << 6 | localY}.
+ * <p>
+ * Writes are made by a single thread (the {@link CollisionStore} worker). Reads from other threads may observe a
+ * region part way through an update, which at worst yields a path computed against the previous flags of a tile.
+ */
+public class CollisionRegion {
+
+    public static final int SIZE = 64;
+    public static final int PLANES = 4;
+
+    static final int MAGIC = 0x4B435247; // "KCRG"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int FILE_SIZE = HEADER_SIZE + PLANES * SIZE * SIZE;
+
+    /**
+     * The number of flag bytes in a region.
+     */
+    public static final int TILES = PLANES * SIZE * SIZE;
+
+    @Getter
+    private final int regionId;
+    private final ByteBuffer buffer;
+
+    /**
+     * True when the region is backed by its own region file, false for regions held only in memory
+     * (e.g. read from a {@link CollisionArchive}).
+     */
+    @Getter
+    private final boolean persistent;
+
+    CollisionRegion(int regionId, ByteBuffer buffer, boolean persistent) {
+        this.regionId = regionId;
+        this.buffer = buffer;
+        this.persistent = persistent;
+    }
+
+    /**
+     * Creates an in memory region from packed flags.
+     * @param regionId The region id
+     * @param flags {@link #TILES} packed flags indexed by {@code plane << 12 | localX << 6 | localY}
+     * @return The region
+     */
+    public static CollisionRegion fromArray(int regionId, byte[] flags) {
+        if (flags.length != TILES) {
+            throw new IllegalArgumentException("Expected " + TILES + " flags, got " + flags.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(FILE_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, regionId);
+        for (int i = 0; i < TILES; i++) {
+            buffer.put(HEADER_SIZE + i, flags[i]);
+        }
+        return new CollisionRegion(regionId, buffer, false);
+    }
+
+    /**
+     * Copies the packed flags of every tile.
+     * @return {@link #TILES} packed flags indexed by {@code plane << 12 | localX << 6 | localY}
+     */
+    public byte[] toArray() {
+        byte[] flags = new byte[TILES];
+        for (int i = 0; i < TILES; i++) {
+            flags[i] = buffer.get(HEADER_SIZE + i);
+        }
+        return flags;
+    }
+
+    void copyFrom(CollisionRegion other) {
+        for (int i = 0; i < TILES; i++) {
+            buffer.put(HEADER_SIZE + i, other.buffer.get(HEADER_SIZE + i));
+        }
+    }
+
+    /**
+     * Creates a new region file filled with blocked tiles, replacing any existing file.
+     * @param file The region file
+     * @param regionId The region id
+     * @return The mapped region
+     * @throws IOException If the file cannot be created or mapped
+     */
+    static CollisionRegion create(Path file, int regionId) throws IOException {
+        MappedByteBuffer buffer = map(file, true);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, regionId);
+        buffer.putInt(12, 0);
+        for (int i = HEADER_SIZE; i < FILE_SIZE; i++) {
+            buffer.put(i, (byte) CollisionRules.PACKED_BLOCKED);
+        }
+        return new CollisionRegion(regionId, buffer, true);
+    }
+
+    /**
+     * Maps an existing region file.
+     * @param file The region file
+     * @param regionId The expected region id
+     * @return The mapped region
+     * @throws IOException If the file cannot be mapped or is not a valid region file for the region
+     */
+    static CollisionRegion open(Path file, int regionId) throws IOException {
+        MappedByteBuffer buffer = map(file, false);
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != regionId) {
+            throw new IOException("Invalid collision region file " + file);
+        }
+        return new CollisionRegion(regionId, buffer, true);
+    }
+
+    private static MappedByteBuffer map(Path file, boolean truncate) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            if (truncate) {
+                raf.setLength(FILE_SIZE);
+            } else if (raf.length() != FILE_SIZE) {
+                throw new IOException("Collision region file " + file + " has length " + raf.length());
+            }
+            // The mapping stays valid after the channel is closed
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+        }
+    }
+
+    /**
+     * Returns the packed flags of a tile.
+     * @param plane The plane (0-3)
+     * @param localX The x coordinate within the region (0-63)
+     * @param localY The y coordinate within the region (0-63)
+     * @return The packed flags
+     */
+    public int get(int plane, int localX, int localY) {
+        return buffer.get(HEADER_SIZE + (plane << 12 | localX << 6 | localY)) & 0xFF;
+    }
+
+    void set(int plane, int localX, int localY, int packed) {
+        buffer.put(HEADER_SIZE + (plane << 12 | localX << 6 | localY), (byte) packed);
+    }
+
+    /**
+     * Returns the id of the region containing a world coordinate, matching {@code WorldPoint#getRegionID()}.
+     * @param x The world x coordinate
+     * @param y The world y coordinate
+     * @return The region id
+     */
+    public static int idOf(int x, int y) {
+        return (x >> 6) << 8 | (y >> 6);
+    }
+}
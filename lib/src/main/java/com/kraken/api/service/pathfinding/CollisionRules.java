@@ -0,0 +1,166 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.runelite.api.CollisionDataFlag;
+
+/**
+ * The OSRS movement rules for a 1x1 entity expressed over {@link CollisionDataFlag} values, plus the rules for
+ * larger NPCs in {@link #canMove(int[][], int, int, int, int, int)}. These are the same checks the client's route
+ * finder makes (and {@link LocalPathfinder} makes with literal masks): a step is only blocked by flags on the tiles
+ * being entered, never by flags on the tile being left. A diagonal step additionally requires both cardinal tiles it
+ * cuts between to be enterable.
+ * <p>
+ * The rules work on both raw client flags and the single byte flags produced by {@link #pack(int)}. A packed tile
+ * which is fully blocked has every directional bit set, so every mask below rejects it.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CollisionRules {
+
+    /**
+     * Blocks movement onto a tile from every direction. Includes the route blocking bit the client sets
+     * (0x1000000) which has no {@link CollisionDataFlag} constant.
+     */
+    public static final int BLOCKED = CollisionDataFlag.BLOCK_MOVEMENT_FULL | 0x1000000;
+
+    /**
+     * The packed value of a fully blocked or unknown tile.
+     */
+    public static final int PACKED_BLOCKED = 0xFF;
+
+    private static final int NW = CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST;
+    private static final int N = CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+    private static final int NE = CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST;
+    private static final int E = CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+    private static final int SE = CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST;
+    private static final int S = CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+    private static final int SW = CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST;
+    private static final int W = CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+
+    /**
+     * The eight step directions as {dx, dy} pairs, cardinals first.
+     */
+    public static final int[] DX = {-1, 1, 0, 0, -1, 1, -1, 1};
+    public static final int[] DY = {0, 0, -1, 1, -1, -1, 1, 1};
+
+    // Indexed by (dx + 1) * 3 + (dy + 1)
+    private static final int[] TARGET_MASK = {
+            BLOCKED | N | NE | E,   // (-1, -1) south west
+            BLOCKED | E,            // (-1,  0) west
+            BLOCKED | E | SE | S,   // (-1,  1) north west
+            BLOCKED | N,            // ( 0, -1) south
+            0,
+            BLOCKED | S,            // ( 0,  1) north
+            BLOCKED | N | NW | W,   // ( 1, -1) south east
+            BLOCKED | W,            // ( 1,  0) east
+            BLOCKED | S | SW | W    // ( 1,  1) north east
+    };
+
+    /**
+     * Packs client collision flags into a single byte: the eight directional wall bits, or {@link #PACKED_BLOCKED} if
+     * the tile cannot be entered at all.
+     * @param flags The client collision flags for a tile
+     * @return The packed flags between 0 and 255
+     */
+    public static int pack(int flags) {
+        return (flags & BLOCKED) != 0 ? PACKED_BLOCKED : flags & 0xFF;
+    }
+
+    /**
+     * Returns the mask of flags which prevent a tile from being entered by a step in the given direction.
+     * @param dx The x direction of the step (-1, 0, or 1)
+     * @param dy The y direction of the step (-1, 0, or 1)
+     * @return The blocking mask
+     */
+    public static int targetMask(int dx, int dy) {
+        return TARGET_MASK[(dx + 1) * 3 + dy + 1];
+    }
+
+    /**
+     * Checks whether a single step can be taken.
+     * @param target The flags of the tile being stepped onto
+     * @param xSide The flags of the tile at {@code (x + dx, y)}. Ignored for cardinal steps
+     * @param ySide The flags of the tile at {@code (x, y + dy)}. Ignored for cardinal steps
+     * @param dx The x direction of the step (-1, 0, or 1)
+     * @param dy The y direction of the step (-1, 0, or 1)
+     * @return True if the step is not blocked
+     */
+    public static boolean canMove(int target, int xSide, int ySide, int dx, int dy) {
+        if ((target & targetMask(dx, dy)) != 0) {
+            return false;
+        }
+
+        if (dx == 0 || dy == 0) {
+            return true;
+        }
+
+        return (xSide & targetMask(dx, 0)) == 0 && (ySide & targetMask(0, dy)) == 0;
+    }
+
+    /**
+     * Checks whether an entity of NxN tiles can take a single step, using the client's rules for large NPCs. Every
+     * tile of the leading column (and, for diagonals, the leading row) must be enterable from the direction of the
+     * step, and walls between two tiles the entity will span block the step as well. Tiles outside the flags count as
+     * blocked. For a size of one this is {@link #canMove(int, int, int, int, int)}.
+     *
+     * @param flags The scene collision flags indexed {@code [x][y]}
+     * @param x The x coordinate of the entity's south west tile
+     * @param y The y coordinate of the entity's south west tile
+     * @param size The entity's size in tiles
+     * @param dx The x direction of the step (-1, 0, or 1)
+     * @param dy The y direction of the step (-1, 0, or 1)
+     * @return True if the step is not blocked
+     */
+    public static boolean canMove(int[][] flags, int x, int y, int size, int dx, int dy) {
+        if (size <= 1) {
+            return canMove(flagsAt(flags, x + dx, y + dy), flagsAt(flags, x + dx, y), flagsAt(flags, x, y + dy), dx, dy);
+        }
+
+        int leadX = dx < 0 ? x - 1 : x + size;
+        int leadY = dy < 0 ? y - 1 : y + size;
+        // The middle tiles of a column or row also have the entity on both of their sides
+        int column = targetMask(dx, -1) | targetMask(dx, 1);
+        int row = targetMask(-1, dy) | targetMask(1, dy);
+
+        if (dy == 0) {
+            for (int k = 0; k < size; k++) {
+                int mask = k == 0 ? targetMask(dx, -1) : k == size - 1 ? targetMask(dx, 1) : column;
+                if ((flagsAt(flags, leadX, y + k) & mask) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if (dx == 0) {
+            for (int k = 0; k < size; k++) {
+                int mask = k == 0 ? targetMask(-1, dy) : k == size - 1 ? targetMask(1, dy) : row;
+                if ((flagsAt(flags, x + k, leadY) & mask) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        if ((flagsAt(flags, leadX, leadY) & targetMask(dx, dy)) != 0) {
+            return false;
+        }
+
+        for (int k = 0; k < size; k++) {
+            int columnY = y + dy + k;
+            int rowX = x + dx + k;
+            if (columnY != leadY && (flagsAt(flags, leadX, columnY) & column) != 0
+                    || rowX != leadX && (flagsAt(flags, rowX, leadY) & row) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int flagsAt(int[][] flags, int x, int y) {
+        if (x < 0 || y < 0 || x >= flags.length || y >= flags[x].length) {
+            return BLOCKED;
+        }
+        return flags[x][y];
+    }
+}
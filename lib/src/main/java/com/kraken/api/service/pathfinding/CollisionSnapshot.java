@@ -0,0 +1,155 @@
+package com.kraken.api.service.pathfinding;
+
+import com.kraken.api.service.map.InstanceChunkTable;
+import com.kraken.api.service.map.WorldPointService;
+import lombok.Getter;
+
+/**
+ * An immutable copy of the loaded scene's collision flags together with the scene's base coordinates and, for
+ * instances, its template chunks. Snapshots are captured on the client thread by {@link CollisionSnapshotService}
+ * and can then be searched from any thread without touching the client.
+ * <p>
+ * Flags are indexed {@code [plane][sceneX][sceneY]} like {@code CollisionData#getFlags()}. The arrays returned by
+ * {@link #getFlags(int)} are shared by every reader and must never be modified.
+ */
+public final class CollisionSnapshot {
+
+    /**
+     * Increases every time a new snapshot is captured, so results computed from a snapshot can be cached against it.
+     */
+    @Getter
+    private final long version;
+
+    @Getter
+    private final int baseX;
+
+    @Getter
+    private final int baseY;
+
+    /**
+     * The plane the local player was on when the snapshot was captured.
+     */
+    @Getter
+    private final int plane;
+
+    @Getter
+    private final boolean instance;
+
+    private final int[][][] flags;
+    private final InstanceChunkTable chunkTable;
+
+    /**
+     * Creates a snapshot. The flag arrays are owned by the snapshot from then on, the template chunks are copied into
+     * an {@link InstanceChunkTable}.
+     * @param version The snapshot version
+     * @param baseX The world x coordinate of scene tile 0
+     * @param baseY The world y coordinate of scene tile 0
+     * @param plane The current plane
+     * @param flags The collision flags indexed {@code [plane][sceneX][sceneY]}, a plane may be null if not loaded
+     * @param templateChunks The instance template chunks indexed {@code [plane][chunkX][chunkY]}, or null outside instances
+     */
+    public CollisionSnapshot(long version, int baseX, int baseY, int plane, int[][][] flags, int[][][] templateChunks) {
+        this.version = version;
+        this.baseX = baseX;
+        this.baseY = baseY;
+        this.plane = plane;
+        this.flags = flags;
+        this.chunkTable = templateChunks == null ? null : new InstanceChunkTable(baseX, baseY, templateChunks);
+        this.instance = templateChunks != null;
+    }
+
+    /**
+     * @param plane The plane
+     * @return The plane's collision flags indexed {@code [sceneX][sceneY]}, or null if the plane was not loaded. Do not modify.
+     */
+    public int[][] getFlags(int plane) {
+        return plane >= 0 && plane < flags.length ? flags[plane] : null;
+    }
+
+    /**
+     * @param plane The plane
+     * @param sceneX The scene x coordinate
+     * @param sceneY The scene y coordinate
+     * @return The tile's collision flags, or {@link CollisionRules#BLOCKED} for tiles outside the scene
+     */
+    public int getFlags(int plane, int sceneX, int sceneY) {
+        int[][] planeFlags = getFlags(plane);
+        if (planeFlags == null || sceneX < 0 || sceneY < 0 || sceneX >= planeFlags.length || sceneY >= planeFlags[sceneX].length) {
+            return CollisionRules.BLOCKED;
+        }
+        return planeFlags[sceneX][sceneY];
+    }
+
+    /**
+     * @param worldX The world x coordinate
+     * @return The scene x coordinate
+     */
+    public int toSceneX(int worldX) {
+        return worldX - baseX;
+    }
+
+    /**
+     * @param worldY The world y coordinate
+     * @return The scene y coordinate
+     */
+    public int toSceneY(int worldY) {
+        return worldY - baseY;
+    }
+
+    /**
+     * @param worldX The world x coordinate
+     * @param worldY The world y coordinate
+     * @return True if the tile lies within the snapshot's scene
+     */
+    public boolean contains(int worldX, int worldY) {
+        int[][] planeFlags = getFlags(plane);
+        int x = worldX - baseX;
+        int y = worldY - baseY;
+        return planeFlags != null && x >= 0 && y >= 0 && x < planeFlags.length && y < planeFlags[x].length;
+    }
+
+    /**
+     * Returns the packed template chunk of an instance scene chunk, as returned by {@code WorldView#getInstanceTemplateChunks()}.
+     * @param plane The plane
+     * @param chunkX The scene chunk x coordinate (scene x / 8)
+     * @param chunkY The scene chunk y coordinate (scene y / 8)
+     * @return The packed template chunk, or -1 outside instances or the scene
+     */
+    public int getTemplateChunk(int plane, int chunkX, int chunkY) {
+        return chunkTable == null ? -1 : chunkTable.getTemplateChunk(plane, chunkX, chunkY);
+    }
+
+    /**
+     * Finds the scene tile which shows a template (real world) tile in an instance, matching the first result of
+     * {@code WorldPoint#toLocalInstance}. Outside instances a world tile is its own template so the tile is just
+     * offset by the scene base.
+     * @param x The template world x coordinate
+     * @param y The template world y coordinate
+     * @param plane The template plane
+     * @return The scene coordinates packed as {@code sceneX << 16 | sceneY}, or -1 if the tile is not part of the scene
+     */
+    public int templateToScene(int x, int y, int plane) {
+        if (chunkTable == null) {
+            return contains(x, y) ? (x - baseX) << 16 | (y - baseY) : -1;
+        }
+
+        int scene = chunkTable.templateToScene(x, y, plane, -1);
+        return scene == -1 ? -1 : WorldPointService.getPackedX(scene) << 16 | WorldPointService.getPackedY(scene);
+    }
+
+    /**
+     * The inverse of {@link #templateToScene(int, int, int)}: finds the template (real world) tile shown at a scene
+     * tile. Outside instances the scene tile is just offset by the scene base.
+     * @param sceneX The scene x coordinate
+     * @param sceneY The scene y coordinate
+     * @param plane The scene plane
+     * @return The template tile packed with {@link WorldPointService#pack(int, int, int)}, or -1 if the scene tile
+     * has no template chunk
+     */
+    public int sceneToTemplate(int sceneX, int sceneY, int plane) {
+        if (chunkTable == null) {
+            return WorldPointService.pack(baseX + sceneX, baseY + sceneY, plane);
+        }
+        return chunkTable.sceneToTemplate(sceneX, sceneY, plane);
+    }
+}
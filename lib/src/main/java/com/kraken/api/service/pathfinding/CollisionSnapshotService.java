@@ -0,0 +1,127 @@
+package com.kraken.api.service.pathfinding;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.Singleton;
+import com.kraken.api.Context;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Client;
+import net.runelite.api.CollisionData;
+import net.runelite.api.GameState;
+import net.runelite.api.WorldView;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.eventbus.Subscribe;
+
+/**
+ * Keeps an up to date {@link CollisionSnapshot} of the loaded scene so scene pathfinding and reachability checks can
+ * run on the caller's thread instead of the client thread.
+ * <p>
+ * A new snapshot is captured on the game tick after a scene loads, a wall or game object spawns or despawns, or the
+ * local player changes plane. Capturing is a copy of the collision flag arrays (and the template chunks in
+ * instances), which is the only pathfinding work left on the client thread. Between captures every reader shares the
+ * same snapshot, so results may be up to one tick behind the client. The {@link CollisionStore} stores the same
+ * snapshot rather than copying the scene again.
+ */
+@Slf4j
+@Singleton
+public class CollisionSnapshotService {
+
+    @Inject
+    private Client client;
+
+    @Inject
+    private Provider<Context> ctxProvider;
+
+    private volatile CollisionSnapshot snapshot;
+    private volatile boolean dirty = true;
+    private long version = 0;
+
+    /**
+     * Returns the latest snapshot. The first call, or a call made on the client thread after the scene changed,
+     * captures a new snapshot on the client thread; every other call returns immediately.
+     * @return The snapshot, or null if no scene is loaded
+     */
+    public CollisionSnapshot getSnapshot() {
+        CollisionSnapshot current = snapshot;
+        if (current != null && !(dirty && client.isClientThread())) {
+            return current;
+        }
+        return ctxProvider.get().runOnClientThread(this::capture);
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOGGED_IN || event.getGameState() == GameState.LOADING) {
+            dirty = true;
+        }
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        CollisionSnapshot current = snapshot;
+        WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) return;
+
+        if (dirty || current == null || current.getPlane() != worldView.getPlane()
+                || current.getBaseX() != worldView.getBaseX() || current.getBaseY() != worldView.getBaseY()) {
+            capture();
+        }
+    }
+
+    /**
+     * Copies the scene's collision flags into a new snapshot. Must be called on the client thread.
+     */
+    private CollisionSnapshot capture() {
+        WorldView worldView = client.getTopLevelWorldView();
+        if (worldView == null) return snapshot;
+
+        CollisionData[] maps = worldView.getCollisionMaps();
+        if (maps == null) return snapshot;
+
+        dirty = false;
+        int[][][] flags = new int[maps.length][][];
+        for (int plane = 0; plane < maps.length; plane++) {
+            if (maps[plane] == null) continue;
+            flags[plane] = copy(maps[plane].getFlags());
+        }
+
+        // The snapshot copies the template chunks into its own lookup table
+        int[][][] templateChunks = worldView.isInstance() ? worldView.getInstanceTemplateChunks() : null;
+
+        snapshot = new CollisionSnapshot(++version, worldView.getBaseX(), worldView.getBaseY(), worldView.getPlane(), flags, templateChunks);
+        return snapshot;
+    }
+
+    private static int[][] copy(int[][] source) {
+        int[][] copy = new int[source.length][];
+        for (int i = 0; i < source.length; i++) {
+            copy[i] = source[i].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,292 @@
+package com.kraken.api.service.pathfinding;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.GameState;
+import net.runelite.api.events.GameObjectDespawned;
+import net.runelite.api.events.GameObjectSpawned;
+import net.runelite.api.events.GameStateChanged;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.WallObjectDespawned;
+import net.runelite.api.events.WallObjectSpawned;
+import net.runelite.client.RuneLite;
+import net.runelite.client.eventbus.Subscribe;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A world scale store of collision flags, built up from the client's collision data as scenes are loaded and
+ * persisted across sessions as memory mapped {@link CollisionRegion} files in {@code .runelite/kraken/collision}.
+ * <p>
+ * Whenever a scene loads or a wall or game object spawns or despawns (a door opening, a tree being cut) the scene's
+ * flags are taken from the {@link CollisionSnapshotService} snapshot on the next game tick, so the scene is copied
+ * once for both the store and scene pathfinding. Packing the flags into regions and writing them to disk happens on
+ * a background worker. Tiles on the scene border, which the client always marks as blocked, and instanced scenes are
+ * never stored.
+ * <p>
+ * Reads are lock free and can be made from any thread. A tile in a region which has never been loaded is reported
+ * as blocked. Regions without a region file can also be supplied by a {@link CollisionArchive} added with
+ * {@link #addArchive(CollisionArchive)}; they are copied into a region file the first time the scene updates them.
+ */
+@Slf4j
+@Singleton
+public class CollisionStore {
+
+    public static final Path DIRECTORY = RuneLite.RUNELITE_DIR.toPath().resolve("kraken").resolve("collision");
+
+    private static final int SCENE_SIZE = 104;
+    // The client marks tile 0 and the last 5 tiles of each scene axis as blocked
+    private static final int SCENE_MIN = 1;
+    private static final int SCENE_MAX = SCENE_SIZE - 6;
+
+    private static final int MAX_COORDINATE = 1 << 14;
+    private static final CollisionRegion MISSING = new CollisionRegion(-1, null, false);
+
+    private final AtomicReferenceArray<CollisionRegion> regions = new AtomicReferenceArray<>(1 << 16);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "kraken-collision-store");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final List<CollisionArchive> archives = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Collection<CollisionRegion>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Inject
+    private CollisionSnapshotService snapshotService;
+
+    private boolean dirty = false;
+
+    /**
+     * Returns the packed flags (see {@link CollisionRules#pack(int)}) of a world tile.
+     * @param x The world x coordinate
+     * @param y The world y coordinate
+     * @param plane The plane
+     * @return The packed flags, or {@link CollisionRules#PACKED_BLOCKED} if the tile has never been loaded
+     */
+    public int getFlags(int x, int y, int plane) {
+        if (x < 0 || y < 0 || x >= MAX_COORDINATE || y >= MAX_COORDINATE || plane < 0 || plane >= CollisionRegion.PLANES) {
+            return CollisionRules.PACKED_BLOCKED;
+        }
+
+        CollisionRegion region = getRegion(CollisionRegion.idOf(x, y));
+        return region == null ? CollisionRules.PACKED_BLOCKED : region.get(plane, x & 63, y & 63);
+    }
+
+    /**
+     * Returns a region, mapping its file from disk the first time it is requested.
+     * @param regionId The region id
+     * @return The region, or null if the region has never been loaded
+     */
+    public CollisionRegion getRegion(int regionId) {
+        CollisionRegion region = regions.get(regionId);
+        if (region == null) {
+            region = open(regionId);
+            if (!regions.compareAndSet(regionId, null, region)) {
+                region = regions.get(regionId);
+            }
+        }
+        return region == MISSING ? null : region;
+    }
+
+    /**
+     * @param regionId The region id
+     * @return True if collision data has been stored for the region
+     */
+    public boolean hasRegion(int regionId) {
+        return getRegion(regionId) != null;
+    }
+
+    /**
+     * Returns the id of every region with a region file or in an added archive.
+     * @return The region ids
+     */
+    public Set<Integer> getRegionIds() {
+        Set<Integer> ids = new TreeSet<>();
+        archives.forEach(archive -> ids.addAll(archive.getRegionIds()));
+        if (Files.isDirectory(DIRECTORY)) {
+            try (Stream<Path> files = Files.list(DIRECTORY)) {
+                files.map(f -> f.getFileName().toString())
+                        .filter(name -> name.endsWith(".dat"))
+                        .forEach(name -> {
+                            try {
+                                ids.add(Integer.parseInt(name.substring(0, name.length() - 4)));
+                            } catch (NumberFormatException ignored) {
+                            }
+                        });
+            } catch (IOException e) {
+                log.error("Failed to list collision regions: ", e);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Adds an archive as a source for regions which have no region file.
+     * @param archive The archive
+     */
+    public void addArchive(CollisionArchive archive) {
+        archives.add(archive);
+        for (int regionId : archive.getRegionIds()) {
+            // Forget regions previously found to be missing so they are looked up in the archive
+            regions.compareAndSet(regionId, MISSING, null);
+        }
+    }
+
+    /**
+     * Registers a listener called on the store's worker thread with the regions updated from each scene copy.
+     * @param listener The listener
+     */
+    public void addListener(Consumer<Collection<CollisionRegion>> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Collection<CollisionRegion>> listener) {
+        listeners.remove(listener);
+    }
+
+    @Subscribe
+    public void onGameStateChanged(GameStateChanged event) {
+        if (event.getGameState() == GameState.LOGGED_IN) {
+            dirty = true;
+        }
+    }
+
+    @Subscribe
+    public void onWallObjectSpawned(WallObjectSpawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onWallObjectDespawned(WallObjectDespawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameObjectSpawned(GameObjectSpawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameObjectDespawned(GameObjectDespawned event) {
+        dirty = true;
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick event) {
+        if (!dirty) return;
+        dirty = false;
+
+        // On the client thread this captures the changed scene unless the snapshot service already has this tick
+        CollisionSnapshot snapshot = snapshotService.getSnapshot();
+        if (snapshot == null || snapshot.isInstance()) return;
+
+        worker.execute(() -> merge(snapshot));
+    }
+
+    /**
+     * Packs a snapshot's collision flags into the regions it covers. Runs on the worker thread.
+     */
+    private void merge(CollisionSnapshot snapshot) {
+        long start = System.nanoTime();
+        int baseX = snapshot.getBaseX();
+        int baseY = snapshot.getBaseY();
+        Map<Integer, CollisionRegion> updated = new LinkedHashMap<>();
+        int lastRegionId = -1;
+        CollisionRegion region = null;
+
+        for (int plane = 0; plane < CollisionRegion.PLANES; plane++) {
+            int[][] flags = snapshot.getFlags(plane);
+            if (flags == null) continue;
+            for (int x = SCENE_MIN; x <= SCENE_MAX && x < flags.length; x++) {
+                int worldX = baseX + x;
+                for (int y = SCENE_MIN; y <= SCENE_MAX && y < flags[x].length; y++) {
+                    int worldY = baseY + y;
+                    int regionId = CollisionRegion.idOf(worldX, worldY);
+                    if (regionId != lastRegionId) {
+                        region = getOrCreate(regionId);
+                        lastRegionId = regionId;
+                        if (region != null) {
+                            updated.put(regionId, region);
+                        }
+                    }
+
+                    if (region != null) {
+                        region.set(plane, worldX & 63, worldY & 63, CollisionRules.pack(flags[x][y]));
+                    }
+                }
+            }
+        }
+
+        log.debug("Stored scene collision at base ({}, {}) in {}us", baseX, baseY, (System.nanoTime() - start) / 1000);
+
+        Collection<CollisionRegion> changed = Collections.unmodifiableCollection(updated.values());
+        for (Consumer<Collection<CollisionRegion>> listener : listeners) {
+            try {
+                listener.accept(changed);
+            } catch (Exception e) {
+                log.error("Collision store listener failed: ", e);
+            }
+        }
+    }
+
+    private CollisionRegion getOrCreate(int regionId) {
+        CollisionRegion existing = getRegion(regionId);
+        if (existing != null && existing.isPersistent()) {
+            return existing;
+        }
+
+        try {
+            Files.createDirectories(DIRECTORY);
+            CollisionRegion region = CollisionRegion.create(file(regionId), regionId);
+            if (existing != null) {
+                region.copyFrom(existing);
+            }
+            regions.set(regionId, region);
+            return region;
+        } catch (IOException e) {
+            log.error("Failed to create collision region {}: ", regionId, e);
+            return null;
+        }
+    }
+
+    private CollisionRegion open(int regionId) {
+        Path file = file(regionId);
+        if (!Files.exists(file)) {
+            for (CollisionArchive archive : archives) {
+                CollisionRegion region = archive.getRegion(regionId);
+                if (region != null) {
+                    return region;
+                }
+            }
+            return MISSING;
+        }
+
+        try {
+            return CollisionRegion.open(file, regionId);
+        } catch (IOException e) {
+            log.error("Failed to open collision region {}, it will be rebuilt: ", regionId, e);
+            return MISSING;
+        }
+    }
+
+    private static Path file(int regionId) {
+        return DIRECTORY.resolve(regionId + ".dat");
+    }
+}
@@ -0,0 +1,534 @@
+package com.kraken.api.service.pathfinding;
+
+import com.kraken.api.service.map.WorldPointService;
+import lombok.Getter;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A D* Lite planner for a single destination in the loaded scene. Unlike {@link LocalPathfinder}, which starts every
+ * search from scratch, the planner searches backwards from the target and keeps its search state between calls. When
+ * the player moves or a few tiles change (a door closes, an NPC to avoid steps onto the route) only the part of the
+ * search which depended on those tiles is repaired, so the cost of re-planning each tick scales with the size of the
+ * change rather than the size of the scene.
+ * <p>
+ * A planner is owned by one walker and is not thread safe. Feed it the latest {@link CollisionSnapshot} and the tiles
+ * to avoid with {@link #update(CollisionSnapshot, Collection)}, then ask for the route from the player's current
+ * location with {@link #findPath(WorldPoint)}, or {@link #findPackedPath(WorldPoint)} to re-plan every tick without
+ * creating any garbage. Paths have the same length as {@link LocalPathfinder#findPath} on the
+ * same tiles, although they may take a different shape.
+ */
+public final class IncrementalPathfinder {
+
+    private static final int SIZE = PathfinderWorkspace.SIZE;
+    private static final int INFINITY = 1 << 24;
+
+    /**
+     * The destination of the planner.
+     */
+    @Getter
+    private final WorldPoint target;
+
+    /**
+     * The number of tiles expanded by the last call to {@link #findPath(WorldPoint)}.
+     */
+    @Getter
+    private int expandedCount;
+
+    private final int[] g = new int[SIZE * SIZE];
+    private final int[] rhs = new int[SIZE * SIZE];
+    private final KeyedHeap open = new KeyedHeap(SIZE * SIZE);
+    private final boolean[] blocked = new boolean[SIZE * SIZE];
+    private final int[] blockerStamps = new int[SIZE * SIZE];
+    private final boolean[] pending = new boolean[SIZE * SIZE];
+    private final int[] path = new int[SIZE * SIZE];
+    private int[] blockers = new int[16];
+    private int blockerCount;
+    private int blockerStamp;
+    private int[] changes = new int[64];
+    private int changeCount;
+
+    private CollisionSnapshot snapshot;
+    private int[][] flags;
+    private int goal = -1;
+    private int last = -1;
+    private int km;
+    private boolean initialized;
+
+    /**
+     * Creates a planner for a destination. Nothing is searched until the first call to {@link #findPath(WorldPoint)}.
+     * @param target The destination
+     */
+    public IncrementalPathfinder(WorldPoint target) {
+        this.target = target;
+    }
+
+    /**
+     * Brings the planner up to date with the scene. Tiles whose collision flags differ from the previous snapshot,
+     * and tiles which start or stop being blocked, are queued for repair on the next call to {@link #findPath}.
+     * Comparing snapshots is skipped entirely when the snapshot has not changed. A snapshot of a different scene
+     * (after a region load or a plane change) discards the search state.
+     *
+     * @param snapshot The latest collision snapshot
+     * @param blockers The tiles to route around, typically the tiles occupied by NPCs to avoid. They are treated as
+     *                 fully blocked tiles, except for the target. May be empty.
+     * @return True if any tile changed since the last update
+     */
+    public boolean update(CollisionSnapshot snapshot, Collection<WorldPoint> blockers) {
+        int before = changeCount;
+        boolean reset = false;
+        if (snapshot != this.snapshot) {
+            reset = updateSnapshot(snapshot);
+        }
+
+        if (flags != null) {
+            updateBlockers(blockers);
+        }
+        return reset || changeCount != before;
+    }
+
+    /**
+     * Finds the route from a start tile to the target, repairing the search for any tiles changed since the last
+     * call. Moving the start along the previous route costs almost nothing.
+     *
+     * @param start The current location, usually the player's
+     * @return The path including the start and target, or null if the target cannot be reached from the start or
+     * either lies outside the scene
+     */
+    public List<WorldPoint> findPath(WorldPoint start) {
+        PackedPath packed = findPackedPath(start);
+        return packed == null ? null : packed.copy().toList();
+    }
+
+    /**
+     * Finds the same route as {@link #findPath(WorldPoint)} as a {@link PackedPath}. The path is a view of a buffer
+     * owned by the planner, which is overwritten by the next call, so re-planning allocates nothing but the view.
+     *
+     * @param start The current location, usually the player's
+     * @return The path including the start and target, or null if the target cannot be reached from the start or
+     * either lies outside the scene
+     */
+    public PackedPath findPackedPath(WorldPoint start) {
+        expandedCount = 0;
+        if (flags == null || start.getPlane() != target.getPlane()) {
+            return null;
+        }
+
+        int sx = snapshot.toSceneX(start.getX());
+        int sy = snapshot.toSceneY(start.getY());
+        if (!inBounds(sx, sy)) {
+            return null;
+        }
+
+        int startIndex = PathfinderWorkspace.index(sx, sy);
+        if (!initialized) {
+            initialize(startIndex);
+        } else {
+            km += heuristic(last, startIndex);
+        }
+        last = startIndex;
+
+        for (int i = 0; i < changeCount; i++) {
+            int changed = changes[i];
+            pending[changed] = false;
+            int x = changed / SIZE;
+            int y = changed % SIZE;
+            // A tile's flags affect every move out of the tiles around it, including diagonal moves past its sides
+            for (int nx = x - 1; nx <= x + 1; nx++) {
+                for (int ny = y - 1; ny <= y + 1; ny++) {
+                    if (inBounds(nx, ny)) {
+                        updateRhs(PathfinderWorkspace.index(nx, ny), startIndex);
+                    }
+                }
+            }
+        }
+        changeCount = 0;
+
+        computeShortestPath(startIndex);
+        // The search may stop with the start itself not yet expanded, its lookahead distance is the correct one
+        if (rhs[startIndex] >= INFINITY) {
+            return null;
+        }
+        int length = tracePath(startIndex);
+        return length == -1 ? null : PackedPath.of(path, length);
+    }
+
+    private boolean updateSnapshot(CollisionSnapshot next) {
+        int[][] nextFlags = next == null ? null : next.getFlags(target.getPlane());
+        boolean sameScene = snapshot != null && nextFlags != null && flags != null
+                && next.getBaseX() == snapshot.getBaseX() && next.getBaseY() == snapshot.getBaseY()
+                && next.isInstance() == snapshot.isInstance() && nextFlags.length == flags.length;
+        CollisionSnapshot previous = snapshot;
+        int[][] previousFlags = flags;
+        snapshot = next;
+        flags = nextFlags;
+
+        if (!sameScene) {
+            reset();
+            return previous != null;
+        }
+
+        for (int x = 0; x < flags.length && x < SIZE; x++) {
+            int[] column = flags[x];
+            int[] previousColumn = previousFlags[x];
+            if (column == previousColumn || Arrays.equals(column, previousColumn)) {
+                continue;
+            }
+
+            for (int y = 0; y < column.length && y < SIZE; y++) {
+                if (y >= previousColumn.length || column[y] != previousColumn[y]) {
+                    changed(PathfinderWorkspace.index(x, y));
+                }
+            }
+        }
+        return false;
+    }
+
+    private void updateBlockers(Collection<WorldPoint> tiles) {
+        if (++blockerStamp == 0) {
+            Arrays.fill(blockerStamps, 0);
+            blockerStamp = 1;
+        }
+
+        int previousCount = blockerCount;
+        for (WorldPoint tile : tiles) {
+            if (tile.getPlane() != target.getPlane()) {
+                continue;
+            }
+
+            int x = snapshot.toSceneX(tile.getX());
+            int y = snapshot.toSceneY(tile.getY());
+            if (!inBounds(x, y)) {
+                continue;
+            }
+
+            int index = PathfinderWorkspace.index(x, y);
+            blockerStamps[index] = blockerStamp;
+            if (!blocked[index]) {
+                blocked[index] = true;
+                if (blockerCount == blockers.length) {
+                    blockers = Arrays.copyOf(blockers, blockerCount * 2);
+                }
+                blockers[blockerCount++] = index;
+                changed(index);
+            }
+        }
+
+        // Release tiles which are no longer blocked, keeping the rest (including those added above) in the list
+        int kept = 0;
+        for (int i = 0; i < blockerCount; i++) {
+            int index = blockers[i];
+            if (i < previousCount && blockerStamps[index] != blockerStamp) {
+                blocked[index] = false;
+                changed(index);
+            } else {
+                blockers[kept++] = index;
+            }
+        }
+        blockerCount = kept;
+    }
+
+    private void changed(int index) {
+        if (!initialized || pending[index]) {
+            return;
+        }
+
+        pending[index] = true;
+        if (changeCount == changes.length) {
+            changes = Arrays.copyOf(changes, changeCount * 2);
+        }
+        changes[changeCount++] = index;
+    }
+
+    private void reset() {
+        initialized = false;
+        for (int i = 0; i < changeCount; i++) {
+            pending[changes[i]] = false;
+        }
+        changeCount = 0;
+        for (int i = 0; i < blockerCount; i++) {
+            blocked[blockers[i]] = false;
+        }
+        blockerCount = 0;
+    }
+
+    private void initialize(int start) {
+        Arrays.fill(g, INFINITY);
+        Arrays.fill(rhs, INFINITY);
+        open.clear();
+        km = 0;
+        changeCount = 0;
+        goal = -1;
+        initialized = true;
+
+        int gx = snapshot.toSceneX(target.getX());
+        int gy = snapshot.toSceneY(target.getY());
+        if (inBounds(gx, gy)) {
+            goal = PathfinderWorkspace.index(gx, gy);
+            rhs[goal] = 0;
+            open.push(goal, key(goal, start));
+        }
+    }
+
+    /**
+     * Expands tiles backwards from the target until the start's distance is known to be correct.
+     */
+    private void computeShortestPath(int start) {
+        while (!open.isEmpty() && (open.peekKey() < key(start, start) || rhs[start] > g[start])) {
+            long oldKey = open.peekKey();
+            int node = open.peek();
+            long newKey = key(node, start);
+            if (oldKey < newKey) {
+                open.update(node, newKey);
+                continue;
+            }
+
+            expandedCount++;
+            open.remove(node);
+            int x = node / SIZE;
+            int y = node % SIZE;
+            boolean overconsistent = g[node] > rhs[node];
+            g[node] = overconsistent ? rhs[node] : INFINITY;
+
+            for (int i = 0; i < CollisionRules.DX.length; i++) {
+                int px = x - CollisionRules.DX[i];
+                int py = y - CollisionRules.DY[i];
+                if (!inBounds(px, py) || !canMove(px, py, CollisionRules.DX[i], CollisionRules.DY[i])) {
+                    continue;
+                }
+
+                int predecessor = PathfinderWorkspace.index(px, py);
+                if (overconsistent) {
+                    if (predecessor != goal && g[node] + 1 < rhs[predecessor]) {
+                        rhs[predecessor] = g[node] + 1;
+                        updateVertex(predecessor, start);
+                    }
+                } else {
+                    updateRhs(predecessor, start);
+                }
+            }
+
+            if (!overconsistent) {
+                updateRhs(node, start);
+            }
+        }
+    }
+
+    /**
+     * Recomputes a tile's one step lookahead distance from its neighbours.
+     */
+    private void updateRhs(int node, int start) {
+        if (node == goal) {
+            return;
+        }
+
+        int x = node / SIZE;
+        int y = node % SIZE;
+        int best = INFINITY;
+        for (int i = 0; i < CollisionRules.DX.length; i++) {
+            int dx = CollisionRules.DX[i];
+            int dy = CollisionRules.DY[i];
+            if (inBounds(x + dx, y + dy) && canMove(x, y, dx, dy)) {
+                best = Math.min(best, g[PathfinderWorkspace.index(x + dx, y + dy)] + 1);
+            }
+        }
+        rhs[node] = Math.min(best, INFINITY);
+        updateVertex(node, start);
+    }
+
+    private void updateVertex(int node, int start) {
+        if (g[node] != rhs[node]) {
+            open.update(node, key(node, start));
+        } else {
+            open.remove(node);
+        }
+    }
+
+    /**
+     * Follows the smallest distances from the start to the target, taking the first neighbour in the client's
+     * neighbour order on ties, and writes the route into the path buffer.
+     * @return The number of tiles written, or -1 if the route is broken
+     */
+    private int tracePath(int start) {
+        int distance = rhs[start];
+        int plane = target.getPlane();
+        int node = start;
+        int length = 0;
+        path[length++] = toPacked(node, plane);
+
+        while (node != goal) {
+            int x = node / SIZE;
+            int y = node % SIZE;
+            int next = -1;
+            for (int i = 0; i < CollisionRules.DX.length; i++) {
+                int dx = CollisionRules.DX[i];
+                int dy = CollisionRules.DY[i];
+                if (!inBounds(x + dx, y + dy) || !canMove(x, y, dx, dy)) {
+                    continue;
+                }
+
+                int neighbour = PathfinderWorkspace.index(x + dx, y + dy);
+                if (next == -1 || g[neighbour] < g[next]) {
+                    next = neighbour;
+                }
+            }
+
+            if (next == -1 || g[next] >= INFINITY || length > distance) {
+                return -1;
+            }
+            node = next;
+            path[length++] = toPacked(node, plane);
+        }
+        return length;
+    }
+
+    private int toPacked(int node, int plane) {
+        return WorldPointService.pack(snapshot.getBaseX() + node / SIZE, snapshot.getBaseY() + node % SIZE, plane);
+    }
+
+    private boolean canMove(int x, int y, int dx, int dy) {
+        int nx = x + dx;
+        int ny = y + dy;
+        return CollisionRules.canMove(flags(nx, ny), flags(nx, y), flags(x, ny), dx, dy);
+    }
+
+    /**
+     * @return The tile's collision flags, as fully blocked if the tile is a blocker other than the target
+     */
+    private int flags(int x, int y) {
+        int index = PathfinderWorkspace.index(x, y);
+        return blocked[index] && index != goal ? flags[x][y] | CollisionRules.BLOCKED : flags[x][y];
+    }
+
+    /**
+     * Orders tiles by the smaller of their two distances plus the heuristic, then by that distance alone. The
+     * accumulated {@code km} keeps keys queued before the start moved comparable with new ones.
+     */
+    private long key(int node, int start) {
+        int distance = Math.min(g[node], rhs[node]);
+        return (long) (distance + heuristic(start, node) + km) << 32 | distance;
+    }
+
+    private static int heuristic(int a, int b) {
+        return Math.max(Math.abs(a / SIZE - b / SIZE), Math.abs(a % SIZE - b % SIZE));
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < flags.length && x < SIZE && y < flags[x].length && y < SIZE;
+    }
+
+    /**
+     * A binary min heap of tiles which supports changing and removing a queued tile's key.
+     */
+    private static final class KeyedHeap {
+        private final int[] nodes;
+        private final long[] keys;
+        private final int[] positions;
+        private int size;
+
+        KeyedHeap(int capacity) {
+            nodes = new int[capacity];
+            keys = new long[capacity];
+            positions = new int[capacity];
+            Arrays.fill(positions, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int peek() {
+            return nodes[0];
+        }
+
+        long peekKey() {
+            return keys[0];
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                positions[nodes[i]] = -1;
+            }
+            size = 0;
+        }
+
+        void push(int node, long key) {
+            update(node, key);
+        }
+
+        /**
+         * Queues a tile, or moves it if it is already queued.
+         */
+        void update(int node, long key) {
+            int i = positions[node];
+            if (i == -1) {
+                i = size++;
+                nodes[i] = node;
+                positions[node] = i;
+            }
+            keys[i] = key;
+            siftDown(siftUp(i));
+        }
+
+        void remove(int node) {
+            int i = positions[node];
+            if (i == -1) {
+                return;
+            }
+
+            positions[node] = -1;
+            size--;
+            if (i == size) {
+                return;
+            }
+
+            nodes[i] = nodes[size];
+            keys[i] = keys[size];
+            positions[nodes[i]] = i;
+            siftDown(siftUp(i));
+        }
+
+        private int siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+                if (keys[parent] <= keys[i]) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+            return i;
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[i] <= keys[child]) {
+                    return;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int node = nodes[a];
+            long key = keys[a];
+            nodes[a] = nodes[b];
+            keys[a] = keys[b];
+            nodes[b] = node;
+            keys[b] = key;
+            positions[nodes[a]] = a;
+            positions[nodes[b]] = b;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Jump point search over a scene's collision flags. It finds paths of exactly the same length as
+ * {@link PathSearch#findPath} but, in open terrain, expands only the handful of tiles where a path can turn instead
+ * of every tile within the path's length of the start.
+ * <p>
+ * Classic jump point search assumes blocked tiles and octile costs. Here every step, straight or diagonal, costs one
+ * tick, walls sit on tile edges, and a diagonal step also needs both of its side tiles to be enterable (see
+ * {@link CollisionRules}). Jumping (skipping tiles) is therefore only done through clean tiles: tiles whose 3x3
+ * neighbourhood has no movement flags at all. Within such a neighbourhood the usual pruning rules hold for one tick
+ * steps. Any tile with a wall, object or scene edge next to it is treated as a jump point and expanded in every
+ * direction, which is always correct and only costs speed near obstacles.
+ * <p>
+ * Paths may take a different (equally short) shape from the breadth first search, which follows the client's
+ * neighbour order.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JumpPointSearch {
+
+    // Flags which affect movement into a tile, everything else (e.g. line of sight) is ignored
+    private static final int MOVEMENT_MASK = CollisionRules.BLOCKED | 0xFF;
+
+    // g is at most the number of tiles in the workspace, so it fits below the f score in a single int
+    private static final int G_BITS = 14;
+
+    /**
+     * Finds the shortest path between two scene tiles. On success the path, including both the start and target and
+     * every tile in between, is available from the workspace, as is the number of jump points expanded.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate
+     * @param startY The start scene y coordinate
+     * @param targetX The target scene x coordinate
+     * @param targetY The target scene y coordinate
+     * @param ws The workspace to search in
+     * @return True if the target is reachable
+     */
+    public static boolean findPath(int[][] flags, int startX, int startY, int targetX, int targetY, PathfinderWorkspace ws) {
+        ws.begin();
+        if (!inBounds(flags, startX, startY) || !inBounds(flags, targetX, targetY)) {
+            return false;
+        }
+
+        int start = PathfinderWorkspace.index(startX, startY);
+        int target = PathfinderWorkspace.index(targetX, targetY);
+        NodeHeap open = ws.heap();
+        ws.update(start, -1, 0);
+        open.push(score(0, distance(startX, startY, targetX, targetY)), start);
+
+        while (!open.isEmpty()) {
+            int score = open.peekScore();
+            int node = open.pop();
+            int x = node / PathfinderWorkspace.SIZE;
+            int y = node % PathfinderWorkspace.SIZE;
+            int g = ws.getDistance(node);
+            if (score != score(g, distance(x, y, targetX, targetY))) {
+                // A shorter route to the node was found after this entry was queued
+                continue;
+            }
+
+            if (node == target) {
+                fillPath(ws, target);
+                ws.tracePath(target);
+                return true;
+            }
+
+            ws.expanded();
+            int parent = ws.getParent(node);
+            if (parent == -1 || !isClean(flags, x, y)) {
+                for (int i = 0; i < CollisionRules.DX.length; i++) {
+                    jumpFrom(flags, ws, node, x, y, g, CollisionRules.DX[i], CollisionRules.DY[i], targetX, targetY);
+                }
+                continue;
+            }
+
+            // Natural neighbours only: straight on, plus both straight components of a diagonal
+            int dx = Integer.signum(x - parent / PathfinderWorkspace.SIZE);
+            int dy = Integer.signum(y - parent % PathfinderWorkspace.SIZE);
+            jumpFrom(flags, ws, node, x, y, g, dx, dy, targetX, targetY);
+            if (dx != 0 && dy != 0) {
+                jumpFrom(flags, ws, node, x, y, g, dx, 0, targetX, targetY);
+                jumpFrom(flags, ws, node, x, y, g, 0, dy, targetX, targetY);
+            }
+        }
+        return false;
+    }
+
+    private static void jumpFrom(int[][] flags, PathfinderWorkspace ws, int node, int x, int y, int g, int dx, int dy, int targetX, int targetY) {
+        int next = jump(flags, x, y, dx, dy, targetX, targetY);
+        if (next == -1) {
+            return;
+        }
+
+        int nx = next / PathfinderWorkspace.SIZE;
+        int ny = next % PathfinderWorkspace.SIZE;
+        int distance = g + distance(x, y, nx, ny);
+        if (ws.isVisited(next) && ws.getDistance(next) <= distance) {
+            return;
+        }
+
+        ws.update(next, node, distance);
+        ws.heap().push(score(distance, distance(nx, ny, targetX, targetY)), next);
+    }
+
+    /**
+     * Steps from a tile in a direction until reaching the target, a tile which is not clean, or (for diagonals) a tile
+     * from which a straight jump finds one of those.
+     * @return The jump point's workspace index, or -1 if the direction is blocked before one is found
+     */
+    private static int jump(int[][] flags, int x, int y, int dx, int dy, int targetX, int targetY) {
+        while (true) {
+            int nx = x + dx;
+            int ny = y + dy;
+            if (!inBounds(flags, nx, ny) || !CollisionRules.canMove(flags[nx][ny], flags[nx][y], flags[x][ny], dx, dy)) {
+                return -1;
+            }
+
+            if (nx == targetX && ny == targetY || !isClean(flags, nx, ny)) {
+                return PathfinderWorkspace.index(nx, ny);
+            }
+
+            if (dx != 0 && dy != 0 && (jump(flags, nx, ny, dx, 0, targetX, targetY) != -1 || jump(flags, nx, ny, 0, dy, targetX, targetY) != -1)) {
+                return PathfinderWorkspace.index(nx, ny);
+            }
+
+            x = nx;
+            y = ny;
+        }
+    }
+
+    /**
+     * @return True if the tile and its eight neighbours are in the scene and have no movement flags
+     */
+    private static boolean isClean(int[][] flags, int x, int y) {
+        if (x < 1 || y < 1 || x + 1 >= flags.length || x + 1 >= PathfinderWorkspace.SIZE || y + 1 >= PathfinderWorkspace.SIZE) {
+            return false;
+        }
+
+        for (int i = x - 1; i <= x + 1; i++) {
+            int[] column = flags[i];
+            if (y + 1 >= column.length || ((column[y - 1] | column[y] | column[y + 1]) & MOVEMENT_MASK) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Links every tile skipped between consecutive jump points on the path to the target so
+     * {@link PathfinderWorkspace#tracePath(int)} yields a contiguous path.
+     */
+    private static void fillPath(PathfinderWorkspace ws, int target) {
+        int node = target;
+        int parent = ws.getParent(node);
+        while (parent != -1) {
+            int x = node / PathfinderWorkspace.SIZE;
+            int y = node % PathfinderWorkspace.SIZE;
+            int dx = Integer.signum(parent / PathfinderWorkspace.SIZE - x);
+            int dy = Integer.signum(parent % PathfinderWorkspace.SIZE - y);
+            int next = ws.getParent(parent);
+
+            int current = node;
+            while (current != parent) {
+                x += dx;
+                y += dy;
+                int step = PathfinderWorkspace.index(x, y);
+                ws.link(current, step);
+                current = step;
+            }
+
+            node = parent;
+            parent = next;
+        }
+    }
+
+    private static int distance(int x1, int y1, int x2, int y2) {
+        return Math.max(Math.abs(x1 - x2), Math.abs(y1 - y2));
+    }
+
+    /**
+     * Orders nodes by f, then by larger g so the search runs deep along ties instead of widening.
+     */
+    private static int score(int g, int h) {
+        return (g + h) << G_BITS | ((1 << G_BITS) - 1 - g);
+    }
+
+    private static boolean inBounds(int[][] flags, int x, int y) {
+        return x >= 0 && y >= 0 && x < flags.length && x < PathfinderWorkspace.SIZE
+                && y < flags[x].length && y < PathfinderWorkspace.SIZE;
+    }
+}
@@ -1,6 +1,7 @@
 package com.kraken.api.service.pathfinding;
 
 import com.kraken.api.Context;
+import com.kraken.api.service.map.WorldPointService;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.*;
 import net.runelite.api.Point;
@@ -46,6 +47,12 @@ public class LocalPathfinder {
     @Inject
     private Client client;
 
+    @Inject
+    private CollisionSnapshotService snapshots;
+
+    @Inject
+    private PathCache pathCache;
+
     /**
      * Finds a sparse path between a starting point and a target point by filtering
      * out unnecessary intermediate points from a previously computed dense path.
@@ -192,6 +199,9 @@ public class LocalPathfinder {
      * to the target using the {@code findScenePath} method. If the target is outside the scene,
      * it finds the nearest edge point to the target and calculates a path to that point.</p>
      *
+     * <p>Paths are served from the {@link PathCache} while the collision data around them is
+     * unchanged, so repeatedly pathing between the same tiles only searches once.</p>
+     *
      * @param start {@literal @}WorldPoint representing the starting location of the path.
      * @param target {@literal @}WorldPoint representing the destination point of the path.
      * @return A {@literal @}List of {@literal @}WorldPoint objects representing the calculated path
@@ -199,204 +209,363 @@ public class LocalPathfinder {
      *         an empty list is returned.
      */
     public List<WorldPoint> findPath(WorldPoint start, WorldPoint target) {
-        return ctx.runOnClientThread(() -> {
-            List<WorldPoint> waypoints = findWaypointsTo(start, target);
-            if (waypoints == null || waypoints.isEmpty()) {
-                return null;
-            }
-
-            if (!waypoints.get(waypoints.size() - 1).equals(target)) {
-                return null;
-            }
-
-            waypoints.add(0, start);
-            List<WorldPoint> fullPath = new ArrayList<>();
-            for(int i = 0; i < waypoints.size() - 1; i++) {
-                WorldPoint s = waypoints.get(i);
-                WorldPoint end = waypoints.get(i + 1);
-                int dx = Integer.signum(end.getX() - s.getX());
-                int dy = Integer.signum(end.getY() - s.getY());
-                WorldPoint current = s;
-                if (i == 0) {
-                    fullPath.add(current);
-                }
+        int[] packed = findCachedPath(start, target);
+        if (packed == null) {
+            return null;
+        }
 
-                while (!current.equals(end)) {
-                    current = current.dx(dx).dy(dy);
-                    fullPath.add(current);
-                }
-            }
-            return fullPath;
-        });
+        List<WorldPoint> path = new ArrayList<>(packed.length);
+        for (int point : packed) {
+            path.add(WorldPointService.unpack(point));
+        }
+        return path;
     }
 
     /**
-     * Attempts to find a path to the target. If the target is unreachable, it attempts to find
-     * a path to a tile closer to the start point by "backing off" from the target in an
-     * exponential/incremental fashion.
+     * Finds the same path as {@link #findPath(WorldPoint, WorldPoint)} as a {@link PackedPath}. The path is a view of
+     * the cached result, so no tile is copied or unpacked.
      *
-     * <p>The backoff strategy works by calculating points along the line between the target
-     * and the start. It steps back by 1 tile, then 3, then 6, then 10, etc., until a
-     * reachable path is found or the search backs up all the way to the start.</p>
+     * @param start The starting point of the path.
+     * @param target The destination of the path.
+     * @return The path including the start and target, or null if the target is unreachable.
+     */
+    public PackedPath findPackedPath(WorldPoint start, WorldPoint target) {
+        int[] packed = findCachedPath(start, target);
+        return packed == null ? null : PackedPath.of(packed);
+    }
+
+    /**
+     * Finds the same path as {@link #findPath(WorldPoint, WorldPoint)} without allocating: the path is written to
+     * {@code out} as coordinates packed with {@link WorldPointService#pack(int, int, int)}, start first. Scripts which
+     * path several times per tick should prefer this method and only unpack the points they need.
      *
-     * @param start  The starting WorldPoint.
-     * @param target The desired target WorldPoint.
-     * @return A List of WorldPoints representing the path to the target or the best approximate
-     * location found. Returns an empty list if no path can be found.
+     * @param start The starting point of the path.
+     * @param target The destination of the path.
+     * @param out The array to write the packed path into. A scene path is at most {@link PathfinderWorkspace#CAPACITY}
+     *            tiles long.
+     * @return The number of tiles written, or -1 if the target is unreachable or the path does not fit in {@code out}.
      */
-    public List<WorldPoint> findPathWithBackoff(WorldPoint start, WorldPoint target) {
-        List<WorldPoint> path = findPath(start, target);
-        if (path != null && !path.isEmpty()) {
-            return path;
+    public int findPathPacked(WorldPoint start, WorldPoint target, int[] out) {
+        int[] packed = findCachedPath(start, target);
+        if (packed == null || packed.length > out.length) {
+            return -1;
         }
 
-        // Calculate the straight-line distance to determine our bounds
-        int totalDistance = start.distanceTo(target);
+        System.arraycopy(packed, 0, out, 0, packed.length);
+        return packed.length;
+    }
 
-        if (totalDistance <= 1) {
-            return Collections.emptyList();
+    /**
+     * Finds a path with {@link JumpPointSearch} instead of a breadth first search. The path has exactly the same
+     * length as {@link #findPath(WorldPoint, WorldPoint)} but in large open scenes (the Wilderness, deserts, islands)
+     * the search expands a small fraction of the tiles. The path may take a different, equally short, shape and is
+     * not cached.
+     *
+     * @param start The starting point of the path.
+     * @param target The destination of the path.
+     * @return The path including the start and target, or null if the target is unreachable.
+     */
+    public List<WorldPoint> findPathJps(WorldPoint start, WorldPoint target) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null || start.getPlane() != target.getPlane() ? null : snapshot.getFlags(start.getPlane());
+        if (flags == null) {
+            return null;
         }
 
-        int currentBackoff = 0;
-        int step = 1;
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (!JumpPointSearch.findPath(flags, snapshot.toSceneX(start.getX()), snapshot.toSceneY(start.getY()),
+                snapshot.toSceneX(target.getX()), snapshot.toSceneY(target.getY()), ws)) {
+            return null;
+        }
+        return toPath(snapshot, ws, start.getPlane());
+    }
 
-        double dx = target.getX() - start.getX();
-        double dy = target.getY() - start.getY();
+    /**
+     * Returns the packed path between two points from the {@link PathCache}, searching the current collision
+     * snapshot and caching the result on a miss. The returned array is shared and must not be modified.
+     */
+    private int[] findCachedPath(WorldPoint start, WorldPoint target) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
 
-        // We continue as long as we haven't backed off past the start point
-        while (currentBackoff < totalDistance) {
-            // Increase backoff distance by the current step (1, then 2, then 3...)
-            // This creates the sequence: 1, 3, 6, 10, 15...
-            currentBackoff += step;
-            step++;
+        int startPacked = WorldPointService.pack(start);
+        int targetPacked = WorldPointService.pack(target);
+        int[] cached = pathCache.get(snapshot, startPacked, targetPacked);
+        if (cached != null) {
+            return cached;
+        }
 
-            if (currentBackoff >= totalDistance) {
-                break; // We have backed off all the way to (or past) the start
-            }
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (!search(snapshot, start, target, ws)) {
+            return null;
+        }
 
-            // Calculate the percentage of the distance we want to travel (from start)
-            // If backoff is 1, and total is 10, we want to go 90% of the way (0.9)
-            double ratio = (double) (totalDistance - currentBackoff) / totalDistance;
+        int[] path = new int[ws.getPathLength()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = WorldPointService.pack(snapshot.getBaseX() + ws.getPathX(i), snapshot.getBaseY() + ws.getPathY(i), start.getPlane());
+        }
+        pathCache.put(snapshot, startPacked, targetPacked, path);
+        return path;
+    }
 
-            // Linear Interpolation (Lerp) to find the new candidate coordinates
-            int newX = (int) Math.round(start.getX() + (dx * ratio));
-            int newY = (int) Math.round(start.getY() + (dy * ratio));
+    /**
+     * Finds the closest reachable tile among several candidates, e.g. every bank booth or rock in the scene, with a
+     * single breadth first search instead of one search per candidate. Candidates on a different plane to the start
+     * or outside the loaded scene are ignored.
+     *
+     * @param start The starting point.
+     * @param targets The candidate tiles.
+     * @return The closest reachable candidate with its path and distance, or null if no candidate is reachable.
+     */
+    public NearestPath findNearest(WorldPoint start, Collection<WorldPoint> targets) {
+        if (start == null || targets == null || targets.isEmpty()) {
+            return null;
+        }
 
-            WorldPoint candidate = new WorldPoint(newX, newY, target.getPlane());
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null ? null : snapshot.getFlags(start.getPlane());
+        if (flags == null) {
+            return null;
+        }
 
-            // Check if this new candidate point is reachable
-            path = findPath(start, candidate);
-            if (path != null && !path.isEmpty()) {
-                log.info("Found backoff path to {} (Original target: {}, Backoff tiles: {})",
-                        candidate, target, currentBackoff);
-                return path;
+        int[] goals = new int[targets.size()];
+        int count = 0;
+        for (WorldPoint target : targets) {
+            if (target == null || target.getPlane() != start.getPlane()) {
+                continue;
+            }
+
+            int x = snapshot.toSceneX(target.getX());
+            int y = snapshot.toSceneY(target.getY());
+            if (x >= 0 && y >= 0 && x < PathfinderWorkspace.SIZE && y < PathfinderWorkspace.SIZE) {
+                goals[count++] = PathfinderWorkspace.index(x, y);
             }
         }
 
-        // No path found even after full backoff
-        return Collections.emptyList();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        int winner = PathSearch.findNearest(flags, snapshot.toSceneX(start.getX()), snapshot.toSceneY(start.getY()), goals, count, ws);
+        if (winner == -1) {
+            return null;
+        }
+
+        List<WorldPoint> path = toPath(snapshot, ws, start.getPlane());
+        WorldPoint end = path.get(path.size() - 1);
+        WorldPoint target = targets.stream().filter(end::equals).findFirst().orElse(end);
+        return new NearestPath(target, path, ws.getDistance(winner));
     }
 
     /**
-     * Attempts to find a path to a reachable tile within a specified radius of the target.
-     * If no reachable tiles are found near the target, it linearly "backs off" from the
-     * target towards the start point and searches for reachable tiles near those intermediate points.
-     *
-     * <p>This strategy is useful for getting as close as possible to a destination that might
-     * be completely unreachable (e.g., inside a wall or on an island), by finding the closest
-     * valid cluster of tiles along the path.</p>
+     * Finds the shortest path for an entity of NxN tiles, such as a large NPC, using the client's collision rules for
+     * large NPCs. Positions are the entity's south west tile, which is what {@code NPC#getWorldLocation()} returns.
      *
-     * @param start  The starting WorldPoint.
-     * @param target The target WorldPoint.
-     * @param radius The radius (Chebyshev distance) to search for reachable tiles around the target/backoff points.
-     * @return A list of WorldPoints representing the path to the best found location, or an empty list if none found.
+     * @param start The entity's south west tile.
+     * @param target The south west tile to move the entity to.
+     * @param size The entity's size in tiles, e.g. {@code NPCComposition#getSize()}.
+     * @return The path of south west tiles including the start and target, or null if the target is unreachable.
      */
-    public List<WorldPoint> findApproximatePathWithBackoff(WorldPoint start, WorldPoint target, int radius) {
-        List<WorldPoint> reachable = reachableTiles(start);
+    public List<WorldPoint> findPath(WorldPoint start, WorldPoint target, int size) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null || start.getPlane() != target.getPlane() ? null : snapshot.getFlags(start.getPlane());
+        if (flags == null) {
+            return null;
+        }
 
-        if (reachable == null || reachable.isEmpty()) {
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (!PathSearch.findPath(flags, snapshot.toSceneX(start.getX()), snapshot.toSceneY(start.getY()), size,
+                snapshot.toSceneX(target.getX()), snapshot.toSceneY(target.getY()), ws)) {
+            return null;
+        }
+        return toPath(snapshot, ws, start.getPlane());
+    }
+
+    /**
+     * Returns every position an entity of NxN tiles could stand on and attack a tile from, computed in a single
+     * pass with {@link AttackField}.
+     *
+     * @param target The tile being attacked, usually the player's.
+     * @param size The attacker's size in tiles.
+     * @param range The attacker's attack range in tiles, 1 for melee.
+     * @return The attacker's south west tiles it can attack the target from, or an empty list if the target is
+     * outside the scene.
+     */
+    public List<WorldPoint> getAttackPositions(WorldPoint target, int size, int range) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null ? null : snapshot.getFlags(target.getPlane());
+        if (flags == null) {
             return Collections.emptyList();
         }
 
-        // 2. Try the original target location first
-        List<WorldPoint> candidates = getCandidatesInRadius(reachable, target, radius);
-        if (!candidates.isEmpty()) {
-            WorldPoint destination = candidates.get(new Random().nextInt(candidates.size()));
-            return findPath(start, destination);
+        int[] positions = new int[AttackField.capacity(size, range)];
+        int count = AttackField.compute(flags, snapshot.toSceneX(target.getX()), snapshot.toSceneY(target.getY()), size, range, positions);
+        List<WorldPoint> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(new WorldPoint(snapshot.getBaseX() + positions[i] / PathfinderWorkspace.SIZE,
+                    snapshot.getBaseY() + positions[i] % PathfinderWorkspace.SIZE, target.getPlane()));
         }
+        return result;
+    }
 
-        // Begin Backoff Strategy
-        int totalDistance = start.distanceTo(target);
+    /**
+     * Finds the shortest path for an entity of NxN tiles to the closest position it can attack a tile from. This is
+     * one attack field and one search rather than a search per position.
+     *
+     * @param attacker The attacker's south west tile, e.g. a boss's {@code NPC#getWorldLocation()}.
+     * @param size The attacker's size in tiles.
+     * @param range The attacker's attack range in tiles, 1 for melee.
+     * @param target The tile being attacked, usually the player's.
+     * @return The attacker's path of south west tiles, which is just its location if it can already attack the
+     * target, or null if it cannot reach any position to attack from.
+     */
+    public List<WorldPoint> findAttackPath(WorldPoint attacker, int size, int range, WorldPoint target) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null || attacker.getPlane() != target.getPlane() ? null : snapshot.getFlags(target.getPlane());
+        if (flags == null) {
+            return null;
+        }
 
-        if (totalDistance <= 1) {
-            return Collections.emptyList();
+        int[] positions = new int[AttackField.capacity(size, range)];
+        int count = AttackField.compute(flags, snapshot.toSceneX(target.getX()), snapshot.toSceneY(target.getY()), size, range, positions);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (PathSearch.findNearest(flags, snapshot.toSceneX(attacker.getX()), snapshot.toSceneY(attacker.getY()), size, positions, count, ws) == -1) {
+            return null;
         }
+        return toPath(snapshot, ws, target.getPlane());
+    }
 
-        int currentBackoff = 0;
-        int step = 1;
+    /**
+     * Checks whether a tile is safe from an attacker of NxN tiles: the attacker cannot reach any position it could
+     * attack the tile from. The attacker is assumed to take the shortest path, so a tile reported safe is safe from
+     * the game's simpler NPC movement too, while tiles which are only safe because an NPC gets stuck walking straight
+     * at the player are not reported.
+     *
+     * @param tile The tile to check, usually one the player could stand on.
+     * @param attacker The attacker's south west tile.
+     * @param size The attacker's size in tiles.
+     * @param range The attacker's attack range in tiles, 1 for melee.
+     * @return True if the attacker cannot attack the tile from anywhere it can reach, false if it can or the tile is
+     * outside the loaded scene.
+     */
+    public boolean isSafespot(WorldPoint tile, WorldPoint attacker, int size, int range) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        if (snapshot == null || snapshot.getFlags(tile.getPlane()) == null || !snapshot.contains(tile.getX(), tile.getY())) {
+            return false;
+        }
+        return findAttackPath(attacker, size, range, tile) == null;
+    }
 
-        double dx = target.getX() - start.getX();
-        double dy = target.getY() - start.getY();
+    /**
+     * Runs a breadth first search between two points in a collision snapshot on the calling thread.
+     */
+    private boolean search(CollisionSnapshot snapshot, WorldPoint start, WorldPoint target, PathfinderWorkspace ws) {
+        if (snapshot == null || start.getPlane() != target.getPlane()) {
+            return false;
+        }
 
-        while (currentBackoff < totalDistance) {
-            // Increase backoff distance exponentially/incrementally (1, 3, 6, 10...)
-            currentBackoff += step;
-            step++;
+        int[][] flags = snapshot.getFlags(start.getPlane());
+        if (flags == null) {
+            return false;
+        }
 
-            if (currentBackoff >= totalDistance) {
-                break;
-            }
+        return PathSearch.findPath(flags, snapshot.toSceneX(start.getX()), snapshot.toSceneY(start.getY()),
+                snapshot.toSceneX(target.getX()), snapshot.toSceneY(target.getY()), ws);
+    }
 
-            // Calculate the specific point along the line to check next
-            double ratio = (double) (totalDistance - currentBackoff) / totalDistance;
-            int newX = (int) Math.round(start.getX() + (dx * ratio));
-            int newY = (int) Math.round(start.getY() + (dy * ratio));
+    /**
+     * Finds a path to the target or, if the target is unreachable (e.g. inside a fenced pen, an object's footprint or
+     * outside the scene), to the reachable tile closest to it by euclidean distance. This is a single breadth first
+     * search, see {@link PathSearch#findClosest}, and the result is deterministic: ties go to the tile with the
+     * shorter path.
+     *
+     * @param start  The starting WorldPoint.
+     * @param target The desired target WorldPoint.
+     * @return A List of WorldPoints representing the path to the target or the closest reachable tile. Returns an
+     * empty list if the points are on different planes or the start is outside the scene.
+     */
+    public List<WorldPoint> findClosestPath(WorldPoint start, WorldPoint target) {
+        if (start.getPlane() != target.getPlane()) {
+            return Collections.emptyList();
+        }
 
-            WorldPoint backoffPoint = new WorldPoint(newX, newY, target.getPlane());
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null ? null : snapshot.getFlags(start.getPlane());
+        if (flags == null) {
+            return Collections.emptyList();
+        }
 
-            // Check if there are any reachable tiles within the radius of this backoff point
-            candidates = getCandidatesInRadius(reachable, backoffPoint, radius);
-            if (!candidates.isEmpty()) {
-                log.debug("Found approximate backoff path near {} (Original: {}, Backoff: {})",
-                        backoffPoint, target, currentBackoff);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        int end = PathSearch.findClosest(flags, snapshot.toSceneX(start.getX()), snapshot.toSceneY(start.getY()),
+                snapshot.toSceneX(target.getX()), snapshot.toSceneY(target.getY()), ws);
+        return end == -1 ? Collections.emptyList() : toPath(snapshot, ws, start.getPlane());
+    }
 
-                // Select a random reachable tile from the candidates found
-                WorldPoint destination = candidates.get(new Random().nextInt(candidates.size()));
-                return findPath(start, destination);
-            }
+    /**
+     * Attempts to find a path to the target. If the target is unreachable, the path leads to the reachable tile
+     * closest to the target instead.
+     *
+     * <p>This used to retry full path finds at points backed off along the line to the start. It now runs a single
+     * search with {@link #findClosestPath(WorldPoint, WorldPoint)}, which always finds a tile at least as close to the
+     * target as the backoff did.</p>
+     *
+     * @param start  The starting WorldPoint.
+     * @param target The desired target WorldPoint.
+     * @return A List of WorldPoints representing the path to the target or the best approximate
+     * location found. Returns an empty list if no path can be found.
+     */
+    public List<WorldPoint> findPathWithBackoff(WorldPoint start, WorldPoint target) {
+        List<WorldPoint> path = findClosestPath(start, target);
+        if (path.size() > 1 && !path.get(path.size() - 1).equals(target)) {
+            log.debug("Found closest path to {} (Original target: {})", path.get(path.size() - 1), target);
         }
-
-        return Collections.emptyList();
+        return path;
     }
 
     /**
-     * Helper method to filter a list of reachable points to only those within a
-     * specified square radius (Chebyshev distance) of a center point.
+     * Attempts to find a path to a reachable tile within a specified radius of the target.
+     * If no reachable tiles are found near the target, the path leads to the reachable tile
+     * closest to the target instead.
+     *
+     * <p>This strategy is useful for getting as close as possible to a destination that might
+     * be completely unreachable (e.g., inside a wall or on an island). Both cases are answered
+     * from a single flood of the scene.</p>
      *
-     * @param reachable The list of all reachable WorldPoints.
-     * @param center    The center point to search around.
-     * @param radius    The radius distance.
-     * @return A list of WorldPoints that are within the radius of the center.
+     * @param start  The starting WorldPoint.
+     * @param target The target WorldPoint.
+     * @param radius The radius (Chebyshev distance) to search for reachable tiles around the target.
+     * @return A list of WorldPoints representing the path to the best found location, or an empty list if none found.
      */
-    private List<WorldPoint> getCandidatesInRadius(List<WorldPoint> reachable, WorldPoint center, int radius) {
-        List<WorldPoint> candidates = new ArrayList<>();
-        int cX = center.getX();
-        int cY = center.getY();
-        int plane = center.getPlane();
-
-        for (WorldPoint p : reachable) {
-            if (p.getPlane() != plane) {
-                continue;
-            }
+    public List<WorldPoint> findApproximatePathWithBackoff(WorldPoint start, WorldPoint target, int radius) {
+        if (start.getPlane() != target.getPlane()) {
+            return Collections.emptyList();
+        }
 
-            int dx = Math.abs(p.getX() - cX);
-            int dy = Math.abs(p.getY() - cY);
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (flood(snapshot, start, ws) == 0) {
+            return Collections.emptyList();
+        }
 
-            if (dx <= radius && dy <= radius) {
-                candidates.add(p);
+        int targetX = snapshot.toSceneX(target.getX());
+        int targetY = snapshot.toSceneY(target.getY());
+        int end = pickRandom(ws, (x, y) -> Math.abs(x - targetX) <= radius && Math.abs(y - targetY) <= radius);
+        if (end == -1) {
+            // Nothing reachable near the target, settle for the reachable tile closest to it
+            long bestDistance = Long.MAX_VALUE;
+            for (int i = 0; i < ws.getVisitedCount(); i++) {
+                int index = ws.getVisited(i);
+                long dx = index / PathfinderWorkspace.SIZE - targetX;
+                long dy = index % PathfinderWorkspace.SIZE - targetY;
+                if (dx * dx + dy * dy < bestDistance) {
+                    bestDistance = dx * dx + dy * dy;
+                    end = index;
+                }
             }
+            log.debug("No reachable tile within {} of {}, using closest tile", radius, target);
         }
-        return candidates;
+
+        ws.tracePath(end);
+        return toPath(snapshot, ws, start.getPlane());
     }
 
     /**
@@ -415,10 +584,9 @@ public class LocalPathfinder {
      * Finds an approximate path to a random reachable tile within a specified radius
      * around the target location.
      *
-     * <p>This method first calculates all reachable tiles from the start point using BFS.
-     * It then filters these tiles to find ones that lie within the specified square radius
-     * (Chebyshev distance) of the target point. Finally, it selects one of these candidates
-     * at random and computes a path to it.</p>
+     * <p>This method floods the scene from the start point once, keeping the shortest path to
+     * every reachable tile. It then selects one of the reachable tiles within the specified
+     * square radius (Chebyshev distance) of the target point at random and returns its path.</p>
      *
      * @param start The starting WorldPoint.
      * @param target The target WorldPoint.
@@ -426,36 +594,25 @@ public class LocalPathfinder {
      * @return A list of WorldPoints representing the path to the approximate target.
      */
     public List<WorldPoint> findApproximatePath(WorldPoint start, WorldPoint target, int radius) {
-        List<WorldPoint> reachable = reachableTiles(start);
-
-        if (reachable == null || reachable.isEmpty()) {
+        if (start.getPlane() != target.getPlane()) {
             return Collections.emptyList();
         }
 
-        List<WorldPoint> candidates = new ArrayList<>();
-        int tX = target.getX();
-        int tY = target.getY();
-        int plane = target.getPlane();
-
-        for (WorldPoint p : reachable) {
-            if (p.getPlane() != plane) {
-                continue;
-            }
-
-            int dx = Math.abs(p.getX() - tX);
-            int dy = Math.abs(p.getY() - tY);
-
-            if (dx <= radius && dy <= radius) {
-                candidates.add(p);
-            }
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (flood(snapshot, start, ws) == 0) {
+            return Collections.emptyList();
         }
 
-        if (candidates.isEmpty()) {
+        int targetX = snapshot.toSceneX(target.getX());
+        int targetY = snapshot.toSceneY(target.getY());
+        int end = pickRandom(ws, (x, y) -> Math.abs(x - targetX) <= radius && Math.abs(y - targetY) <= radius);
+        if (end == -1) {
             return Collections.emptyList();
         }
 
-        WorldPoint destination = candidates.get(new Random().nextInt(candidates.size()));
-        return findPath(start, destination);
+        ws.tracePath(end);
+        return toPath(snapshot, ws, start.getPlane());
     }
 
     /**
@@ -466,26 +623,63 @@ public class LocalPathfinder {
      * @return A list of WorldPoints representing the path to a random point within the area.
      */
     public List<WorldPoint> findApproximatePath(WorldPoint start, WorldArea area) {
-        List<WorldPoint> reachable = reachableTiles(start);
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        if (flood(snapshot, start, ws) == 0) {
+            return Collections.emptyList();
+        }
 
-        if (reachable == null || reachable.isEmpty()) {
+        int end = pickRandom(ws, (x, y) -> area.contains(new WorldPoint(snapshot.getBaseX() + x, snapshot.getBaseY() + y, start.getPlane())));
+        if (end == -1) {
             return Collections.emptyList();
         }
 
-        List<WorldPoint> candidates = new ArrayList<>();
+        ws.tracePath(end);
+        return toPath(snapshot, ws, start.getPlane());
+    }
 
-        for (WorldPoint p : reachable) {
-            if (area.contains(p)) {
-                candidates.add(p);
+    /**
+     * Floods the scene from a start point, keeping the shortest path to every reachable tile in the workspace.
+     * @return The number of reachable tiles, 0 if the start is outside the scene
+     */
+    private int flood(CollisionSnapshot snapshot, WorldPoint start, PathfinderWorkspace ws) {
+        int[][] flags = snapshot == null ? null : snapshot.getFlags(start.getPlane());
+        if (flags == null) {
+            return 0;
+        }
+        return PathSearch.floodPaths(flags, snapshot.toSceneX(start.getX()), snapshot.toSceneY(start.getY()), ws);
+    }
+
+    /**
+     * Picks a random tile visited by the last flood whose scene coordinates match a filter.
+     * @return The tile's workspace index, or -1 if no visited tile matches
+     */
+    private static int pickRandom(PathfinderWorkspace ws, SceneFilter filter) {
+        int[] candidates = new int[ws.getVisitedCount()];
+        int count = 0;
+        for (int i = 0; i < ws.getVisitedCount(); i++) {
+            int index = ws.getVisited(i);
+            if (filter.test(index / PathfinderWorkspace.SIZE, index % PathfinderWorkspace.SIZE)) {
+                candidates[count++] = index;
             }
         }
+        return count == 0 ? -1 : candidates[ThreadLocalRandom.current().nextInt(count)];
+    }
 
-        if (candidates.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Converts the workspace's current path to world points.
+     */
+    private static List<WorldPoint> toPath(CollisionSnapshot snapshot, PathfinderWorkspace ws, int plane) {
+        List<WorldPoint> path = new ArrayList<>(ws.getPathLength());
+        for (int i = 0; i < ws.getPathLength(); i++) {
+            path.add(new WorldPoint(snapshot.getBaseX() + ws.getPathX(i), snapshot.getBaseY() + ws.getPathY(i), plane));
         }
+        return path;
+    }
 
-        WorldPoint destination = candidates.get(new Random().nextInt(candidates.size()));
-        return findPath(start, destination);
+    @FunctionalInterface
+    private interface SceneFilter {
+        boolean test(int sceneX, int sceneY);
     }
 
     /**
@@ -496,149 +690,45 @@ public class LocalPathfinder {
      * @return A list of WorldPoint objects representing all reachable tiles from the origin.
      */
     public List<WorldPoint> reachableTiles(WorldPoint origin) {
-        return ctx.runOnClientThread(() -> {
-            Client client = ctx.getClient();
-            boolean[][] visited = new boolean[104][104];
-            CollisionData[] collisionData = client.getTopLevelWorldView().getCollisionMaps();
-            if (collisionData == null) {
-                return new ArrayList<>();
-            }
-            WorldView worldView = client.getTopLevelWorldView();
-            int[][] flags = collisionData[worldView.getPlane()].getFlags();
-            int firstPoint = (origin.getX()-worldView.getBaseX() << 16) | origin.getY()-worldView.getBaseY();
-            ArrayDeque<Integer> queue = new ArrayDeque<>();
-            queue.add(firstPoint);
-            while (!queue.isEmpty()) {
-                int point = queue.poll();
-                short x =(short)(point >> 16);
-                short y = (short)point;
-                if (y < 0 || x < 0 || y > 104 || x > 104) {
-                    continue;
-                }
-                if ((flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) == 0 && (flags[x][y - 1] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0 && !visited[x][y - 1]) {
-                    queue.add((x << 16) | (y - 1));
-                    visited[x][y - 1] = true;
-                }
-                if ((flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) == 0 && (flags[x][y + 1] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0 && !visited[x][y + 1]) {
-                    queue.add((x << 16) | (y + 1));
-                    visited[x][y + 1] = true;
-                }
-                if ((flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_WEST) == 0 && (flags[x - 1][y] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0 && !visited[x - 1][y]) {
-                    queue.add(((x - 1) << 16) | y);
-                    visited[x - 1][y] = true;
-                }
-                if ((flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_EAST) == 0 && (flags[x + 1][y] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) == 0 && !visited[x + 1][y]) {
-                    queue.add(((x + 1) << 16) | y);
-                    visited[x + 1][y] = true;
-                }
-            }
-            int baseX = worldView.getBaseX();
-            int baseY = worldView.getBaseY();
-            int plane = worldView.getPlane();
-            List<WorldPoint> finalPoints = new ArrayList<>();
-            for (int x = 0; x < 104; ++x) {
-                for (int y = 0; y < 104; ++y) {
-                    if (visited[x][y]) {
-                        finalPoints.add(new WorldPoint(baseX + x, baseY + y, plane));
-                    }
-                }
-            }
-            return finalPoints;
-        });
-    }
-    
-    public WorldPoint findEdgeOfScene(WorldPoint target) {
-        return ctx.runOnClientThread(() -> {
-            WorldView wv = client.getTopLevelWorldView();
-            WorldPoint base = new WorldPoint(wv.getBaseX(), wv.getBaseY(), wv.getPlane());
-            
-            int sceneMinX = base.getX();
-            int sceneMinY = base.getY();
-            int sceneMaxX = sceneMinX + SCENE_SIZE - 1;
-            int sceneMaxY = sceneMinY + SCENE_SIZE - 1;
-
-            int targetX = target.getX();
-            int targetY = target.getY();
-
-            int clampedX = Math.max(sceneMinX, Math.min(targetX, sceneMaxX));
-            int clampedY = Math.max(sceneMinY, Math.min(targetY, sceneMaxY));
-
-            return new WorldPoint(clampedX, clampedY, wv.getPlane());
-        });
-    }
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        if (snapshot == null || snapshot.getFlags(snapshot.getPlane()) == null) {
+            return new ArrayList<>();
+        }
 
-    /**
-     * Finds the waypoints between two {@literal @}WorldPoint locations on the same plane.
-     * The method calculates the intermediate checkpoint waypoints required to navigate
-     * from the starting point to the destination point.
-     * <p>
-     * It performs computations by translating the world points into
-     * local points within the scene and traversing the path using available
-     * tiles.
-     * </p>
-     *
-     * Credit to Vitalite and TonicBox for this methods implementation. It was taken from their scene API:
-     * <a href="https://github.com/Tonic-Box/VitaLite/blob/main/api/src/main/java/com/tonic/api/game/SceneAPI.java">Link</a>
-     *
-     * @param from the starting {@literal @}WorldPoint.
-     *             Must not be {@literal null}. The {@literal @}WorldPoint
-     *             must exist on the same plane as the {@code to} point.
-     * @param to   the destination {@literal @}WorldPoint.
-     *             Must not be {@literal null}. The {@literal @}WorldPoint
-     *             must exist on the same plane as the {@code from} point.
-     *
-     * @return a {@literal @}List of {@literal @}WorldPoint objects
-     *         representing checkpoint waypoints to navigate from {@code from}
-     *         to {@code to}. If a direct path cannot be calculated, the list
-     *         may be empty. Returns {@literal null} if the points
-     *         are on different planes or if any required data is unavailable.
-     */
-    private List<WorldPoint> findWaypointsTo(WorldPoint from, WorldPoint to) {
-        return ctx.runOnClientThread(() -> {
-            if (from.getPlane() != to.getPlane()) {
-                return null;
-            }
+        int baseX = snapshot.getBaseX();
+        int baseY = snapshot.getBaseY();
+        int plane = snapshot.getPlane();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        int count = PathSearch.flood(snapshot.getFlags(plane), origin.getX() - baseX, origin.getY() - baseY, ws);
 
-            Client client = ctx.getClient();
-            WorldView worldView = client.getTopLevelWorldView();
-            int x = from.getX();
-            int y = from.getY();
-            int plane = from.getPlane();
+        List<WorldPoint> finalPoints = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = ws.getVisited(i);
+            finalPoints.add(new WorldPoint(baseX + index / PathfinderWorkspace.SIZE, baseY + index % PathfinderWorkspace.SIZE, plane));
+        }
+        return finalPoints;
+    }
 
-            LocalPoint sourceLp = LocalPoint.fromWorld(worldView, x, y);
-            LocalPoint targetLp = LocalPoint.fromWorld(worldView, to.getX(), to.getY());
-            if (sourceLp == null || targetLp == null) {
-                return null;
-            }
+    public WorldPoint findEdgeOfScene(WorldPoint target) {
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        if (snapshot == null) {
+            return null;
+        }
 
-            int thisX = sourceLp.getSceneX();
-            int thisY = sourceLp.getSceneY();
-            int otherX = targetLp.getSceneX();
-            int otherY = targetLp.getSceneY();
+        int sceneMinX = snapshot.getBaseX();
+        int sceneMinY = snapshot.getBaseY();
+        int sceneMaxX = sceneMinX + SCENE_SIZE - 1;
+        int sceneMaxY = sceneMinY + SCENE_SIZE - 1;
 
-            Tile[][][] tiles = worldView.getScene().getTiles();
-            Tile sourceTile = tiles[plane][thisX][thisY];
-            Tile targetTile = tiles[plane][otherX][otherY];
+        int targetX = target.getX();
+        int targetY = target.getY();
 
-            if(sourceTile == null || targetTile == null)
-                return new ArrayList<>();
+        int clampedX = Math.max(sceneMinX, Math.min(targetX, sceneMaxX));
+        int clampedY = Math.max(sceneMinY, Math.min(targetY, sceneMaxY));
 
-            List<Tile> checkpointTiles = findWaypointsTo(sourceTile, targetTile);
-            if (checkpointTiles == null) {
-                return null;
-            }
-            List<WorldPoint> checkpointWPs = new ArrayList<>();
-            for (Tile checkpointTile : checkpointTiles) {
-                if (checkpointTile == null) {
-                    break;
-                }
-                checkpointWPs.add(checkpointTile.getWorldLocation());
-            }
-            return checkpointWPs;
-        });
+        return new WorldPoint(clampedX, clampedY, snapshot.getPlane());
     }
 
-
     /**
      * Finds the waypoints needed to navigate from the starting {@code Tile} to the destination {@code Tile}.
      * This method calculates a path using directional and distance matrices, while considering collision data
@@ -657,222 +747,74 @@ public class LocalPathfinder {
      *         or {@code null} if the path cannot be calculated (e.g., due to inaccessible areas or mismatched planes).
      */
     public List<Tile> findWaypointsTo(Tile from, Tile to) {
-        return ctx.runOnClientThread(() -> {
-            int z = from.getPlane();
-            if (z != to.getPlane()) {
-                return null;
-            }
-
-            Client client = ctx.getClient();
-            WorldView worldView = client.getTopLevelWorldView();
-            CollisionData[] collisionData = worldView.getCollisionMaps();
-            if (collisionData == null) {
-                return null;
-            }
-
-            int[][] directions = new int[128][128];
-            int[][] distances = new int[128][128];
-            int[] bufferX = new int[4096];
-            int[] bufferY = new int[4096];
-
-            // Initialise directions and distances
-            for (int i = 0; i < 128; ++i) {
-                for (int j = 0; j < 128; ++j) {
-                    directions[i][j] = 0;
-                    distances[i][j] = Integer.MAX_VALUE;
-                }
-            }
-
-            Point p1 = from.getSceneLocation();
-            Point p2 = to.getSceneLocation();
-
-            int middleX = p1.getX();
-            int middleY = p1.getY();
-            int currentX = middleX;
-            int currentY = middleY;
-            int offsetX = 64;
-            int offsetY = 64;
-
-            // Initialize directions and distances for the starting tile
-            directions[offsetX][offsetY] = 99;
-            distances[offsetX][offsetY] = 0;
-            int index1 = 0;
-            bufferX[0] = currentX;
-            int index2 = 1;
-            bufferY[0] = currentY;
-            int[][] collisionDataFlags = collisionData[z].getFlags();
-
-            boolean isReachable = false;
-
-            while (index1 != index2) {
-                currentX = bufferX[index1];
-                currentY = bufferY[index1];
-                index1 = index1 + 1 & 4095;
-                // currentX is for the local coordinate while currentMapX is for the index in the directions and distances arrays
-                int currentMapX = currentX - middleX + offsetX;
-                int currentMapY = currentY - middleY + offsetY;
-                if ((currentX == p2.getX()) && (currentY == p2.getY()))
-               {
-                    isReachable = true;
-                    break;
-                }
-
-                int currentDistance = distances[currentMapX][currentMapY] + 1;
-                if (currentMapX > 0 && directions[currentMapX - 1][currentMapY] == 0 && (collisionDataFlags[currentX - 1][currentY] & 19136776) == 0) {
-                    // Able to move 1 tile west
-                    bufferX[index2] = currentX - 1;
-                    bufferY[index2] = currentY;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX - 1][currentMapY] = 2;
-                    distances[currentMapX - 1][currentMapY] = currentDistance;
-                }
-
-                if (currentMapX < 127 && directions[currentMapX + 1][currentMapY] == 0 && (collisionDataFlags[currentX + 1][currentY] & 19136896) == 0) {
-                    // Able to move 1 tile east
-                    bufferX[index2] = currentX + 1;
-                    bufferY[index2] = currentY;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX + 1][currentMapY] = 8;
-                    distances[currentMapX + 1][currentMapY] = currentDistance;
-                }
-
-                if (currentMapY > 0 && directions[currentMapX][currentMapY - 1] == 0 && (collisionDataFlags[currentX][currentY - 1] & 19136770) == 0) {
-                    // Able to move 1 tile south
-                    bufferX[index2] = currentX;
-                    bufferY[index2] = currentY - 1;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX][currentMapY - 1] = 1;
-                    distances[currentMapX][currentMapY - 1] = currentDistance;
-                }
-
-                if (currentMapY < 127 && directions[currentMapX][currentMapY + 1] == 0 && (collisionDataFlags[currentX][currentY + 1] & 19136800) == 0) {
-                    // Able to move 1 tile north
-                    bufferX[index2] = currentX;
-                    bufferY[index2] = currentY + 1;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX][currentMapY + 1] = 4;
-                    distances[currentMapX][currentMapY + 1] = currentDistance;
-                }
-
-                if (currentMapX > 0 && currentMapY > 0 && directions[currentMapX - 1][currentMapY - 1] == 0 && (collisionDataFlags[currentX - 1][currentY - 1] & 19136782) == 0 && (collisionDataFlags[currentX - 1][currentY] & 19136776) == 0 && (collisionDataFlags[currentX][currentY - 1] & 19136770) == 0) {
-                    // Able to move 1 tile south-west
-                    bufferX[index2] = currentX - 1;
-                    bufferY[index2] = currentY - 1;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX - 1][currentMapY - 1] = 3;
-                    distances[currentMapX - 1][currentMapY - 1] = currentDistance;
-                }
-
-                if (currentMapX < 127 && currentMapY > 0 && directions[currentMapX + 1][currentMapY - 1] == 0 && (collisionDataFlags[currentX + 1][currentY - 1] & 19136899) == 0 && (collisionDataFlags[currentX + 1][currentY] & 19136896) == 0 && (collisionDataFlags[currentX][currentY - 1] & 19136770) == 0) {
-                    // Able to move 1 tile north-west
-                    bufferX[index2] = currentX + 1;
-                    bufferY[index2] = currentY - 1;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX + 1][currentMapY - 1] = 9;
-                    distances[currentMapX + 1][currentMapY - 1] = currentDistance;
-                }
-                if (currentMapX > 0 && currentMapY < 127 && directions[currentMapX - 1][currentMapY + 1] == 0 && (collisionDataFlags[currentX - 1][currentY + 1] & 19136824) == 0 && (collisionDataFlags[currentX - 1][currentY] & 19136776) == 0 && (collisionDataFlags[currentX][currentY + 1] & 19136800) == 0) {
-                    // Able to move 1 tile south-east
-                    bufferX[index2] = currentX - 1;
-                    bufferY[index2] = currentY + 1;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX - 1][currentMapY + 1] = 6;
-                    distances[currentMapX - 1][currentMapY + 1] = currentDistance;
-                }
-
-                if (currentMapX < 127 && currentMapY < 127 && directions[currentMapX + 1][currentMapY + 1] == 0 && (collisionDataFlags[currentX + 1][currentY + 1] & 19136992) == 0 && (collisionDataFlags[currentX + 1][currentY] & 19136896) == 0 && (collisionDataFlags[currentX][currentY + 1] & 19136800) == 0) {
-                    // Able to move 1 tile north-east
-                    bufferX[index2] = currentX + 1;
-                    bufferY[index2] = currentY + 1;
-                    index2 = index2 + 1 & 4095;
-                    directions[currentMapX + 1][currentMapY + 1] = 12;
-                    distances[currentMapX + 1][currentMapY + 1] = currentDistance;
-                }
-            }
+        int z = from.getPlane();
+        if (z != to.getPlane()) {
+            return null;
+        }
+
+        CollisionSnapshot snapshot = snapshots.getSnapshot();
+        int[][] flags = snapshot == null ? null : snapshot.getFlags(z);
+        if (flags == null) {
+            return null;
+        }
+
+        Point p1 = from.getSceneLocation();
+        Point p2 = to.getSceneLocation();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        if (!PathSearch.findPath(flags, p1.getX(), p1.getY(), p2.getX(), p2.getY(), ws)) {
+            // Try find a different reachable tile in the 21x21 area around the target tile, as close as possible to the target tile
+            int upperboundDistance = Integer.MAX_VALUE;
+            int pathLength = Integer.MAX_VALUE;
+            int best = -1;
+            int checkRange = 10;
+            int approxDestinationX = p2.getX();
+            int approxDestinationY = p2.getY();
+            for (int i = approxDestinationX - checkRange; i <= checkRange + approxDestinationX; ++i) {
+                for (int j = approxDestinationY - checkRange; j <= checkRange + approxDestinationY; ++j) {
+                    if (i < 0 || j < 0 || i >= PathfinderWorkspace.SIZE || j >= PathfinderWorkspace.SIZE) {
+                        continue;
+                    }
 
-            if (!isReachable) {
-                // Try find a different reachable tile in the 21x21 area around the target tile, as close as possible to the target tile
-                int upperboundDistance = Integer.MAX_VALUE;
-                int pathLength = Integer.MAX_VALUE;
-                int checkRange = 10;
-                int approxDestinationX = p2.getX();
-                int approxDestinationY = p2.getY();
-                for (int i = approxDestinationX - checkRange; i <= checkRange + approxDestinationX; ++i) {
-                    for (int j = approxDestinationY - checkRange; j <= checkRange + approxDestinationY; ++j) {
-                        int currentMapX = i - middleX + offsetX;
-                        int currentMapY = j - middleY + offsetY;
-                        if (currentMapX >= 0 && currentMapY >= 0 && currentMapX < 128 && currentMapY < 128 && distances[currentMapX][currentMapY] < 100) {
-                            int deltaX = 0;
-                            if (i < approxDestinationX) {
-                                deltaX = approxDestinationX - i;
-                            } else if (i > approxDestinationX) {
-                                deltaX = i - (approxDestinationX);
-                            }
-
-                            int deltaY = 0;
-                            if (j < approxDestinationY) {
-                                deltaY = approxDestinationY - j;
-                            } else if (j > approxDestinationY) {
-                                deltaY = j - (approxDestinationY);
-                            }
-
-                            int distanceSquared = deltaX * deltaX + deltaY * deltaY;
-                            if (distanceSquared < upperboundDistance || distanceSquared == upperboundDistance && distances[currentMapX][currentMapY] < pathLength) {
-                                upperboundDistance = distanceSquared;
-                                pathLength = distances[currentMapX][currentMapY];
-                                currentX = i;
-                                currentY = j;
-                            }
-                        }
+                    int index = PathfinderWorkspace.index(i, j);
+                    if (!ws.isVisited(index) || ws.getDistance(index) >= 100) {
+                        continue;
                     }
-                }
 
-                if (upperboundDistance == Integer.MAX_VALUE) {
-                    log.error("No path found between: {} and {}, check that the tile is within the local scene.", from.getWorldLocation(), to.getWorldLocation());
-                    return null;
+                    int deltaX = i - approxDestinationX;
+                    int deltaY = j - approxDestinationY;
+                    int distanceSquared = deltaX * deltaX + deltaY * deltaY;
+                    if (distanceSquared < upperboundDistance || distanceSquared == upperboundDistance && ws.getDistance(index) < pathLength) {
+                        upperboundDistance = distanceSquared;
+                        pathLength = ws.getDistance(index);
+                        best = index;
+                    }
                 }
             }
 
-            // Getting path from directions and distances
-            bufferX[0] = currentX;
-            bufferY[0] = currentY;
-            int index = 1;
-            int directionNew;
-            int directionOld;
-            for (directionNew = directionOld = directions[currentX - middleX + offsetX][currentY - middleY + offsetY]; p1.getX() != currentX || p1.getY() != currentY; directionNew = directions[currentX - middleX + offsetX][currentY - middleY + offsetY]) {
-                if (directionNew != directionOld) {
-                    // "Corner" of the path --> new checkpoint tile
-                    directionOld = directionNew;
-                    bufferX[index] = currentX;
-                    bufferY[index++] = currentY;
-                }
-
-                if ((directionNew & 2) != 0) {
-                    ++currentX;
-                } else if ((directionNew & 8) != 0) {
-                    --currentX;
-                }
-
-                if ((directionNew & 1) != 0) {
-                    ++currentY;
-                } else if ((directionNew & 4) != 0) {
-                    --currentY;
-                }
+            if (best == -1) {
+                log.error("No path found between: {} and {}, check that the tile is within the local scene.", from.getWorldLocation(), to.getWorldLocation());
+                return null;
             }
+            ws.tracePath(best);
+        }
 
-            int checkpointTileNumber = 1;
-            Tile[][][] tiles = worldView.getScene().getTiles();
-            List<Tile> checkpointTiles = new ArrayList<>();
+        // Only the tile lookup needs the client thread, the search above ran on the calling thread
+        Tile[][][] tiles = ctx.runOnClientThread(() -> client.getTopLevelWorldView().getScene().getTiles());
+        if (tiles == null) {
+            return null;
+        }
 
-            while (index-- > 0) {
-                checkpointTiles.add(tiles[from.getPlane()][bufferX[index]][bufferY[index]]);
-                if (checkpointTileNumber == 25) {
-                    break;
-                }
-                checkpointTileNumber++;
+        // "Corners" of the path where the direction changes become checkpoint tiles, followed by the destination
+        List<Tile> checkpointTiles = new ArrayList<>();
+        int last = ws.getPathLength() - 1;
+        for (int i = 1; i <= last && checkpointTiles.size() < 25; i++) {
+            boolean corner = i == last || ws.getPathIndex(i) - ws.getPathIndex(i - 1) != ws.getPathIndex(i + 1) - ws.getPathIndex(i);
+            if (corner) {
+                checkpointTiles.add(tiles[z][ws.getPathX(i)][ws.getPathY(i)]);
             }
-            return checkpointTiles;
-        });
+        }
+        return checkpointTiles;
     }
 
     /**
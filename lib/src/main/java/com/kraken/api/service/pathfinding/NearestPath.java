@@ -0,0 +1,27 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.Value;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.List;
+
+/**
+ * The result of a nearest of N search, see {@link LocalPathfinder#findNearest(WorldPoint, java.util.Collection)}.
+ */
+@Value
+public class NearestPath {
+    /**
+     * The closest reachable candidate, as passed to the search.
+     */
+    WorldPoint target;
+
+    /**
+     * The path from the start to {@link #target}, including both.
+     */
+    List<WorldPoint> path;
+
+    /**
+     * The number of steps from the start to {@link #target}.
+     */
+    int distance;
+}
@@ -0,0 +1,59 @@
+package com.kraken.api.service.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * A binary min heap of nodes keyed by their f score. Entries are packed into a long with the score in the high
+ * half so ordering is a single comparison. Stale entries are skipped when popped rather than removed.
+ */
+final class NodeHeap {
+    private long[] heap = new long[1 << 12];
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(int score, int node) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+
+        long entry = (long) score << 32 | (node & 0xFFFFFFFFL);
+        int i = size++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] <= entry) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * @return The score of the node {@link #pop()} would return
+     */
+    int peekScore() {
+        return (int) (heap[0] >>> 32);
+    }
+
+    int pop() {
+        int node = (int) heap[0];
+        long last = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return node;
+    }
+}
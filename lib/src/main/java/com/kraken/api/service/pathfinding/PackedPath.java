@@ -0,0 +1,237 @@
+package com.kraken.api.service.pathfinding;
+
+import com.kraken.api.service.map.WorldPointService;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A read only path of tiles packed with {@link WorldPointService#pack(int, int, int)}, backed by an {@code int[]}.
+ * <p>
+ * {@link #slice(int, int)}, {@link #reverse()} and {@link #stride(int)} return views sharing the same array, so
+ * transforming a path never copies or creates a {@link WorldPoint} per tile. Use {@link #getPoint(int)} or the
+ * {@link #toList()} view when a {@code WorldPoint} is needed, and {@link #copy()} to keep a path whose array will be
+ * reused. Paths are never modified through this class, but a path wrapping a caller's array sees any later writes
+ * to it.
+ */
+public final class PackedPath {
+
+    /**
+     * A path with no tiles.
+     */
+    public static final PackedPath EMPTY = new PackedPath(new int[0], 0, 1, 0);
+
+    private final int[] tiles;
+    private final int offset;
+    private final int step;
+    private final int size;
+
+    private PackedPath(int[] tiles, int offset, int step, int size) {
+        this.tiles = tiles;
+        this.offset = offset;
+        this.step = step;
+        this.size = size;
+    }
+
+    /**
+     * Wraps an array of packed tiles without copying it.
+     * @param tiles The packed tiles, start first
+     * @return A path over the whole array
+     */
+    public static PackedPath of(int[] tiles) {
+        return of(tiles, tiles.length);
+    }
+
+    /**
+     * Wraps the start of an array of packed tiles without copying it, for example the output of
+     * {@link LocalPathfinder#findPathPacked(WorldPoint, WorldPoint, int[])}.
+     * @param tiles The packed tiles, start first
+     * @param length The number of tiles in the path
+     * @return A path over the first {@code length} tiles of the array
+     */
+    public static PackedPath of(int[] tiles, int length) {
+        if (length < 0 || length > tiles.length) {
+            throw new IndexOutOfBoundsException("Length " + length + " out of bounds for " + tiles.length + " tiles");
+        }
+        return new PackedPath(tiles, 0, 1, length);
+    }
+
+    /**
+     * Packs a list of world points into a new path.
+     * @param points The points, start first
+     * @return The packed path
+     */
+    public static PackedPath fromList(List<WorldPoint> points) {
+        int[] tiles = new int[points.size()];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = WorldPointService.pack(points.get(i));
+        }
+        return new PackedPath(tiles, 0, 1, tiles.length);
+    }
+
+    /**
+     * @return The number of tiles in the path
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True if the path has no tiles
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index The position in the path
+     * @return The packed tile at the position
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for path of " + size + " tiles");
+        }
+        return tiles[offset + index * step];
+    }
+
+    /**
+     * @param index The position in the path
+     * @return The world x coordinate of the tile at the position
+     */
+    public int getX(int index) {
+        return WorldPointService.getPackedX(get(index));
+    }
+
+    /**
+     * @param index The position in the path
+     * @return The world y coordinate of the tile at the position
+     */
+    public int getY(int index) {
+        return WorldPointService.getPackedY(get(index));
+    }
+
+    /**
+     * @param index The position in the path
+     * @return The plane of the tile at the position
+     */
+    public int getPlane(int index) {
+        return WorldPointService.getPackedPlane(get(index));
+    }
+
+    /**
+     * @param index The position in the path
+     * @return The tile at the position as a new {@link WorldPoint}
+     */
+    public WorldPoint getPoint(int index) {
+        return WorldPointService.unpack(get(index));
+    }
+
+    /**
+     * @param tile A packed tile
+     * @return The first position of the tile in the path, or -1 if the path does not pass through it
+     */
+    public int indexOf(int tile) {
+        for (int i = 0, position = offset; i < size; i++, position += step) {
+            if (tiles[position] == tile) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param tile A packed tile
+     * @return True if the path passes through the tile
+     */
+    public boolean contains(int tile) {
+        return indexOf(tile) != -1;
+    }
+
+    /**
+     * Returns a view of part of the path.
+     * @param from The first position to include
+     * @param to The position after the last one to include
+     * @return The tiles from {@code from} (inclusive) to {@code to} (exclusive), sharing this path's array
+     */
+    public PackedPath slice(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Slice " + from + " to " + to + " out of bounds for path of " + size + " tiles");
+        }
+        return new PackedPath(tiles, offset + from * step, step, to - from);
+    }
+
+    /**
+     * @return A view of the path from its end to its start, sharing this path's array
+     */
+    public PackedPath reverse() {
+        if (size == 0) {
+            return this;
+        }
+        return new PackedPath(tiles, offset + (size - 1) * step, -step, size);
+    }
+
+    /**
+     * Returns a view of every {@code n}th tile of the path, starting with the first. The last tile is only included
+     * when it falls on the stride.
+     * @param n The number of tiles between each tile of the view, at least 1
+     * @return The strided view, sharing this path's array
+     */
+    public PackedPath stride(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Stride must be at least 1 but was " + n);
+        }
+        return new PackedPath(tiles, offset, step * n, (size + n - 1) / n);
+    }
+
+    /**
+     * @return A copy of the path backed by its own compact array
+     */
+    public PackedPath copy() {
+        return new PackedPath(toArray(), 0, 1, size);
+    }
+
+    /**
+     * @return The packed tiles of the path in a new array, start first
+     */
+    public int[] toArray() {
+        int[] copy = new int[size];
+        for (int i = 0, position = offset; i < size; i++, position += step) {
+            copy[i] = tiles[position];
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a read only list view of the path. Each {@code get} unpacks a new {@link WorldPoint}, nothing is
+     * copied up front.
+     * @return The path as a list of world points
+     */
+    public List<WorldPoint> toList() {
+        return new PointList();
+    }
+
+    private final class PointList extends AbstractList<WorldPoint> implements RandomAccess {
+
+        @Override
+        public WorldPoint get(int index) {
+            return getPoint(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof WorldPoint ? PackedPath.this.indexOf(WorldPointService.pack((WorldPoint) o)) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) != -1;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.kraken.api.service.pathfinding;
+
+import com.google.inject.Singleton;
+import com.kraken.api.service.map.WorldPointService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static net.runelite.api.Constants.CHUNK_SIZE;
+
+/**
+ * A least recently used cache of scene paths, keyed by the packed start and target tiles (which include the plane)
+ * and valid for a {@link CollisionSnapshot} version.
+ * <p>
+ * A new snapshot does not clear the cache. Instead the first lookup against it compares the new flags with the
+ * previous snapshot's and only evicts paths near the 8x8 chunks which changed. A breadth first path of length
+ * {@code n} can only depend on tiles within {@code n} tiles of its start, so an opened door or felled tree on the far
+ * side of the scene leaves the paths around the bank alone. A scene reload (the base coordinates moving) clears the
+ * whole cache.
+ * <p>
+ * Only successful searches are cached, since an unreachable result depends on every tile of the scene. Cached paths
+ * are shared between callers and must not be modified.
+ */
+@Slf4j
+@Singleton
+public class PathCache {
+
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private static final int CHUNKS = PathfinderWorkspace.SIZE / CHUNK_SIZE;
+
+    private final Map<Long, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private CollisionSnapshot snapshot;
+
+    public PathCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The maximum number of cached paths
+     */
+    public PathCache(int capacity) {
+        this.entries = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached path.
+     * @param snapshot The snapshot the caller would search
+     * @param start The start tile packed with {@link WorldPointService#pack(int, int, int)}
+     * @param target The target tile packed with {@link WorldPointService#pack(int, int, int)}
+     * @return The packed path, start first, or null if the path is not cached
+     */
+    public synchronized int[] get(CollisionSnapshot snapshot, int start, int target) {
+        sync(snapshot);
+        Entry entry = entries.get(key(start, target));
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        return entry.path;
+    }
+
+    /**
+     * Caches a path found by searching a snapshot.
+     * @param snapshot The snapshot the path was found in
+     * @param start The packed start tile
+     * @param target The packed target tile
+     * @param path The packed path, start first
+     */
+    public synchronized void put(CollisionSnapshot snapshot, int start, int target, int[] path) {
+        sync(snapshot);
+        if (snapshot != this.snapshot) {
+            // A newer snapshot was seen while this path was being searched
+            return;
+        }
+
+        int radius = path.length - 1;
+        int x = snapshot.toSceneX(WorldPointService.getPackedX(start));
+        int y = snapshot.toSceneY(WorldPointService.getPackedY(start));
+        int plane = WorldPointService.getPackedPlane(start);
+        entries.put(key(start, target), new Entry(path, plane, x - radius, y - radius, x + radius, y + radius));
+    }
+
+    /**
+     * Removes every cached path.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return The number of lookups which returned a cached path
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of lookups which found no cached path
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return The number of paths evicted because collision data near them changed
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return The fraction of lookups which returned a cached path, between 0 and 1
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    /**
+     * @return The number of cached paths
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resets the hit, miss and invalidation counters.
+     */
+    public void resetStats() {
+        hits.set(0);
+        misses.set(0);
+        invalidations.set(0);
+    }
+
+    private void sync(CollisionSnapshot next) {
+        CollisionSnapshot previous = snapshot;
+        if (next == null || previous == next || previous != null && next.getVersion() < previous.getVersion()) {
+            return;
+        }
+
+        snapshot = next;
+        if (previous == null || entries.isEmpty()) {
+            return;
+        }
+
+        if (previous.getBaseX() != next.getBaseX() || previous.getBaseY() != next.getBaseY() || previous.isInstance() != next.isInstance()) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+            return;
+        }
+
+        boolean[][][] changed = changedChunks(previous, next);
+        int removed = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (it.next().intersects(changed)) {
+                it.remove();
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            invalidations.addAndGet(removed);
+            log.debug("Invalidated {} cached paths for collision snapshot {}", removed, next.getVersion());
+        }
+    }
+
+    /**
+     * Compares two snapshots of the same scene and marks every chunk containing a tile whose flags differ.
+     * @return The changed chunks indexed {@code [plane][chunkX][chunkY]}, a null plane had no changes
+     */
+    private static boolean[][][] changedChunks(CollisionSnapshot previous, CollisionSnapshot next) {
+        boolean[][][] changed = new boolean[CollisionRegion.PLANES][][];
+        for (int plane = 0; plane < changed.length; plane++) {
+            if (previous.getFlags(plane) == next.getFlags(plane)) continue;
+
+            for (int x = 0; x < PathfinderWorkspace.SIZE; x++) {
+                for (int y = 0; y < PathfinderWorkspace.SIZE; y++) {
+                    if (previous.getFlags(plane, x, y) == next.getFlags(plane, x, y)) continue;
+
+                    if (changed[plane] == null) {
+                        changed[plane] = new boolean[CHUNKS][CHUNKS];
+                    }
+                    changed[plane][x / CHUNK_SIZE][y / CHUNK_SIZE] = true;
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static long key(int start, int target) {
+        return (long) start << 32 | (target & 0xFFFFFFFFL);
+    }
+
+    /**
+     * A cached path and the scene area, in scene coordinates, its search depended on.
+     */
+    private static final class Entry {
+        final int[] path;
+        final int plane;
+        final int minX;
+        final int minY;
+        final int maxX;
+        final int maxY;
+
+        Entry(int[] path, int plane, int minX, int minY, int maxX, int maxY) {
+            this.path = path;
+            this.plane = plane;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        boolean intersects(boolean[][][] changed) {
+            if (plane >= changed.length || changed[plane] == null) {
+                return false;
+            }
+
+            boolean[][] chunks = changed[plane];
+            int fromX = Math.max(0, minX / CHUNK_SIZE);
+            int fromY = Math.max(0, minY / CHUNK_SIZE);
+            for (int cx = fromX; cx <= maxX / CHUNK_SIZE && cx < CHUNKS; cx++) {
+                for (int cy = fromY; cy <= maxY / CHUNK_SIZE && cy < CHUNKS; cy++) {
+                    if (chunks[cx][cy]) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Allocation free breadth first searches over a scene's collision flags, indexed {@code flags[sceneX][sceneY]} as
+ * returned by {@code CollisionData#getFlags()}. All state lives in the caller's {@link PathfinderWorkspace} and
+ * neither the searches nor the workspace touch the client, so they can run on any thread.
+ * <p>
+ * Steps follow {@link CollisionRules} and neighbours are expanded in the same order as the client's route finder
+ * (west, east, south, north, then the diagonals) so paths take the same shape as the ones the game walks.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PathSearch {
+
+    /**
+     * Finds the shortest path between two scene tiles. On success the path, including both the start and target,
+     * is available from the workspace.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate
+     * @param startY The start scene y coordinate
+     * @param targetX The target scene x coordinate
+     * @param targetY The target scene y coordinate
+     * @param ws The workspace to search in
+     * @return True if the target is reachable. When false, every tile reachable from the start has been visited
+     */
+    public static boolean findPath(int[][] flags, int startX, int startY, int targetX, int targetY, PathfinderWorkspace ws) {
+        return findPath(flags, startX, startY, 1, targetX, targetY, ws);
+    }
+
+    /**
+     * Finds the shortest path for an entity of NxN tiles, such as a large NPC, between two positions. Positions are
+     * the entity's south west tile and steps follow the client's rules for large NPCs, see
+     * {@link CollisionRules#canMove(int[][], int, int, int, int, int)}. On success the path of south west tiles is
+     * available from the workspace.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate of the entity's south west tile
+     * @param startY The start scene y coordinate of the entity's south west tile
+     * @param size The entity's size in tiles
+     * @param targetX The target scene x coordinate of the entity's south west tile
+     * @param targetY The target scene y coordinate of the entity's south west tile
+     * @param ws The workspace to search in
+     * @return True if the target is reachable
+     */
+    public static boolean findPath(int[][] flags, int startX, int startY, int size, int targetX, int targetY, PathfinderWorkspace ws) {
+        ws.begin();
+        if (!inBounds(flags, startX, startY) || !inBounds(flags, targetX, targetY)) {
+            return false;
+        }
+
+        int target = PathfinderWorkspace.index(targetX, targetY);
+        ws.visit(PathfinderWorkspace.index(startX, startY), -1, 0);
+
+        while (ws.hasQueued()) {
+            int node = ws.poll();
+            if (node == target) {
+                ws.tracePath(node);
+                return true;
+            }
+            expand(flags, node, ws, false, size);
+        }
+        return false;
+    }
+
+    /**
+     * Finds a path to a target tile, or when the target cannot be reached (it is inside a fenced pen, an object's
+     * footprint or outside the scene) to the reachable tile closest to it, in a single search.
+     * <p>
+     * The closest tile is the one with the smallest squared euclidean distance to the target. Ties go to the tile
+     * found first, which is the one with the shorter path, so the result only depends on the flags. The path to the
+     * chosen tile is available from the workspace.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate
+     * @param startY The start scene y coordinate
+     * @param targetX The target scene x coordinate, which may lie outside the scene
+     * @param targetY The target scene y coordinate, which may lie outside the scene
+     * @param ws The workspace to search in
+     * @return The workspace index of the target if it is reachable, otherwise of the closest reachable tile, or -1 if
+     * the start is outside the scene
+     */
+    public static int findClosest(int[][] flags, int startX, int startY, int targetX, int targetY, PathfinderWorkspace ws) {
+        ws.begin();
+        if (!inBounds(flags, startX, startY)) {
+            return -1;
+        }
+
+        int best = PathfinderWorkspace.index(startX, startY);
+        long bestDistance = distanceSquared(startX, startY, targetX, targetY);
+        ws.visit(best, -1, 0);
+
+        while (ws.hasQueued() && bestDistance > 0) {
+            int node = ws.poll();
+            long distance = distanceSquared(node / PathfinderWorkspace.SIZE, node % PathfinderWorkspace.SIZE, targetX, targetY);
+            if (distance < bestDistance) {
+                best = node;
+                bestDistance = distance;
+            }
+            expand(flags, node, ws, false, 1);
+        }
+
+        ws.tracePath(best);
+        return best;
+    }
+
+    private static long distanceSquared(int x, int y, int targetX, int targetY) {
+        long dx = x - targetX;
+        long dy = y - targetY;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Finds the closest of several target tiles in a single search. The search expands outwards from the start until
+     * the first target is reached, so choosing between N candidates costs one search rather than N. On success the
+     * path to the winning target is available from the workspace.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate
+     * @param startY The start scene y coordinate
+     * @param targets The target tiles as workspace indices, see {@link PathfinderWorkspace#index(int, int)}
+     * @param count The number of targets to read from {@code targets}
+     * @param ws The workspace to search in
+     * @return The workspace index of the closest reachable target, or -1 if none are reachable
+     */
+    public static int findNearest(int[][] flags, int startX, int startY, int[] targets, int count, PathfinderWorkspace ws) {
+        return findNearest(flags, startX, startY, 1, targets, count, ws);
+    }
+
+    /**
+     * Finds the closest of several target positions for an entity of NxN tiles in a single search, see
+     * {@link #findPath(int[][], int, int, int, int, int, PathfinderWorkspace)} for how sized entities move. On success
+     * the path to the winning target is available from the workspace.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate of the entity's south west tile
+     * @param startY The start scene y coordinate of the entity's south west tile
+     * @param size The entity's size in tiles
+     * @param targets The target south west tiles as workspace indices, see {@link PathfinderWorkspace#index(int, int)}
+     * @param count The number of targets to read from {@code targets}
+     * @param ws The workspace to search in
+     * @return The workspace index of the closest reachable target, or -1 if none are reachable
+     */
+    public static int findNearest(int[][] flags, int startX, int startY, int size, int[] targets, int count, PathfinderWorkspace ws) {
+        ws.begin();
+        if (!inBounds(flags, startX, startY)) {
+            return -1;
+        }
+
+        for (int i = 0; i < count; i++) {
+            ws.addGoal(targets[i]);
+        }
+
+        ws.visit(PathfinderWorkspace.index(startX, startY), -1, 0);
+        while (ws.hasQueued()) {
+            int node = ws.poll();
+            if (ws.isGoal(node)) {
+                ws.tracePath(node);
+                return node;
+            }
+            expand(flags, node, ws, false, size);
+        }
+        return -1;
+    }
+
+    /**
+     * Visits every tile reachable from a start tile. Reached tiles are available from the workspace in order of
+     * distance, see {@link PathfinderWorkspace#getVisited(int)}.
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate
+     * @param startY The start scene y coordinate
+     * @param ws The workspace to search in
+     * @return The number of reachable tiles, including the start
+     */
+    public static int flood(int[][] flags, int startX, int startY, PathfinderWorkspace ws) {
+        ws.begin();
+        if (!inBounds(flags, startX, startY)) {
+            return 0;
+        }
+
+        ws.visit(PathfinderWorkspace.index(startX, startY), -1, 0);
+        while (ws.hasQueued()) {
+            // Every diagonal step can also be made as two cardinal steps so cardinals alone find every tile
+            expand(flags, ws.poll(), ws, true, 1);
+        }
+        return ws.getVisitedCount();
+    }
+
+    /**
+     * Visits every tile reachable from a start tile using the same steps as {@link #findPath}, so afterwards the
+     * workspace holds the shortest path to every reachable tile (see {@link PathfinderWorkspace#tracePath(int)}).
+     *
+     * @param flags The scene collision flags
+     * @param startX The start scene x coordinate
+     * @param startY The start scene y coordinate
+     * @param ws The workspace to search in
+     * @return The number of reachable tiles, including the start
+     */
+    public static int floodPaths(int[][] flags, int startX, int startY, PathfinderWorkspace ws) {
+        ws.begin();
+        if (!inBounds(flags, startX, startY)) {
+            return 0;
+        }
+
+        ws.visit(PathfinderWorkspace.index(startX, startY), -1, 0);
+        while (ws.hasQueued()) {
+            expand(flags, ws.poll(), ws, false, 1);
+        }
+        return ws.getVisitedCount();
+    }
+
+    private static void expand(int[][] flags, int node, PathfinderWorkspace ws, boolean cardinalOnly, int size) {
+        int x = node / PathfinderWorkspace.SIZE;
+        int y = node % PathfinderWorkspace.SIZE;
+        int distance = ws.getDistance(node) + 1;
+        ws.expanded();
+        int directions = cardinalOnly ? 4 : CollisionRules.DX.length;
+
+        for (int i = 0; i < directions; i++) {
+            int dx = CollisionRules.DX[i];
+            int dy = CollisionRules.DY[i];
+            int nx = x + dx;
+            int ny = y + dy;
+            if (!inBounds(flags, nx, ny)) {
+                continue;
+            }
+
+            int next = PathfinderWorkspace.index(nx, ny);
+            if (ws.isVisited(next)) {
+                continue;
+            }
+
+            boolean canMove = size == 1
+                    ? CollisionRules.canMove(flags[nx][ny], flags[nx][y], flags[x][ny], dx, dy)
+                    : CollisionRules.canMove(flags, x, y, size, dx, dy);
+            if (!canMove) {
+                continue;
+            }
+
+            ws.visit(next, node, distance);
+        }
+    }
+
+    private static boolean inBounds(int[][] flags, int x, int y) {
+        return x >= 0 && y >= 0 && x < flags.length && x < PathfinderWorkspace.SIZE
+                && y < flags[x].length && y < PathfinderWorkspace.SIZE;
+    }
+}
@@ -0,0 +1,237 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * Reusable per thread search state for scene pathfinding. Every array is allocated once per thread and sized for a
+ * 128x128 grid, which covers the 104x104 scene. Tiles are addressed by {@code x * SIZE + y}.
+ * <p>
+ * Instead of clearing the arrays before each search, a search calls {@link #begin()} to advance a generation
+ * counter; a tile is only considered visited when its stamp equals the current generation. Parent and distance
+ * entries are only read for visited tiles so they never need resetting either.
+ * <p>
+ * A workspace is owned by the thread which obtained it from {@link #get()} and is overwritten by that thread's next
+ * search, so results must be read (or copied) before searching again.
+ */
+public final class PathfinderWorkspace {
+
+    public static final int SIZE = 128;
+    public static final int CAPACITY = SIZE * SIZE;
+
+    private static final ThreadLocal<PathfinderWorkspace> LOCAL = ThreadLocal.withInitial(PathfinderWorkspace::new);
+
+    private final int[] stamps = new int[CAPACITY];
+    private final int[] parents = new int[CAPACITY];
+    private final int[] distances = new int[CAPACITY];
+    private final int[] goals = new int[CAPACITY];
+
+    // Each tile is enqueued at most once per search so the queue never wraps
+    private final int[] queue = new int[CAPACITY];
+    private final int[] path = new int[CAPACITY];
+    private final NodeHeap heap = new NodeHeap();
+
+    private int generation;
+    private int head;
+    private int tail;
+
+    /**
+     * The number of tiles in the path built by the last search, or 0 if it found no path.
+     */
+    @Getter
+    private int pathLength;
+
+    /**
+     * The number of tiles the last search expanded, i.e. generated the neighbours of. Jump point searches only
+     * expand the tiles they jump between.
+     */
+    @Getter
+    private int expandedCount;
+
+    private PathfinderWorkspace() {
+    }
+
+    /**
+     * @return The calling thread's workspace
+     */
+    public static PathfinderWorkspace get() {
+        return LOCAL.get();
+    }
+
+    /**
+     * Converts scene coordinates to a workspace index.
+     * @param x The scene x coordinate (0-127)
+     * @param y The scene y coordinate (0-127)
+     * @return The index
+     */
+    public static int index(int x, int y) {
+        return x * SIZE + y;
+    }
+
+    /**
+     * Starts a new search, forgetting every tile visited by the previous one.
+     */
+    public void begin() {
+        if (++generation == 0) {
+            // The stamps wrapped around after 4 billion searches, old stamps could now look current
+            Arrays.fill(stamps, 0);
+            Arrays.fill(goals, 0);
+            generation = 1;
+        }
+        head = 0;
+        tail = 0;
+        pathLength = 0;
+        expandedCount = 0;
+        heap.clear();
+    }
+
+    /**
+     * Marks a tile as visited and adds it to the queue if it has not been visited in this search.
+     * @param index The tile
+     * @param parent The tile it was reached from, or -1 for a start tile
+     * @param distance The distance from the start
+     * @return True if the tile was not visited before
+     */
+    public boolean visit(int index, int parent, int distance) {
+        if (stamps[index] == generation) {
+            return false;
+        }
+
+        stamps[index] = generation;
+        parents[index] = parent;
+        distances[index] = distance;
+        queue[tail++] = index;
+        return true;
+    }
+
+    /**
+     * @param index The tile
+     * @return True if the tile has been visited in this search
+     */
+    public boolean isVisited(int index) {
+        return stamps[index] == generation;
+    }
+
+    /**
+     * @param index A visited tile
+     * @return The tile it was reached from, or -1 for a start tile
+     */
+    public int getParent(int index) {
+        return parents[index];
+    }
+
+    /**
+     * @param index A visited tile
+     * @return The distance of the tile from the start
+     */
+    public int getDistance(int index) {
+        return distances[index];
+    }
+
+    /**
+     * Marks a tile as a goal of the current search.
+     * @param index The tile
+     */
+    public void addGoal(int index) {
+        goals[index] = generation;
+    }
+
+    /**
+     * @param index The tile
+     * @return True if the tile was marked as a goal since the last {@link #begin()}
+     */
+    public boolean isGoal(int index) {
+        return goals[index] == generation;
+    }
+
+    /**
+     * Records the best known parent and distance of a tile without queueing it, for searches which order tiles
+     * with {@link #heap()} instead of the queue.
+     */
+    void update(int index, int parent, int distance) {
+        stamps[index] = generation;
+        parents[index] = parent;
+        distances[index] = distance;
+    }
+
+    /**
+     * Sets the parent of a tile, used to fill in the tiles skipped between two jump points before tracing a path.
+     */
+    void link(int index, int parent) {
+        parents[index] = parent;
+    }
+
+    void expanded() {
+        expandedCount++;
+    }
+
+    NodeHeap heap() {
+        return heap;
+    }
+
+    boolean hasQueued() {
+        return head < tail;
+    }
+
+    int poll() {
+        return queue[head++];
+    }
+
+    /**
+     * @return The number of tiles visited in this search
+     */
+    public int getVisitedCount() {
+        return tail;
+    }
+
+    /**
+     * Returns a visited tile in the order tiles were visited. For a breadth first search this is in order of
+     * distance from the start.
+     * @param i The position, less than {@link #getVisitedCount()}
+     * @return The tile index
+     */
+    public int getVisited(int i) {
+        return queue[i];
+    }
+
+    /**
+     * Builds the path from the start of the search to a visited tile by following parents.
+     * @param end A visited tile
+     */
+    public void tracePath(int end) {
+        int length = 0;
+        for (int node = end; node != -1; node = parents[node]) {
+            length++;
+        }
+
+        pathLength = length;
+        for (int node = end; node != -1; node = parents[node]) {
+            path[--length] = node;
+        }
+    }
+
+    /**
+     * @param i The position in the path, less than {@link #getPathLength()}
+     * @return The tile index of the path step. The first step is the start tile
+     */
+    public int getPathIndex(int i) {
+        return path[i];
+    }
+
+    /**
+     * @param i The position in the path
+     * @return The scene x coordinate of the path step
+     */
+    public int getPathX(int i) {
+        return path[i] / SIZE;
+    }
+
+    /**
+     * @param i The position in the path
+     * @return The scene y coordinate of the path step
+     */
+    public int getPathY(int i) {
+        return path[i] % SIZE;
+    }
+}
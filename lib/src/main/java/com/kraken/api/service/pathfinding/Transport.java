@@ -0,0 +1,33 @@
+package com.kraken.api.service.pathfinding;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import net.runelite.api.coords.WorldPoint;
+
+/**
+ * A link between two tiles which is not a walking step, for example a staircase, ladder, or shortcut. Collision data
+ * never connects planes, so transports are what let the {@link WorldPathfinder} produce paths across planes.
+ * <p>
+ * A transport is used by standing on {@link #origin} and interacting with the object named {@link #objectName}
+ * closest to the origin using {@link #action}, after which the player arrives at {@link #destination}.
+ */
+@Value
+@AllArgsConstructor
+public class Transport {
+    WorldPoint origin;
+    WorldPoint destination;
+    String objectName;
+    String action;
+    int cost;
+
+    /**
+     * Creates a transport with a cost of 2 ticks, which is typical of stairs and ladders.
+     * @param origin The tile the transport is used from
+     * @param destination The tile the transport arrives at
+     * @param objectName The name of the object to interact with
+     * @param action The interaction, e.g. "Climb-up"
+     */
+    public Transport(WorldPoint origin, WorldPoint destination, String objectName, String action) {
+        this(origin, destination, objectName, action, 2);
+    }
+}
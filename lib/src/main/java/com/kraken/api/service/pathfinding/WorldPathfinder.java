@@ -0,0 +1,277 @@
+package com.kraken.api.service.pathfinding;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.kraken.api.service.map.WorldPointService;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Finds walking paths between any two explored tiles in the world using A* over the {@link CollisionStore}.
+ * <p>
+ * Unlike {@link LocalPathfinder}, which is limited to the loaded 104x104 scene, paths returned here cross region
+ * boundaries and, through registered {@link Transport}s, planes. Searches never touch the client, so they can run
+ * on any thread; {@link #findPathAsync(WorldPoint, WorldPoint)} runs them on a dedicated background thread.
+ * <p>
+ * Every step costs one tick. The heuristic is Chebyshev distance, which is exact on open ground because diagonal
+ * steps cost the same as cardinal ones, capped at the cheapest way of arriving through a transport (its cost plus the
+ * Chebyshev distance from its destination to the target). The cap keeps the heuristic admissible when a transport
+ * skips a long walk, so paths stay shortest. Nodes are packed with {@link WorldPointService#pack(int, int, int)}.
+ * <p>
+ * A search gives up after a number of expansions proportional to the area around the start and target, see
+ * {@link #getExpansionBudget(WorldPoint, WorldPoint)}, and targets in regions which have never been explored fail
+ * straight away, so an unreachable target costs milliseconds rather than a flood of every explored tile.
+ */
+@Slf4j
+@Singleton
+public class WorldPathfinder {
+
+    /**
+     * The maximum number of tiles expanded by a single search before it gives up.
+     */
+    public static final int MAX_EXPANSIONS = 2_000_000;
+
+    /**
+     * The fewest expansions a search is allowed, enough to walk around a large building for nearby targets.
+     */
+    public static final int MIN_EXPANSIONS = 16_384;
+
+    // The budget covers this many times the square around the start and target, padded for detours
+    private static final int EXPANSIONS_PER_TILE = 4;
+    private static final int DETOUR_PADDING = 64;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "kraken-world-pathfinder");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Map<Integer, List<Transport>> transports = Collections.emptyMap();
+
+    @Inject
+    private CollisionStore store;
+
+    /**
+     * Registers a transport which searches may use.
+     * @param transport The transport
+     */
+    public synchronized void addTransport(Transport transport) {
+        Map<Integer, List<Transport>> copy = new HashMap<>(transports);
+        List<Transport> links = new ArrayList<>(copy.getOrDefault(WorldPointService.pack(transport.getOrigin()), Collections.emptyList()));
+        links.add(transport);
+        copy.put(WorldPointService.pack(transport.getOrigin()), Collections.unmodifiableList(links));
+        transports = copy;
+    }
+
+    /**
+     * Registers several transports.
+     * @param transports The transports
+     */
+    public void addTransports(Collection<Transport> transports) {
+        transports.forEach(this::addTransport);
+    }
+
+    /**
+     * Removes every registered transport.
+     */
+    public synchronized void clearTransports() {
+        transports = Collections.emptyMap();
+    }
+
+    /**
+     * Returns the transport linking two consecutive tiles of a path.
+     * @param from The tile the transport is used from
+     * @param to The tile the transport arrives at
+     * @return The transport, or null if the tiles are not linked by a transport
+     */
+    public Transport getTransport(WorldPoint from, WorldPoint to) {
+        for (Transport transport : transports.getOrDefault(WorldPointService.pack(from), Collections.emptyList())) {
+            if (transport.getDestination().equals(to)) {
+                return transport;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds a path on a background thread.
+     * @param start The starting tile
+     * @param target The destination tile
+     * @return A future completed with the path, or with null if no path exists
+     */
+    public CompletableFuture<List<WorldPoint>> findPathAsync(WorldPoint start, WorldPoint target) {
+        return CompletableFuture.supplyAsync(() -> findPath(start, target), executor);
+    }
+
+    /**
+     * Finds the shortest path between two tiles on the calling thread. The path includes both the start and target
+     * tiles. Consecutive tiles are adjacent except where a {@link Transport} is taken, see
+     * {@link #getTransport(WorldPoint, WorldPoint)}.
+     *
+     * @param start The starting tile
+     * @param target The destination tile
+     * @return The path, or null if the target is unreachable through explored regions
+     */
+    public List<WorldPoint> findPath(WorldPoint start, WorldPoint target) {
+        if (start == null || target == null) {
+            return null;
+        }
+        return findPath(start, target, getExpansionBudget(start, target));
+    }
+
+    /**
+     * Finds the shortest path between two tiles on the calling thread, expanding at most {@code maxExpansions} tiles.
+     *
+     * @param start The starting tile
+     * @param target The destination tile
+     * @param maxExpansions The number of tiles the search may expand before giving up
+     * @return The path, or null if the target is unreachable through explored regions or the budget ran out
+     */
+    public List<WorldPoint> findPath(WorldPoint start, WorldPoint target, int maxExpansions) {
+        if (start == null || target == null) {
+            return null;
+        }
+
+        if (!store.hasRegion(CollisionRegion.idOf(target.getX(), target.getY()))) {
+            log.debug("No world path from {} to {}, the target's region has not been explored", start, target);
+            return null;
+        }
+
+        long begin = System.nanoTime();
+        Map<Integer, List<Transport>> links = transports;
+        int startNode = WorldPointService.pack(start);
+        int targetNode = WorldPointService.pack(target);
+        int targetX = target.getX();
+        int targetY = target.getY();
+        int transportBound = transportBound(links, targetX, targetY);
+
+        Int2IntOpenHashMap cost = new Int2IntOpenHashMap(1 << 12);
+        Int2IntOpenHashMap parent = new Int2IntOpenHashMap(1 << 12);
+        IntOpenHashSet closed = new IntOpenHashSet(1 << 12);
+        cost.defaultReturnValue(Integer.MAX_VALUE);
+        NodeHeap open = new NodeHeap();
+
+        cost.put(startNode, 0);
+        open.push(heuristic(start.getX(), start.getY(), targetX, targetY, transportBound), startNode);
+
+        int expanded = 0;
+        while (!open.isEmpty()) {
+            int node = open.pop();
+            if (!closed.add(node)) {
+                continue;
+            }
+
+            if (node == targetNode) {
+                List<WorldPoint> path = buildPath(parent, startNode, targetNode);
+                log.debug("World path of {} tiles found in {}ms ({} expanded)", path.size(), (System.nanoTime() - begin) / 1_000_000, expanded);
+                return path;
+            }
+
+            if (++expanded > maxExpansions) {
+                log.warn("World path search from {} to {} exceeded {} expansions", start, target, maxExpansions);
+                return null;
+            }
+
+            int x = WorldPointService.getPackedX(node);
+            int y = WorldPointService.getPackedY(node);
+            int plane = WorldPointService.getPackedPlane(node);
+            int g = cost.get(node);
+
+            for (int i = 0; i < CollisionRules.DX.length; i++) {
+                int dx = CollisionRules.DX[i];
+                int dy = CollisionRules.DY[i];
+                int nx = x + dx;
+                int ny = y + dy;
+                if (!CollisionRules.canMove(store.getFlags(nx, ny, plane), store.getFlags(nx, y, plane), store.getFlags(x, ny, plane), dx, dy)) {
+                    continue;
+                }
+
+                relax(open, cost, parent, closed, node, WorldPointService.pack(nx, ny, plane), g + 1, heuristic(nx, ny, targetX, targetY, transportBound));
+            }
+
+            for (Transport transport : links.getOrDefault(node, Collections.emptyList())) {
+                WorldPoint to = transport.getDestination();
+                relax(open, cost, parent, closed, node, WorldPointService.pack(to), g + Math.max(1, transport.getCost()),
+                        heuristic(to.getX(), to.getY(), targetX, targetY, transportBound));
+            }
+        }
+
+        log.debug("No world path from {} to {} ({} expanded)", start, target, expanded);
+        return null;
+    }
+
+    private static void relax(NodeHeap open, Int2IntOpenHashMap cost, Int2IntOpenHashMap parent, IntOpenHashSet closed,
+                              int from, int to, int g, int h) {
+        if (closed.contains(to) || g >= cost.get(to)) {
+            return;
+        }
+
+        cost.put(to, g);
+        parent.put(to, from);
+        open.push(g + h, to);
+    }
+
+    /**
+     * Returns the number of expansions {@link #findPath(WorldPoint, WorldPoint)} allows between two tiles: a multiple
+     * of the area of the square spanning them, padded for detours and clamped to {@link #MIN_EXPANSIONS} and
+     * {@link #MAX_EXPANSIONS}.
+     * @param start The starting tile
+     * @param target The destination tile
+     * @return The expansion budget
+     */
+    public static int getExpansionBudget(WorldPoint start, WorldPoint target) {
+        long side = Math.max(Math.abs(start.getX() - target.getX()), Math.abs(start.getY() - target.getY())) + DETOUR_PADDING;
+        return (int) Math.max(MIN_EXPANSIONS, Math.min(MAX_EXPANSIONS, EXPANSIONS_PER_TILE * side * side));
+    }
+
+    /**
+     * Returns a lower bound on the cost of any path which takes a transport: the cheapest transport cost plus the
+     * distance from its destination to the target. Walking to the transport is ignored, so the bound is the same for
+     * every node and only has to be computed once per search.
+     */
+    private static int transportBound(Map<Integer, List<Transport>> links, int targetX, int targetY) {
+        int bound = Integer.MAX_VALUE;
+        for (List<Transport> transports : links.values()) {
+            for (Transport transport : transports) {
+                WorldPoint to = transport.getDestination();
+                bound = Math.min(bound, Math.max(1, transport.getCost()) + chebyshev(to.getX(), to.getY(), targetX, targetY));
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * The smaller of the walking distance and the transport bound. Both are consistent so their minimum is too.
+     */
+    private static int heuristic(int x, int y, int targetX, int targetY, int transportBound) {
+        return Math.min(chebyshev(x, y, targetX, targetY), transportBound);
+    }
+
+    private static int chebyshev(int x, int y, int targetX, int targetY) {
+        return Math.max(Math.abs(x - targetX), Math.abs(y - targetY));
+    }
+
+    private static List<WorldPoint> buildPath(Int2IntOpenHashMap parent, int startNode, int targetNode) {
+        List<WorldPoint> path = new ArrayList<>();
+        int node = targetNode;
+        path.add(WorldPointService.unpack(node));
+        while (node != startNode) {
+            node = parent.get(node);
+            path.add(WorldPointService.unpack(node));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
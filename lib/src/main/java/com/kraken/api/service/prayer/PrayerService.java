@@ -3,8 +3,11 @@ package com.kraken.api.service.prayer;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.kraken.api.Context;
+import com.kraken.api.core.packet.PacketScheduler;
 import com.kraken.api.core.packet.entity.MousePackets;
 import com.kraken.api.core.packet.entity.WidgetPackets;
+import com.kraken.api.core.packet.model.BatchResult;
+import com.kraken.api.core.packet.model.PacketBatch;
 import com.kraken.api.service.ui.UIService;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Point;
@@ -15,7 +18,9 @@ import net.runelite.api.gameval.VarbitID;
 import net.runelite.api.widgets.Widget;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static com.kraken.api.service.prayer.InteractablePrayer.isOverhead;
 
@@ -23,6 +28,12 @@ import static com.kraken.api.service.prayer.InteractablePrayer.isOverhead;
 @Singleton
 public class PrayerService {
 
+    // A toggle is a click packet followed by a widget action packet
+    private static final int PACKETS_PER_TOGGLE = 2;
+
+    // The most prayers a flick turns off, matching the limit used before flicks were batched
+    private static final int MAX_FLICK_DEACTIVATIONS = 4;
+
     @Inject
     private Context ctx;
 
@@ -32,6 +43,9 @@ public class PrayerService {
     @Inject
     private WidgetPackets widgetPackets;
 
+    @Inject
+    private PacketScheduler packetScheduler;
+
     /**
      * Wrapper method which turns a prayer on.
      * @param prayer The prayer to turn on.
@@ -223,35 +237,84 @@ public class PrayerService {
      * @param prayers    A varargs list of {@code Prayer} objects that should be activated during the
      *                   one-tick flick process. These prayers are toggled on after any necessary
      *                   deactivations are completed. If no prayers are provided, no activation takes place.
+     * @return A future which completes once the flick is written. When {@code disableAll} is set, at most four other
+     *         prayers are turned off, fewer if the scheduler's tick budget has no room for them. A flick of more prayers
+     *         than the tick budget can hold completes exceptionally.
      */
-    public void oneTickFlick(boolean disableAll, Prayer... prayers) {
-        // Check if there are any active prayers when you first start flicking
-        int active = 0;
+    public CompletableFuture<BatchResult> oneTickFlick(boolean disableAll, Prayer... prayers) {
+        // The way flicking works is you need to send a deactivation then activation within the same game tick
+        // so every toggle is grouped into a single batch which the scheduler writes atomically on one tick.
+        PacketBatch batch = packetScheduler.batch("prayer-flick");
+        List<Prayer> toActivate = Arrays.asList(prayers);
+
+        // Batches are never split, so leave room in the tick budget for every activation and cap the
+        // deactivations at both the remaining budget and the limit the old sequential flick used
+        int maxToggles = packetScheduler.getTickBudget() / PACKETS_PER_TOGGLE;
+        int maxDeactivations = Math.min(MAX_FLICK_DEACTIVATIONS, maxToggles - prayers.length);
+        int deactivations = 0;
+
+        // Prayers being flicked have to be turned off first, other active prayers only if there is room left
         for (Prayer prayer : Prayer.values()) {
-            // Skip the Ruinous prayers
-            if (prayer.name().contains("RP_")) {
-                continue;
+            if (toActivate.contains(prayer) && isActive(prayer) && queueToggle(batch, prayer)) {
+                deactivations++;
             }
+        }
+
+        if (disableAll) {
+            for (Prayer prayer : Prayer.values()) {
+                // Skip the Ruinous prayers
+                if (prayer.name().contains("RP_")) {
+                    continue;
+                }
+
+                if (deactivations >= maxDeactivations) {
+                    break;
+                }
 
-            if (isActive(prayer)) {
-                active++;
+                if (!toActivate.contains(prayer) && isActive(prayer) && queueToggle(batch, prayer)) {
+                    deactivations++;
+                }
             }
         }
 
-        // The way flicking works is you need to send a deactivation then activation within the same game tick
-        if (active > 0) {
-            if (disableAll) {
-                deactivateAll(false, false, 4);
-            } else {
-                for (Prayer p : prayers) {
-                    deactivatePrayer(p);
-                }
+        for (Prayer p : prayers) {
+            queueToggle(batch, p);
+        }
+
+        return batch.submit().whenComplete((result, error) -> {
+            if (error != null) {
+                log.error("Prayer flick of {} packets failed: {}", batch.size(), error.getMessage());
             }
+        });
+    }
+
+    /**
+     * Adds the click and widget action packets required to toggle a prayer to a batch. Unlike {@link #toggle(Prayer, boolean)}
+     * this does not check the current state of the prayer so the same prayer can be toggled off and back on within a single batch.
+     * @param batch The batch to add the packets to
+     * @param prayer The prayer to toggle
+     * @return True if the packets were added and false if the prayer can't be toggled
+     */
+    private boolean queueToggle(PacketBatch batch, Prayer prayer) {
+        if (prayer == null) {
+            return false;
         }
 
-        for (Prayer p2 : prayers) {
-            activatePrayer(p2);
+        InteractablePrayer prayerExtended = InteractablePrayer.of(prayer);
+        if (prayerExtended == null) {
+            return false;
         }
+
+        if (ctx.getClient().getBoostedSkillLevel(Skill.PRAYER) <= 0 ||
+                ctx.getClient().getRealSkillLevel(Skill.PRAYER) < prayerExtended.getLevel()) {
+            return false;
+        }
+
+        Widget widget = ctx.getWidget(prayerExtended.getIndex());
+        Point point = UIService.getClickbox(widget);
+        batch.add(() -> mousePackets.queueClickPacket(point.getX(), point.getY()))
+                .add(() -> widgetPackets.queueWidgetActionPacket(prayerExtended.getIndex(), -1, -1, 1));
+        return true;
     }
 
     /**
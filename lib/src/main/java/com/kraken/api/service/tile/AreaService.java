@@ -6,7 +6,6 @@ import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.coords.WorldPoint;
 
-import java.awt.*;
 import java.util.*;
 import java.util.List;
 
@@ -45,8 +44,7 @@ public class AreaService {
      * @return GameArea the game area containing the WorldPoints within the radius
      */
     public GameArea createReachableArea(WorldPoint center, int range, boolean ignoreCollision) {
-        Map<WorldPoint, Integer> reachableMap = tileService.getReachableTilesFromTile(center, range, ignoreCollision);
-        return new GameArea(reachableMap.keySet(), center);
+        return new GameArea(tileService.getReachableTileSet(center, range, ignoreCollision), center);
     }
 
     /**
@@ -67,7 +65,8 @@ public class AreaService {
 
     /**
      * Creates a complex shape (e.g., L-shape) from vertices.
-     * This rasterizes the polygon: it finds all discrete tiles inside the shape.
+     * This rasterizes the polygon: it finds all discrete tiles inside the shape, one scanline at a time, with the
+     * same tile membership as {@link java.awt.Polygon#contains(int, int)}.
      * @param vertices A set of vertices making up the bounds of the polygon area
      * @return GameArea the game area containing the WorldPoints within the specified vertices
      */
@@ -77,32 +76,7 @@ public class AreaService {
             return new GameArea(Collections.emptySet(), vertices[0]);
         }
 
-        Polygon polygon = new Polygon();
-        int plane = vertices[0].getPlane();
-        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
-
-        for (WorldPoint wp : vertices) {
-            polygon.addPoint(wp.getX(), wp.getY());
-            // Track bounds to optimize the loop
-            if (wp.getX() < minX) minX = wp.getX();
-            if (wp.getX() > maxX) maxX = wp.getX();
-            if (wp.getY() < minY) minY = wp.getY();
-            if (wp.getY() > maxY) maxY = wp.getY();
-        }
-
-        // Iterate through the bounding box and check which tiles are inside
-        Set<WorldPoint> points = new HashSet<>();
-        for (int x = minX; x <= maxX; x++) {
-            for (int y = minY; y <= maxY; y++) {
-                if (polygon.contains(x, y)) {
-                    points.add(new WorldPoint(x, y, plane));
-                }
-            }
-        }
-
-        // Use the first vertex as a reference center, or calculate geometric center if needed
-        return new GameArea(points, vertices[0]);
+        return PolygonRasterizer.rasterize(vertices);
     }
 
     /**
@@ -115,6 +89,6 @@ public class AreaService {
      * @return GameArea the game area containing the WorldPoints specified in the set.
      */
     public GameArea createFromPoints(Collection<WorldPoint> points) {
-        return new GameArea(new HashSet<>(points), points.stream().findFirst().orElse(null));
+        return new GameArea(points, points.stream().findFirst().orElse(null));
     }
 }
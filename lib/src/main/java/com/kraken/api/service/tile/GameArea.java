@@ -1,27 +1,115 @@
 package com.kraken.api.service.tile;
 
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import net.runelite.api.Client;
 import net.runelite.api.Perspective;
 import net.runelite.api.coords.LocalPoint;
 import net.runelite.api.coords.WorldPoint;
 
 import java.awt.*;
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongBinaryOperator;
 
 /**
  * Encapsulates a set of tiles representing an area.
  * Provides helper methods for checking containment, retrieval, and visualization.
+ * <p>
+ * Tiles are stored as a bitmap over the area's bounding box, one row of {@code long} words per y coordinate and plane,
+ * so {@link #contains(WorldPoint)} is a single bit test and {@link #union(GameArea)}, {@link #intersect(GameArea)} and
+ * {@link #subtract(GameArea)} combine 64 tiles per step. A dense array of the set bits is built the first time it is
+ * needed, which makes {@link #getRandomTile()} constant time. Areas are immutable and safe to share between threads.
  */
-@RequiredArgsConstructor
 public class GameArea {
 
-    @Getter
-    private final Set<WorldPoint> tiles;
+    private static final GameArea EMPTY = new GameArea(null, 0, 0, 0, 0, 0, 0, new long[0]);
+
     private final WorldPoint centerRef;
+    private final int minX;
+    private final int minY;
+    private final int minPlane;
+    private final int width;
+    private final int height;
+    private final int planes;
+    private final int stride;
+    private final long[] bits;
+    private final int size;
+
+    // Bit positions of every tile in the area, built on first use. Both are volatile so an area shared between
+    // threads never publishes a partly filled array; a race only builds the same value twice.
+    private volatile int[] positions;
+    private volatile Set<WorldPoint> tiles;
+
+    /**
+     * Creates an area from a collection of tiles.
+     * @param tiles The tiles in the area
+     * @param centerRef A reference tile for the area, usually its center
+     */
+    public GameArea(Collection<WorldPoint> tiles, WorldPoint centerRef) {
+        this.centerRef = centerRef;
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        int minPlane = Integer.MAX_VALUE, maxPlane = Integer.MIN_VALUE;
+        for (WorldPoint tile : tiles) {
+            minX = Math.min(minX, tile.getX());
+            maxX = Math.max(maxX, tile.getX());
+            minY = Math.min(minY, tile.getY());
+            maxY = Math.max(maxY, tile.getY());
+            minPlane = Math.min(minPlane, tile.getPlane());
+            maxPlane = Math.max(maxPlane, tile.getPlane());
+        }
+
+        if (tiles.isEmpty()) {
+            this.minX = this.minY = this.minPlane = 0;
+            this.width = this.height = this.planes = 0;
+        } else {
+            this.minX = minX;
+            this.minY = minY;
+            this.minPlane = minPlane;
+            this.width = maxX - minX + 1;
+            this.height = maxY - minY + 1;
+            this.planes = maxPlane - minPlane + 1;
+        }
+        this.stride = stride(width);
+        this.bits = new long[stride * height * planes];
+
+        int count = 0;
+        for (WorldPoint tile : tiles) {
+            int position = position(tile.getX() - this.minX, tile.getY() - this.minY, tile.getPlane() - this.minPlane);
+            long bit = 1L << position;
+            if ((bits[position >>> 6] & bit) == 0) {
+                bits[position >>> 6] |= bit;
+                count++;
+            }
+        }
+        this.size = count;
+    }
+
+    /**
+     * Creates an area directly from a bitmap laid out like this class stores it: {@link #stride(int)} words per row,
+     * rows ordered by plane then y, and bit {@code x - minX} of a row set for every tile in the area.
+     */
+    GameArea(WorldPoint centerRef, int minX, int minY, int minPlane, int width, int height, int planes, long[] bits) {
+        this.centerRef = centerRef;
+        this.minX = minX;
+        this.minY = minY;
+        this.minPlane = minPlane;
+        this.width = width;
+        this.height = height;
+        this.planes = planes;
+        this.stride = stride(width);
+        this.bits = bits;
+
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        this.size = count;
+    }
 
     /**
      * Checks if the given world point is inside this area.
@@ -29,7 +117,54 @@ public class GameArea {
      * @return true if the world point is contained within the set of tiles and false otherwise.
      */
     public boolean contains(WorldPoint point) {
-        return tiles.contains(point);
+        return point != null && contains(point.getX(), point.getY(), point.getPlane());
+    }
+
+    /**
+     * Checks if a tile is inside this area without creating a {@link WorldPoint}.
+     * @param x The world x coordinate
+     * @param y The world y coordinate
+     * @param plane The plane
+     * @return true if the tile is in the area and false otherwise.
+     */
+    public boolean contains(int x, int y, int plane) {
+        int dx = x - minX;
+        int dy = y - minY;
+        int dp = plane - minPlane;
+        if (dx < 0 || dy < 0 || dp < 0 || dx >= width || dy >= height || dp >= planes) {
+            return false;
+        }
+
+        int position = position(dx, dy, dp);
+        return (bits[position >>> 6] & 1L << position) != 0;
+    }
+
+    /**
+     * @return The number of tiles in the area
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return True if the area has no tiles
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the tiles in the area as a read only set backed by the area. Membership checks are bit tests and
+     * iteration creates the points as it goes.
+     * @return The tiles in the area
+     */
+    public Set<WorldPoint> getTiles() {
+        Set<WorldPoint> tiles = this.tiles;
+        if (tiles == null) {
+            tiles = new TileSet();
+            this.tiles = tiles;
+        }
+        return tiles;
     }
 
     /**
@@ -37,26 +172,45 @@ public class GameArea {
      * @return A random tile within the set of tiles
      */
     public WorldPoint getRandomTile() {
-        if (tiles.isEmpty()) return null;
-        int size = tiles.size();
-        int item = new Random().nextInt(size);
-        int i = 0;
-        for (WorldPoint obj : tiles) {
-            if (i == item) return obj;
-            i++;
-        }
-        return null;
+        return getRandomTile(ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a random tile from the area, every tile being equally likely.
+     * @param random The source of randomness
+     * @return A random tile within the set of tiles, or null if the area is empty
+     */
+    public WorldPoint getRandomTile(Random random) {
+        if (size == 0) return null;
+        int[] positions = positions();
+        return toPoint(positions[random.nextInt(positions.length)]);
     }
 
     /**
      * Combines this area with another (Union).
      * @param other Another game area to check the union of
-     * @return GameArea the union tiles of the two game areas (the tiles that overlap).
+     * @return GameArea the tiles which are in either game area
      */
     public GameArea union(GameArea other) {
-        Set<WorldPoint> newSet = new HashSet<>(this.tiles);
-        newSet.addAll(other.getTiles());
-        return new GameArea(newSet, this.centerRef);
+        if (other.isEmpty()) return this;
+        if (isEmpty()) return other.withCenter(centerRef);
+        return combine(other,
+                Math.min(minX, other.minX), Math.min(minY, other.minY), Math.min(minPlane, other.minPlane),
+                Math.max(maxX(), other.maxX()), Math.max(maxY(), other.maxY()), Math.max(maxPlane(), other.maxPlane()),
+                (a, b) -> a | b);
+    }
+
+    /**
+     * Keeps only the tiles which are also in another area (Intersection).
+     * @param other Another game area to check
+     * @return GameArea the tiles which are in both game areas
+     */
+    public GameArea intersect(GameArea other) {
+        if (isEmpty() || other.isEmpty()) return EMPTY.withCenter(centerRef);
+        return combine(other,
+                Math.max(minX, other.minX), Math.max(minY, other.minY), Math.max(minPlane, other.minPlane),
+                Math.min(maxX(), other.maxX()), Math.min(maxY(), other.maxY()), Math.min(maxPlane(), other.maxPlane()),
+                (a, b) -> a & b);
     }
 
     /**
@@ -65,9 +219,144 @@ public class GameArea {
      * @return GameArea the tiles which are not in the other game area
      */
     public GameArea subtract(GameArea other) {
-        Set<WorldPoint> newSet = new HashSet<>(this.tiles);
-        newSet.removeAll(other.getTiles());
-        return new GameArea(newSet, this.centerRef);
+        if (isEmpty() || other.isEmpty()) return this;
+        return combine(other, minX, minY, minPlane, maxX(), maxY(), maxPlane(), (a, b) -> a & ~b);
+    }
+
+    private GameArea combine(GameArea other, int minX, int minY, int minPlane, int maxX, int maxY, int maxPlane,
+                             LongBinaryOperator op) {
+        if (maxX < minX || maxY < minY || maxPlane < minPlane) {
+            return EMPTY.withCenter(centerRef);
+        }
+
+        int width = maxX - minX + 1;
+        int height = maxY - minY + 1;
+        int planes = maxPlane - minPlane + 1;
+        int stride = stride(width);
+        long[] bits = new long[stride * height * planes];
+        long lastWordMask = -1L >>> (stride * Long.SIZE - width);
+
+        int word = 0;
+        for (int plane = minPlane; plane <= maxPlane; plane++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int i = 0; i < stride; i++, word++) {
+                    int x = minX + (i << 6);
+                    bits[word] = op.applyAsLong(window(x, y, plane), other.window(x, y, plane));
+                }
+                bits[word - 1] &= lastWordMask;
+            }
+        }
+        return new GameArea(centerRef, minX, minY, minPlane, width, height, planes, bits);
+    }
+
+    /**
+     * Reads the 64 tiles starting at a world x coordinate along a row of the bitmap: bit {@code i} is set if the tile
+     * at {@code x + i} is in the area.
+     */
+    private long window(int x, int y, int plane) {
+        int offset = x - minX;
+        int dy = y - minY;
+        int dp = plane - minPlane;
+        if (dy < 0 || dp < 0 || dy >= height || dp >= planes || offset >= width || offset <= -Long.SIZE) {
+            return 0L;
+        }
+
+        int row = (dp * height + dy) * stride;
+        if (offset < 0) {
+            return bits[row] << -offset;
+        }
+
+        int word = offset >>> 6;
+        int shift = offset & 63;
+        long value = bits[row + word] >>> shift;
+        if (shift != 0 && word + 1 < stride) {
+            value |= bits[row + word + 1] << (Long.SIZE - shift);
+        }
+        return value;
+    }
+
+    private GameArea withCenter(WorldPoint center) {
+        return new GameArea(center, minX, minY, minPlane, width, height, planes, bits);
+    }
+
+    private int[] positions() {
+        int[] positions = this.positions;
+        if (positions == null) {
+            positions = new int[size];
+            int count = 0;
+            for (int word = 0; word < bits.length; word++) {
+                long value = bits[word];
+                while (value != 0) {
+                    positions[count++] = word << 6 | Long.numberOfTrailingZeros(value);
+                    value &= value - 1;
+                }
+            }
+            this.positions = positions;
+        }
+        return positions;
+    }
+
+    private int position(int dx, int dy, int dp) {
+        return ((dp * height + dy) * stride << 6) + dx;
+    }
+
+    private WorldPoint toPoint(int position) {
+        int row = position / (stride << 6);
+        return new WorldPoint(minX + position % (stride << 6), minY + row % height, minPlane + row / height);
+    }
+
+    private int maxX() {
+        return minX + width - 1;
+    }
+
+    private int maxY() {
+        return minY + height - 1;
+    }
+
+    private int maxPlane() {
+        return minPlane + planes - 1;
+    }
+
+    /**
+     * @param width The width of a bitmap in tiles
+     * @return The number of {@code long} words in each row of the bitmap
+     */
+    static int stride(int width) {
+        return (width + 63) >>> 6;
+    }
+
+    private final class TileSet extends AbstractSet<WorldPoint> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof WorldPoint && GameArea.this.contains((WorldPoint) o);
+        }
+
+        @Override
+        public Iterator<WorldPoint> iterator() {
+            int[] positions = positions();
+            return new Iterator<WorldPoint>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < positions.length;
+                }
+
+                @Override
+                public WorldPoint next() {
+                    if (next >= positions.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return toPoint(positions[next++]);
+                }
+            };
+        }
     }
 
     /**
@@ -79,12 +368,12 @@ public class GameArea {
      * @param outline Whether to draw just the outline or fill the tiles
      */
     public void render(Client client, Graphics2D graphics, Color color, boolean outline) {
-        if (tiles.isEmpty()) return;
+        if (isEmpty()) return;
 
         // Don't render if we are on a different plane
-        if (client.getTopLevelWorldView().getPlane() != tiles.iterator().next().getPlane()) return;
+        if (client.getTopLevelWorldView().getPlane() != minPlane) return;
 
-        for (WorldPoint wp : tiles) {
+        for (WorldPoint wp : getTiles()) {
             LocalPoint lp = LocalPoint.fromWorld(client, wp);
             if (lp == null) continue;
 
@@ -107,10 +396,10 @@ public class GameArea {
      * @param color The fill color (alpha is handled automatically if needed, but best to pass a translucent color)
      */
     public void renderMinimap(Client client, Graphics2D graphics, Color color) {
-        if (client == null || tiles.isEmpty()) return;
+        if (client == null || isEmpty()) return;
 
         graphics.setColor(color);
-        for (WorldPoint wp : tiles) {
+        for (WorldPoint wp : getTiles()) {
             LocalPoint lp = LocalPoint.fromWorld(client, wp);
             if (lp == null) continue;
 
@@ -0,0 +1,108 @@
+package com.kraken.api.service.tile;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+
+/**
+ * Even-odd scanline rasterization of polygons over integer tile coordinates, writing straight into a
+ * {@link GameArea} bitmap.
+ * <p>
+ * Tile membership is identical to testing every tile of the bounding box with {@link java.awt.Polygon#contains(int, int)}:
+ * for each row the crossing of every edge is computed with the same arithmetic that method uses, the crossings are
+ * sorted, and the tiles between each odd and even crossing are filled a word at a time. As with {@code Polygon}, the
+ * right and top edges of the bounding box are never inside.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class PolygonRasterizer {
+
+    /**
+     * Rasterizes a polygon on the plane of its first vertex.
+     * @param vertices The polygon's vertices in order, at least three
+     * @return The area of tiles inside the polygon, centered on the first vertex
+     */
+    static GameArea rasterize(WorldPoint... vertices) {
+        int count = vertices.length;
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            xs[i] = vertices[i].getX();
+            ys[i] = vertices[i].getY();
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+        }
+
+        int width = Math.max(0, maxX - minX);
+        int height = Math.max(0, maxY - minY);
+        int stride = GameArea.stride(width);
+        long[] bits = new long[stride * height];
+        int[] crossings = new int[count];
+
+        for (int y = minY; y < maxY; y++) {
+            int crossingCount = 0;
+            for (int i = 0, j = count - 1; i < count; j = i++) {
+                int lowX, lowY, highX, highY;
+                if (ys[i] < ys[j]) {
+                    lowX = xs[i];
+                    lowY = ys[i];
+                    highX = xs[j];
+                    highY = ys[j];
+                } else {
+                    lowX = xs[j];
+                    lowY = ys[j];
+                    highX = xs[i];
+                    highY = ys[i];
+                }
+
+                // Horizontal edges never cross, other edges cover the rows from their low end up to (not including) their high end
+                if (y < lowY || y >= highY) {
+                    continue;
+                }
+
+                // Tiles left of the crossing are crossed by this edge. The offset is computed exactly as Polygon does
+                // and clamped to the edge's extent, which Polygon checks separately.
+                double offset = (double) (y - lowY) / (highY - lowY) * (highX - lowX);
+                int crossing = lowX + (int) Math.ceil(offset);
+                crossings[crossingCount++] = Math.min(Math.max(lowX, highX), Math.max(Math.min(lowX, highX), crossing));
+            }
+
+            Arrays.sort(crossings, 0, crossingCount);
+            int row = (y - minY) * stride;
+            for (int i = 0; i + 1 < crossingCount; i += 2) {
+                fill(bits, row, Math.max(crossings[i], minX) - minX, Math.min(crossings[i + 1], maxX) - minX);
+            }
+        }
+
+        return new GameArea(vertices[0], minX, minY, vertices[0].getPlane(), width, height, 1, bits);
+    }
+
+    /**
+     * Sets the bits {@code from} (inclusive) to {@code to} (exclusive) of a bitmap row.
+     */
+    private static void fill(long[] bits, int row, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            bits[row + first] |= firstMask & lastMask;
+            return;
+        }
+
+        bits[row + first] |= firstMask;
+        for (int word = first + 1; word < last; word++) {
+            bits[row + word] = -1L;
+        }
+        bits[row + last] |= lastMask;
+    }
+}
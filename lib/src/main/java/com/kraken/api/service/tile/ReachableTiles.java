@@ -0,0 +1,233 @@
+package com.kraken.api.service.tile;
+
+import com.kraken.api.service.map.WorldPointService;
+import com.kraken.api.service.pathfinding.CollisionSnapshot;
+import com.kraken.api.service.pathfinding.PathfinderWorkspace;
+import lombok.Getter;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.coords.WorldPoint;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of {@link TileService#getReachableTiles(WorldPoint, int, boolean, ReachableTiles)}: the tiles reached by
+ * a bounded flood fill, kept as a {@code long[]} bitset over scene tiles with an optional {@code short[]} of distances.
+ * <p>
+ * Scripts which flood every tick should allocate one instance and pass it to every call. The flood itself only uses
+ * primitive arrays (the frontier is an {@code int[]} ring buffer of packed scene coordinates shared per thread), so
+ * refilling an existing result creates no garbage. Use {@link #toWorldPoints()} or {@link #toDistanceMap()} when a
+ * boxed view is really needed.
+ * <p>
+ * Tiles are indexed like {@link PathfinderWorkspace#index(int, int)}. Results are not thread safe.
+ */
+public final class ReachableTiles {
+
+    /**
+     * The number of {@code long} words in the bitset.
+     */
+    public static final int WORDS = PathfinderWorkspace.SIZE * PathfinderWorkspace.SIZE / Long.SIZE;
+
+    private static final int SIZE = PathfinderWorkspace.SIZE;
+    private static final int MASK = SIZE * SIZE - 1;
+    private static final ThreadLocal<int[]> QUEUE = ThreadLocal.withInitial(() -> new int[SIZE * SIZE]);
+
+    private final long[] reached = new long[WORDS];
+    private final short[] distances;
+    private CollisionSnapshot snapshot;
+
+    /**
+     * The number of tiles reached by the last flood, including the start.
+     */
+    @Getter
+    private int count;
+
+    /**
+     * Creates a result which only records which tiles were reached.
+     */
+    public ReachableTiles() {
+        this(false);
+    }
+
+    /**
+     * @param trackDistances True to also record the distance to every reached tile
+     */
+    public ReachableTiles(boolean trackDistances) {
+        this.distances = trackDistances ? new short[SIZE * SIZE] : null;
+    }
+
+    /**
+     * Floods outwards from a scene tile with cardinal steps, replacing any previous result. A step is blocked by a
+     * wall on the side of the tile being left and, unless collision is ignored, tiles with an object, floor
+     * decoration or blocked floor are never entered. The start tile is always reached.
+     */
+    void fill(CollisionSnapshot snapshot, int[][] flags, int startX, int startY, int maxDistance, boolean ignoreCollision) {
+        clear();
+        this.snapshot = snapshot;
+        if (startX < 0 || startY < 0 || startX >= flags.length || startX >= SIZE || startY >= flags[startX].length || startY >= SIZE) {
+            return;
+        }
+
+        int[] queue = QUEUE.get();
+        int head = 0;
+        int tail = 0;
+        int start = PathfinderWorkspace.index(startX, startY);
+        mark(start, 0);
+        queue[tail++ & MASK] = start;
+
+        // Every tile is queued at most once so the ring buffer never overflows. The queue is drained one distance
+        // layer at a time, which bounds the flood without needing stored distances.
+        for (int distance = 1; distance <= maxDistance && head != tail; distance++) {
+            int layerEnd = tail;
+            while (head != layerEnd) {
+                int node = queue[head++ & MASK];
+                int x = node / SIZE;
+                int y = node % SIZE;
+                int data = flags[x][y];
+                if ((data & CollisionDataFlag.BLOCK_MOVEMENT_EAST) == 0) {
+                    tail = visit(flags, queue, tail, x + 1, y, distance, ignoreCollision);
+                }
+                if ((data & CollisionDataFlag.BLOCK_MOVEMENT_WEST) == 0) {
+                    tail = visit(flags, queue, tail, x - 1, y, distance, ignoreCollision);
+                }
+                if ((data & CollisionDataFlag.BLOCK_MOVEMENT_NORTH) == 0) {
+                    tail = visit(flags, queue, tail, x, y + 1, distance, ignoreCollision);
+                }
+                if ((data & CollisionDataFlag.BLOCK_MOVEMENT_SOUTH) == 0) {
+                    tail = visit(flags, queue, tail, x, y - 1, distance, ignoreCollision);
+                }
+            }
+        }
+    }
+
+    private int visit(int[][] flags, int[] queue, int tail, int x, int y, int distance, boolean ignoreCollision) {
+        if (x < 0 || y < 0 || x >= flags.length || x >= SIZE || y >= flags[x].length || y >= SIZE) {
+            return tail;
+        }
+
+        int index = PathfinderWorkspace.index(x, y);
+        if (isSet(index) || !ignoreCollision && (flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0) {
+            return tail;
+        }
+
+        mark(index, distance);
+        queue[tail & MASK] = index;
+        return tail + 1;
+    }
+
+    private void mark(int index, int distance) {
+        reached[index >>> 6] |= 1L << index;
+        if (distances != null) {
+            distances[index] = (short) distance;
+        }
+        count++;
+    }
+
+    private void clear() {
+        Arrays.fill(reached, 0L);
+        count = 0;
+    }
+
+    /**
+     * @param sceneX The scene x coordinate
+     * @param sceneY The scene y coordinate
+     * @return True if the tile was reached
+     */
+    public boolean contains(int sceneX, int sceneY) {
+        return sceneX >= 0 && sceneY >= 0 && sceneX < SIZE && sceneY < SIZE && isSet(PathfinderWorkspace.index(sceneX, sceneY));
+    }
+
+    /**
+     * @param point A world tile, or in an instance a template (real world) tile
+     * @return True if the tile was reached
+     */
+    public boolean contains(WorldPoint point) {
+        int scene = toScene(point);
+        return scene != -1 && contains(scene >> 16, scene & 0xFFFF);
+    }
+
+    /**
+     * @param sceneX The scene x coordinate
+     * @param sceneY The scene y coordinate
+     * @return The number of steps to the tile, or -1 if it was not reached or distances are not tracked
+     */
+    public int getDistance(int sceneX, int sceneY) {
+        return distances != null && contains(sceneX, sceneY) ? distances[PathfinderWorkspace.index(sceneX, sceneY)] : -1;
+    }
+
+    /**
+     * @param point A world tile, or in an instance a template (real world) tile
+     * @return The number of steps to the tile, or -1 if it was not reached or distances are not tracked
+     */
+    public int getDistance(WorldPoint point) {
+        int scene = toScene(point);
+        return scene == -1 ? -1 : getDistance(scene >> 16, scene & 0xFFFF);
+    }
+
+    /**
+     * Returns the bitset of reached tiles: bit {@code index & 63} of word {@code index >>> 6} is set for every reached
+     * tile. The array is reused by the next flood and must not be modified.
+     * @return The reached tiles
+     */
+    public long[] getBits() {
+        return reached;
+    }
+
+    /**
+     * @return The reached tiles as world points, or in an instance as template (real world) points
+     */
+    public Set<WorldPoint> toWorldPoints() {
+        Set<WorldPoint> points = new HashSet<>(count * 2);
+        for (int word = 0; word < WORDS; word++) {
+            long bits = reached[word];
+            while (bits != 0) {
+                int index = word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                WorldPoint point = toWorld(index);
+                if (point != null) {
+                    points.add(point);
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * @return The reached tiles mapped to their distance, see {@link #toWorldPoints()}. Distances are 0 for every tile
+     * if they are not tracked
+     */
+    public Map<WorldPoint, Integer> toDistanceMap() {
+        Map<WorldPoint, Integer> map = new HashMap<>(count * 2);
+        for (int word = 0; word < WORDS; word++) {
+            long bits = reached[word];
+            while (bits != 0) {
+                int index = word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                WorldPoint point = toWorld(index);
+                if (point != null) {
+                    map.put(point, distances != null ? (int) distances[index] : 0);
+                }
+            }
+        }
+        return map;
+    }
+
+    private boolean isSet(int index) {
+        return (reached[index >>> 6] & 1L << index) != 0;
+    }
+
+    private int toScene(WorldPoint point) {
+        if (snapshot == null || !snapshot.isInstance() && point.getPlane() != snapshot.getPlane()) {
+            return -1;
+        }
+        return snapshot.templateToScene(point.getX(), point.getY(), point.getPlane());
+    }
+
+    private WorldPoint toWorld(int index) {
+        int packed = snapshot.sceneToTemplate(index / SIZE, index % SIZE, snapshot.getPlane());
+        return packed == -1 ? null : WorldPointService.unpack(packed);
+    }
+}
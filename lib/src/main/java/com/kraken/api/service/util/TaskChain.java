@@ -1,21 +1,35 @@
 package com.kraken.api.service.util;
 
 import com.kraken.api.Context;
+import com.kraken.api.query.gameobject.GameObjectEntity;
+import com.kraken.api.query.npc.NpcEntity;
 import com.kraken.api.service.movement.MovementService;
+import com.kraken.api.service.pathfinding.IncrementalPathfinder;
 import com.kraken.api.service.pathfinding.LocalPathfinder;
+import com.kraken.api.service.pathfinding.PackedPath;
+import com.kraken.api.service.pathfinding.Transport;
+import com.kraken.api.service.pathfinding.WorldPathfinder;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Player;
 import net.runelite.api.coords.WorldArea;
 import net.runelite.api.coords.WorldPoint;
 
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class TaskChain {
 
+    // How far a transport's object may be from its origin tile, large objects are located by their centre tile
+    private static final int TRANSPORT_OBJECT_RANGE = 3;
+
     private final Context ctx;
     private final Queue<Task> tasks = new LinkedList<>();
     
@@ -69,11 +83,13 @@ public class TaskChain {
 
 
     /**
-     * Walks to a specific WorldPoint using the LocalPathfinder and MovementService.
+     * Walks to a specific WorldPoint.
      * <p>
-     * This method utilizes {@code findSparsePath} to calculate an efficient route
-     * and processes the path sequentially. It will wait for the player to reach
-     * each waypoint (within 1 tile) before proceeding to the next.
+     * The whole route is planned once with the {@link WorldPathfinder} over the stored world collision data, so
+     * destinations outside the loaded scene are reached without re-pathing at each scene edge. Any
+     * {@link Transport}s on the route (stairs, ladders) are used by interacting with their object. If the route
+     * passes through regions which have not been explored yet this falls back to the {@link LocalPathfinder},
+     * pathing to the edge of the scene and re-pathing as new scenes load.
      * </p>
      *
      * @param target The destination WorldPoint.
@@ -85,6 +101,16 @@ public class TaskChain {
             LocalPathfinder pathfinder = ctx.getService(LocalPathfinder.class);
             Client client = ctx.getClient();
 
+            WorldPoint start = client.getLocalPlayer().getWorldLocation();
+            if (start.distanceTo(target) <= 3) {
+                return true;
+            }
+
+            List<WorldPoint> worldPath = ctx.getService(WorldPathfinder.class).findPath(start, target);
+            if (worldPath != null) {
+                return walkWorldPath(worldPath);
+            }
+
             // Guardrail: Prevent infinite loops if pathing fails repeatedly
             int maxRefreshes = 20;
 
@@ -95,7 +121,7 @@ public class TaskChain {
                 if (currentLoc.distanceTo(target) <= 3) {
                     return true;
                 }
-                List<WorldPoint> densePath = pathfinder.findPath(currentLoc, target);
+                PackedPath densePath = pathfinder.findPackedPath(currentLoc, target);
 
                 // If path is empty but we aren't at the target, we are stuck/unreachable
                 if (densePath == null || densePath.isEmpty()) {
@@ -104,7 +130,7 @@ public class TaskChain {
                 }
 
                 // 3. Filter for variable stride (human-like steps)
-                List<WorldPoint> stridedPath = movement.applyVariableStride(densePath);
+                PackedPath stridedPath = movement.applyVariableStride(densePath);
 
                 // 4. Walk this segment, this blocks the for loop until the current path is traversed
                 // If traverse returns false (timeout/stuck), we abort the whole chain
@@ -123,6 +149,95 @@ public class TaskChain {
         return this;
     }
 
+    /**
+     * Walks to a WorldPoint in the loaded scene while routing around NPCs, for example aggressive monsters in a
+     * crowded area.
+     * <p>
+     * The route is planned with an {@link IncrementalPathfinder} which is kept for the whole walk. Each game tick the
+     * tiles occupied by NPCs matching {@code avoid}, and any collision changes such as doors, are fed to the planner
+     * which repairs only the affected part of the route instead of re-pathing from scratch.
+     * </p>
+     *
+     * @param target The destination WorldPoint, which must be in the loaded scene.
+     * @param avoid Selects the NPCs to route around (e.g. {@code npc -> npc.getName().equals("Guard")}).
+     * @return The current TaskChain instance.
+     */
+    public TaskChain walkTo(WorldPoint target, Predicate<NpcEntity> avoid) {
+        tasks.add(() -> {
+            MovementService movement = ctx.getService(MovementService.class);
+            Supplier<Collection<WorldPoint>> blockers = () -> ctx.runOnClientThread(() -> ctx.npcs().filter(avoid).stream()
+                    .flatMap(npc -> npc.raw().getWorldArea().toWorldPointList().stream())
+                    .collect(Collectors.toList()));
+
+            if (!movement.traversePath(ctx.getClient(), new IncrementalPathfinder(target), blockers)) {
+                log.warn("TaskChain: Failed to walk to {} around NPCs", target);
+                return false;
+            }
+            return true;
+        });
+        return this;
+    }
+
+    /**
+     * Walks a path produced by the {@link WorldPathfinder}, splitting it at each transport.
+     * @param path The world path
+     * @return True if the end of the path was reached
+     */
+    private boolean walkWorldPath(List<WorldPoint> path) throws InterruptedException {
+        MovementService movement = ctx.getService(MovementService.class);
+        WorldPathfinder worldPathfinder = ctx.getService(WorldPathfinder.class);
+        Client client = ctx.getClient();
+
+        int segmentStart = 0;
+        for (int i = 1; i <= path.size(); i++) {
+            Transport transport = i < path.size() ? worldPathfinder.getTransport(path.get(i - 1), path.get(i)) : null;
+            if (transport == null && i < path.size()) {
+                continue;
+            }
+
+            List<WorldPoint> segment = path.subList(segmentStart, i);
+            if (segment.size() > 1 && !movement.traversePath(client, movement.applyVariableStride(segment))) {
+                return false;
+            }
+
+            if (transport != null && !useTransport(transport)) {
+                log.warn("TaskChain: Failed to use {} ({}) at {}", transport.getObjectName(), transport.getAction(), transport.getOrigin());
+                return false;
+            }
+            segmentStart = i;
+        }
+        return true;
+    }
+
+    private boolean useTransport(Transport transport) throws InterruptedException {
+        // Doors and stairs often share a name, so take the object next to the transport's origin, not the player
+        WorldPoint origin = transport.getOrigin();
+        GameObjectEntity object = ctx.gameObjects().withName(transport.getObjectName()).nearestTo(origin);
+        if (object == null || object.raw().getWorldLocation().distanceTo(origin) > TRANSPORT_OBJECT_RANGE) {
+            log.warn("TaskChain: No {} found next to {}", transport.getObjectName(), origin);
+            return false;
+        }
+
+        if (!object.interact(transport.getAction())) {
+            return false;
+        }
+
+        WorldPoint destination = transport.getDestination();
+        long timeout = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < timeout) {
+            // Taking a transport usually loads a new scene, during which the player or the client thread can be unavailable
+            WorldPoint location = ctx.runOnClientThreadOptional(() -> {
+                Player player = ctx.getClient().getLocalPlayer();
+                return player == null ? null : player.getWorldLocation();
+            }).orElse(null);
+            if (location != null && location.getPlane() == destination.getPlane() && location.distanceTo(destination) <= 2) {
+                return true;
+            }
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
     /**
      * Walks to an approximate location within a radius of the target.
      * Useful for banking or interacting with large objects where exact tile precision isn't needed.
@@ -4,6 +4,9 @@ import com.google.gson.Gson;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.kraken.api.Context;
+import com.kraken.api.service.pathfinding.CollisionArchive;
+import com.kraken.api.service.pathfinding.CollisionRegion;
+import com.kraken.api.service.pathfinding.CollisionStore;
 import com.kraken.api.sim.model.AttackStyle;
 import com.kraken.api.sim.model.SimNpc;
 import lombok.extern.slf4j.Slf4j;
@@ -18,14 +21,21 @@ import java.awt.*;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Handles collision data dumping, loading, and conversion between different formats.
  * Supports both in-game data collection and file-based operations.
+ * <p>
+ * Scene snapshots ({@link CollisionMap}) are saved as JSON. World collision data from the {@link CollisionStore} is
+ * saved in the compact binary {@link CollisionArchive} format, either all at once or incrementally as regions load.
  */
 @Slf4j
 @Singleton
@@ -37,6 +47,11 @@ public class CollisionDumper {
     @Inject
     private Context context;
 
+    @Inject
+    private CollisionStore collisionStore;
+
+    private Consumer<Collection<CollisionRegion>> incrementalDump;
+
     /**
      * Collects collision data from the game within default distance (104 tiles).
      *
@@ -60,7 +75,9 @@ public class CollisionDumper {
         Map<WorldPoint, NPC> npcs = context.npcs().toRuneLite()
                 .collect(Collectors.toMap(NPC::getWorldLocation, Function.identity()));
         final HashMap<WorldPoint, Integer> tileDistances = new HashMap<>();
+        final ArrayDeque<WorldPoint> frontier = new ArrayDeque<>();
         tileDistances.put(playerLocation, 0);
+        frontier.add(playerLocation);
 
         // Track bounds as we go
         int minX = playerLocation.getX();
@@ -70,38 +87,30 @@ public class CollisionDumper {
 
         // Store collision flags by world coordinates
         HashMap<WorldPoint, Integer> collisionFlags = new HashMap<>();
-
-        // Breadth-first search to collect collision data
-        for (int i = 0; i <= distance; i++) {
-            int currentDistance = i;
-
-            for (var entry : tileDistances.entrySet().stream()
-                    .filter(x -> x.getValue() == currentDistance)
-                    .collect(Collectors.toList())) {
-
-                WorldPoint point = entry.getKey();
-                LocalPoint localPoint = getLocalPoint(client, point);
-
-                if (localPoint != null) {
-                    CollisionData collisionData = getCollisionData(client);
-                    if (collisionData != null) {
-                        int flags = getCollisionFlags(collisionData, localPoint);
-                        Set<MovementFlag> movementFlags = MovementFlag.getSetFlags(flags);
-
-                        // Store the collision data
-                        collisionFlags.put(point, flags);
-
-                        // Update bounds
-                        minX = Math.min(minX, point.getX());
-                        minY = Math.min(minY, point.getY());
-                        maxX = Math.max(maxX, point.getX());
-                        maxY = Math.max(maxY, point.getY());
-
-                        // Add adjacent tiles for next iteration
-                        if (entry.getValue() < distance) {
-                            addAdjacentTiles(point, movementFlags, tileDistances, currentDistance + 1);
-                        }
-                    }
+        CollisionData collisionData = getCollisionData(client);
+
+        // Breadth-first search to collect collision data. Tiles leave the frontier in distance order.
+        while (collisionData != null && !frontier.isEmpty()) {
+            WorldPoint point = frontier.poll();
+            int currentDistance = tileDistances.get(point);
+            LocalPoint localPoint = getLocalPoint(client, point);
+
+            if (localPoint != null) {
+                int flags = getCollisionFlags(collisionData, localPoint);
+                Set<MovementFlag> movementFlags = MovementFlag.getSetFlags(flags);
+
+                // Store the collision data
+                collisionFlags.put(point, flags);
+
+                // Update bounds
+                minX = Math.min(minX, point.getX());
+                minY = Math.min(minY, point.getY());
+                maxX = Math.max(maxX, point.getX());
+                maxY = Math.max(maxY, point.getY());
+
+                // Add adjacent tiles for next iteration
+                if (currentDistance < distance) {
+                    addAdjacentTiles(point, movementFlags, tileDistances, frontier, currentDistance + 1);
                 }
             }
         }
@@ -236,6 +245,104 @@ public class CollisionDumper {
         return collectAndSave(filePath, 104);
     }
 
+    /**
+     * Starts writing every region the {@link CollisionStore} updates to a {@link CollisionArchive} as scenes load.
+     * Regions are written on the store's worker thread so the client thread only pays for its scene copy, and a region
+     * is only appended when its flags differ from the last record written for it.
+     *
+     * @param archivePath Path to the archive file. Records are appended if the archive already exists
+     */
+    public synchronized void startIncrementalDump(Path archivePath) {
+        stopIncrementalDump();
+
+        Map<Integer, Integer> written = new HashMap<>();
+        if (Files.exists(archivePath)) {
+            try {
+                CollisionArchive existing = CollisionArchive.open(archivePath);
+                for (int regionId : existing.getRegionIds()) {
+                    CollisionRegion region = existing.getRegion(regionId);
+                    if (region != null) {
+                        written.put(regionId, CollisionArchive.crc(region));
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Failed to read existing collision archive {}: ", archivePath, e);
+            }
+        }
+
+        incrementalDump = regions -> {
+            for (CollisionRegion region : regions) {
+                int crc = CollisionArchive.crc(region);
+                Integer previous = written.get(region.getRegionId());
+                if (previous != null && previous == crc) continue;
+
+                try {
+                    CollisionArchive.append(archivePath, region);
+                    written.put(region.getRegionId(), crc);
+                } catch (IOException e) {
+                    log.error("Failed to write region {} to collision archive {}: ", region.getRegionId(), archivePath, e);
+                }
+            }
+        };
+        collisionStore.addListener(incrementalDump);
+        log.info("Incrementally dumping collision regions to {}", archivePath);
+    }
+
+    /**
+     * Stops the incremental dump started with {@link #startIncrementalDump(Path)}.
+     */
+    public synchronized void stopIncrementalDump() {
+        if (incrementalDump != null) {
+            collisionStore.removeListener(incrementalDump);
+            incrementalDump = null;
+        }
+    }
+
+    /**
+     * Writes every region in the {@link CollisionStore} to a new, compact {@link CollisionArchive}.
+     *
+     * @param archivePath Path to the output file. An existing file is replaced
+     * @return true if successful, false otherwise
+     */
+    public boolean saveRegions(Path archivePath) {
+        Path temp = archivePath.resolveSibling(archivePath.getFileName() + ".tmp");
+        try {
+            Files.deleteIfExists(temp);
+            int count = 0;
+            for (int regionId : collisionStore.getRegionIds()) {
+                CollisionRegion region = collisionStore.getRegion(regionId);
+                if (region != null) {
+                    CollisionArchive.append(temp, region);
+                    count++;
+                }
+            }
+            Files.move(temp, archivePath, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Saved {} collision regions ({} bytes) to {}", count, Files.size(archivePath), archivePath);
+            return true;
+        } catch (IOException e) {
+            log.error("Failed to save collision regions to {}: ", archivePath, e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads a {@link CollisionArchive} and makes its regions available to the {@link CollisionStore}. Nothing is
+     * decoded until a region is first read.
+     *
+     * @param archivePath Path to the archive file
+     * @return The archive, or null if it could not be opened
+     */
+    public CollisionArchive loadRegions(Path archivePath) {
+        try {
+            CollisionArchive archive = CollisionArchive.open(archivePath);
+            collisionStore.addArchive(archive);
+            return archive;
+        } catch (IOException e) {
+            log.error("Failed to load collision archive {}: ", archivePath, e);
+            return null;
+        }
+    }
+
     private LocalPoint getLocalPoint(Client client, WorldPoint point) {
         if (client.getTopLevelWorldView().isInstance()) {
             WorldPoint worldPoint = WorldPoint.toLocalInstance(client.getTopLevelWorldView(), point)
@@ -262,15 +369,21 @@ public class CollisionDumper {
         return flags[localPoint.getSceneX()][localPoint.getSceneY()];
     }
 
-    private void addAdjacentTiles(WorldPoint point, Set<MovementFlag> movementFlags,
-                                  HashMap<WorldPoint, Integer> tileDistances, int distance) {
+    private void addAdjacentTiles(WorldPoint point, Set<MovementFlag> movementFlags, HashMap<WorldPoint, Integer> tileDistances,
+                                  ArrayDeque<WorldPoint> frontier, int distance) {
         if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_EAST))
-            tileDistances.putIfAbsent(point.dx(1), distance);
+            enqueue(point.dx(1), tileDistances, frontier, distance);
         if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_WEST))
-            tileDistances.putIfAbsent(point.dx(-1), distance);
+            enqueue(point.dx(-1), tileDistances, frontier, distance);
         if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_NORTH))
-            tileDistances.putIfAbsent(point.dy(1), distance);
+            enqueue(point.dy(1), tileDistances, frontier, distance);
         if (!movementFlags.contains(MovementFlag.BLOCK_MOVEMENT_SOUTH))
-            tileDistances.putIfAbsent(point.dy(-1), distance);
+            enqueue(point.dy(-1), tileDistances, frontier, distance);
+    }
+
+    private void enqueue(WorldPoint point, HashMap<WorldPoint, Integer> tileDistances, ArrayDeque<WorldPoint> frontier, int distance) {
+        if (tileDistances.putIfAbsent(point, distance) == null) {
+            frontier.add(point);
+        }
     }
 }
\ No newline at end of file
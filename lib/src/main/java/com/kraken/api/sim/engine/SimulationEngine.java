@@ -3,6 +3,8 @@ package com.kraken.api.sim.engine;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.kraken.api.Context;
+import com.kraken.api.service.pathfinding.CollisionRules;
+import com.kraken.api.service.pathfinding.LineOfSight;
 import com.kraken.api.sim.CollisionDumper;
 import com.kraken.api.sim.CollisionMap;
 import com.kraken.api.sim.SimulationObserver;
@@ -409,52 +411,7 @@ public class SimulationEngine {
             return false;
         }
 
-        if (dxAbs > dyAbs) {
-            int xTile = source.x;
-            int y = (source.y << 16) + 0x8000;
-            int slope = ((dy << 16) / dxAbs);
-            int xInc = dx > 0 ? 1 : -1;
-
-            if (dy < 0) {
-                y -= 1; // For correct rounding
-            }
-
-            while (xTile != target.x) {
-                xTile += xInc;
-                int yTile = y >>> 16;
-                if (isBlocked(new Point(xTile, yTile))) {
-                    return false;
-                }
-                y += slope;
-                int newYTile = y >>> 16;
-                if (newYTile != yTile && isBlocked(new Point(xTile, newYTile))) {
-                    return false;
-                }
-            }
-        } else {
-            int yTile = source.y;
-            int x = (source.x << 16) + 0x8000;
-            int slope = (dx << 16) / dyAbs;
-            int yInc = dy > 0 ? 1 : -1;
-            if (dx < 0) {
-                x -= 1;
-            }
-
-            while (yTile != target.y) {
-                yTile += yInc;
-                int xTile = x >>> 16;
-                if (isBlocked(new Point(xTile, yTile))) {
-                    return false;
-                }
-                x += slope;
-                int newXTile = x >>> 16;
-                if (newXTile != xTile && isBlocked(new Point(newXTile, yTile))) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
+        return LineOfSight.isClear(source.x, source.y, target.x, target.y, (x, y) -> isBlocked(new Point(x, y)));
     }
 
     private boolean isBlocked(Point target) {
@@ -471,27 +428,35 @@ public class SimulationEngine {
     }
 
     /**
-     * Returns true if the movement is valid for an NPC of a specific size.
-     * Checks collision for all tiles that the NPC occupies.
+     * Returns true if the movement is valid for an NPC of a specific size, using the client's collision rules for
+     * large NPCs (see {@link CollisionRules#canMove(int[][], int, int, int, int, int)}) rather than checking each
+     * occupied tile on its own.
      * @param from Point starting point (southwest tile)
      * @param to Point ending point (southwest tile)
      * @param npcSize Size of the NPC (1 for 1x1, 2 for 2x2, 3 for 3x3, etc.)
      * @return True if the movement is valid for all tiles the NPC occupies
      */
     private boolean isValidMoveForNPC(Point from, Point to, int npcSize) {
-        // Check all tiles that the NPC will occupy at the destination
-        for (int dx = 0; dx < npcSize; dx++) {
-            for (int dy = 0; dy < npcSize; dy++) {
-                Point currentTile = new Point(from.x + dx, from.y - dy);
-                Point destinationTile = new Point(to.x + dx, to.y - dy);
-
-                // Check if this specific tile movement is valid
-                if (!isValidMove(currentTile, destinationTile)) {
-                    return false;
-                }
+        if (npcSize <= 1) {
+            return isValidMove(from, to);
+        }
+
+        // Copy the tiles around the NPC into the client's [x][y] layout, where y increases northwards. Row 0 of the
+        // window is the row just south of the NPC, which is the row below it in the simulation's data.
+        int[][] window = new int[npcSize + 2][npcSize + 2];
+        for (int x = 0; x < window.length; x++) {
+            for (int y = 0; y < window.length; y++) {
+                window[x][y] = getFlags(from.x - 1 + x, from.y + 1 - y);
             }
         }
-        return true;
+        return CollisionRules.canMove(window, 1, 1, npcSize, to.x - from.x, from.y - to.y);
+    }
+
+    private int getFlags(int x, int y) {
+        if (x < 0 || x >= collisionData[0].length || y < 0 || y >= collisionData.length) {
+            return CollisionRules.BLOCKED;
+        }
+        return collisionData[y][x];
     }
 
     /**
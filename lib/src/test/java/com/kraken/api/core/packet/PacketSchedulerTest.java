@@ -0,0 +1,105 @@
+package com.kraken.api.core.packet;
+
+import com.kraken.api.core.packet.model.BatchResult;
+import com.kraken.api.core.packet.model.PacketBatch;
+import net.runelite.api.Client;
+import net.runelite.client.eventbus.EventBus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PacketSchedulerTest {
+
+    private final List<String> written = new ArrayList<>();
+    private int tick = 100;
+    private PacketScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        // Only the tick count is read from the client
+        Client client = (Client) Proxy.newProxyInstance(Client.class.getClassLoader(), new Class<?>[]{Client.class},
+                (proxy, method, args) -> method.getName().equals("getTickCount") ? tick : null);
+        scheduler = new PacketScheduler(client, null, new EventBus());
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    private CompletableFuture<BatchResult> submit(String name, int packets) {
+        PacketBatch batch = scheduler.batch(name);
+        for (int i = 0; i < packets; i++) {
+            int packet = i;
+            batch.add(() -> written.add(name + packet));
+        }
+        return batch.submit();
+    }
+
+    private static void assertFailedWith(Class<? extends Throwable> cause, CompletableFuture<?> future) throws InterruptedException {
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("Expected the batch to fail");
+        } catch (ExecutionException e) {
+            assertEquals(cause, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void deferredBatchIsFlushedWholeOnTheNextTick() throws Exception {
+        scheduler.setTickBudget(4);
+        CompletableFuture<BatchResult> first = submit("first", 3);
+        CompletableFuture<BatchResult> second = submit("second", 3);
+
+        scheduler.flush(tick);
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(3, written.size());
+
+        tick++;
+        scheduler.flush(tick);
+        assertEquals(6, written.size());
+        assertTrue(second.isDone());
+        assertEquals(1, second.get().getMissedTicks());
+        assertEquals(1, scheduler.getMissedBatches().get());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void loweringTheBudgetFailsBatchesWhichNoLongerFit() throws Exception {
+        CompletableFuture<BatchResult> large = submit("large", 6);
+        CompletableFuture<BatchResult> small = submit("small", 2);
+        CompletableFuture<BatchResult> last = submit("last", 2);
+
+        scheduler.setTickBudget(4);
+        scheduler.flush(tick);
+
+        assertFailedWith(IllegalArgumentException.class, large);
+        assertTrue(small.isDone());
+        assertTrue(last.isDone());
+        assertEquals(2, small.get().getPackets());
+        assertEquals(2, last.get().getPackets());
+        assertEquals(4, written.size());
+        assertFalse(written.contains("large0"));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    public void batchLargerThanTheBudgetIsRejectedOnSubmit() throws Exception {
+        scheduler.setTickBudget(2);
+        assertFailedWith(IllegalArgumentException.class, submit("large", 3));
+        assertEquals(0, scheduler.getPendingCount());
+    }
+}
@@ -0,0 +1,289 @@
+package com.kraken.api.service.map;
+
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static net.runelite.api.Constants.CHUNK_SIZE;
+import static net.runelite.api.Constants.MAX_Z;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Compares the table against the per chunk scans TileService and CollisionSnapshot used before the table existed.
+ */
+public class InstanceChunkTableTest {
+
+    private static final int CHUNKS = InstanceChunkTable.CHUNKS;
+    private static final int BASE_X = 1920;
+    private static final int BASE_Y = 5120;
+    private static final int EMPTY = -1;
+
+    // Fixed so a failing chunk layout can be reproduced
+    private static final long TEMPLATE_TO_SCENE_SEED = 0x2C4D_9B03L;
+    private static final long SCENE_TO_TEMPLATE_SEED = 0x7E15_A640L;
+
+    // A few template chunks near Lumbridge, so most of them are shown by several scene chunks
+    private static final int[][] TEMPLATES = {{400, 400, 0}, {401, 400, 0}, {400, 401, 1}, {402, 403, 0}, {400, 400, 2}, {410, 398, 3}};
+
+    private static int packChunk(int chunkX, int chunkY, int plane, int rotation) {
+        return plane << 24 | chunkX << 14 | chunkY << 3 | rotation << 1;
+    }
+
+    private static int[][][] randomTemplateChunks(Random random) {
+        int[][][] chunks = new int[MAX_Z][CHUNKS][CHUNKS];
+        for (int plane = 0; plane < MAX_Z; plane++) {
+            for (int chunkX = 0; chunkX < CHUNKS; chunkX++) {
+                for (int chunkY = 0; chunkY < CHUNKS; chunkY++) {
+                    if (random.nextInt(4) == 0) {
+                        chunks[plane][chunkX][chunkY] = EMPTY;
+                        continue;
+                    }
+                    int[] template = TEMPLATES[random.nextInt(TEMPLATES.length)];
+                    chunks[plane][chunkX][chunkY] = packChunk(template[0], template[1], template[2], random.nextInt(4));
+                }
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * The old TileService rotate helper.
+     */
+    private static WorldPoint rotate(WorldPoint point, int rotation) {
+        int chunkX = point.getX() & -CHUNK_SIZE;
+        int chunkY = point.getY() & -CHUNK_SIZE;
+        int x = point.getX() & (CHUNK_SIZE - 1);
+        int y = point.getY() & (CHUNK_SIZE - 1);
+        switch (rotation) {
+            case 1:
+                return new WorldPoint(chunkX + y, chunkY + (CHUNK_SIZE - 1 - x), point.getPlane());
+            case 2:
+                return new WorldPoint(chunkX + (CHUNK_SIZE - 1 - x), chunkY + (CHUNK_SIZE - 1 - y), point.getPlane());
+            case 3:
+                return new WorldPoint(chunkX + (CHUNK_SIZE - 1 - y), chunkY + x, point.getPlane());
+        }
+        return point;
+    }
+
+    /**
+     * The old TileService#fromWorldInstance scan over the chunks of the current plane, returning the packed scene tile.
+     */
+    private static int oldFromWorldInstance(int[][][] chunks, WorldPoint worldPoint, int worldPlane) {
+        for (int chunkX = 0; chunkX < chunks[worldPlane].length; chunkX++) {
+            for (int chunkY = 0; chunkY < chunks[worldPlane][chunkX].length; chunkY++) {
+                int templateChunk = chunks[worldPlane][chunkX][chunkY];
+                int rotation = (templateChunk >> 1) & 0x3;
+                int templateChunkY = (templateChunk >> 3 & 0x7FF) * CHUNK_SIZE;
+                int templateChunkX = (templateChunk >> 14 & 0x3FF) * CHUNK_SIZE;
+                int templateChunkPlane = (templateChunk >> 24) & 0x3;
+                WorldPoint rotated = rotate(new WorldPoint(worldPoint.getX(), worldPoint.getY(), templateChunkPlane), rotation);
+                if (rotated.getX() >= templateChunkX && rotated.getX() < templateChunkX + CHUNK_SIZE
+                        && rotated.getY() >= templateChunkY && rotated.getY() < templateChunkY + CHUNK_SIZE) {
+                    int localX = (rotated.getX() - templateChunkX) + (chunkX * CHUNK_SIZE);
+                    int localY = (rotated.getY() - templateChunkY) + (chunkY * CHUNK_SIZE);
+                    return WorldPointService.pack(localX, localY, worldPlane);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The old TileService#fromInstance lookup of the template tile shown at a scene tile.
+     */
+    private static WorldPoint oldFromInstance(int[][][] chunks, int sceneX, int sceneY, int plane) {
+        int templateChunk = chunks[plane][sceneX / CHUNK_SIZE][sceneY / CHUNK_SIZE];
+        int rotation = templateChunk >> 1 & 0x3;
+        int templateChunkY = (templateChunk >> 3 & 0x7FF) * CHUNK_SIZE;
+        int templateChunkX = (templateChunk >> 14 & 0x3FF) * CHUNK_SIZE;
+        int templateChunkPlane = templateChunk >> 24 & 0x3;
+        int x = templateChunkX + (sceneX & (CHUNK_SIZE - 1));
+        int y = templateChunkY + (sceneY & (CHUNK_SIZE - 1));
+        return rotate(new WorldPoint(x, y, templateChunkPlane), 4 - rotation);
+    }
+
+    /**
+     * The old TileService#toInstance scan collecting every instance tile which shows a template tile, in scan order.
+     */
+    private static List<WorldPoint> oldToInstance(int[][][] chunks, WorldPoint worldPoint) {
+        List<WorldPoint> worldPoints = new ArrayList<>();
+        for (int z = 0; z < chunks.length; z++) {
+            for (int x = 0; x < chunks[z].length; ++x) {
+                for (int y = 0; y < chunks[z][x].length; ++y) {
+                    int chunkData = chunks[z][x][y];
+                    int rotation = chunkData >> 1 & 0x3;
+                    int templateChunkY = (chunkData >> 3 & 0x7FF) * CHUNK_SIZE;
+                    int templateChunkX = (chunkData >> 14 & 0x3FF) * CHUNK_SIZE;
+                    int plane = chunkData >> 24 & 0x3;
+                    if (worldPoint.getX() >= templateChunkX && worldPoint.getX() < templateChunkX + CHUNK_SIZE
+                            && worldPoint.getY() >= templateChunkY && worldPoint.getY() < templateChunkY + CHUNK_SIZE
+                            && plane == worldPoint.getPlane()) {
+                        WorldPoint p = new WorldPoint(BASE_X + x * CHUNK_SIZE + (worldPoint.getX() & (CHUNK_SIZE - 1)),
+                                BASE_Y + y * CHUNK_SIZE + (worldPoint.getY() & (CHUNK_SIZE - 1)), z);
+                        worldPoints.add(rotate(p, rotation));
+                    }
+                }
+            }
+        }
+        return worldPoints;
+    }
+
+    /**
+     * The old CollisionSnapshot#templateToScene scan over every plane for a chunk on the tile's template plane.
+     */
+    private static int oldTemplateToScene(int[][][] chunks, int x, int y, int plane) {
+        for (int z = 0; z < chunks.length; z++) {
+            for (int chunkX = 0; chunkX < chunks[z].length; chunkX++) {
+                for (int chunkY = 0; chunkY < chunks[z][chunkX].length; chunkY++) {
+                    int chunk = chunks[z][chunkX][chunkY];
+                    int rotation = chunk >> 1 & 0x3;
+                    int templateY = (chunk >> 3 & 0x7FF) * CHUNK_SIZE;
+                    int templateX = (chunk >> 14 & 0x3FF) * CHUNK_SIZE;
+                    int templatePlane = chunk >> 24 & 0x3;
+                    if (templatePlane != plane || x < templateX || x >= templateX + CHUNK_SIZE || y < templateY || y >= templateY + CHUNK_SIZE) {
+                        continue;
+                    }
+
+                    int localX = x & (CHUNK_SIZE - 1);
+                    int localY = y & (CHUNK_SIZE - 1);
+                    int rotatedX;
+                    int rotatedY;
+                    switch (rotation) {
+                        case 1:
+                            rotatedX = localY;
+                            rotatedY = CHUNK_SIZE - 1 - localX;
+                            break;
+                        case 2:
+                            rotatedX = CHUNK_SIZE - 1 - localX;
+                            rotatedY = CHUNK_SIZE - 1 - localY;
+                            break;
+                        case 3:
+                            rotatedX = CHUNK_SIZE - 1 - localY;
+                            rotatedY = localX;
+                            break;
+                        default:
+                            rotatedX = localX;
+                            rotatedY = localY;
+                    }
+                    return WorldPointService.pack(chunkX * CHUNK_SIZE + rotatedX, chunkY * CHUNK_SIZE + rotatedY, z);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static List<WorldPoint> forEachScene(InstanceChunkTable table, WorldPoint point) {
+        List<WorldPoint> points = new ArrayList<>();
+        table.forEachScene(point.getX(), point.getY(), point.getPlane(), scene -> points.add(new WorldPoint(
+                table.getBaseX() + WorldPointService.getPackedX(scene),
+                table.getBaseY() + WorldPointService.getPackedY(scene),
+                WorldPointService.getPackedPlane(scene))));
+        return points;
+    }
+
+    @Test
+    public void templateToSceneMatchesChunkScans() {
+        Random random = new Random(TEMPLATE_TO_SCENE_SEED);
+        for (int trial = 0; trial < 20; trial++) {
+            int[][][] chunks = randomTemplateChunks(random);
+            InstanceChunkTable table = new InstanceChunkTable(BASE_X, BASE_Y, chunks);
+            for (int[] template : TEMPLATES) {
+                for (int templatePlane = 0; templatePlane < MAX_Z; templatePlane++) {
+                    for (int localX = 0; localX < CHUNK_SIZE; localX++) {
+                        for (int localY = 0; localY < CHUNK_SIZE; localY++) {
+                            int x = template[0] * CHUNK_SIZE + localX;
+                            int y = template[1] * CHUNK_SIZE + localY;
+                            WorldPoint point = new WorldPoint(x, y, templatePlane);
+
+                            // TileService#toInstance: every scene tile, in the same order
+                            assertEquals(point.toString(), oldToInstance(chunks, point), forEachScene(table, point));
+
+                            // CollisionSnapshot#templateToScene: the first scene tile on any scene plane
+                            assertEquals(point.toString(), oldTemplateToScene(chunks, x, y, templatePlane),
+                                    table.templateToScene(x, y, templatePlane, -1));
+                        }
+                    }
+                }
+
+                // TileService#fromWorldInstance: the first scene tile on the current plane, any template plane
+                for (int scenePlane = 0; scenePlane < MAX_Z; scenePlane++) {
+                    for (int localX = 0; localX < CHUNK_SIZE; localX++) {
+                        for (int localY = 0; localY < CHUNK_SIZE; localY++) {
+                            WorldPoint point = new WorldPoint(template[0] * CHUNK_SIZE + localX, template[1] * CHUNK_SIZE + localY, 0);
+                            assertEquals(point + " on plane " + scenePlane, oldFromWorldInstance(chunks, point, scenePlane),
+                                    table.templateToScene(point.getX(), point.getY(), -1, scenePlane));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sceneToTemplateMatchesChunkLookup() {
+        Random random = new Random(SCENE_TO_TEMPLATE_SEED);
+        for (int trial = 0; trial < 20; trial++) {
+            int[][][] chunks = randomTemplateChunks(random);
+            InstanceChunkTable table = new InstanceChunkTable(BASE_X, BASE_Y, chunks);
+            for (int plane = 0; plane < MAX_Z; plane++) {
+                for (int sceneX = 0; sceneX < CHUNKS * CHUNK_SIZE; sceneX++) {
+                    for (int sceneY = 0; sceneY < CHUNKS * CHUNK_SIZE; sceneY++) {
+                        int template = table.sceneToTemplate(sceneX, sceneY, plane);
+                        if (chunks[plane][sceneX / CHUNK_SIZE][sceneY / CHUNK_SIZE] == EMPTY) {
+                            assertEquals(-1, template);
+                            continue;
+                        }
+
+                        assertEquals(oldFromInstance(chunks, sceneX, sceneY, plane), WorldPointService.unpack(template));
+                        // Converting back lands on a scene tile showing the same template tile
+                        int scene = table.templateToScene(WorldPointService.getPackedX(template),
+                                WorldPointService.getPackedY(template), WorldPointService.getPackedPlane(template), -1);
+                        assertEquals(template, table.sceneToTemplate(WorldPointService.getPackedX(scene),
+                                WorldPointService.getPackedY(scene), WorldPointService.getPackedPlane(scene)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void everyRotationRoundTrips() {
+        for (int rotation = 0; rotation < 4; rotation++) {
+            int[][][] chunks = new int[MAX_Z][CHUNKS][CHUNKS];
+            for (int[][] plane : chunks) {
+                for (int[] column : plane) {
+                    Arrays.fill(column, EMPTY);
+                }
+            }
+            chunks[1][5][7] = packChunk(400, 400, 0, rotation);
+            InstanceChunkTable table = new InstanceChunkTable(BASE_X, BASE_Y, chunks);
+
+            List<Integer> scenes = new ArrayList<>();
+            for (int localX = 0; localX < CHUNK_SIZE; localX++) {
+                for (int localY = 0; localY < CHUNK_SIZE; localY++) {
+                    int x = 400 * CHUNK_SIZE + localX;
+                    int y = 400 * CHUNK_SIZE + localY;
+                    int scene = table.templateToScene(x, y, 0, -1);
+                    assertEquals(5, WorldPointService.getPackedX(scene) / CHUNK_SIZE);
+                    assertEquals(7, WorldPointService.getPackedY(scene) / CHUNK_SIZE);
+                    assertEquals(1, WorldPointService.getPackedPlane(scene));
+                    assertEquals(WorldPointService.pack(x, y, 0), table.sceneToTemplate(WorldPointService.getPackedX(scene),
+                            WorldPointService.getPackedY(scene), 1));
+                    assertFalse("Rotation " + rotation + " maps two tiles to one", scenes.contains(scene));
+                    scenes.add(scene);
+                }
+            }
+
+            assertEquals(-1, table.templateToScene(400 * CHUNK_SIZE, 400 * CHUNK_SIZE, 1, -1));
+            assertEquals(-1, table.templateToScene(400 * CHUNK_SIZE, 400 * CHUNK_SIZE, -1, 0));
+            assertEquals(-1, table.templateToScene(401 * CHUNK_SIZE, 400 * CHUNK_SIZE, 0, -1));
+            assertEquals(-1, table.sceneToTemplate(0, 0, 1));
+            assertEquals(-1, table.sceneToTemplate(-1, 60, 1));
+        }
+    }
+}
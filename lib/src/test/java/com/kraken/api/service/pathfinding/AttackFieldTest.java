@@ -0,0 +1,97 @@
+package com.kraken.api.service.pathfinding;
+
+import net.runelite.api.CollisionDataFlag;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AttackFieldTest {
+
+    private static final int SIZE = 104;
+
+    private static int[][] wallWithGap(int gapFrom, int gapTo) {
+        int[][] flags = new int[SIZE][SIZE];
+        for (int y = 0; y < SIZE; y++) {
+            if (y < gapFrom || y > gapTo) {
+                flags[50][y] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            }
+        }
+        return flags;
+    }
+
+    @Test
+    public void largeEntityCannotSqueezeThroughNarrowGap() {
+        int[][] flags = wallWithGap(40, 41);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        assertTrue(PathSearch.findPath(flags, 45, 40, 1, 55, 40, ws));
+        assertTrue(PathSearch.findPath(flags, 45, 40, 2, 55, 40, ws));
+        assertFalse(PathSearch.findPath(flags, 45, 40, 3, 55, 40, ws));
+    }
+
+    @Test
+    public void largeEntityRespectsWallsBetweenItsTiles() {
+        int[][] flags = new int[SIZE][SIZE];
+        // A wall between (21, 10) and (21, 11), which a 2x2 at (19, 10) would straddle after stepping east
+        flags[21][11] = CollisionDataFlag.BLOCK_MOVEMENT_SOUTH;
+        flags[21][10] = CollisionDataFlag.BLOCK_MOVEMENT_NORTH;
+
+        assertFalse(CollisionRules.canMove(flags, 19, 10, 2, 1, 0));
+        assertTrue(CollisionRules.canMove(flags, 19, 12, 2, 1, 0));
+        // A 1x1 can step east along either row
+        assertTrue(CollisionRules.canMove(flags, 20, 10, 1, 1, 0));
+        assertTrue(CollisionRules.canMove(flags, 20, 11, 1, 1, 0));
+    }
+
+    @Test
+    public void meleeOnlyReachesCardinalNeighboursOfTheFootprint() {
+        int[][] flags = new int[SIZE][SIZE];
+        int[] positions = new int[AttackField.capacity(3, 1)];
+
+        int count = AttackField.compute(flags, 50, 50, 3, 1, positions);
+
+        // Three positions on each side of the target
+        assertEquals(12, count);
+        assertTrue(AttackField.canAttack(flags, 51, 48, 3, 1, 50, 50));
+        assertFalse(AttackField.canAttack(flags, 51, 51, 3, 1, 50, 50));
+        assertFalse(AttackField.canAttack(flags, 50, 50, 3, 1, 50, 50));
+    }
+
+    @Test
+    public void pillarBlocksRangedAttacks() {
+        int[][] flags = new int[SIZE][SIZE];
+        flags[53][50] = CollisionDataFlag.BLOCK_MOVEMENT_FULL | CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL;
+
+        assertTrue(AttackField.canAttack(flags, 56, 48, 2, 7, 50, 50));
+        assertFalse(AttackField.canAttack(flags, 56, 50, 2, 7, 50, 50));
+        assertFalse(AttackField.canAttack(flags, 60, 50, 2, 7, 50, 50));
+    }
+
+    @Test
+    public void fieldMatchesIndividualChecks() {
+        int[][] flags = wallWithGap(45, 46);
+        flags[48][52] = CollisionDataFlag.BLOCK_LINE_OF_SIGHT_FULL;
+        int[] positions = new int[AttackField.capacity(4, 6)];
+
+        int count = AttackField.compute(flags, 52, 50, 4, 6, positions);
+
+        int expected = 0;
+        for (int x = 52 - 6 - 3; x <= 52 + 6; x++) {
+            for (int y = 50 - 6 - 3; y <= 50 + 6; y++) {
+                boolean standable = true;
+                for (int i = x; i < x + 4; i++) {
+                    for (int j = y; j < y + 4; j++) {
+                        standable &= (flags[i][j] & CollisionRules.BLOCKED) == 0;
+                    }
+                }
+                if (standable && AttackField.canAttack(flags, x, y, 4, 6, 52, 50)) {
+                    assertEquals(PathfinderWorkspace.index(x, y), positions[expected++]);
+                }
+            }
+        }
+        assertEquals(expected, count);
+        assertTrue(count > 0);
+    }
+}
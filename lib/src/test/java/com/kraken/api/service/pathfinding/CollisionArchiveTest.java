@@ -0,0 +1,161 @@
+package com.kraken.api.service.pathfinding;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CollisionArchiveTest {
+
+    // Region ids of Lumbridge and Varrock
+    private static final int FIRST = 12850;
+    private static final int SECOND = 12853;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Builds flags shaped like a real region: long runs of a few values, runs longer than a single RLE pair can hold,
+     * and scattered single tiles.
+     */
+    private static byte[] regionFlags(long seed) {
+        Random random = new Random(seed);
+        byte[] flags = new byte[CollisionRegion.TILES];
+        int i = 0;
+        while (i < flags.length) {
+            int run = random.nextInt(10) == 0 ? 1 + random.nextInt(700) : 1 + random.nextInt(8);
+            byte value = (byte) (random.nextBoolean() ? CollisionRules.PACKED_BLOCKED : random.nextInt(256));
+            for (int j = 0; j < run && i < flags.length; j++) {
+                flags[i++] = value;
+            }
+        }
+        return flags;
+    }
+
+    private Path archive() throws IOException {
+        return folder.getRoot().toPath().resolve("collision.kcma");
+    }
+
+    @Test
+    public void readsBackWrittenRegions() throws IOException {
+        Path path = archive();
+        byte[] first = regionFlags(1);
+        byte[] second = regionFlags(2);
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, first));
+        CollisionArchive.append(path, CollisionRegion.fromArray(SECOND, second));
+
+        CollisionArchive archive = CollisionArchive.open(path);
+
+        assertEquals(2, archive.getRegionIds().size());
+        assertTrue(archive.hasRegion(FIRST));
+        assertFalse(archive.hasRegion(FIRST + 1));
+        assertNull(archive.getRegion(FIRST + 1));
+        assertArrayEquals(first, archive.getRegion(FIRST).toArray());
+        assertArrayEquals(second, archive.getRegion(SECOND).toArray());
+        assertEquals(CollisionArchive.crc(CollisionRegion.fromArray(FIRST, first)), CollisionArchive.crc(archive.getRegion(FIRST)));
+    }
+
+    @Test
+    public void laterRecordReplacesEarlierOne() throws IOException {
+        Path path = archive();
+        byte[] updated = regionFlags(4);
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, regionFlags(3)));
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, updated));
+
+        CollisionArchive archive = CollisionArchive.open(path);
+
+        assertEquals(1, archive.getRegionIds().size());
+        assertArrayEquals(updated, archive.getRegion(FIRST).toArray());
+    }
+
+    @Test
+    public void compactKeepsOnlyLatestRecords() throws IOException {
+        Path path = archive();
+        byte[] first = regionFlags(5);
+        byte[] second = regionFlags(6);
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, regionFlags(7)));
+        CollisionArchive.append(path, CollisionRegion.fromArray(SECOND, second));
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, first));
+
+        // An archive opened before compacting must not stop the file being replaced
+        CollisionArchive before = CollisionArchive.open(path);
+        long sizeBefore = Files.size(path);
+        CollisionArchive.compact(path);
+
+        assertTrue(Files.size(path) < sizeBefore);
+        assertFalse(Files.exists(path.resolveSibling(path.getFileName() + ".tmp")));
+        CollisionArchive after = CollisionArchive.open(path);
+        assertEquals(2, after.getRegionIds().size());
+        assertArrayEquals(first, after.getRegion(FIRST).toArray());
+        assertArrayEquals(second, after.getRegion(SECOND).toArray());
+        assertArrayEquals(first, before.getRegion(FIRST).toArray());
+
+        // Compacting a compact archive changes nothing
+        CollisionArchive.compact(path);
+        assertEquals(Files.size(path), sizeAfterAppending(first, second));
+    }
+
+    private long sizeAfterAppending(byte[] first, byte[] second) throws IOException {
+        Path path = folder.getRoot().toPath().resolve("expected.kcma");
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, first));
+        CollisionArchive.append(path, CollisionRegion.fromArray(SECOND, second));
+        return Files.size(path);
+    }
+
+    @Test
+    public void ignoresTruncatedRecord() throws IOException {
+        Path path = archive();
+        byte[] first = regionFlags(8);
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, first));
+        long complete = Files.size(path);
+        CollisionArchive.append(path, CollisionRegion.fromArray(SECOND, regionFlags(9)));
+
+        // Cut the second record short as if the client crashed while writing it
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.setLength(complete + (Files.size(path) - complete) / 2);
+        }
+
+        CollisionArchive archive = CollisionArchive.open(path);
+
+        assertEquals(1, archive.getRegionIds().size());
+        assertArrayEquals(first, archive.getRegion(FIRST).toArray());
+    }
+
+    @Test
+    public void rejectsRecordFailingCrc() throws IOException {
+        Path path = archive();
+        CollisionArchive.append(path, CollisionRegion.fromArray(FIRST, regionFlags(10)));
+
+        // Flip the value of the first run, which keeps the record's length valid but changes the decoded flags
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            long value = 8 + 20 + 1;
+            file.seek(value);
+            int original = file.read();
+            file.seek(value);
+            file.write(original ^ 0x01);
+        }
+
+        CollisionArchive archive = CollisionArchive.open(path);
+
+        assertTrue(archive.hasRegion(FIRST));
+        assertNull(archive.getRegion(FIRST));
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsFileWhichIsNotAnArchive() throws IOException {
+        Path path = archive();
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        CollisionArchive.open(path);
+    }
+}
@@ -0,0 +1,186 @@
+package com.kraken.api.service.pathfinding;
+
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalPathfinderTest {
+
+    private static final int SIZE = 104;
+    private static final int BASE_X = 3200;
+    private static final int BASE_Y = 3136;
+
+    // Fixed so a failing sequence of scene changes can be reproduced
+    private static final long SCENE_SEED = 0x61D0_3C8AL;
+
+    private long version;
+
+    private CollisionSnapshot snapshot(int[][] flags) {
+        int[][] copy = new int[SIZE][];
+        for (int x = 0; x < SIZE; x++) {
+            copy[x] = flags[x].clone();
+        }
+        return new CollisionSnapshot(++version, BASE_X, BASE_Y, 0, new int[][][]{copy}, null);
+    }
+
+    private static WorldPoint world(int x, int y) {
+        return new WorldPoint(BASE_X + x, BASE_Y + y, 0);
+    }
+
+    private static int randomFlag(Random random) {
+        return random.nextInt(3) == 0
+                ? CollisionDataFlag.BLOCK_MOVEMENT_FULL
+                : 1 << random.nextInt(8);
+    }
+
+    /**
+     * Finds the path length from scratch with the blockers applied as fully blocked tiles.
+     */
+    private static int freshLength(int[][] flags, List<WorldPoint> blockers, int sx, int sy, int tx, int ty) {
+        int[][] effective = new int[SIZE][];
+        for (int x = 0; x < SIZE; x++) {
+            effective[x] = flags[x].clone();
+        }
+        for (WorldPoint blocker : blockers) {
+            int x = blocker.getX() - BASE_X;
+            int y = blocker.getY() - BASE_Y;
+            if (x != tx || y != ty) {
+                effective[x][y] |= CollisionRules.BLOCKED;
+            }
+        }
+
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        return PathSearch.findPath(effective, sx, sy, tx, ty, ws) ? ws.getPathLength() : -1;
+    }
+
+    private static void assertLegal(int[][] flags, List<WorldPoint> blockers, List<WorldPoint> path) {
+        for (int i = 1; i < path.size(); i++) {
+            int x = path.get(i - 1).getX() - BASE_X;
+            int y = path.get(i - 1).getY() - BASE_Y;
+            int nx = path.get(i).getX() - BASE_X;
+            int ny = path.get(i).getY() - BASE_Y;
+            int dx = nx - x;
+            int dy = ny - y;
+            assertTrue("Step " + i + " is not a single tile move", Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+            assertTrue("Step " + i + " is blocked", CollisionRules.canMove(flags[nx][ny], flags[nx][y], flags[x][ny], dx, dy));
+            if (i < path.size() - 1) {
+                assertFalse("Step " + i + " enters a blocker", blockers.contains(path.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void matchesFreshSearchAsTheSceneChanges() {
+        Random random = new Random(SCENE_SEED);
+        for (int trial = 0; trial < 60; trial++) {
+            int[][] flags = new int[SIZE][SIZE];
+            for (int i = random.nextInt(1500); i > 0; i--) {
+                flags[random.nextInt(SIZE)][random.nextInt(SIZE)] = randomFlag(random);
+            }
+
+            int tx = random.nextInt(SIZE);
+            int ty = random.nextInt(SIZE);
+            int sx = random.nextInt(SIZE);
+            int sy = random.nextInt(SIZE);
+            List<WorldPoint> blockers = new ArrayList<>();
+            IncrementalPathfinder planner = new IncrementalPathfinder(world(tx, ty));
+            CollisionSnapshot current = snapshot(flags);
+            planner.update(current, blockers);
+
+            for (int tick = 0; tick < 40; tick++) {
+                List<WorldPoint> path = planner.findPath(world(sx, sy));
+                int expected = freshLength(flags, blockers, sx, sy, tx, ty);
+                assertEquals("Reachability differs in trial " + trial + " tick " + tick, expected != -1, path != null);
+                if (path != null) {
+                    assertEquals("Length differs in trial " + trial + " tick " + tick, expected, path.size());
+                    assertEquals(world(sx, sy), path.get(0));
+                    assertEquals(world(tx, ty), path.get(path.size() - 1));
+                    assertLegal(flags, blockers, path);
+
+                    // Walk a few tiles along the route
+                    WorldPoint next = path.get(Math.min(path.size() - 1, random.nextInt(4)));
+                    sx = next.getX() - BASE_X;
+                    sy = next.getY() - BASE_Y;
+                }
+
+                int changes = random.nextInt(4);
+                for (int i = 0; i < changes; i++) {
+                    int x = random.nextInt(SIZE);
+                    int y = random.nextInt(SIZE);
+                    flags[x][y] = random.nextBoolean() ? 0 : randomFlag(random);
+                }
+
+                blockers.removeIf(blocker -> random.nextInt(3) == 0);
+                for (int i = random.nextInt(3); i > 0; i--) {
+                    blockers.add(world(random.nextInt(SIZE), random.nextInt(SIZE)));
+                }
+                if (changes > 0) {
+                    current = snapshot(flags);
+                }
+                planner.update(current, blockers);
+            }
+        }
+    }
+
+    @Test
+    public void repairsOnlyAroundTheChange() {
+        int[][] flags = new int[SIZE][SIZE];
+        IncrementalPathfinder planner = new IncrementalPathfinder(world(90, 50));
+        planner.update(snapshot(flags), Collections.emptyList());
+
+        List<WorldPoint> path = planner.findPath(world(10, 50));
+        assertNotNull(path);
+        int initial = planner.getExpandedCount();
+
+        // Walking along the route needs no new search
+        assertEquals(path.size() - 2, planner.findPath(path.get(1)).size() - 1);
+        assertTrue(planner.getExpandedCount() * 10 < initial);
+
+        // An NPC steps onto the route ahead
+        List<WorldPoint> blockers = Collections.singletonList(path.get(20));
+        assertTrue(planner.update(snapshot(flags), blockers));
+        List<WorldPoint> repaired = planner.findPath(path.get(1));
+        assertNotNull(repaired);
+        assertFalse(repaired.contains(path.get(20)));
+        assertTrue("Repair expanded " + planner.getExpandedCount() + " tiles, initial search " + initial,
+                planner.getExpandedCount() * 2 < initial);
+
+        // Nothing changed, nothing is reported
+        assertFalse(planner.update(snapshot(flags), blockers));
+    }
+
+    @Test
+    public void returnsNullWhenTargetIsWalledOff() {
+        int[][] flags = new int[SIZE][SIZE];
+        IncrementalPathfinder planner = new IncrementalPathfinder(world(50, 50));
+        planner.update(snapshot(flags), Collections.emptyList());
+        assertNotNull(planner.findPath(world(10, 10)));
+
+        for (int i = 48; i <= 52; i++) {
+            flags[i][48] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            flags[i][52] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            flags[48][i] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            flags[52][i] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+        }
+        assertTrue(planner.update(snapshot(flags), Collections.emptyList()));
+        assertNull(planner.findPath(world(11, 11)));
+    }
+
+    @Test
+    public void returnsNullForTargetOutsideScene() {
+        IncrementalPathfinder planner = new IncrementalPathfinder(world(200, 50));
+        planner.update(snapshot(new int[SIZE][SIZE]), Collections.emptyList());
+        assertNull(planner.findPath(world(10, 10)));
+    }
+}
@@ -0,0 +1,125 @@
+package com.kraken.api.service.pathfinding;
+
+import net.runelite.api.CollisionDataFlag;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class JumpPointSearchTest {
+
+    private static final int SIZE = 104;
+
+    // Fixed so a failing random map can be reproduced
+    private static final long MAP_SEED = 0x0E8B_42F5L;
+    private static final int[] WALLS = {
+            CollisionDataFlag.BLOCK_MOVEMENT_NORTH_WEST, CollisionDataFlag.BLOCK_MOVEMENT_NORTH,
+            CollisionDataFlag.BLOCK_MOVEMENT_NORTH_EAST, CollisionDataFlag.BLOCK_MOVEMENT_EAST,
+            CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_EAST, CollisionDataFlag.BLOCK_MOVEMENT_SOUTH,
+            CollisionDataFlag.BLOCK_MOVEMENT_SOUTH_WEST, CollisionDataFlag.BLOCK_MOVEMENT_WEST
+    };
+
+    /**
+     * Builds a scene with the given percentage of tiles carrying a wall or full block, plus a few solid rectangles.
+     */
+    private static int[][] randomMap(Random random, int density) {
+        int[][] flags = new int[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                if (random.nextInt(100) >= density) continue;
+                flags[x][y] = random.nextBoolean()
+                        ? CollisionDataFlag.BLOCK_MOVEMENT_FULL
+                        : WALLS[random.nextInt(WALLS.length)] | WALLS[random.nextInt(WALLS.length)];
+            }
+        }
+
+        for (int i = random.nextInt(8); i > 0; i--) {
+            int minX = random.nextInt(SIZE);
+            int minY = random.nextInt(SIZE);
+            int maxX = Math.min(SIZE, minX + 1 + random.nextInt(10));
+            int maxY = Math.min(SIZE, minY + 1 + random.nextInt(10));
+            for (int x = minX; x < maxX; x++) {
+                for (int y = minY; y < maxY; y++) {
+                    flags[x][y] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+                }
+            }
+        }
+        return flags;
+    }
+
+    private static void assertLegalPath(int[][] flags, PathfinderWorkspace ws, int startX, int startY, int targetX, int targetY) {
+        int last = ws.getPathLength() - 1;
+        assertEquals(startX, ws.getPathX(0));
+        assertEquals(startY, ws.getPathY(0));
+        assertEquals(targetX, ws.getPathX(last));
+        assertEquals(targetY, ws.getPathY(last));
+
+        for (int i = 1; i <= last; i++) {
+            int x = ws.getPathX(i - 1);
+            int y = ws.getPathY(i - 1);
+            int nx = ws.getPathX(i);
+            int ny = ws.getPathY(i);
+            int dx = nx - x;
+            int dy = ny - y;
+            assertTrue("Step " + i + " is not a single tile move", Math.abs(dx) <= 1 && Math.abs(dy) <= 1 && (dx != 0 || dy != 0));
+            assertTrue("Step " + i + " is blocked", CollisionRules.canMove(flags[nx][ny], flags[nx][y], flags[x][ny], dx, dy));
+        }
+    }
+
+    @Test
+    public void matchesBreadthFirstSearchOnRandomMaps() {
+        Random random = new Random(MAP_SEED);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+        int[] densities = {0, 2, 8, 25};
+
+        for (int trial = 0; trial < 2000; trial++) {
+            int[][] flags = randomMap(random, densities[trial % densities.length]);
+            int startX = random.nextInt(SIZE);
+            int startY = random.nextInt(SIZE);
+            int targetX = random.nextInt(SIZE);
+            int targetY = random.nextInt(SIZE);
+
+            boolean bfsFound = PathSearch.findPath(flags, startX, startY, targetX, targetY, ws);
+            int bfsLength = ws.getPathLength();
+            boolean jpsFound = JumpPointSearch.findPath(flags, startX, startY, targetX, targetY, ws);
+
+            assertEquals("Reachability differs in trial " + trial, bfsFound, jpsFound);
+            assertEquals("Path length differs in trial " + trial, bfsLength, ws.getPathLength());
+            if (jpsFound) {
+                assertLegalPath(flags, ws, startX, startY, targetX, targetY);
+            }
+        }
+    }
+
+    @Test
+    public void expandsFewerTilesInOpenTerrain() {
+        int[][] flags = new int[SIZE][SIZE];
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        assertTrue(PathSearch.findPath(flags, 10, 20, 70, 50, ws));
+        int bfsExpanded = ws.getExpandedCount();
+        int bfsLength = ws.getPathLength();
+
+        assertTrue(JumpPointSearch.findPath(flags, 10, 20, 70, 50, ws));
+        assertEquals(bfsLength, ws.getPathLength());
+        assertTrue("Jump point search expanded " + ws.getExpandedCount() + " tiles, BFS " + bfsExpanded,
+                ws.getExpandedCount() * 10 < bfsExpanded);
+        assertLegalPath(flags, ws, 10, 20, 70, 50);
+    }
+
+    @Test
+    public void findsNoPathToEnclosedTarget() {
+        int[][] flags = new int[SIZE][SIZE];
+        for (int i = 40; i <= 44; i++) {
+            flags[i][40] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            flags[i][44] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            flags[40][i] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            flags[44][i] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+        }
+
+        assertFalse(JumpPointSearch.findPath(flags, 10, 10, 42, 42, PathfinderWorkspace.get()));
+    }
+}
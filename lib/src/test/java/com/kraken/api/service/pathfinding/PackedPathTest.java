@@ -0,0 +1,154 @@
+package com.kraken.api.service.pathfinding;
+
+import com.kraken.api.service.map.WorldPointService;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Applies random chains of slices, reversals and strides to a path and to a plain list of the same points, checking
+ * after every step that the view matches the list.
+ */
+public class PackedPathTest {
+
+    // Fixed so a failing chain of views can be reproduced
+    private static final long VIEW_SEED = 0x4B91_03D7L;
+
+    private static List<WorldPoint> randomPoints(Random random, int size) {
+        List<WorldPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // A small area so paths revisit tiles and indexOf has to find the first occurrence
+            points.add(new WorldPoint(3200 + random.nextInt(6), 3200 + random.nextInt(6), random.nextInt(2)));
+        }
+        return points;
+    }
+
+    private static List<WorldPoint> stride(List<WorldPoint> points, int n) {
+        List<WorldPoint> strided = new ArrayList<>();
+        for (int i = 0; i < points.size(); i += n) {
+            strided.add(points.get(i));
+        }
+        return strided;
+    }
+
+    private static void assertPath(List<WorldPoint> expected, PackedPath path) {
+        assertEquals(expected.size(), path.size());
+        assertEquals(expected.isEmpty(), path.isEmpty());
+
+        int[] packed = new int[expected.size()];
+        for (int i = 0; i < expected.size(); i++) {
+            WorldPoint point = expected.get(i);
+            packed[i] = WorldPointService.pack(point);
+            assertEquals(packed[i], path.get(i));
+            assertEquals(point, path.getPoint(i));
+            assertEquals(point.getX(), path.getX(i));
+            assertEquals(point.getY(), path.getY(i));
+            assertEquals(point.getPlane(), path.getPlane(i));
+        }
+        assertArrayEquals(packed, path.toArray());
+        assertArrayEquals(packed, path.copy().toArray());
+
+        List<WorldPoint> list = path.toList();
+        assertEquals(expected, list);
+        assertEquals(expected, new ArrayList<>(list));
+        assertEquals(expected.hashCode(), list.hashCode());
+        for (int x = 3199; x <= 3206; x++) {
+            for (int plane = 0; plane < 2; plane++) {
+                WorldPoint point = new WorldPoint(x, 3202, plane);
+                int index = expected.indexOf(point);
+                assertEquals(index, path.indexOf(WorldPointService.pack(point)));
+                assertEquals(index != -1, path.contains(WorldPointService.pack(point)));
+                assertEquals(index, list.indexOf(point));
+                assertEquals(index != -1, list.contains(point));
+            }
+        }
+        assertFalse(list.contains("not a point"));
+
+        try {
+            path.get(expected.size());
+            fail("Expected an exception reading past the end");
+        } catch (IndexOutOfBoundsException expectedException) {
+            // Views must not read the shared array outside their own bounds
+        }
+    }
+
+    @Test
+    public void viewsMatchListOperations() {
+        Random random = new Random(VIEW_SEED);
+        for (int trial = 0; trial < 500; trial++) {
+            List<WorldPoint> expected = randomPoints(random, random.nextInt(40));
+            PackedPath path = PackedPath.fromList(expected);
+            assertPath(expected, path);
+
+            for (int op = 0; op < 6; op++) {
+                switch (random.nextInt(3)) {
+                    case 0:
+                        int from = random.nextInt(expected.size() + 1);
+                        int to = from + random.nextInt(expected.size() - from + 1);
+                        expected = new ArrayList<>(expected.subList(from, to));
+                        path = path.slice(from, to);
+                        break;
+                    case 1:
+                        expected = new ArrayList<>(expected);
+                        Collections.reverse(expected);
+                        path = path.reverse();
+                        break;
+                    default:
+                        int n = 1 + random.nextInt(4);
+                        expected = stride(expected, n);
+                        path = path.stride(n);
+                }
+                assertPath(expected, path);
+            }
+        }
+    }
+
+    @Test
+    public void wrapsCallerArrays() {
+        int[] tiles = {WorldPointService.pack(3200, 3200, 0), WorldPointService.pack(3201, 3200, 0),
+                WorldPointService.pack(3202, 3200, 0), WorldPointService.pack(3203, 3200, 0)};
+        PackedPath path = PackedPath.of(tiles, 3);
+        PackedPath copy = path.copy();
+        PackedPath reversed = path.reverse();
+
+        assertEquals(3, path.size());
+        assertFalse(path.contains(tiles[3]));
+
+        // Views share the array, copies do not
+        tiles[0] = WorldPointService.pack(3210, 3210, 1);
+        assertEquals(tiles[0], path.get(0));
+        assertEquals(tiles[0], reversed.get(2));
+        assertEquals(WorldPointService.pack(3200, 3200, 0), copy.get(0));
+
+        assertEquals(4, PackedPath.of(tiles).size());
+        assertTrue(PackedPath.of(tiles, 0).isEmpty());
+        assertTrue(PackedPath.EMPTY.reverse().isEmpty());
+        assertTrue(PackedPath.EMPTY.stride(3).isEmpty());
+        assertTrue(PackedPath.EMPTY.toList().isEmpty());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsLengthPastTheArray() {
+        PackedPath.of(new int[2], 3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsSlicePastTheEnd() {
+        PackedPath.of(new int[5]).reverse().slice(2, 6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsStrideBelowOne() {
+        PackedPath.of(new int[5]).stride(0);
+    }
+}
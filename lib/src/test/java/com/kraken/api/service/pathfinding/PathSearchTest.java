@@ -0,0 +1,130 @@
+package com.kraken.api.service.pathfinding;
+
+import net.runelite.api.CollisionDataFlag;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PathSearchTest {
+
+    private static final int SIZE = 104;
+
+    private static int[][] openGrid() {
+        return new int[SIZE][SIZE];
+    }
+
+    private static void block(int[][] flags, int minX, int minY, int maxX, int maxY) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                flags[x][y] = CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            }
+        }
+    }
+
+    private static void assertContiguous(PathfinderWorkspace ws) {
+        for (int i = 1; i < ws.getPathLength(); i++) {
+            int dx = Math.abs(ws.getPathX(i) - ws.getPathX(i - 1));
+            int dy = Math.abs(ws.getPathY(i) - ws.getPathY(i - 1));
+            assertTrue("Step " + i + " is not a single tile move", dx <= 1 && dy <= 1 && dx + dy > 0);
+        }
+    }
+
+    @Test
+    public void findClosestReachesReachableTarget() {
+        int[][] flags = openGrid();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        int end = PathSearch.findClosest(flags, 10, 10, 30, 20, ws);
+
+        assertEquals(PathfinderWorkspace.index(30, 20), end);
+        assertEquals(20, ws.getDistance(end));
+        assertEquals(21, ws.getPathLength());
+        assertContiguous(ws);
+    }
+
+    @Test
+    public void findClosestStopsOutsideFencedPen() {
+        int[][] flags = openGrid();
+        // A fence two tiles out from the target with an open pen inside it
+        block(flags, 48, 48, 52, 48);
+        block(flags, 48, 52, 52, 52);
+        block(flags, 48, 48, 48, 52);
+        block(flags, 52, 48, 52, 52);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        int end = PathSearch.findClosest(flags, 20, 50, 50, 50, ws);
+
+        assertEquals(PathfinderWorkspace.index(47, 50), end);
+        assertEquals(27, ws.getDistance(end));
+        assertEquals(47, ws.getPathX(ws.getPathLength() - 1));
+        assertContiguous(ws);
+    }
+
+    @Test
+    public void findClosestPrefersShorterPathOnTies() {
+        int[][] flags = openGrid();
+        // Four tiles are equally close to the blocked target, the one facing the start is the fewest steps away
+        block(flags, 49, 49, 51, 51);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        int end = PathSearch.findClosest(flags, 50, 40, 50, 50, ws);
+
+        assertEquals(PathfinderWorkspace.index(50, 48), end);
+        assertEquals(8, ws.getDistance(end));
+    }
+
+    @Test
+    public void findClosestIsDeterministic() {
+        int[][] flags = openGrid();
+        block(flags, 40, 30, 40, 70);
+        block(flags, 60, 30, 60, 70);
+        block(flags, 40, 30, 60, 30);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        int first = PathSearch.findClosest(flags, 10, 90, 50, 50, ws);
+        int[] path = new int[ws.getPathLength()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = ws.getPathIndex(i);
+        }
+
+        for (int run = 0; run < 10; run++) {
+            assertEquals(first, PathSearch.findClosest(flags, 10, 90, 50, 50, ws));
+            assertEquals(path.length, ws.getPathLength());
+            for (int i = 0; i < path.length; i++) {
+                assertEquals(path[i], ws.getPathIndex(i));
+            }
+        }
+    }
+
+    @Test
+    public void findClosestHandlesTargetOutsideScene() {
+        int[][] flags = openGrid();
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        int end = PathSearch.findClosest(flags, 10, 10, -5, 10, ws);
+
+        assertEquals(PathfinderWorkspace.index(0, 10), end);
+        assertEquals(10, ws.getDistance(end));
+    }
+
+    @Test
+    public void findClosestFromEnclosedStartReturnsStart() {
+        int[][] flags = openGrid();
+        block(flags, 9, 9, 11, 9);
+        block(flags, 9, 11, 11, 11);
+        block(flags, 9, 9, 9, 11);
+        block(flags, 11, 9, 11, 11);
+        PathfinderWorkspace ws = PathfinderWorkspace.get();
+
+        int end = PathSearch.findClosest(flags, 10, 10, 80, 80, ws);
+
+        assertEquals(PathfinderWorkspace.index(10, 10), end);
+        assertEquals(1, ws.getPathLength());
+    }
+
+    @Test
+    public void findClosestRejectsStartOutsideScene() {
+        assertEquals(-1, PathSearch.findClosest(openGrid(), -1, 10, 20, 20, PathfinderWorkspace.get()));
+    }
+}
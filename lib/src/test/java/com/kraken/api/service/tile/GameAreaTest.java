@@ -0,0 +1,146 @@
+package com.kraken.api.service.tile;
+
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GameAreaTest {
+
+    private static final int[] WIDTHS = {1, 63, 64, 65, 130};
+
+    // Fixed so a failing random area can be reproduced
+    private static final long OVERLAP_SEED = 0x6A3E_0F11L;
+    private static final long DISJOINT_SEED = 0x1D2B_77C4L;
+    private static final long EMPTY_SEED = 0x5F80_2E9AL;
+
+    private static Set<WorldPoint> randomTiles(Random random, int minX, int minY, int width, int height, int minPlane, int planes) {
+        Set<WorldPoint> tiles = new HashSet<>();
+        int count = random.nextInt(width * height * planes) + 1;
+        for (int i = 0; i < count; i++) {
+            tiles.add(new WorldPoint(minX + random.nextInt(width), minY + random.nextInt(height), minPlane + random.nextInt(planes)));
+        }
+        // Always span the full box so the bitmap has exactly the requested width
+        tiles.add(new WorldPoint(minX, minY, minPlane));
+        tiles.add(new WorldPoint(minX + width - 1, minY + height - 1, minPlane + planes - 1));
+        return tiles;
+    }
+
+    /**
+     * Checks an area against the tiles it should hold, probing every tile of the given box and a margin around it.
+     */
+    private static void assertArea(Set<WorldPoint> expected, GameArea area, int minX, int minY, int maxX, int maxY) {
+        assertEquals(expected.size(), area.size());
+        assertEquals(expected.isEmpty(), area.isEmpty());
+        assertEquals(expected, area.getTiles());
+        assertEquals(expected, new HashSet<>(area.getTiles()));
+        for (int plane = 0; plane < 4; plane++) {
+            for (int x = minX - 2; x <= maxX + 2; x++) {
+                for (int y = minY - 2; y <= maxY + 2; y++) {
+                    WorldPoint point = new WorldPoint(x, y, plane);
+                    boolean contained = expected.contains(point);
+                    assertEquals(point.toString(), contained, area.contains(point));
+                    assertEquals(point.toString(), contained, area.contains(x, y, plane));
+                    assertEquals(point.toString(), contained, area.getTiles().contains(point));
+                }
+            }
+        }
+        if (!expected.isEmpty()) {
+            assertTrue(expected.contains(area.getRandomTile(new Random(expected.size()))));
+        }
+    }
+
+    @Test
+    public void matchesSetOperationsOnOverlappingAreas() {
+        Random random = new Random(OVERLAP_SEED);
+        for (int widthA : WIDTHS) {
+            for (int widthB : WIDTHS) {
+                for (int trial = 0; trial < 10; trial++) {
+                    // Offsets up to a full word either side so rows of the two bitmaps are misaligned by every shift
+                    int ax = 3200 + random.nextInt(8);
+                    int bx = ax - 70 + random.nextInt(140);
+                    int ay = 3400;
+                    int by = ay - 3 + random.nextInt(7);
+                    Set<WorldPoint> a = randomTiles(random, ax, ay, widthA, 1 + random.nextInt(6), random.nextInt(2), 1 + random.nextInt(3));
+                    Set<WorldPoint> b = randomTiles(random, bx, by, widthB, 1 + random.nextInt(6), random.nextInt(2), 1 + random.nextInt(3));
+                    GameArea areaA = new GameArea(a, null);
+                    GameArea areaB = new GameArea(b, null);
+                    int minX = Math.min(ax, bx);
+                    int maxX = Math.max(ax + widthA, bx + widthB);
+
+                    Set<WorldPoint> union = new HashSet<>(a);
+                    union.addAll(b);
+                    Set<WorldPoint> intersection = new HashSet<>(a);
+                    intersection.retainAll(b);
+                    Set<WorldPoint> difference = new HashSet<>(a);
+                    difference.removeAll(b);
+
+                    assertArea(a, areaA, minX, ay - 3, maxX, ay + 9);
+                    assertArea(union, areaA.union(areaB), minX, ay - 3, maxX, ay + 9);
+                    assertArea(union, areaB.union(areaA), minX, ay - 3, maxX, ay + 9);
+                    assertArea(intersection, areaA.intersect(areaB), minX, ay - 3, maxX, ay + 9);
+                    assertArea(intersection, areaB.intersect(areaA), minX, ay - 3, maxX, ay + 9);
+                    assertArea(difference, areaA.subtract(areaB), minX, ay - 3, maxX, ay + 9);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void disjointAreas() {
+        Random random = new Random(DISJOINT_SEED);
+        for (int width : WIDTHS) {
+            Set<WorldPoint> a = randomTiles(random, 3000, 3000, width, 4, 0, 1);
+            // Side by side in the same rows, on another plane, and far away
+            List<Set<WorldPoint>> others = new ArrayList<>();
+            others.add(randomTiles(random, 3000 + width, 3000, 65, 4, 0, 1));
+            others.add(randomTiles(random, 3000, 3000, width, 4, 2, 2));
+            others.add(randomTiles(random, 1000, 9000, 64, 3, 0, 1));
+
+            GameArea areaA = new GameArea(a, null);
+            for (Set<WorldPoint> b : others) {
+                GameArea areaB = new GameArea(b, null);
+                Set<WorldPoint> union = new HashSet<>(a);
+                union.addAll(b);
+
+                assertTrue(areaA.intersect(areaB).isEmpty());
+                assertEquals(0, areaA.intersect(areaB).size());
+                assertEquals(a, areaA.subtract(areaB).getTiles());
+                assertEquals(union.size(), areaA.union(areaB).size());
+                assertEquals(union, areaA.union(areaB).getTiles());
+                for (WorldPoint point : b) {
+                    assertFalse(areaA.contains(point));
+                    assertTrue(areaA.union(areaB).contains(point));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void emptyAreas() {
+        GameArea empty = new GameArea(Collections.emptyList(), null);
+        Set<WorldPoint> tiles = randomTiles(new Random(EMPTY_SEED), 3100, 3100, 65, 3, 0, 2);
+        GameArea area = new GameArea(tiles, null);
+
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.contains(new WorldPoint(0, 0, 0)));
+        assertEquals(null, empty.getRandomTile(new Random(1)));
+        assertEquals(tiles, empty.union(area).getTiles());
+        assertEquals(tiles, area.union(empty).getTiles());
+        assertTrue(area.intersect(empty).isEmpty());
+        assertTrue(empty.intersect(area).isEmpty());
+        assertEquals(tiles, area.subtract(empty).getTiles());
+        assertTrue(empty.subtract(area).isEmpty());
+        assertTrue(area.subtract(area).isEmpty());
+        assertEquals(tiles, area.intersect(area).getTiles());
+    }
+}
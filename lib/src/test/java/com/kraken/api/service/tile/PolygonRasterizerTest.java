@@ -0,0 +1,91 @@
+package com.kraken.api.service.tile;
+
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.awt.Polygon;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class PolygonRasterizerTest {
+
+    private static final int TRIALS = 2000;
+
+    // Fixed so a failing random polygon can be reproduced
+    private static final long SMALL_POLYGON_SEED = 0x2F6A_91C3L;
+    private static final long LARGE_POLYGON_SEED = 0x78E4_0D5BL;
+
+    private static void assertMatchesPolygon(WorldPoint... vertices) {
+        Polygon polygon = new Polygon();
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (WorldPoint vertex : vertices) {
+            polygon.addPoint(vertex.getX(), vertex.getY());
+            minX = Math.min(minX, vertex.getX());
+            maxX = Math.max(maxX, vertex.getX());
+            minY = Math.min(minY, vertex.getY());
+            maxY = Math.max(maxY, vertex.getY());
+        }
+
+        GameArea area = PolygonRasterizer.rasterize(vertices);
+        int expected = 0;
+        for (int x = minX - 2; x <= maxX + 2; x++) {
+            for (int y = minY - 2; y <= maxY + 2; y++) {
+                boolean inside = polygon.contains(x, y);
+                assertEquals("Tile " + x + ", " + y, inside, area.contains(x, y, vertices[0].getPlane()));
+                if (inside) {
+                    expected++;
+                }
+            }
+        }
+        assertEquals(expected, area.size());
+    }
+
+    private static WorldPoint[] randomPolygon(Random random, int span) {
+        WorldPoint[] vertices = new WorldPoint[3 + random.nextInt(10)];
+        int baseX = 3000 + random.nextInt(200);
+        int baseY = 3000 + random.nextInt(200);
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = new WorldPoint(baseX + random.nextInt(span), baseY + random.nextInt(span), 1);
+        }
+        return vertices;
+    }
+
+    @Test
+    public void matchesPolygonForAxisAlignedShapes() {
+        // An L shaped building
+        assertMatchesPolygon(
+                new WorldPoint(3200, 3200, 0), new WorldPoint(3220, 3200, 0), new WorldPoint(3220, 3210, 0),
+                new WorldPoint(3210, 3210, 0), new WorldPoint(3210, 3230, 0), new WorldPoint(3200, 3230, 0));
+        // Wider than a single bitmap word
+        assertMatchesPolygon(new WorldPoint(3100, 3100, 2), new WorldPoint(3300, 3100, 2), new WorldPoint(3300, 3105, 2),
+                new WorldPoint(3100, 3105, 2));
+    }
+
+    @Test
+    public void matchesPolygonForDegenerateShapes() {
+        // Collinear vertices have no area
+        assertMatchesPolygon(new WorldPoint(3200, 3200, 0), new WorldPoint(3210, 3210, 0), new WorldPoint(3220, 3220, 0));
+        assertMatchesPolygon(new WorldPoint(3200, 3200, 0), new WorldPoint(3220, 3200, 0), new WorldPoint(3210, 3200, 0));
+        // Repeated vertices
+        assertMatchesPolygon(new WorldPoint(3200, 3200, 0), new WorldPoint(3200, 3200, 0), new WorldPoint(3215, 3207, 0),
+                new WorldPoint(3203, 3219, 0));
+    }
+
+    @Test
+    public void matchesPolygonForRandomSmallPolygons() {
+        Random random = new Random(SMALL_POLYGON_SEED);
+        for (int i = 0; i < TRIALS; i++) {
+            assertMatchesPolygon(randomPolygon(random, 12));
+        }
+    }
+
+    @Test
+    public void matchesPolygonForRandomLargePolygons() {
+        Random random = new Random(LARGE_POLYGON_SEED);
+        for (int i = 0; i < TRIALS / 10; i++) {
+            assertMatchesPolygon(randomPolygon(random, 150));
+        }
+    }
+}
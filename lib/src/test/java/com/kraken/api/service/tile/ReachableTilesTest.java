@@ -0,0 +1,218 @@
+package com.kraken.api.service.tile;
+
+import com.kraken.api.service.pathfinding.CollisionSnapshot;
+import net.runelite.api.CollisionDataFlag;
+import net.runelite.api.coords.WorldPoint;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReachableTilesTest {
+
+    private static final int SIZE = 104;
+    private static final int BASE_X = 3136;
+    private static final int BASE_Y = 3136;
+
+    // Fixed so a failing random scene can be reproduced
+    private static final long SCENE_SEED = 0x3A7C_51E2L;
+
+    private static int[][][] openScene() {
+        return new int[4][SIZE][SIZE];
+    }
+
+    private static CollisionSnapshot snapshot(int[][][] flags) {
+        return new CollisionSnapshot(1, BASE_X, BASE_Y, 0, flags, null);
+    }
+
+    private static void block(int[][] flags, int minX, int minY, int maxX, int maxY) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                flags[x][y] |= CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+            }
+        }
+    }
+
+    /**
+     * Places a wall on the east side of a tile, blocking steps between it and its east neighbour in both directions.
+     */
+    private static void eastWall(int[][] flags, int x, int y) {
+        flags[x][y] |= CollisionDataFlag.BLOCK_MOVEMENT_EAST;
+        flags[x + 1][y] |= CollisionDataFlag.BLOCK_MOVEMENT_WEST;
+    }
+
+    /**
+     * Breadth first search over the same movement rules with no bitsets or layering, used as the expected result.
+     */
+    private static int[][] expectedDistances(int[][] flags, int startX, int startY, int maxDistance, boolean ignoreCollision) {
+        int[][] distances = new int[SIZE][SIZE];
+        for (int[] column : distances) {
+            java.util.Arrays.fill(column, -1);
+        }
+
+        int[][] steps = {{1, 0, CollisionDataFlag.BLOCK_MOVEMENT_EAST}, {-1, 0, CollisionDataFlag.BLOCK_MOVEMENT_WEST},
+                {0, 1, CollisionDataFlag.BLOCK_MOVEMENT_NORTH}, {0, -1, CollisionDataFlag.BLOCK_MOVEMENT_SOUTH}};
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        distances[startX][startY] = 0;
+        queue.add(new int[]{startX, startY});
+        while (!queue.isEmpty()) {
+            int[] tile = queue.poll();
+            int distance = distances[tile[0]][tile[1]];
+            if (distance == maxDistance) {
+                continue;
+            }
+
+            for (int[] step : steps) {
+                int x = tile[0] + step[0];
+                int y = tile[1] + step[1];
+                if ((flags[tile[0]][tile[1]] & step[2]) != 0 || x < 0 || y < 0 || x >= SIZE || y >= SIZE || distances[x][y] != -1) {
+                    continue;
+                }
+                if (!ignoreCollision && (flags[x][y] & CollisionDataFlag.BLOCK_MOVEMENT_FULL) != 0) {
+                    continue;
+                }
+                distances[x][y] = distance + 1;
+                queue.add(new int[]{x, y});
+            }
+        }
+        return distances;
+    }
+
+    private static void assertMatches(int[][] expected, ReachableTiles tiles) {
+        int count = 0;
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                boolean reached = expected[x][y] != -1;
+                assertEquals("Tile " + x + ", " + y, reached, tiles.contains(x, y));
+                assertEquals("Distance to " + x + ", " + y, expected[x][y], tiles.getDistance(x, y));
+                if (reached) {
+                    count++;
+                }
+            }
+        }
+        assertEquals(count, tiles.getCount());
+    }
+
+    @Test
+    public void wallsAndBlockedTilesForceDetours() {
+        int[][][] flags = openScene();
+        // A blocked column from the south edge up to y = 60 and a wall line continuing it to y = 70
+        block(flags[0], 50, 0, 50, 60);
+        for (int y = 61; y <= 70; y++) {
+            eastWall(flags[0], 49, y);
+        }
+        CollisionSnapshot snapshot = snapshot(flags);
+        ReachableTiles tiles = new ReachableTiles(true);
+
+        tiles.fill(snapshot, flags[0], 45, 10, 200, false);
+
+        assertMatches(expectedDistances(flags[0], 45, 10, 200, false), tiles);
+        assertFalse(tiles.contains(50, 10));
+        // Up to the end of the wall at y = 70, across, and back down
+        assertEquals(10 + 2 * 61, tiles.getDistance(55, 10));
+        // The world point overloads use the snapshot's base
+        assertEquals(tiles.getDistance(55, 10), tiles.getDistance(new WorldPoint(BASE_X + 55, BASE_Y + 10, 0)));
+        assertTrue(tiles.contains(new WorldPoint(BASE_X + 55, BASE_Y + 10, 0)));
+        assertFalse(tiles.contains(new WorldPoint(BASE_X + 55, BASE_Y + 10, 1)));
+    }
+
+    @Test
+    public void maxDistanceBoundsTheFlood() {
+        int[][][] flags = openScene();
+        CollisionSnapshot snapshot = snapshot(flags);
+        ReachableTiles tiles = new ReachableTiles(true);
+
+        tiles.fill(snapshot, flags[0], 52, 52, 5, false);
+
+        // Cardinal steps only, so the reached tiles form a diamond of radius 5
+        assertEquals(2 * 5 * 5 + 2 * 5 + 1, tiles.getCount());
+        assertTrue(tiles.contains(57, 52));
+        assertEquals(5, tiles.getDistance(52, 47));
+        assertFalse(tiles.contains(58, 52));
+        assertFalse(tiles.contains(55, 55));
+        assertMatches(expectedDistances(flags[0], 52, 52, 5, false), tiles);
+
+        tiles.fill(snapshot, flags[0], 52, 52, 0, false);
+        assertEquals(1, tiles.getCount());
+        assertEquals(0, tiles.getDistance(52, 52));
+    }
+
+    @Test
+    public void ignoringCollisionStillRespectsWalls() {
+        int[][][] flags = openScene();
+        block(flags[0], 30, 30, 40, 40);
+        eastWall(flags[0], 20, 35);
+        CollisionSnapshot snapshot = snapshot(flags);
+        ReachableTiles tiles = new ReachableTiles(true);
+
+        tiles.fill(snapshot, flags[0], 20, 35, 30, true);
+
+        assertTrue(tiles.contains(35, 35));
+        assertEquals(3, tiles.getDistance(21, 35));
+        assertMatches(expectedDistances(flags[0], 20, 35, 30, true), tiles);
+    }
+
+    @Test
+    public void reusedInstanceIsClearedBetweenFills() {
+        int[][][] flags = openScene();
+        // A closed pen around (80, 80)
+        block(flags[0], 77, 77, 83, 77);
+        block(flags[0], 77, 83, 83, 83);
+        block(flags[0], 77, 77, 77, 83);
+        block(flags[0], 83, 77, 83, 83);
+        CollisionSnapshot snapshot = snapshot(flags);
+        ReachableTiles tiles = new ReachableTiles(true);
+
+        tiles.fill(snapshot, flags[0], 10, 10, 100, false);
+        assertTrue(tiles.contains(60, 60));
+        assertFalse(tiles.contains(80, 80));
+
+        tiles.fill(snapshot, flags[0], 80, 80, 100, false);
+        assertEquals(25, tiles.getCount());
+        assertFalse(tiles.contains(60, 60));
+        assertFalse(tiles.contains(10, 10));
+        assertEquals(-1, tiles.getDistance(60, 60));
+        assertEquals(25, tiles.toWorldPoints().size());
+        assertMatches(expectedDistances(flags[0], 80, 80, 100, false), tiles);
+
+        // A start outside the scene reaches nothing and still clears the previous result
+        tiles.fill(snapshot, flags[0], -1, 5, 100, false);
+        assertEquals(0, tiles.getCount());
+        assertFalse(tiles.contains(80, 80));
+    }
+
+    @Test
+    public void matchesBreadthFirstSearchOnRandomScenes() {
+        Random random = new Random(SCENE_SEED);
+        ReachableTiles tiles = new ReachableTiles(true);
+        ReachableTiles untracked = new ReachableTiles();
+        for (int trial = 0; trial < 50; trial++) {
+            int[][][] flags = openScene();
+            for (int i = 0; i < 1500; i++) {
+                int x = random.nextInt(SIZE - 1);
+                int y = random.nextInt(SIZE);
+                if (random.nextBoolean()) {
+                    flags[0][x][y] |= CollisionDataFlag.BLOCK_MOVEMENT_FULL;
+                } else {
+                    eastWall(flags[0], x, y);
+                }
+            }
+            CollisionSnapshot snapshot = snapshot(flags);
+            int startX = random.nextInt(SIZE);
+            int startY = random.nextInt(SIZE);
+            int maxDistance = random.nextInt(120);
+            boolean ignoreCollision = random.nextInt(4) == 0;
+
+            tiles.fill(snapshot, flags[0], startX, startY, maxDistance, ignoreCollision);
+            untracked.fill(snapshot, flags[0], startX, startY, maxDistance, ignoreCollision);
+
+            assertMatches(expectedDistances(flags[0], startX, startY, maxDistance, ignoreCollision), tiles);
+            assertEquals(tiles.getCount(), untracked.getCount());
+            assertEquals(-1, untracked.getDistance(startX, startY));
+        }
+    }
+}